@@ -27,8 +27,12 @@ import alluxio.grpc.CreateFilePRequest;
 import alluxio.grpc.CreateFilePResponse;
 import alluxio.grpc.DeletePRequest;
 import alluxio.grpc.DeletePResponse;
+import alluxio.grpc.DrainWorkerRequest;
+import alluxio.grpc.DrainWorkerResponse;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
+import alluxio.grpc.GetCachedPageFilesRequest;
+import alluxio.grpc.GetCachedPageFilesResponse;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcServerAddress;
@@ -38,6 +42,7 @@ import alluxio.grpc.LoadFileRequest;
 import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.LoadRequest;
 import alluxio.grpc.LoadResponse;
+import alluxio.grpc.MetaInvalidationEvent;
 import alluxio.grpc.MoveBlockRequest;
 import alluxio.grpc.MoveBlockResponse;
 import alluxio.grpc.MoveRequest;
@@ -50,6 +55,7 @@ import alluxio.grpc.RenamePRequest;
 import alluxio.grpc.RenamePResponse;
 import alluxio.grpc.SetAttributePRequest;
 import alluxio.grpc.SetAttributePResponse;
+import alluxio.grpc.SubscribeMetaInvalidationsRequest;
 import alluxio.grpc.WriteRequest;
 import alluxio.grpc.WriteResponse;
 import alluxio.security.user.UserState;
@@ -198,6 +204,32 @@ public interface BlockWorkerClient extends Closeable {
    */
   Iterator<ListStatusPResponse> listStatus(ListStatusPRequest request);
 
+  /**
+   * Subscribes to the invalidations of the metadata cached by the worker. The invalidations are
+   * streamed to the observer until the call is cancelled or fails.
+   *
+   * @param request the subscription request
+   * @param responseObserver the observer of the invalidations
+   */
+  void subscribeMetaInvalidations(SubscribeMetaInvalidationsRequest request,
+      StreamObserver<MetaInvalidationEvent> responseObserver);
+
+  /**
+   * Gets the local files of the cached pages of a file.
+   *
+   * @param request the request
+   * @return the page size and the local files of the cached pages
+   */
+  GetCachedPageFilesResponse getCachedPageFiles(GetCachedPageFilesRequest request);
+
+  /**
+   * Drains the worker before it is removed, or gets the progress of the drain.
+   *
+   * @param request the request
+   * @return the progress of the drain
+   */
+  DrainWorkerResponse drainWorker(DrainWorkerRequest request);
+
   /**
    * copy files from src to dst.
    *
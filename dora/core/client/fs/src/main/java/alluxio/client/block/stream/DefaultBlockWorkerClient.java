@@ -33,9 +33,13 @@ import alluxio.grpc.DataMessageMarshaller;
 import alluxio.grpc.DataMessageMarshallerProvider;
 import alluxio.grpc.DeletePRequest;
 import alluxio.grpc.DeletePResponse;
+import alluxio.grpc.DrainWorkerRequest;
+import alluxio.grpc.DrainWorkerResponse;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
 import alluxio.grpc.FreeWorkerRequest;
+import alluxio.grpc.GetCachedPageFilesRequest;
+import alluxio.grpc.GetCachedPageFilesResponse;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcChannel;
@@ -49,6 +53,7 @@ import alluxio.grpc.LoadFileRequest;
 import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.LoadRequest;
 import alluxio.grpc.LoadResponse;
+import alluxio.grpc.MetaInvalidationEvent;
 import alluxio.grpc.MoveBlockRequest;
 import alluxio.grpc.MoveBlockResponse;
 import alluxio.grpc.MoveRequest;
@@ -61,6 +66,7 @@ import alluxio.grpc.RenamePRequest;
 import alluxio.grpc.RenamePResponse;
 import alluxio.grpc.SetAttributePRequest;
 import alluxio.grpc.SetAttributePResponse;
+import alluxio.grpc.SubscribeMetaInvalidationsRequest;
 import alluxio.grpc.WriteRequest;
 import alluxio.grpc.WriteResponse;
 import alluxio.resource.AlluxioResourceLeakDetectorFactory;
@@ -352,6 +358,25 @@ public class DefaultBlockWorkerClient implements BlockWorkerClient {
         .listStatus(request);
   }
 
+  @Override
+  public void subscribeMetaInvalidations(SubscribeMetaInvalidationsRequest request,
+      StreamObserver<MetaInvalidationEvent> responseObserver) {
+    // the subscription lasts as long as the client, so it has no deadline
+    mStreamingAsyncStub.subscribeMetaInvalidations(request, responseObserver);
+  }
+
+  @Override
+  public GetCachedPageFilesResponse getCachedPageFiles(GetCachedPageFilesRequest request) {
+    return mRpcBlockingStub.withDeadlineAfter(mRpcTimeoutMs, TimeUnit.MILLISECONDS)
+        .getCachedPageFiles(request);
+  }
+
+  @Override
+  public DrainWorkerResponse drainWorker(DrainWorkerRequest request) {
+    return mRpcBlockingStub.withDeadlineAfter(mRpcTimeoutMs, TimeUnit.MILLISECONDS)
+        .drainWorker(request);
+  }
+
   @Override
   public ListenableFuture<CopyResponse> copy(CopyRequest request) {
     return mRpcFutureStub.copy(request);
@@ -137,6 +137,10 @@ public class DoraFileOutStream extends FileOutStream {
     Exception exceptionToThrow = null;
     try (Timer.Context ctx = MetricsSystem
         .uniformTimer(MetricKey.CLOSE_ALLUXIO_OUTSTREAM_LATENCY.getName()).time()) {
+      // With asynchronous netty writes, this is where the failure of the last packets is
+      // reported. It is not ignored unless the client writes to the UFS too, otherwise the file
+      // must not be completed, as the worker may not have all the data.
+      Exception workerWriteException = null;
       try {
         if (mAlluxioStorageType.isStore()) {
           if (mCanceled) {
@@ -146,14 +150,22 @@ public class DoraFileOutStream extends FileOutStream {
           }
         }
       } catch (Exception e) {
-        // Ignore.
+        workerWriteException = e;
       } finally {
         try {
           mNettyDataWriter.close();
         } catch (Exception ex) {
-          // Ignore
+          if (workerWriteException == null) {
+            workerWriteException = ex;
+          } else if (workerWriteException != ex) {
+            workerWriteException.addSuppressed(ex);
+          }
         }
       }
+      if (workerWriteException != null && !mCanceled && !mClientWriteToUFSEnabled
+          && mNettyDataWriter.isAsyncWriteEnabled()) {
+        throw workerWriteException;
+      }
 
       if (mUnderStorageType.isSyncPersist()) {
         try {
@@ -269,7 +281,7 @@ public class DoraFileOutStream extends FileOutStream {
     if (mUnderStorageType.isSyncPersist()) {
       if (mUnderStorageOutputStream != null) {
         mUnderStorageOutputStream.write(b, off, len);
-        MultiDimensionalMetricsSystem.UFS_DATA_ACCESS.labelValues("write").inc(len);
+        MultiDimensionalMetricsSystem.UFS_DATA_WRITE.inc(len);
         Metrics.BYTES_WRITTEN_TO_UFS.inc(len);
       }
     }
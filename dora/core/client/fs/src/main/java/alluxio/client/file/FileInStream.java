@@ -11,18 +11,24 @@
 
 package alluxio.client.file;
 
+import alluxio.PositionReader;
 import alluxio.Seekable;
 import alluxio.client.BoundedStream;
 import alluxio.client.CanUnbuffer;
 import alluxio.client.PositionedReadable;
 import alluxio.exception.PreconditionMessage;
+import alluxio.file.FileRange;
+import alluxio.file.VectoredReadUtils;
 import alluxio.util.io.BufferUtils;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 
 /**
  * A streaming API to read a file. This API represents a file as a stream of bytes and provides a
@@ -103,6 +109,27 @@ public abstract class FileInStream extends InputStream
     return nread;
   }
 
+  /**
+   * Reads a list of ranges of the file, see {@link PositionReader#readVectored}. As a stream is
+   * not thread-safe, the merged ranges are read one after another on the calling thread unless
+   * the stream has a thread-safe reader to issue them concurrently.
+   *
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate a buffer of a given size
+   */
+  public void readVectored(List<? extends FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    PositionReader reader = (position, buffer, length) -> {
+      byte[] bytes = new byte[length];
+      int bytesRead = positionedRead(position, bytes, 0, length);
+      if (bytesRead > 0) {
+        buffer.writeBytes(bytes, 0, bytesRead);
+      }
+      return bytesRead;
+    };
+    VectoredReadUtils.readVectored(reader, ranges, allocate, MoreExecutors.directExecutor());
+  }
+
   @Override
   public void unbuffer() {
   }
@@ -44,6 +44,7 @@ import alluxio.resource.DynamicResourcePool;
 import alluxio.security.authentication.AuthenticationUtils;
 import alluxio.security.user.UserState;
 import alluxio.util.CommonUtils;
+import alluxio.util.FlightRecorder;
 import alluxio.util.IdUtils;
 import alluxio.util.network.NetworkAddressUtils;
 import alluxio.wire.WorkerInfo;
@@ -458,6 +459,9 @@ public class FileSystemContext implements Closeable {
       MetricsSystem.startSinks(getClusterConf().getString(PropertyKey.METRICS_CONF_FILE));
       MetricsHeartbeatContext.addHeartbeat(getClientContext(), masterInquireClient);
     }
+    if (getClusterConf().getBoolean(PropertyKey.USER_JVM_FLIGHT_RECORDER_ENABLED)) {
+      FlightRecorder.start(getClusterConf());
+    }
     mFileSystemMasterClientPool = new FileSystemMasterClientPool(mMasterClientContext);
     mBlockMasterClientPool = new BlockMasterClientPool(mMasterClientContext);
     mBlockWorkerClientPoolMap = new ConcurrentHashMap<>();
@@ -876,7 +880,9 @@ public class FileSystemContext implements Closeable {
    */
   public WorkerClusterView getCachedWorkers(GetWorkerListType type) throws IOException {
     synchronized (mCachedWorkerClusterView) {
+      // the live workers watched by the membership manager are always up to date
       if (mCachedWorkerClusterView.get() == null || mCachedWorkerClusterView.get().isEmpty()
+          || (type == GetWorkerListType.LIVE && isWatchingLiveWorkers())
           || mWorkerRefreshPolicy.attempt()) {
         try {
           switch (type) {
@@ -900,6 +906,12 @@ public class FileSystemContext implements Closeable {
     }
   }
 
+  private boolean isWatchingLiveWorkers() {
+    try (ReinitBlockerResource r = blockReinit()) {
+      return mMembershipManager != null && mMembershipManager.isWatchingLiveMembers();
+    }
+  }
+
   /**
    * Gets the live worker information list.
    * This method is more expensive than {@link #getCachedWorkers(GetWorkerListType)}.
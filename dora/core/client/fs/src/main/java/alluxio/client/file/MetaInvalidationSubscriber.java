@@ -0,0 +1,264 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.Constants;
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.grpc.MetaInvalidationEvent;
+import alluxio.grpc.SubscribeMetaInvalidationsRequest;
+import alluxio.resource.CloseableResource;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Subscribes to the metadata invalidations pushed by the workers, on behalf of a client side
+ * metadata cache.
+ *
+ * Every live worker is subscribed to, as the metadata of a path is owned by a different worker
+ * than the listing of its parent. The whole cache is dropped when a subscription starts, as
+ * changes before it may have been missed, and when a started subscription ends or skips a
+ * sequence number, as changes after it may be missed. A subscription which ended is started again
+ * by a call to {@link #subscribeAll()} once a backoff, growing exponentially with the number of
+ * subscriptions of the worker which ended in a row without starting, expired. A worker which does
+ * not implement the subscriptions is not subscribed to again.
+ *
+ * The cache is responsible for not caching the metadata of a load which raced with an
+ * invalidation of the same path.
+ */
+@ThreadSafe
+final class MetaInvalidationSubscriber implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(MetaInvalidationSubscriber.class);
+  /** The time to wait before subscribing again to a worker whose subscription ended. */
+  @VisibleForTesting
+  static final long INITIAL_BACKOFF_MS = Constants.SECOND_MS;
+  /** The maximum time to wait before subscribing again to a worker. */
+  @VisibleForTesting
+  static final long MAX_BACKOFF_MS = 10 * Constants.MINUTE_MS;
+
+  private final FileSystemContext mContext;
+  private final SubscribeMetaInvalidationsRequest mRequest;
+  private final Consumer<String> mInvalidator;
+  private final Runnable mResetter;
+  private final Ticker mTicker;
+  private final Map<WorkerNetAddress, Subscription> mSubscriptions = new ConcurrentHashMap<>();
+  /** The workers whose last subscription ended, and when to subscribe to them again. */
+  private final Map<WorkerNetAddress, Backoff> mBackoffs = new ConcurrentHashMap<>();
+  private volatile boolean mClosed = false;
+
+  /**
+   * @param context the file system context
+   * @param pathPrefixes the full ufs paths under which to subscribe to invalidations
+   * @param invalidator invalidates the cache of a full ufs path
+   * @param resetter invalidates the whole cache
+   */
+  MetaInvalidationSubscriber(FileSystemContext context, List<String> pathPrefixes,
+      Consumer<String> invalidator, Runnable resetter) {
+    this(context, pathPrefixes, invalidator, resetter, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  MetaInvalidationSubscriber(FileSystemContext context, List<String> pathPrefixes,
+      Consumer<String> invalidator, Runnable resetter, Ticker ticker) {
+    mContext = context;
+    mRequest = SubscribeMetaInvalidationsRequest.newBuilder()
+        .addAllPathPrefixes(pathPrefixes).build();
+    mInvalidator = invalidator;
+    mResetter = resetter;
+    mTicker = ticker;
+  }
+
+  /**
+   * Subscribes to the live workers which are not subscribed to yet.
+   */
+  void subscribeAll() {
+    if (mClosed) {
+      return;
+    }
+    try {
+      for (WorkerInfo worker : mContext.getCachedWorkers()) {
+        subscribe(worker.getAddress());
+      }
+    } catch (IOException e) {
+      LOG.debug("Failed to get the workers to subscribe to metadata invalidations", e);
+    }
+  }
+
+  @VisibleForTesting
+  void subscribe(WorkerNetAddress address) {
+    if (mSubscriptions.containsKey(address)) {
+      return;
+    }
+    Backoff backoff = mBackoffs.get(address);
+    if (backoff != null && (backoff.mUnsupported || mTicker.read() - backoff.mRetryAtNanos < 0)) {
+      return;
+    }
+    Subscription subscription = new Subscription(address);
+    if (mSubscriptions.putIfAbsent(address, subscription) == null) {
+      subscription.start();
+    }
+  }
+
+  @VisibleForTesting
+  int getSubscriptionCount() {
+    return mSubscriptions.size();
+  }
+
+  @Override
+  public void close() {
+    mClosed = true;
+    for (Subscription subscription : mSubscriptions.values()) {
+      subscription.cancel();
+    }
+  }
+
+  private final class Subscription
+      implements ClientResponseObserver<SubscribeMetaInvalidationsRequest, MetaInvalidationEvent> {
+    private final WorkerNetAddress mAddress;
+    @GuardedBy("this")
+    private CloseableResource<BlockWorkerClient> mClient;
+    @GuardedBy("this")
+    private ClientCallStreamObserver<SubscribeMetaInvalidationsRequest> mCall;
+    @GuardedBy("this")
+    private boolean mEnded = false;
+    /** Only accessed by the gRPC callbacks, which are not called concurrently. */
+    private long mNextSequenceNumber = 0;
+
+    Subscription(WorkerNetAddress address) {
+      mAddress = address;
+    }
+
+    void start() {
+      try {
+        CloseableResource<BlockWorkerClient> client = mContext.acquireBlockWorkerClient(mAddress);
+        synchronized (this) {
+          mClient = client;
+        }
+        client.get().subscribeMetaInvalidations(mRequest, this);
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Failed to subscribe to metadata invalidations of worker {}", mAddress, e);
+        end(e);
+      }
+    }
+
+    synchronized void cancel() {
+      if (mCall != null) {
+        mCall.cancel("The client is closed", null);
+      }
+    }
+
+    @Override
+    public synchronized void beforeStart(
+        ClientCallStreamObserver<SubscribeMetaInvalidationsRequest> requestStream) {
+      mCall = requestStream;
+    }
+
+    @Override
+    public void onNext(MetaInvalidationEvent event) {
+      if (event.getSequenceNumber() != mNextSequenceNumber) {
+        LOG.warn("Missed metadata invalidations of worker {}, expected event {} but got {}",
+            mAddress, mNextSequenceNumber, event.getSequenceNumber());
+        // the whole cache is dropped as the subscription ends
+        cancel();
+        return;
+      }
+      mNextSequenceNumber++;
+      if (event.hasPath()) {
+        mInvalidator.accept(event.getPath());
+      } else {
+        // the subscription is acknowledged, from now on no invalidation of the worker is missed
+        mBackoffs.remove(mAddress);
+        mResetter.run();
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      LOG.debug("The subscription to metadata invalidations of worker {} ended", mAddress, t);
+      end(t);
+    }
+
+    @Override
+    public void onCompleted() {
+      end(null);
+    }
+
+    /**
+     * @param cause the cause of the end, or null if the worker completed the subscription
+     */
+    private void end(@Nullable Throwable cause) {
+      CloseableResource<BlockWorkerClient> client;
+      synchronized (this) {
+        if (mEnded) {
+          return;
+        }
+        mEnded = true;
+        client = mClient;
+      }
+      boolean unsupported = cause != null
+          && Status.fromThrowable(cause).getCode() == Status.Code.UNIMPLEMENTED;
+      if (unsupported) {
+        LOG.info("Worker {} does not support metadata invalidations, not subscribing to it",
+            mAddress);
+      }
+      // the backoff is recorded before the subscription is removed, so it is not started again
+      mBackoffs.compute(mAddress, (address, backoff) -> {
+        int failures = backoff == null ? 1 : backoff.mFailures + 1;
+        long delayMs = INITIAL_BACKOFF_MS << Math.min(failures - 1, 30);
+        return new Backoff(failures,
+            mTicker.read() + TimeUnit.MILLISECONDS.toNanos(Math.min(delayMs, MAX_BACKOFF_MS)),
+            unsupported);
+      });
+      mSubscriptions.remove(mAddress, this);
+      // the cache relied on the subscription only if it was acknowledged
+      if (mNextSequenceNumber > 0) {
+        mResetter.run();
+      }
+      if (client != null) {
+        client.close();
+      }
+    }
+  }
+
+  /**
+   * The subscriptions of a worker which ended in a row without being acknowledged.
+   */
+  private static final class Backoff {
+    private final int mFailures;
+    private final long mRetryAtNanos;
+    private final boolean mUnsupported;
+
+    private Backoff(int failures, long retryAtNanos, boolean unsupported) {
+      mFailures = failures;
+      mRetryAtNanos = retryAtNanos;
+      mUnsupported = unsupported;
+    }
+  }
+}
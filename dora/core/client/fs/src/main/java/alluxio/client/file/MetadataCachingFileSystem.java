@@ -37,6 +37,7 @@ import alluxio.wire.FileInfo;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,7 +49,10 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -61,17 +65,42 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
   private static final int THREAD_TERMINATION_TIMEOUT_MS = 10000;
   private static final URIStatus NOT_FOUND_STATUS = new URIStatus(
       new FileInfo().setCompleted(true));
+  /** The number of stripes the versions of the cached paths are tracked in. */
+  private static final int VERSION_STRIPES = 1024;
 
   private final FileSystemContext mFsContext;
   private final MetadataCache mMetadataCache;
   private final ExecutorService mAccessTimeUpdater;
   private final boolean mDisableUpdateFileAccessTime;
+  @Nullable
+  private final MetaInvalidationSubscriber mInvalidationSubscriber;
+  /**
+   * The versions of the cached paths, by the hash of the path, incremented whenever the metadata
+   * of a path, or of a child which is in its listing, is invalidated by a worker.
+   */
+  private final AtomicLongArray mPathVersions = new AtomicLongArray(VERSION_STRIPES);
+  /** Incremented whenever the whole cache is invalidated by the invalidation subscriber. */
+  private final AtomicLong mResetVersion = new AtomicLong();
 
   /**
    * @param fileSystem the file system
    * @param context the fs context
    */
   public MetadataCachingFileSystem(FileSystem fileSystem, FileSystemContext context) {
+    this(fileSystem, context, context.getClusterConf()
+        .getBoolean(PropertyKey.USER_METADATA_CACHE_INVALIDATION_ENABLED)
+        && fileSystem.getDoraCacheFileSystem() != null);
+  }
+
+  /**
+   * @param fileSystem the file system
+   * @param context the fs context
+   * @param subscribeToInvalidations whether to subscribe to the metadata invalidations of the
+   *                                 workers
+   */
+  @VisibleForTesting
+  MetadataCachingFileSystem(FileSystem fileSystem, FileSystemContext context,
+      boolean subscribeToInvalidations) {
     super(fileSystem);
     mFsContext = context;
     int maxSize = mFsContext.getClusterConf().getInt(PropertyKey.USER_METADATA_CACHE_MAX_SIZE);
@@ -84,6 +113,16 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
         ? new MetadataCache(maxSize, mFsContext.getClusterConf()
             .getMs(PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME))
         : new MetadataCache(maxSize);
+    DoraCacheFileSystem doraCacheFileSystem = fileSystem.getDoraCacheFileSystem();
+    if (subscribeToInvalidations) {
+      mInvalidationSubscriber = new MetaInvalidationSubscriber(mFsContext,
+          doraCacheFileSystem == null ? ImmutableList.of() : ImmutableList.of(
+              doraCacheFileSystem.convertToUfsPath(new AlluxioURI("/")).toString()),
+          ufsPath -> invalidateUfsPath(doraCacheFileSystem, ufsPath),
+          this::invalidateAllByWorker);
+    } else {
+      mInvalidationSubscriber = null;
+    }
     int masterClientThreads = mFsContext.getClusterConf()
         .getInt(PropertyKey.USER_FILE_MASTER_CLIENT_POOL_SIZE_MAX);
     mDisableUpdateFileAccessTime = mFsContext.getClusterConf()
@@ -143,11 +182,12 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
       throws FileDoesNotExistException, IOException, AlluxioException {
     URIStatus status = mMetadataCache.get(path);
     if (status == null || !status.isCompleted()) {
+      long version = beforeLoad(path);
       try {
         status = mDelegatedFileSystem.getStatus(path, options);
-        mMetadataCache.put(path, status);
+        putIfUnchangedSince(path, version, status);
       } catch (FileDoesNotExistException e) {
-        mMetadataCache.put(path, NOT_FOUND_STATUS);
+        putIfUnchangedSince(path, version, NOT_FOUND_STATUS);
         throw e;
       }
     } else if (status == NOT_FOUND_STATUS) {
@@ -176,12 +216,13 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
 
     List<URIStatus> cachedStatuses = mMetadataCache.listStatus(path);
     if (cachedStatuses == null) {
+      long version = beforeLoad(path);
       List<URIStatus> statuses = new ArrayList<>();
       mDelegatedFileSystem.iterateStatus(path, options, status -> {
         statuses.add(status);
         action.accept(status);
       });
-      mMetadataCache.put(path, statuses);
+      putIfUnchangedSince(path, version, statuses);
       return;
     }
     cachedStatuses.forEach(action);
@@ -200,8 +241,9 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
 
     List<URIStatus> statuses = mMetadataCache.listStatus(path);
     if (statuses == null) {
+      long version = beforeLoad(path);
       statuses = mDelegatedFileSystem.listStatus(path, options);
-      mMetadataCache.put(path, statuses);
+      putIfUnchangedSince(path, version, statuses);
     }
     return statuses;
   }
@@ -218,6 +260,118 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
     return mDelegatedFileSystem.openFile(status, options);
   }
 
+  /**
+   * Makes sure the invalidations of the metadata about to be loaded are subscribed to.
+   *
+   * @param path the path about to be loaded
+   * @return the version of the path before the load
+   */
+  private long beforeLoad(AlluxioURI path) {
+    if (mInvalidationSubscriber == null) {
+      return 0;
+    }
+    mInvalidationSubscriber.subscribeAll();
+    return getVersion(path);
+  }
+
+  /**
+   * @param path a path
+   * @return the version of the path, which changes whenever the path or the whole cache is
+   *         invalidated by a worker, and may change when other paths are
+   */
+  private long getVersion(AlluxioURI path) {
+    // the sum of the two versions changes whenever either does, as they only increase
+    return mResetVersion.get() + mPathVersions.get(getVersionStripe(path));
+  }
+
+  private static int getVersionStripe(AlluxioURI path) {
+    return Math.floorMod(path.getPath().hashCode(), VERSION_STRIPES);
+  }
+
+  private void putIfUnchangedSince(AlluxioURI path, long version, URIStatus status) {
+    putIfUnchangedSince(path, version, () -> mMetadataCache.put(path, status),
+        () -> mMetadataCache.invalidate(path));
+  }
+
+  private void putIfUnchangedSince(AlluxioURI path, long version, List<URIStatus> statuses) {
+    // the statuses of the children are cached along with the listing
+    putIfUnchangedSince(path, version, () -> mMetadataCache.put(path, statuses), () -> {
+      mMetadataCache.invalidate(path);
+      statuses.forEach(status -> mMetadataCache.invalidate(status.getPath()));
+    });
+  }
+
+  /**
+   * Caches the metadata of a path loaded, unless the path was invalidated by a worker since the
+   * load started, as the metadata may have been read before the invalidation.
+   *
+   * @param path the path loaded
+   * @param version the version of the path before the load
+   * @param put caches the metadata
+   * @param undo invalidates the metadata cached
+   */
+  private void putIfUnchangedSince(AlluxioURI path, long version, Runnable put, Runnable undo) {
+    if (mInvalidationSubscriber == null) {
+      put.run();
+      return;
+    }
+    if (getVersion(path) != version) {
+      return;
+    }
+    put.run();
+    // an invalidation received while caching the metadata may have been applied before it
+    if (getVersion(path) != version) {
+      undo.run();
+    }
+  }
+
+  /**
+   * Invalidates the cache of a path, and the listing of its parent, on the invalidation of its
+   * metadata by a worker.
+   *
+   * @param doraCacheFileSystem the file system to convert the ufs path with
+   * @param ufsPath the full ufs path
+   */
+  private void invalidateUfsPath(DoraCacheFileSystem doraCacheFileSystem, String ufsPath) {
+    AlluxioURI path;
+    try {
+      path = doraCacheFileSystem.convertToAlluxioPath(new AlluxioURI(ufsPath));
+    } catch (InvalidPathException e) {
+      // the path is not under the root of this file system, so it is not cached
+      return;
+    }
+    invalidateByWorker(path);
+  }
+
+  /**
+   * Invalidates the cache of a path, and the listing of its parent, on the invalidation of its
+   * metadata by a worker. The versions are changed before the cache is invalidated, so that a
+   * load racing with the invalidation either sees the change or is invalidated.
+   *
+   * @param path the path
+   */
+  @VisibleForTesting
+  void invalidateByWorker(AlluxioURI path) {
+    mPathVersions.incrementAndGet(getVersionStripe(path));
+    AlluxioURI parent = path.isRoot() ? null : path.getParent();
+    if (parent != null) {
+      mPathVersions.incrementAndGet(getVersionStripe(parent));
+    }
+    mMetadataCache.invalidate(path);
+    if (parent != null) {
+      mMetadataCache.invalidate(parent);
+    }
+  }
+
+  /**
+   * Invalidates the whole cache, when invalidations of a worker may have been missed.
+   */
+  @VisibleForTesting
+  void invalidateAllByWorker() {
+    mResetVersion.incrementAndGet();
+    mMetadataCache.invalidateAll();
+  }
+
   /**
    * Asynchronously update file's last access time.
    *
@@ -250,6 +404,9 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
   @Override
   public synchronized void close() throws IOException {
     if (!mDelegatedFileSystem.isClosed()) {
+      if (mInvalidationSubscriber != null) {
+        mInvalidationSubscriber.close();
+      }
       ThreadUtils.shutdownAndAwaitTermination(mAccessTimeUpdater, THREAD_TERMINATION_TIMEOUT_MS);
       mDelegatedFileSystem.close();
     }
@@ -17,6 +17,7 @@ import alluxio.collections.ConcurrentHashSet;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PreconditionMessage;
+import alluxio.file.FileRange;
 import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
 
 import com.amazonaws.annotation.NotThreadSafe;
@@ -29,7 +30,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.IntFunction;
 
 /**
  * Implementation of {@link FileInStream} that reads from a dora cache if possible.
@@ -282,6 +285,14 @@ public class PositionReadFileInStream extends FileInStream {
     return totalBytesRead;
   }
 
+  @Override
+  public void readVectored(List<? extends FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    // the position reader is thread-safe, so the reads bypass the prefetch cache of the stream
+    // and are issued concurrently
+    mPositionReader.readVectored(ranges, allocate);
+  }
+
   @Override
   public long getPos() throws IOException {
     return mPos;
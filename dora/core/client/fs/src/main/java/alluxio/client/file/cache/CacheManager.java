@@ -20,6 +20,7 @@ import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.MultiDimensionalMetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.resource.LockResource;
 
@@ -349,7 +350,8 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
 
   /**
    * @param pageId the page id
-   * @return true if the page is cached. This method is not thread-safe as no lock is acquired
+   * @return true if the page is cached. The lock of the page is not acquired, so the page may
+   *         be added or removed as soon as this returns
    */
   default boolean hasPageUnsafe(PageId pageId) {
     throw new UnsupportedOperationException();
@@ -376,6 +378,20 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
   @Override
   Optional<CacheUsage> getUsage();
 
+  /**
+   * Gets the number of bytes cached of each of the given files in one call, which is cheaper
+   * than looking the files up one by one through {@link #getUsage()}.
+   *
+   * @param fileIds the file ids
+   * @return the number of bytes cached of each file, in the same order as the file ids
+   */
+  default long[] getCachedBytes(List<String> fileIds) {
+    Optional<CacheUsage> usage = getUsage();
+    return fileIds.stream().mapToLong(fileId -> usage
+        .flatMap(u -> u.partitionedBy(CacheUsage.PartitionDescriptor.file(fileId)))
+        .map(CacheUsage::used).orElse(0L)).toArray();
+  }
+
   /**
    * Commit the File.
    * @param fileId the file ID
@@ -393,4 +409,20 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
   Optional<DataFileChannel> getDataFileChannel(
       PageId pageId, int pageOffset, int bytesToRead, CacheContext cacheContext)
       throws PageNotFoundException;
+
+  /**
+   * Get a {@link DataBuffer} over part of a cached page which can be written to a Netty channel
+   * without copying. The caller must release the buffer.
+   * @param pageId the page id
+   * @param pageOffset the offset inside the page
+   * @param bytesToRead the bytes to read
+   * @param cacheContext the cache context
+   * @return the buffer, or empty if the page is not cached
+   */
+  default Optional<DataBuffer> getDataBuffer(
+      PageId pageId, int pageOffset, int bytesToRead, CacheContext cacheContext)
+      throws PageNotFoundException {
+    return getDataFileChannel(pageId, pageOffset, bytesToRead, cacheContext)
+        .map(DataBuffer.class::cast);
+  }
 }
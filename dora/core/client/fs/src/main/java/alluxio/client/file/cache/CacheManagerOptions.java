@@ -29,7 +29,9 @@ public class CacheManagerOptions {
   private int mMaxEvictionRetries;
   private long mPageSize;
   private List<PageStoreOptions> mPageStoreOptions;
+  private int mPromotionThreshold = 3;
   private boolean mQuotaEnabled;
+  private int mTierMoveThreads = 2;
   private boolean mTtlEnabled;
   private long mTtlCheckIntervalSeconds;
   private long mTtlThresholdSeconds;
@@ -80,7 +82,9 @@ public class CacheManagerOptions {
             conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_ASYNC_WRITE_ENABLED))
         .setMaxEvictionRetries(conf.getInt(PropertyKey.WORKER_PAGE_STORE_EVICTION_RETRIES))
         .setPageSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE))
+        .setPromotionThreshold(conf.getInt(PropertyKey.WORKER_PAGE_STORE_PROMOTION_THRESHOLD))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_QUOTA_ENABLED))
+        .setTierMoveThreads(conf.getInt(PropertyKey.WORKER_PAGE_STORE_TIER_MOVE_THREADS))
         .setCacheEvictorOptions(cacheEvictorOptions)
         .setPageStoreOptions(PageStoreOptions.createForWorkerPageStore(conf));
     return options;
@@ -113,6 +117,20 @@ public class CacheManagerOptions {
     return mAsyncWriteThreads;
   }
 
+  /**
+   * @return the number of reads of a page in a lower tier after which it is promoted
+   */
+  public int getPromotionThreshold() {
+    return mPromotionThreshold;
+  }
+
+  /**
+   * @return the number of threads moving pages between tiers
+   */
+  public int getTierMoveThreads() {
+    return mTierMoveThreads;
+  }
+
   /**
    * @return if quota is enabled
    */
@@ -224,6 +242,16 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param promotionThreshold the number of reads of a page in a lower tier after which it is
+   *        promoted
+   * @return the updated options
+   */
+  public CacheManagerOptions setPromotionThreshold(int promotionThreshold) {
+    mPromotionThreshold = promotionThreshold;
+    return this;
+  }
+
   /**
    * @param isQuotaEnabled
    * @return the updated options
@@ -243,6 +271,15 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param tierMoveThreads the number of threads moving pages between tiers
+   * @return the updated options
+   */
+  public CacheManagerOptions setTierMoveThreads(int tierMoveThreads) {
+    mTierMoveThreads = tierMoveThreads;
+    return this;
+  }
+
   /**
    * @param isTtlEnabled
    * @return the updated options
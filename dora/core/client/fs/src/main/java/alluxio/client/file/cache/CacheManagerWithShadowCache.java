@@ -20,6 +20,7 @@ import alluxio.exception.PageNotFoundException;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import com.codahale.metrics.Counter;
@@ -28,6 +29,7 @@ import com.google.common.hash.Funnel;
 import com.google.common.hash.PrimitiveSink;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
@@ -178,12 +180,23 @@ public class CacheManagerWithShadowCache implements CacheManager {
     return mCacheManager.getUsage();
   }
 
+  @Override
+  public long[] getCachedBytes(List<String> fileIds) {
+    return mCacheManager.getCachedBytes(fileIds);
+  }
+
   @Override
   public Optional<DataFileChannel> getDataFileChannel(PageId pageId, int pageOffset,
       int bytesToRead, CacheContext cacheContext) throws PageNotFoundException {
     return mCacheManager.getDataFileChannel(pageId, pageOffset, bytesToRead, cacheContext);
   }
 
+  @Override
+  public Optional<DataBuffer> getDataBuffer(PageId pageId, int pageOffset,
+      int bytesToRead, CacheContext cacheContext) throws PageNotFoundException {
+    return mCacheManager.getDataBuffer(pageId, pageOffset, bytesToRead, cacheContext);
+  }
+
   /**
    * Decrease each item's clock and clean stale items.
    */
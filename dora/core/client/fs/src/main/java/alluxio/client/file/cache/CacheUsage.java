@@ -23,7 +23,8 @@ import java.util.Optional;
  * <br>
  * <b>Granularity</b>
  * A usage object of this interface is associated with a certain granularity, either global,
- * of a cache directory, of a application-defined scope, or of a particular file. Coarse-grained
+ * of a tier of cache directories, of a cache directory, of a application-defined scope, or of a
+ * particular file. Coarse-grained
  * cache usage objects may be partitioned into a finer-grained one, for example the global usage
  * can be partitioned into usages of each cache directory.
  * <br>
@@ -101,6 +102,16 @@ public interface CacheUsage extends CacheUsageView {
       return new DirPartition(index);
     }
 
+    /**
+     * Creates a partition for a tier of directories.
+     *
+     * @param tier the tier, with 0 being the fastest tier
+     * @return the partition
+     */
+    static TierPartition tier(int tier) {
+      return new TierPartition(tier);
+    }
+
     /**
      * Creates a partition of a cache scope.
      *
@@ -112,6 +123,51 @@ public interface CacheUsage extends CacheUsageView {
     }
   }
 
+  /**
+   * Partition on a tier of cache directories.
+   */
+  final class TierPartition implements PartitionDescriptor<Integer> {
+    private final int mTier;
+
+    /**
+     * Creates a partition based on the tier.
+     *
+     * @param tier the tier, with 0 being the fastest tier
+     */
+    public TierPartition(int tier) {
+      mTier = tier;
+    }
+
+    @Override
+    public Integer getIdentifier() {
+      return mTier;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      TierPartition that = (TierPartition) o;
+      return mTier == that.mTier;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(mTier);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("tier", mTier)
+          .toString();
+    }
+  }
+
   /**
    * Partition on a particular cache directory.
    */
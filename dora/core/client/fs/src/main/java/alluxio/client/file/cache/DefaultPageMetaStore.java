@@ -18,16 +18,16 @@ import alluxio.client.file.cache.allocator.HashAllocator;
 import alluxio.client.file.cache.evictor.CacheEvictor;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheScope;
-import alluxio.collections.IndexDefinition;
-import alluxio.collections.IndexedSet;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.PageNotFoundException;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
 
 import com.codahale.metrics.Counter;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,20 +48,19 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 public class DefaultPageMetaStore implements PageMetaStore {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultPageMetaStore.class);
-  /** A map from PageId to page info. */
-  private final IndexedSet<PageInfo> mPages = new IndexedSet<>(INDEX_PAGE_ID, INDEX_FILE_ID);
+  /** The pages in the cache, by file and page index. */
+  @GuardedBy("getLock()")
+  private final PageIndex mPages = new PageIndex();
   private final ImmutableList<PageStoreDir> mDirs;
   /** The number of logical bytes used. */
   private final AtomicLong mBytes = new AtomicLong(0);
+  /** The number of bytes cached of each file, kept up to date as pages come and go. */
+  @GuardedBy("getLock()")
+  private final Object2LongOpenHashMap<String> mFileBytes = new Object2LongOpenHashMap<>();
 
   protected final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
   private final Allocator mAllcator;
 
-  private static final IndexDefinition<PageInfo, PageId> INDEX_PAGE_ID =
-      IndexDefinition.ofUnique(PageInfo::getPageId);
-  private static final IndexDefinition<PageInfo, String> INDEX_FILE_ID =
-      IndexDefinition.ofNonUnique(pageInfo -> pageInfo.getPageId().getFileId());
-
   /**
    * @param dirs storage directories
    */
@@ -91,34 +90,41 @@ public class DefaultPageMetaStore implements PageMetaStore {
   @Override
   @GuardedBy("getLock()")
   public boolean hasPage(PageId pageId) {
-    return mPages.contains(INDEX_PAGE_ID, pageId);
+    return mPages.contains(pageId);
   }
 
   @Override
   @GuardedBy("getLock()")
   public void addPage(PageId pageId, PageInfo pageInfo) {
-    addPageInternal(pageId, pageInfo);
-    pageInfo.getLocalCacheDir().putPage(pageInfo);
+    pageInfo.getLocalCacheDir().putPage(addPageInternal(pageId, pageInfo));
   }
 
-  private void addPageInternal(PageId pageId, PageInfo pageInfo) {
+  /**
+   * @return the page as stored in the index
+   */
+  private PageInfo addPageInternal(PageId pageId, PageInfo pageInfo) {
     Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
-    mPages.add(pageInfo);
+    PageInfo added = mPages.add(pageInfo);
+    if (added != null) {
+      mFileBytes.addTo(pageId.getFileId(), pageInfo.getPageSize());
+    } else {
+      added = pageInfo;
+    }
     mBytes.addAndGet(pageInfo.getPageSize());
     Metrics.SPACE_USED.inc(pageInfo.getPageSize());
+    return added;
   }
 
   @Override
   @GuardedBy("getLock()")
   public void addTempPage(PageId pageId, PageInfo pageInfo) {
-    addPageInternal(pageId, pageInfo);
-    pageInfo.getLocalCacheDir().putTempPage(pageInfo);
+    pageInfo.getLocalCacheDir().putTempPage(addPageInternal(pageId, pageInfo));
   }
 
   @Override
   @GuardedBy("getLock().writeLock()")
   public void commitFile(String fileId, String newFileId) throws PageNotFoundException {
-    Set<PageInfo> pages = mPages.getByField(INDEX_FILE_ID, fileId);
+    Set<PageInfo> pages = mPages.removeFile(fileId);
     if (pages.size() == 0) {
       throw new PageNotFoundException(
           String.format("No Pages found for file %s when committing", fileId));
@@ -126,15 +132,18 @@ public class DefaultPageMetaStore implements PageMetaStore {
     for (PageInfo oldPageInfo : pages) {
       PageId newPageId = new PageId(newFileId, oldPageInfo.getPageId().getPageIndex());
       PageInfo newPageInfo = new PageInfo(newPageId, oldPageInfo.getPageSize(),
-          oldPageInfo.getScope(), oldPageInfo.getLocalCacheDir());
-      mPages.remove(oldPageInfo);
+          oldPageInfo.getScope(), oldPageInfo.getLocalCacheDir(), System.currentTimeMillis(),
+          oldPageInfo.getCacheContextIfKept());
       mPages.add(newPageInfo);
     }
+    long bytes = mFileBytes.removeLong(fileId);
+    mFileBytes.addTo(newFileId, bytes);
   }
 
   @Override
+  @GuardedBy("getLock()")
   public PageStoreDir getStoreDirOfFile(String fileId) throws FileDoesNotExistException {
-    PageInfo pageInfo = mPages.getFirstByField(INDEX_FILE_ID, fileId);
+    PageInfo pageInfo = mPages.getFirst(fileId);
     if (pageInfo == null) {
       throw new FileDoesNotExistException(String.format("File %s does not exist in cache", fileId));
     }
@@ -154,24 +163,34 @@ public class DefaultPageMetaStore implements PageMetaStore {
   @Override
   @GuardedBy("getLock()")
   public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
-    if (!mPages.contains(INDEX_PAGE_ID, pageId)) {
+    PageInfo pageInfo = mPages.get(pageId);
+    if (pageInfo == null) {
       throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
     }
-    PageInfo pageInfo = mPages.getFirstByField(INDEX_PAGE_ID, pageId);
     pageInfo.getLocalCacheDir().getEvictor().updateOnGet(pageId);
     return pageInfo;
   }
 
+  @Override
+  @Nullable
+  @GuardedBy("getLock()")
+  public PageInfo peekPageInfo(PageId pageId) {
+    return mPages.get(pageId);
+  }
+
   @Override
   @GuardedBy("getLock()")
   public PageInfo removePage(PageId pageId, boolean isTemporary) throws PageNotFoundException {
-    if (!mPages.contains(INDEX_PAGE_ID, pageId)) {
+    PageInfo pageInfo = mPages.remove(pageId);
+    if (pageInfo == null) {
       throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
     }
-
-    PageInfo pageInfo = mPages.getFirstByField(INDEX_PAGE_ID, pageId);
-    mPages.remove(pageInfo);
     mBytes.addAndGet(-pageInfo.getPageSize());
+    String fileId = pageId.getFileId();
+    if (mFileBytes.addTo(fileId, -pageInfo.getPageSize()) == pageInfo.getPageSize()) {
+      // the last page of the file is gone
+      mFileBytes.removeLong(fileId);
+    }
     Metrics.SPACE_USED.dec(pageInfo.getPageSize());
     if (isTemporary) {
       pageInfo.getLocalCacheDir().deleteTempPage(pageInfo);
@@ -204,6 +223,7 @@ public class DefaultPageMetaStore implements PageMetaStore {
     mBytes.set(0);
     Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
     mPages.clear();
+    mFileBytes.clear();
   }
 
   @Override
@@ -218,7 +238,7 @@ public class DefaultPageMetaStore implements PageMetaStore {
     if (victim == null) {
       return null;
     }
-    PageInfo victimInfo = mPages.getFirstByField(INDEX_PAGE_ID, victim);
+    PageInfo victimInfo = mPages.get(victim);
     if (victimInfo == null) {
       LOG.error("Invalid result returned by evictor: page {} not available", victim);
       evictor.updateOnDelete(victim);
@@ -230,8 +250,18 @@ public class DefaultPageMetaStore implements PageMetaStore {
   @Override
   @GuardedBy("getLock().readLock()")
   public Set<PageInfo> getAllPagesByFileId(String fileId) {
-    Set<PageInfo> pages = mPages.getByField(INDEX_FILE_ID, fileId);
-    return pages;
+    return mPages.getFile(fileId);
+  }
+
+  @Override
+  public long[] getCachedBytes(List<String> fileIds) {
+    long[] bytes = new long[fileIds.size()];
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = mFileBytes.getLong(fileIds.get(i));
+      }
+    }
+    return bytes;
   }
 
   @Override
@@ -260,8 +290,7 @@ public class DefaultPageMetaStore implements PageMetaStore {
     public Optional<CacheUsage> partitionedBy(PartitionDescriptor<?> partition) {
       if (partition instanceof FilePartition) {
         String fileId = ((FilePartition) partition).getIdentifier();
-        Set<PageInfo> pages = mPages.getByField(INDEX_FILE_ID, fileId);
-        long used = pages.stream().mapToLong(PageInfo::getPageSize).sum();
+        long used = getCachedBytes(ImmutableList.of(fileId))[0];
         long capacity = capacity();
         long available = capacity - bytes();
         return Optional.of(new ImmutableCacheUsageView(used, available, capacity));
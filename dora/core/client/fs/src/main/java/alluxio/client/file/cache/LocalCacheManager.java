@@ -34,13 +34,19 @@ import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.MultiDimensionalMetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.network.protocol.databuffer.NioDataBuffer;
 import alluxio.resource.LockResource;
+import alluxio.trace.Span;
+import alluxio.trace.Tracer;
 import alluxio.util.ThreadFactoryUtils;
 
 import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.prometheus.metrics.core.datapoints.CounterDataPoint;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,11 +54,14 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
@@ -91,6 +100,8 @@ public class LocalCacheManager implements CacheManager {
   private static final Logger LOG = LoggerFactory.getLogger(LocalCacheManager.class);
 
   private static final int LOCK_SIZE = 1024;
+  /** The number of pages which can be queued to move between tiers. */
+  private static final int TIER_MOVE_QUEUE_SIZE = 64;
   private final long mCacheSize;
   /**
    * A readwrite lock pool to guard individual pages based on striping.
@@ -109,6 +120,17 @@ public class LocalCacheManager implements CacheManager {
   private final Optional<ExecutorService> mAsyncCacheExecutor;
   /** Executor service for execute the cache ttl check tasks. */
   private final Optional<ScheduledExecutorService> mTtlEnforcerExecutor;
+  /** Executor service for moving pages between tiers, present if there are multiple tiers. */
+  private final Optional<ExecutorService> mTierMoveExecutor;
+  /** Bytes read from each tier, present if there are multiple tiers. */
+  private final CounterDataPoint[] mTierDataRead;
+  /** The pages queued or being demoted to the tier below. */
+  @GuardedBy("PageMetaStore.getLock()")
+  private final Map<PageId, TierMove> mDemotions = new HashMap<>();
+  /** The bytes of the pages being demoted from each directory. */
+  @GuardedBy("PageMetaStore.getLock()")
+  private final Object2LongOpenHashMap<PageStoreDir> mDemotedBytes =
+      new Object2LongOpenHashMap<>();
   private final ConcurrentHashSet<PageId> mPendingRequests;
   /**
    * State of this cache.
@@ -186,6 +208,18 @@ public class LocalCacheManager implements CacheManager {
       mTtlEnforcerExecutor = Optional.empty();
       mPagePredicate = Optional.empty();
     }
+    int numTiers = pageMetaStore.getNumTiers();
+    mTierMoveExecutor = numTiers > 1
+        ? Optional.of(new ThreadPoolExecutor(mOptions.getTierMoveThreads(),
+            mOptions.getTierMoveThreads(), 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(TIER_MOVE_QUEUE_SIZE),
+            ThreadFactoryUtils.build("alluxio-cache-tier-move-%d", true)))
+        : Optional.empty();
+    mTierDataRead = new CounterDataPoint[numTiers > 1 ? numTiers : 0];
+    for (int i = 0; i < mTierDataRead.length; i++) {
+      mTierDataRead[i] =
+          MultiDimensionalMetricsSystem.CACHED_TIER_DATA_READ.labelValues(String.valueOf(i));
+    }
     Metrics.registerGauges(mCacheSize, mPageMetaStore);
     mState.set(READ_ONLY);
     Metrics.STATE.inc();
@@ -195,6 +229,21 @@ public class LocalCacheManager implements CacheManager {
   public Optional<DataFileChannel> getDataFileChannel(
       PageId pageId, int pageOffset, int bytesToRead, CacheContext cacheContext)
       throws PageNotFoundException {
+    return getPageBuffer(pageId, pageOffset, bytesToRead, cacheContext,
+        PageStore::getDataFileChannel);
+  }
+
+  @Override
+  public Optional<DataBuffer> getDataBuffer(
+      PageId pageId, int pageOffset, int bytesToRead, CacheContext cacheContext)
+      throws PageNotFoundException {
+    return getPageBuffer(pageId, pageOffset, bytesToRead, cacheContext,
+        PageStore::getDataBuffer);
+  }
+
+  private <T extends DataBuffer> Optional<T> getPageBuffer(
+      PageId pageId, int pageOffset, int bytesToRead, CacheContext cacheContext,
+      PageBufferReader<T> reader) throws PageNotFoundException {
     Preconditions.checkArgument(pageOffset <= mOptions.getPageSize(),
         "Read exceeds page boundary: offset=%s size=%s",
         pageOffset, mOptions.getPageSize());
@@ -206,7 +255,8 @@ public class LocalCacheManager implements CacheManager {
     }
     ReadWriteLock pageLock = getPageLock(pageId);
     long startTime = System.nanoTime();
-    try (LockResource r = new LockResource(pageLock.readLock())) {
+    try (Span span = Tracer.startSpan("cache.get");
+         LockResource r = new LockResource(pageLock.readLock())) {
       PageInfo pageInfo;
       try (LockResource r2 = new LockResource(mPageMetaStore.getLock().readLock())) {
         pageInfo = mPageMetaStore.getPageInfo(pageId); //check if page exists and refresh LRU items
@@ -217,10 +267,10 @@ public class LocalCacheManager implements CacheManager {
       }
 
       try {
-        DataFileChannel dataFileChannel = pageInfo.getLocalCacheDir().getPageStore()
-            .getDataFileChannel(pageInfo.getPageId(), pageOffset, bytesToRead,
-                cacheContext.isTemporary());
+        T dataFileChannel = reader.read(pageInfo.getLocalCacheDir().getPageStore(),
+            pageInfo.getPageId(), pageOffset, bytesToRead, cacheContext.isTemporary());
         MultiDimensionalMetricsSystem.CACHED_DATA_READ.inc(bytesToRead);
+        onPageRead(pageInfo, bytesToRead, cacheContext);
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_HIT_REQUESTS.getName()).inc();
         MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesToRead);
         cacheContext.incrementCounter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getMetricName(), BYTE,
@@ -246,6 +296,8 @@ public class LocalCacheManager implements CacheManager {
       cacheContext.incrementCounter(
           MetricKey.CLIENT_CACHE_PAGE_READ_CACHE_TIME_NS.getMetricName(), NANO,
           System.nanoTime() - startTime);
+      MultiDimensionalMetricsSystem.observeLatency(
+          MultiDimensionalMetricsSystem.PAGE_CACHE_GET_LATENCY, startTime);
     }
   }
 
@@ -298,6 +350,24 @@ public class LocalCacheManager implements CacheManager {
     OTHER,
   }
 
+  /**
+   * A move of a page to another tier.
+   */
+  private static final class TierMove {
+    private final PageInfo mPageInfo;
+    private final int mTier;
+    private final boolean mDemotion;
+    /** Whether the page in its old tier has been replaced by the page in the new tier. */
+    @GuardedBy("PageMetaStore.getLock()")
+    private boolean mReplaced;
+
+    TierMove(PageInfo pageInfo, int tier, boolean demotion) {
+      mPageInfo = pageInfo;
+      mTier = tier;
+      mDemotion = demotion;
+    }
+  }
+
   /**
    * @return which scope to evict a page or null if space is sufficient
    */
@@ -317,8 +387,9 @@ public class LocalCacheManager implements CacheManager {
       }
     }
     // Check cache space usage
-    if (forcedToEvict
-        || pageStoreDir.getCachedBytes() + pageSize > pageStoreDir.getCapacityBytes()) {
+    // the pages being demoted from the directory count as free space
+    if (forcedToEvict || pageStoreDir.getCachedBytes() - mDemotedBytes.getLong(pageStoreDir)
+        + pageSize > pageStoreDir.getCapacityBytes()) {
       return CacheScope.GLOBAL;
     }
     return null;
@@ -371,10 +442,21 @@ public class LocalCacheManager implements CacheManager {
   }
 
   private boolean putInternal(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    long startTime = System.nanoTime();
+    try {
+      return putWithRetries(pageId, page, cacheContext, 0, null);
+    } finally {
+      MultiDimensionalMetricsSystem.observeLatency(
+          MultiDimensionalMetricsSystem.PAGE_CACHE_PUT_LATENCY, startTime);
+    }
+  }
+
+  private boolean putWithRetries(PageId pageId, ByteBuffer page, CacheContext cacheContext,
+      int tier, @Nullable TierMove move) {
     PutResult result = PutResult.OK;
     boolean forcedToEvict = false;
     for (int i = 0; i <= mOptions.getMaxEvictionRetries(); i++) {
-      result = putAttempt(pageId, page, cacheContext, forcedToEvict);
+      result = putAttempt(pageId, page, cacheContext, forcedToEvict, tier, move);
       switch (result) {
         case OK:
           return true;
@@ -412,7 +494,10 @@ public class LocalCacheManager implements CacheManager {
     // TODO(JiamingMai): we still need to commit the data (not only the page metadata)
     // call commit method of PageStoreDir
     try {
-      PageStoreDir dir = mPageMetaStore.getStoreDirOfFile(fileId);
+      PageStoreDir dir;
+      try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+        dir = mPageMetaStore.getStoreDirOfFile(fileId);
+      }
       dir.commit(fileId, fileId);
     } catch (FileDoesNotExistException notExistException) {
       LOG.error(notExistException.getMessage());
@@ -426,7 +511,7 @@ public class LocalCacheManager implements CacheManager {
   }
 
   private PutResult putAttempt(PageId pageId, ByteBuffer page, CacheContext cacheContext,
-                               boolean forcedToEvict) {
+                               boolean forcedToEvict, int tier, @Nullable TierMove move) {
     LOG.debug("putInternal({},{} bytes) enters", pageId, page.remaining());
     if (pageId.getPageIndex() > 0 && page.remaining() == 0) {
       LOG.error("cannot put an empty page except for the first page."
@@ -439,18 +524,16 @@ public class LocalCacheManager implements CacheManager {
     PageStoreDir pageStoreDir;
     try (LockResource r = new LockResource(pageLock.writeLock())) {
       try (LockResource r2 = new LockResource(mPageMetaStore.getLock().writeLock())) {
-        if (mPageMetaStore.hasPage(pageId)) {
+        if (!isPutNeeded(pageId, move)) {
           LOG.debug("{} is already inserted before", pageId);
           // TODO(binfan): we should return more informative result in the future
           return PutResult.OK;
         }
-        pageStoreDir = mPageMetaStore.allocate(pageId.getFileId(), page.remaining());
+        pageStoreDir = mPageMetaStore.allocate(pageId.getFileId(), page.remaining(), tier);
         scopeToEvict = checkScopeToEvict(page.remaining(), pageStoreDir,
             cacheContext.getCacheScope(),
             cacheContext.getCacheQuota(), forcedToEvict);
-        if (scopeToEvict == null) {
-          addPageToMetaStore(pageId, page, cacheContext, pageStoreDir);
-        } else {
+        if (scopeToEvict != null) {
           if (mOptions.isQuotaEnabled()) {
             victimPageInfo =
                 ((QuotaPageMetaStore) mPageMetaStore).evict(scopeToEvict, pageStoreDir);
@@ -463,6 +546,24 @@ public class LocalCacheManager implements CacheManager {
             Metrics.PUT_EVICTION_ERRORS.inc();
             return PutResult.OTHER;
           }
+          if (mDemotions.containsKey(victimPageInfo.getPageId())) {
+            // the victim is being demoted already, and has been read since
+            victimPageInfo.getLocalCacheDir().getEvictor()
+                .updateOnDelete(victimPageInfo.getPageId());
+            return PutResult.BENIGN_RACING;
+          }
+          if (startDemotion(victimPageInfo)) {
+            // the victim stays readable from its tier until it is in the tier below, while its
+            // space counts as free
+            scopeToEvict = checkScopeToEvict(page.remaining(), pageStoreDir,
+                cacheContext.getCacheScope(), cacheContext.getCacheQuota(), false);
+            if (scopeToEvict != null) {
+              return PutResult.INSUFFICIENT_SPACE_EVICTED;
+            }
+          }
+        }
+        if (scopeToEvict == null) {
+          addPageToMetaStore(pageId, page, cacheContext, pageStoreDir, move);
         }
       }
       if (scopeToEvict == null) {
@@ -495,7 +596,7 @@ public class LocalCacheManager implements CacheManager {
       // phase1: remove victim and add new page in metastore in a critical section protected by
       // metalock. Evictor will be updated inside metastore.
       try (LockResource r3 = new LockResource(mPageMetaStore.getLock().writeLock())) {
-        if (mPageMetaStore.hasPage(pageId)) {
+        if (!isPutNeeded(pageId, move)) {
           return PutResult.OK;
         }
         try {
@@ -509,7 +610,7 @@ public class LocalCacheManager implements CacheManager {
         scopeToEvict = checkScopeToEvict(page.remaining(), pageStoreDir,
             cacheContext.getCacheScope(), cacheContext.getCacheQuota(), false);
         if (scopeToEvict == null) {
-          addPageToMetaStore(pageId, page, cacheContext, pageStoreDir);
+          addPageToMetaStore(pageId, page, cacheContext, pageStoreDir, move);
         }
       }
       // phase2: remove victim and add new page in pagestore
@@ -517,12 +618,7 @@ public class LocalCacheManager implements CacheManager {
       PageId victim = victimPageInfo.getPageId();
       try {
         pageStoreDir.getPageStore().delete(victim);
-        // Bytes evicted from the cache
-        MultiDimensionalMetricsSystem.CACHED_EVICTED_DATA.inc(victimPageInfo.getPageSize());
-        MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_EVICTED.getName())
-            .mark(victimPageInfo.getPageSize());
-        // Errors when adding pages
-        MetricsSystem.meter(MetricKey.CLIENT_CACHE_PAGES_EVICTED.getName()).mark();
+        markEvicted(victimPageInfo);
       } catch (IOException | PageNotFoundException e) {
         if (scopeToEvict == null) {
           // Failed to evict page, remove new page from metastore as there will not be enough space
@@ -561,10 +657,26 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  /**
+   * Adds a page to the meta store. A page moved from another tier replaces its entry in that
+   * tier, which keeps its data until the move completes.
+   */
+  @GuardedBy("PageMetaStore.getLock().writeLock()")
   private void addPageToMetaStore(PageId pageId, ByteBuffer page, CacheContext cacheContext,
-                                  PageStoreDir pageStoreDir) {
-    PageInfo pageInfo =
-        new PageInfo(pageId, page.remaining(), cacheContext.getCacheScope(), pageStoreDir);
+                                  PageStoreDir pageStoreDir, @Nullable TierMove move) {
+    if (move != null) {
+      try {
+        mPageMetaStore.removePage(pageId);
+      } catch (PageNotFoundException e) {
+        // checked by the caller while holding the lock
+        throw new IllegalStateException(e);
+      }
+      move.mReplaced = true;
+      releaseDemotedBytes(move);
+    }
+    PageInfo pageInfo = new PageInfo(pageId, page.remaining(), cacheContext.getCacheScope(),
+        pageStoreDir, System.currentTimeMillis(),
+        mTierMoveExecutor.isPresent() ? cacheContext : null);
     if (cacheContext.isTemporary()) {
       mPageMetaStore.addTempPage(pageId, pageInfo);
     } else {
@@ -572,6 +684,179 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  /**
+   * @return whether a page is to be put, which is when it is not cached yet, or when it is
+   *         moved to another tier and has not been replaced or removed since the move started
+   */
+  @GuardedBy("PageMetaStore.getLock()")
+  private boolean isPutNeeded(PageId pageId, @Nullable TierMove move) {
+    if (move == null) {
+      return !mPageMetaStore.hasPage(pageId);
+    }
+    return mPageMetaStore.peekPageInfo(pageId) == move.mPageInfo;
+  }
+
+  private void markEvicted(PageInfo pageInfo) {
+    // Bytes evicted from the cache
+    MultiDimensionalMetricsSystem.CACHED_EVICTED_DATA.inc(pageInfo.getPageSize());
+    MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_EVICTED.getName())
+        .mark(pageInfo.getPageSize());
+    // Errors when adding pages
+    MetricsSystem.meter(MetricKey.CLIENT_CACHE_PAGES_EVICTED.getName()).mark();
+  }
+
+  /**
+   * Records a read of a cached page, and promotes the page to the tier above once it has been
+   * read often enough from a lower tier.
+   */
+  private void onPageRead(PageInfo pageInfo, int bytesRead, CacheContext cacheContext) {
+    if (!mTierMoveExecutor.isPresent()) {
+      return;
+    }
+    int tier = mPageMetaStore.getTier(pageInfo.getLocalCacheDir());
+    mTierDataRead[tier].inc(bytesRead);
+    if (tier > 0 && !cacheContext.isTemporary()
+        && pageInfo.incrementReads() == mOptions.getPromotionThreshold()) {
+      TierMove move = new TierMove(pageInfo, tier - 1, false);
+      try {
+        mTierMoveExecutor.get().execute(() -> moveToTier(move));
+      } catch (RejectedExecutionException e) {
+        Metrics.TIER_MOVE_REJECTION_ERRORS.inc();
+      }
+    }
+  }
+
+  /**
+   * Queues a page chosen to be evicted from its tier to be demoted to the tier below, if there
+   * is one. The page is left in its tier until it is written to the tier below, and its space
+   * counts as free meanwhile.
+   *
+   * @return whether the page is queued to be demoted
+   */
+  @GuardedBy("PageMetaStore.getLock().writeLock()")
+  private boolean startDemotion(PageInfo pageInfo) {
+    int tier = mPageMetaStore.getTier(pageInfo.getLocalCacheDir());
+    if (!mTierMoveExecutor.isPresent() || tier + 1 >= mPageMetaStore.getNumTiers()) {
+      return false;
+    }
+    TierMove move = new TierMove(pageInfo, tier + 1, true);
+    try {
+      mTierMoveExecutor.get().execute(() -> moveToTier(move));
+    } catch (RejectedExecutionException e) {
+      Metrics.TIER_MOVE_REJECTION_ERRORS.inc();
+      return false;
+    }
+    // the move waits for the lock of the meta store held by the caller
+    mDemotions.put(pageInfo.getPageId(), move);
+    mDemotedBytes.addTo(pageInfo.getLocalCacheDir(), pageInfo.getPageSize());
+    pageInfo.getLocalCacheDir().getEvictor().updateOnDelete(pageInfo.getPageId());
+    return true;
+  }
+
+  @GuardedBy("PageMetaStore.getLock().writeLock()")
+  private void releaseDemotedBytes(TierMove move) {
+    if (move.mDemotion && mDemotions.remove(move.mPageInfo.getPageId(), move)) {
+      PageStoreDir dir = move.mPageInfo.getLocalCacheDir();
+      if (mDemotedBytes.addTo(dir, -move.mPageInfo.getPageSize())
+          == move.mPageInfo.getPageSize()) {
+        mDemotedBytes.removeLong(dir);
+      }
+    }
+  }
+
+  /**
+   * Moves a page to another tier. The page is written to its new tier with the context it was
+   * cached with, and replaces the page in its old tier once written, so that it can be read
+   * throughout the move. A demoted page which cannot be written to the tier below is evicted.
+   */
+  private void moveToTier(TierMove move) {
+    PageInfo pageInfo = move.mPageInfo;
+    PageId pageId = pageInfo.getPageId();
+    boolean moved = false;
+    try {
+      DataBuffer data = readForMove(move);
+      if (data != null) {
+        try {
+          moved = putWithRetries(pageId, data.getReadOnlyByteBuffer(),
+              pageInfo.getCacheContext(), move.mTier, move);
+        } finally {
+          data.release();
+        }
+      }
+    } catch (IOException | PageNotFoundException | RuntimeException e) {
+      LOG.debug("Failed to move page {} to tier {}", pageId, move.mTier, e);
+    }
+    boolean evicted = false;
+    boolean replaced;
+    boolean deleteSource;
+    try (LockResource r = new LockResource(getPageLock(pageId).writeLock())) {
+      try (LockResource r2 = new LockResource(mPageMetaStore.getLock().writeLock())) {
+        releaseDemotedBytes(move);
+        replaced = move.mReplaced;
+        deleteSource = replaced;
+        if (!deleteSource && move.mDemotion
+            && mPageMetaStore.peekPageInfo(pageId) == pageInfo) {
+          mPageMetaStore.removePage(pageId);
+          deleteSource = true;
+          evicted = true;
+        }
+      } catch (PageNotFoundException e) {
+        // checked while holding the lock
+        throw new IllegalStateException(e);
+      }
+      if (deleteSource) {
+        deletePage(pageInfo, false);
+      }
+    }
+    if (evicted) {
+      markEvicted(pageInfo);
+    } else if (moved && replaced) {
+      MetricsSystem.meter(move.mDemotion ? MetricKey.CLIENT_CACHE_PAGES_DEMOTED.getName()
+          : MetricKey.CLIENT_CACHE_PAGES_PROMOTED.getName()).mark();
+    }
+  }
+
+  /**
+   * Reads a page to move to another tier, without copying it when its store can lend out the
+   * buffer of the page.
+   *
+   * @return the page, to be released by the caller, or null if the page has been replaced or
+   *         removed since the move started
+   */
+  @Nullable
+  private DataBuffer readForMove(TierMove move) throws IOException, PageNotFoundException {
+    PageInfo pageInfo = move.mPageInfo;
+    PageId pageId = pageInfo.getPageId();
+    int pageSize = (int) pageInfo.getPageSize();
+    try (LockResource r = new LockResource(getPageLock(pageId).readLock())) {
+      try (LockResource r2 = new LockResource(mPageMetaStore.getLock().readLock())) {
+        if (!isPutNeeded(pageId, move)) {
+          return null;
+        }
+      }
+      PageStore pageStore = pageInfo.getLocalCacheDir().getPageStore();
+      DataBuffer buffer;
+      try {
+        buffer = pageStore.getDataBuffer(pageId, 0, pageSize, false);
+      } catch (UnsupportedOperationException e) {
+        buffer = null;
+      }
+      if (buffer != null && !(buffer instanceof DataFileChannel)) {
+        return buffer;
+      }
+      // the store has no buffer to lend out, such as a store of page files
+      if (buffer != null) {
+        buffer.release();
+      }
+      byte[] page = new byte[pageSize];
+      if (pageStore.get(pageId, 0, pageSize, new ByteArrayTargetBuffer(page, 0), false)
+          != pageSize) {
+        throw new IOException("Failed to read all of page " + pageId);
+      }
+      return new NioDataBuffer(ByteBuffer.wrap(page), pageSize);
+    }
+  }
+
   private void undoAddPage(PageId pageId) {
     try (LockResource r3 = new LockResource(mPageMetaStore.getLock().writeLock())) {
       mPageMetaStore.removePage(pageId);
@@ -616,7 +901,8 @@ public class LocalCacheManager implements CacheManager {
     }
     ReadWriteLock pageLock = getPageLock(pageId);
     long startTime = System.nanoTime();
-    try (LockResource r = new LockResource(pageLock.readLock())) {
+    try (Span span = Tracer.startSpan("cache.get");
+         LockResource r = new LockResource(pageLock.readLock())) {
       PageInfo pageInfo;
       try (LockResource r2 = new LockResource(mPageMetaStore.getLock().readLock())) {
         pageInfo = mPageMetaStore.getPageInfo(pageId); //check if page exists and refresh LRU items
@@ -639,6 +925,7 @@ public class LocalCacheManager implements CacheManager {
         return -1;
       }
       MultiDimensionalMetricsSystem.CACHED_DATA_READ.inc(bytesRead);
+      onPageRead(pageInfo, bytesRead, cacheContext);
       MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesRead);
       cacheContext.incrementCounter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getMetricName(), BYTE,
           bytesRead);
@@ -648,6 +935,8 @@ public class LocalCacheManager implements CacheManager {
       cacheContext.incrementCounter(
           MetricKey.CLIENT_CACHE_PAGE_READ_CACHE_TIME_NS.getMetricName(), NANO,
           System.nanoTime() - startTime);
+      MultiDimensionalMetricsSystem.observeLatency(
+          MultiDimensionalMetricsSystem.PAGE_CACHE_GET_LATENCY, startTime);
     }
   }
 
@@ -669,7 +958,10 @@ public class LocalCacheManager implements CacheManager {
     // but this is acceptable, and is expected to be rare as long as the number of striping locks
     // is big enough
     long startTime = System.nanoTime();
-    byte[] page = externalDataSupplier.get();
+    byte[] page;
+    try (Span span = Tracer.startSpan("cache.miss").setAttribute("page", pageId)) {
+      page = externalDataSupplier.get();
+    }
     long timeElapse = System.nanoTime() - startTime;
     buffer.writeBytes(page, pageOffset, bytesToRead);
     MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
@@ -886,7 +1178,10 @@ public class LocalCacheManager implements CacheManager {
 
   @Override
   public boolean hasPageUnsafe(PageId pageId) {
-    return mPageMetaStore.hasPage(pageId);
+    // the page index is not safe to read while it is written to
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+      return mPageMetaStore.hasPage(pageId);
+    }
   }
 
   @Override
@@ -948,6 +1243,7 @@ public class LocalCacheManager implements CacheManager {
     mInitService.ifPresent(ExecutorService::shutdownNow);
     mAsyncCacheExecutor.ifPresent(ExecutorService::shutdownNow);
     mTtlEnforcerExecutor.ifPresent(ExecutorService::shutdownNow);
+    mTierMoveExecutor.ifPresent(ExecutorService::shutdownNow);
   }
 
   /**
@@ -1003,6 +1299,22 @@ public class LocalCacheManager implements CacheManager {
     return Optional.of(new Usage());
   }
 
+  @Override
+  public long[] getCachedBytes(List<String> fileIds) {
+    return mPageMetaStore.getCachedBytes(fileIds);
+  }
+
+  /**
+   * Reads part of a page from a page store into a buffer which is handed to Netty.
+   *
+   * @param <T> the type of the buffer
+   */
+  @FunctionalInterface
+  private interface PageBufferReader<T extends DataBuffer> {
+    T read(PageStore pageStore, PageId pageId, int pageOffset, int bytesToRead,
+        boolean isTemporary) throws PageNotFoundException;
+  }
+
   private final class Usage implements CacheUsage {
     @Override
     public long used() {
@@ -1138,6 +1450,11 @@ public class LocalCacheManager implements CacheManager {
      */
     private static final Counter PUT_STORE_WRITE_NO_SPACE_ERRORS =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_STORE_WRITE_NO_SPACE_ERRORS.getName());
+    /**
+     * Errors when moving pages between tiers due to a full queue.
+     */
+    private static final Counter TIER_MOVE_REJECTION_ERRORS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_TIER_MOVE_REJECTION_ERRORS.getName());
     /**
      * State of the cache.
      */
@@ -26,6 +26,7 @@ import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.MultiDimensionalMetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -33,9 +34,11 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.common.base.Ticker;
 import io.prometheus.metrics.core.datapoints.CounterDataPoint;
+import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
 
 import java.io.IOException;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -64,6 +67,8 @@ public class LocalCachePositionReader implements PositionReader {
   private final long mFileSize;
   private volatile boolean mClosed;
   private final CounterDataPoint mExternalMetric;
+  @Nullable
+  private final DistributionDataPoint mExternalLatencyMetric;
 
   /**
    * @param conf
@@ -87,7 +92,7 @@ public class LocalCachePositionReader implements PositionReader {
     // Used in client, set the external metric to EXTERNAL
     return new LocalCachePositionReader(cacheManager, fallbackReader,
         FileId.of(fileId), status.getLength(), pageSize, cacheContext,
-        MultiDimensionalMetricsSystem.EXTERNAL_DATA_READ);
+        MultiDimensionalMetricsSystem.EXTERNAL_DATA_READ, null);
   }
 
   /**
@@ -106,13 +111,15 @@ public class LocalCachePositionReader implements PositionReader {
     // Used in worker, set the external metric to UFS
     return new LocalCachePositionReader(cacheManager, fallbackReader,
         fileId, fileSize, pageSize, cacheContext,
-        MultiDimensionalMetricsSystem.UFS_DATA_ACCESS.labelValues("read"));
+        MultiDimensionalMetricsSystem.UFS_DATA_READ,
+        MultiDimensionalMetricsSystem.UFS_READ_LATENCY);
   }
 
   private LocalCachePositionReader(CacheManager cacheManager,
                                    CloseableSupplier<PositionReader> fallbackReader, FileId fileId,
                                    long fileSize, long pageSize, CacheContext context,
-                                   CounterDataPoint externalMetric) {
+                                   CounterDataPoint externalMetric,
+                                   @Nullable DistributionDataPoint externalLatencyMetric) {
     mCacheManager = Preconditions.checkNotNull(cacheManager);
     mFallbackReader = Preconditions.checkNotNull(fallbackReader);
     mFileId = fileId;
@@ -120,6 +127,7 @@ public class LocalCachePositionReader implements PositionReader {
     mPageSize = pageSize;
     mCacheContext = Preconditions.checkNotNull(context);
     mExternalMetric = externalMetric;
+    mExternalLatencyMetric = externalLatencyMetric;
   }
 
   @Override
@@ -162,13 +170,14 @@ public class LocalCachePositionReader implements PositionReader {
   }
 
   /**
-   * Get a {@link DataFileChannel} which wraps a {@link io.netty.channel.FileRegion}.
+   * Get a {@link DataBuffer} over the cached data which can be written to a Netty channel
+   * without copying, either a {@link DataFileChannel} or a buffer shared with the page store.
    *
    * @param position the start position to read
    * @param length   how many bytes to read
-   * @return an object of {@link DataFileChannel}
+   * @return the buffer, or empty if the page is not cached
    */
-  public Optional<DataFileChannel> getDataFileChannel(long position, int length) {
+  public Optional<DataBuffer> getDataBuffer(long position, int length) {
     long currentPage = position / mPageSize;
     PageId pageId;
     if (mCacheContext.getCacheIdentifier() != null) {
@@ -181,7 +190,7 @@ public class LocalCachePositionReader implements PositionReader {
     int bytesToReadInPage = Math.min(bytesLeftInPage, length);
     // If the page is not in Alluxio, we will return null here
     try {
-      return mCacheManager.getDataFileChannel(
+      return mCacheManager.getDataBuffer(
           pageId, currentPageOffset, bytesToReadInPage, mCacheContext);
     } catch (PageNotFoundException e) {
       return Optional.empty();
@@ -210,6 +219,7 @@ public class LocalCachePositionReader implements PositionReader {
     byte[] page = new byte[pageSize];
     int totalBytesRead = 0;
     int bytesRead;
+    long startTime = System.nanoTime();
     while (totalBytesRead < pageSize) {
       try {
         bytesRead = mFallbackReader.get()
@@ -224,6 +234,9 @@ public class LocalCachePositionReader implements PositionReader {
     }
     // Bytes read from external, may be larger than requests due to reading complete pages
     mExternalMetric.inc(totalBytesRead);
+    if (mExternalLatencyMetric != null) {
+      MultiDimensionalMetricsSystem.observeLatency(mExternalLatencyMetric, startTime);
+    }
     MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.getName()).mark(totalBytesRead);
     if (totalBytesRead != pageSize) {
       throw new FailedPreconditionRuntimeException(
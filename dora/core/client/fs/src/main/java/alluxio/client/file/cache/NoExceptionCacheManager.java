@@ -16,6 +16,7 @@ import alluxio.exception.PageNotFoundException;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import com.codahale.metrics.Counter;
@@ -186,6 +187,23 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public Optional<DataBuffer> getDataBuffer(PageId pageId, int pageOffset,
+      int bytesToRead, CacheContext cacheContext) {
+    try {
+      return mCacheManager.getDataBuffer(pageId, pageOffset, bytesToRead, cacheContext);
+    } catch (Exception e) {
+      if (e instanceof PageNotFoundException) {
+        // In cold read, this may be expected behavior
+        LOG.debug("Failed to getDataBuffer of page {}", pageId, e);
+      } else {
+        LOG.error("Failed to getDataBuffer of page {}", pageId, e);
+      }
+      Metrics.GET_ERRORS.inc();
+      return Optional.empty();
+    }
+  }
+
   @Override
   public State state() {
     return mCacheManager.state();
@@ -238,6 +256,11 @@ public class NoExceptionCacheManager implements CacheManager {
     return mCacheManager.getUsage();
   }
 
+  @Override
+  public long[] getCachedBytes(List<String> fileIds) {
+    return mCacheManager.getCachedBytes(fileIds);
+  }
+
   private static final class Metrics {
     // Note that only counter/guage can be added here.
     // Both meter and timer need to be used inline
@@ -12,7 +12,6 @@
 package alluxio.client.file.cache;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -49,7 +48,8 @@ public class PageId {
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mFileId, mPageIndex);
+    // same as Guava Objects.hashCode(mFileId, mPageIndex), without boxing into an array
+    return 31 * (31 + mFileId.hashCode()) + Long.hashCode(mPageIndex);
   }
 
   @Override
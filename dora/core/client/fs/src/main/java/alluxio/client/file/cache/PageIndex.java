@@ -0,0 +1,182 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.annotation.SuppressFBWarnings;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArraySet;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An index of cached pages, grouped by file.
+ *
+ * Pages are kept in one open addressing map per file, keyed by the primitive page index, so a
+ * page costs a slot in two arrays instead of a node in each of the hash indexes of an
+ * {@link alluxio.collections.IndexedSet}, and the pages of a file are found without a
+ * secondary index. The file id is stored once per file: pages added with an equal but distinct
+ * file id string are re-keyed onto the one already in the index, as the file ids are long
+ * digests which would otherwise dominate the memory used by each page.
+ */
+@NotThreadSafe
+final class PageIndex {
+  /** The expected number of pages when a file is first added, to keep small files small. */
+  private static final int INITIAL_PAGES_PER_FILE = 4;
+
+  private final Object2ObjectOpenHashMap<String, FilePages> mFiles =
+      new Object2ObjectOpenHashMap<>();
+  /** The number of pages, which can be read without holding the lock of the meta store. */
+  private final AtomicInteger mSize = new AtomicInteger();
+
+  /**
+   * @param pageId the page id
+   * @return the page, or null if it is not in the index
+   */
+  @Nullable
+  PageInfo get(PageId pageId) {
+    FilePages pages = mFiles.get(pageId.getFileId());
+    return pages == null ? null : pages.get(pageId.getPageIndex());
+  }
+
+  /**
+   * @param pageId the page id
+   * @return whether the page is in the index
+   */
+  boolean contains(PageId pageId) {
+    return get(pageId) != null;
+  }
+
+  /**
+   * Adds a page to the index if there is no page with the same id yet.
+   *
+   * @param pageInfo the page
+   * @return the page as stored in the index, which shares its file id with the other pages of
+   *         the file, or null if a page with the same id is in the index already
+   */
+  @Nullable
+  @SuppressFBWarnings(value = "ES_COMPARING_STRINGS_WITH_EQ",
+      justification = "file ids are compared by identity to share a single copy")
+  PageInfo add(PageInfo pageInfo) {
+    PageId pageId = pageInfo.getPageId();
+    String fileId = pageId.getFileId();
+    FilePages pages = mFiles.get(fileId);
+    if (pages == null) {
+      pages = new FilePages(fileId);
+      mFiles.put(fileId, pages);
+    } else if (pages.containsKey(pageId.getPageIndex())) {
+      return null;
+    } else if (pages.mFileId != fileId) {
+      // an equal file id in a different string, which is dropped in favour of the indexed one
+      pageInfo = new PageInfo(new PageId(pages.mFileId, pageId.getPageIndex()),
+          pageInfo.getPageSize(), pageInfo.getScope(), pageInfo.getLocalCacheDir(),
+          pageInfo.getCreatedTimestamp(), pageInfo.getCacheContextIfKept());
+    }
+    pages.put(pageId.getPageIndex(), pageInfo);
+    mSize.incrementAndGet();
+    return pageInfo;
+  }
+
+  /**
+   * @param pageId the page id
+   * @return the removed page, or null if it is not in the index
+   */
+  @Nullable
+  PageInfo remove(PageId pageId) {
+    FilePages pages = mFiles.get(pageId.getFileId());
+    if (pages == null) {
+      return null;
+    }
+    PageInfo pageInfo = pages.remove(pageId.getPageIndex());
+    if (pageInfo == null) {
+      return null;
+    }
+    if (pages.isEmpty()) {
+      mFiles.remove(pageId.getFileId());
+    }
+    mSize.decrementAndGet();
+    return pageInfo;
+  }
+
+  /**
+   * Removes all pages of a file.
+   *
+   * @param fileId the file id
+   * @return the removed pages
+   */
+  Set<PageInfo> removeFile(String fileId) {
+    FilePages pages = mFiles.remove(fileId);
+    if (pages == null) {
+      return Collections.emptySet();
+    }
+    mSize.addAndGet(-pages.size());
+    return new ObjectArraySet<>(pages.values().toArray());
+  }
+
+  /**
+   * @param fileId the file id
+   * @return a copy of the pages of the file
+   */
+  Set<PageInfo> getFile(String fileId) {
+    FilePages pages = mFiles.get(fileId);
+    if (pages == null) {
+      return Collections.emptySet();
+    }
+    // the pages are distinct already, so they are copied to an array set without hashing them
+    return new ObjectArraySet<>(pages.values().toArray());
+  }
+
+  /**
+   * @param fileId the file id
+   * @return any page of the file, or null if the file has no page in the index
+   */
+  @Nullable
+  PageInfo getFirst(String fileId) {
+    FilePages pages = mFiles.get(fileId);
+    return pages == null ? null : pages.values().iterator().next();
+  }
+
+  /**
+   * @return the number of pages in the index
+   */
+  int size() {
+    return mSize.get();
+  }
+
+  /**
+   * Removes all pages.
+   */
+  void clear() {
+    mFiles.clear();
+    mFiles.trim();
+    mSize.set(0);
+  }
+
+  /**
+   * The pages of a file by page index, along with the file id shared by the pages.
+   */
+  private static final class FilePages extends Long2ObjectOpenHashMap<PageInfo> {
+    private static final long serialVersionUID = 1L;
+
+    private final String mFileId;
+
+    FilePages(String fileId) {
+      super(INITIAL_PAGES_PER_FILE);
+      mFileId = fileId;
+    }
+  }
+}
@@ -11,12 +11,15 @@
 
 package alluxio.client.file.cache;
 
+import alluxio.client.file.CacheContext;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheScope;
 
 import com.google.common.base.MoreObjects;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -29,6 +32,11 @@ public class PageInfo {
   private final CacheScope mCacheScope;
   private final PageStoreDir mLocalCacheDir;
   private final long mCreatedTimestamp;
+  /** The context the page was cached with, kept to move the page between tiers. */
+  @Nullable
+  private final CacheContext mCacheContext;
+  /** The number of reads of the page since it was added to its directory. */
+  private final AtomicInteger mReads = new AtomicInteger();
 
   /**
    * @param pageId page id
@@ -59,11 +67,25 @@ public class PageInfo {
    */
   public PageInfo(PageId pageId, long pageSize, CacheScope cacheScope,
       PageStoreDir pageStoreDir, long createdTimestamp) {
+    this(pageId, pageSize, cacheScope, pageStoreDir, createdTimestamp, null);
+  }
+
+  /**
+   * @param pageId page id
+   * @param pageSize page size in bytes
+   * @param cacheScope scope of this page
+   * @param pageStoreDir directory of this page
+   * @param createdTimestamp created time
+   * @param cacheContext the context the page was cached with, or null if it is not kept
+   */
+  public PageInfo(PageId pageId, long pageSize, CacheScope cacheScope,
+      PageStoreDir pageStoreDir, long createdTimestamp, @Nullable CacheContext cacheContext) {
     mPageId = pageId;
     mPageSize = pageSize;
     mCacheScope = cacheScope;
     mLocalCacheDir = pageStoreDir;
     mCreatedTimestamp = createdTimestamp;
+    mCacheContext = cacheContext;
   }
 
   /**
@@ -94,6 +116,32 @@ public class PageInfo {
     return mLocalCacheDir;
   }
 
+  /**
+   * @return the context the page was cached with, or the default context of its scope if it
+   *         is not kept
+   */
+  public CacheContext getCacheContext() {
+    return mCacheContext != null ? mCacheContext
+        : CacheContext.defaults().setCacheScope(mCacheScope);
+  }
+
+  /**
+   * @return the context the page was cached with, or null if it is not kept
+   */
+  @Nullable
+  CacheContext getCacheContextIfKept() {
+    return mCacheContext;
+  }
+
+  /**
+   * Records a read of the page.
+   *
+   * @return the number of reads of the page since it was added to its directory
+   */
+  public int incrementReads() {
+    return mReads.incrementAndGet();
+  }
+
   /**
    * @return the created time
    */
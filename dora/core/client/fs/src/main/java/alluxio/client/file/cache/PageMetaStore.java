@@ -12,14 +12,18 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.client.quota.CacheScope;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.PageNotFoundException;
+import alluxio.resource.LockResource;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * The metadata store for pages stored in cache.
@@ -35,6 +39,12 @@ public interface PageMetaStore extends CacheStatus {
     if (options.isQuotaEnabled()) {
       return new QuotaPageMetaStore(options.getCacheEvictorOptions(), dirs);
     }
+    List<Integer> tiers = options.getPageStoreOptions().stream()
+        .map(PageStoreOptions::getTier)
+        .collect(Collectors.toList());
+    if (tiers.stream().anyMatch(tier -> tier > 0)) {
+      return new TieredPageMetaStore(dirs, tiers);
+    }
     return new DefaultPageMetaStore(dirs);
   }
 
@@ -98,12 +108,46 @@ public interface PageMetaStore extends CacheStatus {
    */
   PageStoreDir allocate(String fileId, long fileLength);
 
+  /**
+   * @param fileId
+   * @param fileLength
+   * @param tier the tier to allocate the storage directory from
+   * @return the storage directory
+   */
+  default PageStoreDir allocate(String fileId, long fileLength, int tier) {
+    return allocate(fileId, fileLength);
+  }
+
+  /**
+   * @param dir a storage directory
+   * @return the tier of the directory, with 0 being the fastest tier
+   */
+  default int getTier(PageStoreDir dir) {
+    return 0;
+  }
+
+  /**
+   * @return the number of tiers of storage directories
+   */
+  default int getNumTiers() {
+    return 1;
+  }
+
   /**
    * @param pageId page identifier
    * @return page info
    */
   PageInfo getPageInfo(PageId pageId) throws PageNotFoundException;
 
+  /**
+   * Gets the info of a page without recording an access to the page.
+   *
+   * @param pageId page identifier
+   * @return page info, or null if the page is not in the store
+   */
+  @Nullable
+  PageInfo peekPageInfo(PageId pageId);
+
   /**
    * Removes a page.
    *
@@ -143,6 +187,24 @@ public interface PageMetaStore extends CacheStatus {
    */
   Set<PageInfo> getAllPagesByFileId(String fileId);
 
+  /**
+   * Gets the number of bytes cached of each of the given files in one call. Unlike the other
+   * methods of this interface, this acquires the lock of the meta store by itself.
+   *
+   * @param fileIds the target file ids
+   * @return the number of bytes cached of each file, in the same order as the file ids
+   */
+  default long[] getCachedBytes(List<String> fileIds) {
+    long[] bytes = new long[fileIds.size()];
+    try (LockResource r = new LockResource(getLock().readLock())) {
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = getAllPagesByFileId(fileIds.get(i)).stream()
+            .mapToLong(PageInfo::getPageSize).sum();
+      }
+    }
+    return bytes;
+  }
+
   /**
    * @param pageStoreDir
    * @return a page to evict
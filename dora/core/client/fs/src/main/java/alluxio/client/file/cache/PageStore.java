@@ -14,12 +14,14 @@ package alluxio.client.file.cache;
 import alluxio.Constants;
 import alluxio.client.file.cache.store.LocalPageStore;
 import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.OffHeapPageStore;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.util.logging.SamplingLogger;
 
@@ -54,6 +56,9 @@ public interface PageStore extends AutoCloseable {
       case MEM:
         pageStore = new MemoryPageStore((int) options.getPageSize());
         break;
+      case OFF_HEAP:
+        pageStore = new OffHeapPageStore((int) options.getPageSize());
+        break;
       default:
         throw new IllegalArgumentException(
             "Incompatible PageStore " + options.getType() + " specified");
@@ -230,6 +235,22 @@ public interface PageStore extends AutoCloseable {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Get a {@link DataBuffer} over part of a page which can be written to a Netty channel
+   * without copying the page on heap. The caller must release the buffer.
+   * @param pageId the page id
+   * @param pageOffset the offset inside the page
+   * @param bytesToRead the bytes to read
+   * @param isTemporary whether it is temporary or not
+   * @return the buffer, by default a {@link DataFileChannel}
+   * @throws PageNotFoundException
+   */
+  default DataBuffer getDataBuffer(
+      PageId pageId, int pageOffset, int bytesToRead, boolean isTemporary)
+      throws PageNotFoundException {
+    return getDataFileChannel(pageId, pageOffset, bytesToRead, isTemporary);
+  }
+
   /**
    * Metrics.
    */
@@ -0,0 +1,181 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.allocator.Allocator;
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.exception.PageNotFoundException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A metastore implementation for directories organized in tiers, e.g. a memory tier in front of
+ * SSD directories. New pages are allocated in the fastest tier, tier 0, and the cache manager
+ * moves pages between tiers: pages evicted from a tier are demoted to the tier below, and pages
+ * read repeatedly from a lower tier are promoted to the tier above.
+ *
+ * The usage of each tier, along with the ratio of lookups which hit it, is available by
+ * partitioning the usage with {@link CacheUsage.PartitionDescriptor#tier(int)}.
+ */
+@NotThreadSafe
+public class TieredPageMetaStore extends DefaultPageMetaStore {
+  private final List<List<PageStoreDir>> mTiers;
+  private final List<Allocator> mAllocators;
+  private final Map<PageStoreDir, Integer> mDirTiers = new IdentityHashMap<>();
+  private final LongAdder[] mHits;
+  private final LongAdder mMisses = new LongAdder();
+
+  /**
+   * @param dirs storage directories
+   * @param tiers the tier of each directory, with 0 being the fastest tier
+   */
+  public TieredPageMetaStore(List<PageStoreDir> dirs, List<Integer> tiers) {
+    this(dirs, tiers, groupByTier(dirs, tiers));
+  }
+
+  private TieredPageMetaStore(List<PageStoreDir> dirs, List<Integer> tiers,
+      List<List<PageStoreDir>> tieredDirs) {
+    super(dirs, new HashAllocator(tieredDirs.get(0)));
+    mTiers = tieredDirs;
+    ImmutableList.Builder<Allocator> allocators = ImmutableList.builder();
+    for (List<PageStoreDir> tier : mTiers) {
+      allocators.add(new HashAllocator(tier));
+    }
+    mAllocators = allocators.build();
+    for (int i = 0; i < dirs.size(); i++) {
+      mDirTiers.put(dirs.get(i), tiers.get(i));
+    }
+    mHits = new LongAdder[mTiers.size()];
+    for (int i = 0; i < mHits.length; i++) {
+      mHits[i] = new LongAdder();
+    }
+  }
+
+  private static List<List<PageStoreDir>> groupByTier(List<PageStoreDir> dirs,
+      List<Integer> tiers) {
+    Preconditions.checkArgument(dirs.size() == tiers.size(),
+        "The number of dirs does not match the number of tiers");
+    int numTiers = tiers.stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+    List<List<PageStoreDir>> tieredDirs = new ArrayList<>(numTiers);
+    for (int i = 0; i < numTiers; i++) {
+      tieredDirs.add(new ArrayList<>());
+    }
+    for (int i = 0; i < dirs.size(); i++) {
+      tieredDirs.get(tiers.get(i)).add(dirs.get(i));
+    }
+    for (int i = 0; i < numTiers; i++) {
+      Preconditions.checkArgument(!tieredDirs.get(i).isEmpty(), "Tier %s has no directory", i);
+    }
+    return tieredDirs;
+  }
+
+  @Override
+  public PageStoreDir allocate(String fileId, long fileLength, int tier) {
+    return mAllocators.get(tier).allocate(fileId, fileLength);
+  }
+
+  @Override
+  public int getTier(PageStoreDir dir) {
+    return mDirTiers.getOrDefault(dir, 0);
+  }
+
+  @Override
+  public int getNumTiers() {
+    return mTiers.size();
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
+    PageInfo pageInfo;
+    try {
+      pageInfo = super.getPageInfo(pageId);
+    } catch (PageNotFoundException e) {
+      mMisses.increment();
+      throw e;
+    }
+    mHits[getTier(pageInfo.getLocalCacheDir())].increment();
+    return pageInfo;
+  }
+
+  @Override
+  public Optional<CacheUsage> getUsage() {
+    return Optional.of(new TieredUsage());
+  }
+
+  class TieredUsage extends Usage {
+    @Override
+    public Optional<CacheUsage> partitionedBy(PartitionDescriptor<?> partition) {
+      if (partition instanceof TierPartition) {
+        int tier = ((TierPartition) partition).getIdentifier();
+        if (tier < 0 || tier >= mTiers.size()) {
+          return Optional.empty();
+        }
+        return Optional.of(new TierUsage(tier));
+      }
+      return super.partitionedBy(partition);
+    }
+  }
+
+  /**
+   * Usage of a tier of directories.
+   */
+  public final class TierUsage implements CacheUsage {
+    private final int mTier;
+
+    private TierUsage(int tier) {
+      mTier = tier;
+    }
+
+    @Override
+    public long used() {
+      return mTiers.get(mTier).stream().mapToLong(PageStoreDir::getCachedBytes).sum();
+    }
+
+    @Override
+    public long available() {
+      return capacity() - used();
+    }
+
+    @Override
+    public long capacity() {
+      return mTiers.get(mTier).stream().mapToLong(PageStoreDir::getCapacityBytes).sum();
+    }
+
+    /**
+     * @return the ratio of page lookups which found the page in this tier
+     */
+    public double hitRatio() {
+      long lookups = mMisses.sum();
+      for (LongAdder hits : mHits) {
+        lookups += hits.sum();
+      }
+      return lookups == 0 ? 0 : (double) mHits[mTier].sum() / lookups;
+    }
+
+    @Override
+    public Optional<CacheUsage> partitionedBy(PartitionDescriptor<?> partition) {
+      return Optional.empty();
+    }
+  }
+}
@@ -17,6 +17,7 @@ import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import com.codahale.metrics.Counter;
@@ -143,6 +144,12 @@ public class TimeBoundPageStore implements PageStore {
     return mPageStore.getDataFileChannel(pageId, pageOffset, bytesToRead, isTemporary);
   }
 
+  @Override
+  public DataBuffer getDataBuffer(PageId pageId, int pageOffset, int bytesToRead,
+                                  boolean isTemporary) throws PageNotFoundException {
+    return mPageStore.getDataBuffer(pageId, pageOffset, bytesToRead, isTemporary);
+  }
+
   @Override
   public void close() throws Exception {
     mExecutorService.shutdown();
@@ -108,12 +108,9 @@ public class LocalPageStore implements PageStore {
                 + "page-offset %s, bytes to read %s, page file length %s",
             pageId, pagePath, pageOffset, bytesToRead, pageLength));
       }
-      int bytesSkipped = localFile.skipBytes(pageOffset);
-      if (pageOffset != bytesSkipped) {
-        throw new IOException(
-            String.format("Failed to read page %s (%s) from offset %s: %s bytes skipped",
-                pageId, pagePath, pageOffset, bytesSkipped));
-      }
+      // a single lseek, while skipping also looks up the position and the length of the file
+      // again, and small page reads are dominated by such system calls
+      localFile.seek(pageOffset);
       int bytesRead = 0;
       int bytesLeft = Math.min((int) target.remaining(), bytesToRead);
       while (bytesLeft > 0) {
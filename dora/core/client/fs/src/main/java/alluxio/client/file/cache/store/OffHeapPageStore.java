@@ -0,0 +1,252 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageCorruptedException;
+import alluxio.exception.PageNotFoundException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.buffer.UnpooledDirectByteBuf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link OffHeapPageStore} is an implementation of {@link PageStore} which stores all pages
+ * in direct memory outside of the JVM heap.
+ *
+ * Pages are carved out of large arenas of direct memory which are never freed, so caching and
+ * evicting pages does not create garbage. Each page is a reference counted {@code ByteBuf}: the
+ * store holds one reference while the page is cached, and each reader holds another one, so a
+ * page which is deleted while a slice of it is still being written to a Netty channel only goes
+ * back to the free list once the slice is released.
+ */
+@ThreadSafe
+public class OffHeapPageStore implements PageStore {
+  /** The size of the arenas pages are allocated from. */
+  private static final int ARENA_SIZE = 64 * Constants.MB;
+
+  private final int mPageSize;
+  private final int mPagesPerArena;
+  private final ConcurrentHashMap<PageId, OffHeapPage> mPages = new ConcurrentHashMap<>();
+  /** Page sized slices of the arenas which are not used by any page. */
+  private final ConcurrentLinkedQueue<ByteBuffer> mFreeSlots = new ConcurrentLinkedQueue<>();
+  private final AtomicLong mArenaBytes = new AtomicLong();
+
+  /**
+   * Constructor of OffHeapPageStore.
+   * @param pageSize page size
+   */
+  public OffHeapPageStore(int pageSize) {
+    Preconditions.checkArgument(pageSize > 0, "page size should be positive");
+    mPageSize = pageSize;
+    mPagesPerArena = Math.max(1, ARENA_SIZE / pageSize);
+  }
+
+  @Override
+  public void put(PageId pageId, ByteBuffer page, boolean isTemporary) throws IOException {
+    int length = page.remaining();
+    if (length > mPageSize) {
+      throw new IOException(String.format("Page %s of %s bytes exceeds the page size %s",
+          pageId, length, mPageSize));
+    }
+    ByteBuffer slot;
+    try {
+      slot = allocateSlot();
+    } catch (OutOfMemoryError e) {
+      throw new IOException("Failed to allocate direct memory for page " + pageId, e);
+    }
+    ByteBuffer content = slot.duplicate();
+    content.limit(length);
+    content.put(page);
+    content.flip();
+    OffHeapPage previous = mPages.put(pageId, new OffHeapPage(slot, content));
+    if (previous != null) {
+      previous.release();
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer target,
+      boolean isTemporary) throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(target != null, "buffer is null");
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    OffHeapPage page = acquire(pageId);
+    try {
+      checkBounds(pageId, page, pageOffset, bytesToRead);
+      int bytesLeft = (int) Math.min(page.capacity() - pageOffset, target.remaining());
+      bytesLeft = Math.min(bytesLeft, bytesToRead);
+      target.writeBytes(page.slice(pageOffset, bytesLeft));
+      return bytesLeft;
+    } finally {
+      page.release();
+    }
+  }
+
+  /**
+   * Returns a retained slice of the page which can be written to a Netty channel without
+   * copying. The page stays readable until the returned buffer is released, even if it is
+   * deleted from this store in the meantime.
+   */
+  @Override
+  public DataBuffer getDataBuffer(PageId pageId, int pageOffset, int bytesToRead,
+      boolean isTemporary) throws PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    OffHeapPage page = acquire(pageId);
+    try {
+      if (pageOffset > page.capacity()) {
+        throw new IllegalArgumentException(String.format(
+            "offset %s exceeds length of page %s", pageOffset, page.capacity()));
+      }
+      int length = Math.min(bytesToRead, page.capacity() - pageOffset);
+      return new NettyDataBuffer(page.retainedSlice(pageOffset, length));
+    } finally {
+      page.release();
+    }
+  }
+
+  @Override
+  public void delete(PageId pageId) throws IOException, PageNotFoundException {
+    OffHeapPage page = mPages.remove(pageId);
+    if (page == null) {
+      throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+    }
+    page.release();
+  }
+
+  @Override
+  public void commit(String fileId, String newFileId) throws IOException {
+    // noop because the pages are all in memory, there is no underlying storage to commit to
+  }
+
+  @Override
+  public void close() {
+    reset();
+    mFreeSlots.clear();
+  }
+
+  /**
+   * Removes all pages from this store. Pages which are still being read are returned to the
+   * free list once their readers release them.
+   */
+  public void reset() {
+    for (PageId pageId : mPages.keySet()) {
+      OffHeapPage page = mPages.remove(pageId);
+      if (page != null) {
+        page.release();
+      }
+    }
+  }
+
+  /**
+   * @return the number of bytes of direct memory allocated for arenas
+   */
+  @VisibleForTesting
+  public long getArenaBytes() {
+    return mArenaBytes.get();
+  }
+
+  /**
+   * @return the number of free page slots in the arenas
+   */
+  @VisibleForTesting
+  public int getFreeSlots() {
+    return mFreeSlots.size();
+  }
+
+  /**
+   * Looks up a page and takes a reference on it, which the caller must release.
+   */
+  private OffHeapPage acquire(PageId pageId) throws PageNotFoundException {
+    // retain under the map's bin lock so that a concurrent delete cannot drop the last
+    // reference between the lookup and the retain
+    OffHeapPage page = mPages.computeIfPresent(pageId, (id, p) -> {
+      p.retain();
+      return p;
+    });
+    if (page == null) {
+      throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+    }
+    return page;
+  }
+
+  private static void checkBounds(PageId pageId, OffHeapPage page, int pageOffset,
+      int bytesToRead) throws PageCorruptedException {
+    if (pageOffset + bytesToRead > page.capacity()) {
+      throw new PageCorruptedException(String.format(
+          "The page %s probably has been corrupted, "
+              + "page-offset %s, bytes to read %s, page file length %s",
+          pageId, pageOffset, bytesToRead, page.capacity()));
+    }
+  }
+
+  private ByteBuffer allocateSlot() {
+    ByteBuffer slot = mFreeSlots.poll();
+    if (slot != null) {
+      return slot;
+    }
+    synchronized (mFreeSlots) {
+      slot = mFreeSlots.poll();
+      if (slot != null) {
+        return slot;
+      }
+      ByteBuffer arena = ByteBuffer.allocateDirect(mPagesPerArena * mPageSize);
+      mArenaBytes.addAndGet(arena.capacity());
+      for (int i = 1; i < mPagesPerArena; i++) {
+        mFreeSlots.offer(slice(arena, i));
+      }
+      return slice(arena, 0);
+    }
+  }
+
+  private ByteBuffer slice(ByteBuffer arena, int index) {
+    ByteBuffer slot = arena.duplicate();
+    slot.position(index * mPageSize);
+    slot.limit((index + 1) * mPageSize);
+    return slot.slice();
+  }
+
+  /**
+   * A cached page, which returns its slot to the free list when its last reference is released.
+   */
+  private final class OffHeapPage extends UnpooledDirectByteBuf {
+    private final ByteBuffer mSlot;
+
+    /**
+     * @param slot the slot of the arena holding the page
+     * @param content the content of the page within the slot
+     */
+    OffHeapPage(ByteBuffer slot, ByteBuffer content) {
+      // the arena is not owned by this buffer, so it is not freed on deallocation
+      super(UnpooledByteBufAllocator.DEFAULT, content, content.remaining());
+      mSlot = slot;
+    }
+
+    @Override
+    protected void deallocate() {
+      super.deallocate();
+      mFreeSlots.offer(mSlot);
+    }
+  }
+}
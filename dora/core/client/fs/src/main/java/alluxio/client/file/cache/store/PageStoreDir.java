@@ -73,6 +73,12 @@ public interface PageStoreDir extends CacheStatus {
             (MemoryPageStore) PageStore.create(pageStoreOptions),
             CacheEvictor.create(cacheEvictorOptions)
         );
+      case OFF_HEAP:
+        return new OffHeapPageStoreDir(
+            pageStoreOptions,
+            (OffHeapPageStore) PageStore.create(pageStoreOptions),
+            CacheEvictor.create(cacheEvictorOptions)
+        );
       default:
         throw new IllegalArgumentException(String.format("Unrecognized store type %s",
             pageStoreOptions.getType().name()));
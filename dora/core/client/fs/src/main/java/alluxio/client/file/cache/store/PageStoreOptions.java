@@ -60,6 +60,23 @@ public class PageStoreOptions {
     PageStoreType storeType = conf.getEnum(
         PropertyKey.WORKER_PAGE_STORE_TYPE, PageStoreType.class);
     List<PageStoreOptions> optionsList = createPageStoreOptions(dirs, cacheSizes, storeType);
+    long memoryTierSize = conf.getBytes(PropertyKey.WORKER_PAGE_STORE_MEMORY_TIER_SIZE);
+    if (memoryTierSize > 0) {
+      // the memory tier goes first, in front of the configured directories
+      PageStoreType memoryTierType = conf.getEnum(
+          PropertyKey.WORKER_PAGE_STORE_MEMORY_TIER_TYPE, PageStoreType.class);
+      Preconditions.checkArgument(memoryTierType != PageStoreType.LOCAL,
+          "The memory tier of the page store cannot be of type %s", memoryTierType);
+      PageStoreOptions memoryTier = new PageStoreOptions()
+          .setRootDir(Paths.get(dirs.get(0), memoryTierType.name()))
+          .setCacheSize(memoryTierSize)
+          .setStoreType(memoryTierType)
+          .setOverheadRatio(memoryTierType.getOverheadRatio());
+      optionsList.add(0, memoryTier);
+      for (int i = 0; i < optionsList.size(); i++) {
+        optionsList.get(i).setIndex(i).setTier(i == 0 ? 0 : 1);
+      }
+    }
     optionsList.forEach(options -> {
       options.setFileBuckets(conf.getInt(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_FILE_BUCKETS))
           .setPageSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE))
@@ -105,6 +122,11 @@ public class PageStoreOptions {
    */
   private int mIndex;
 
+  /**
+   * The tier of this directory, with 0 being the fastest tier.
+   */
+  private int mTier;
+
   /**
    * Page size for the data.
    */
@@ -176,6 +198,22 @@ public class PageStoreOptions {
     return mIndex;
   }
 
+  /**
+   * @param tier the tier of this directory, with 0 being the fastest tier
+   * @return the updated options
+   */
+  public PageStoreOptions setTier(int tier) {
+    mTier = tier;
+    return this;
+  }
+
+  /**
+   * @return the tier of this directory, with 0 being the fastest tier
+   */
+  public int getTier() {
+    return mTier;
+  }
+
   /**
    * @return the size of the page in bytes
    */
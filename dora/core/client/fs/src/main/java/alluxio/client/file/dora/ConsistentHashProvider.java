@@ -21,10 +21,15 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +40,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -82,7 +88,9 @@ public class ConsistentHashProvider {
    *    and double-checking. At this stage it is guarded by `mInitLock`.
    * 2. After init, updating the hash ring is guarded by an optimistic lock using CAS(timestamp).
    *    There will be no blocking but a read may see a stale ring.
-   *    At this stage it is guarded by `mLastUpdatedTimestamp`.
+   *    At this stage it is guarded by `mLastUpdatedTimestamp`, and the thread which won the CAS
+   *    updates the ring under `mInitLock`, so that an update taking longer than the TTL does not
+   *    race with the next one.
    */
   @Nullable
   private volatile NavigableMap<Integer, WorkerIdentity> mActiveNodesByConsistentHashing;
@@ -90,6 +98,12 @@ public class ConsistentHashProvider {
    * Lock to protect the lazy initialization of {@link #mActiveNodesByConsistentHashing}.
    */
   private final Object mInitLock = new Object();
+  /**
+   * The virtual nodes which more than one worker hashes to, with all of those workers, so that
+   * the ring can be updated without hashing the virtual nodes of the workers kept.
+   */
+  @GuardedBy("mInitLock")
+  private Map<Integer, Set<WorkerIdentity>> mCollisions = new HashMap<>();
 
   /**
    * This is the number of virtual nodes in the consistent hashing algorithm.
@@ -149,16 +163,32 @@ public class ConsistentHashProvider {
     maybeInitialize(workers);
     // check if the worker list has expired
     if (shouldRebuildActiveNodesMapExclusively()) {
-      // thread safety is valid provided that build() takes less than
-      // WORKER_INFO_UPDATE_INTERVAL_NS, so that before next update the current update has been
-      // finished
-      Set<WorkerIdentity> lastWorkerIds = mLastWorkers.get();
-      if (!workers.equals(lastWorkerIds)) {
-        Set<WorkerIdentity> newWorkerIds = ImmutableSet.copyOf(workers);
-        NavigableMap<Integer, WorkerIdentity> nodes = build(newWorkerIds, mNumVirtualNodes);
-        mActiveNodesByConsistentHashing = nodes;
-        mLastWorkers.set(newWorkerIds);
-        mUpdateCount.increment();
+      synchronized (mInitLock) {
+        Set<WorkerIdentity> lastWorkerIds = mLastWorkers.get();
+        if (!workers.equals(lastWorkerIds)) {
+          Set<WorkerIdentity> newWorkerIds = ImmutableSet.copyOf(workers);
+          Set<WorkerIdentity> removed = Sets.difference(lastWorkerIds, newWorkerIds);
+          Set<WorkerIdentity> added = Sets.difference(newWorkerIds, lastWorkerIds);
+          NavigableMap<Integer, WorkerIdentity> nodes;
+          Map<Integer, Set<WorkerIdentity>> collisions = new HashMap<>();
+          if (removed.size() + added.size() < newWorkerIds.size()) {
+            // only the virtual nodes of the removed and added workers are hashed, on copies so
+            // that readers keep seeing a complete ring
+            nodes = new TreeMap<>(mActiveNodesByConsistentHashing);
+            mCollisions.forEach((node, claimants) ->
+                collisions.put(node, new HashSet<>(claimants)));
+            update(nodes, collisions, removed, added, newWorkerIds, mNumVirtualNodes);
+          } else {
+            // hashing the virtual nodes of all workers again is cheaper
+            nodes = new TreeMap<>();
+            update(nodes, collisions, ImmutableSet.of(), newWorkerIds, newWorkerIds,
+                mNumVirtualNodes);
+          }
+          mActiveNodesByConsistentHashing = nodes;
+          mCollisions = collisions;
+          mLastWorkers.set(newWorkerIds);
+          mUpdateCount.increment();
+        }
       }
     }
     // otherwise, do nothing and proceed with stale worker list. on next access, the worker list
@@ -194,7 +224,12 @@ public class ConsistentHashProvider {
         // test again to skip re-initialization
         if (mActiveNodesByConsistentHashing == null) {
           Set<WorkerIdentity> workerIdentities = ImmutableSet.copyOf(workers);
-          mActiveNodesByConsistentHashing = build(workerIdentities, mNumVirtualNodes);
+          NavigableMap<Integer, WorkerIdentity> nodes = new TreeMap<>();
+          Map<Integer, Set<WorkerIdentity>> collisions = new HashMap<>();
+          update(nodes, collisions, ImmutableSet.of(), workerIdentities, workerIdentities,
+              mNumVirtualNodes);
+          mCollisions = collisions;
+          mActiveNodesByConsistentHashing = nodes;
           mLastWorkers.set(workerIdentities);
           mLastUpdatedTimestamp.set(System.nanoTime());
         }
@@ -248,15 +283,71 @@ public class ConsistentHashProvider {
       Collection<WorkerIdentity> workers, int numVirtualNodes) {
     Preconditions.checkArgument(!workers.isEmpty(), "worker list is empty");
     NavigableMap<Integer, WorkerIdentity> activeNodesByConsistentHashing = new TreeMap<>();
-    for (WorkerIdentity worker : workers) {
+    update(activeNodesByConsistentHashing, new HashMap<>(), ImmutableSet.of(), workers, workers,
+        numVirtualNodes);
+    return activeNodesByConsistentHashing;
+  }
+
+  /**
+   * Updates the hash ring from one list of workers to another. A virtual node which more than
+   * one worker hashes to goes to the last of them in the new list, so that the updated ring is
+   * the same as one built from the new list.
+   *
+   * @param nodes the hash ring of the old list, updated in place
+   * @param collisions the virtual nodes of the ring which more than one worker hashes to, with
+   *                   all of those workers, updated in place
+   * @param removed the workers of the old list not in the new one
+   * @param added the workers of the new list not in the old one
+   * @param workers the new list of workers
+   * @param numVirtualNodes the number of virtual nodes per worker
+   */
+  private static void update(NavigableMap<Integer, WorkerIdentity> nodes,
+      Map<Integer, Set<WorkerIdentity>> collisions, Collection<WorkerIdentity> removed,
+      Collection<WorkerIdentity> added, Collection<WorkerIdentity> workers,
+      int numVirtualNodes) {
+    for (WorkerIdentity worker : removed) {
+      for (int i = 0; i < numVirtualNodes; i++) {
+        int node = hashVirtualNode(worker, i);
+        Set<WorkerIdentity> claimants = collisions.get(node);
+        if (claimants == null) {
+          nodes.remove(node, worker);
+          continue;
+        }
+        claimants.remove(worker);
+        // the owner is picked once all workers are added
+        nodes.put(node, claimants.iterator().next());
+        if (claimants.size() == 1) {
+          collisions.remove(node);
+        }
+      }
+    }
+    for (WorkerIdentity worker : added) {
       for (int i = 0; i < numVirtualNodes; i++) {
-        final HashCode hashCode = HASH_FUNCTION.newHasher()
-            .putObject(worker, WorkerIdentity.HashFunnel.INSTANCE)
-            .putInt(i)
-            .hash();
-        activeNodesByConsistentHashing.put(hashCode.asInt(), worker);
+        int node = hashVirtualNode(worker, i);
+        WorkerIdentity owner = nodes.putIfAbsent(node, worker);
+        if (owner != null && !owner.equals(worker)) {
+          Set<WorkerIdentity> claimants = collisions.computeIfAbsent(node, k -> new HashSet<>());
+          claimants.add(owner);
+          claimants.add(worker);
+        }
       }
     }
-    return activeNodesByConsistentHashing;
+    if (collisions.isEmpty()) {
+      return;
+    }
+    Map<WorkerIdentity, Integer> order = new HashMap<>();
+    for (WorkerIdentity worker : workers) {
+      order.put(worker, order.size());
+    }
+    collisions.forEach((node, claimants) -> nodes.put(node,
+        Collections.max(claimants, Comparator.comparing(order::get))));
+  }
+
+  private static int hashVirtualNode(WorkerIdentity worker, int index) {
+    HashCode hashCode = HASH_FUNCTION.newHasher()
+        .putObject(worker, WorkerIdentity.HashFunnel.INSTANCE)
+        .putInt(index)
+        .hash();
+    return hashCode.asInt();
   }
 }
@@ -26,6 +26,7 @@ import alluxio.client.file.PositionReadFileInStream;
 import alluxio.client.file.URIStatus;
 import alluxio.client.file.dora.netty.NettyDataReader;
 import alluxio.client.file.dora.netty.NettyDataWriter;
+import alluxio.client.file.dora.netty.NettyReadWindow;
 import alluxio.client.file.options.OutStreamOptions;
 import alluxio.collections.Pair;
 import alluxio.conf.PropertyKey;
@@ -47,6 +48,8 @@ import alluxio.grpc.ExistsPOptions;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
 import alluxio.grpc.FileInfo;
+import alluxio.grpc.FileSystemMasterCommonPOptions;
+import alluxio.grpc.GetCachedPageFilesRequest;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GrpcUtils;
@@ -61,9 +64,15 @@ import alluxio.grpc.SetAttributePRequest;
 import alluxio.membership.WorkerClusterView;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.resource.CloseableResource;
+import alluxio.trace.Span;
+import alluxio.trace.Tracer;
+import alluxio.underfs.AbsentUfsPathCache;
+import alluxio.util.network.NetworkAddressUtils;
 import alluxio.wire.WorkerInfo;
 import alluxio.wire.WorkerNetAddress;
 
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,6 +82,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
@@ -90,6 +100,20 @@ public class DoraCacheClient {
   private final int mPreferredWorkerCount;
 
   private final boolean mEnableDynamicHashRing;
+  /** The paths which workers recently answered do not exist. */
+  private final AbsentUfsPathCache mAbsentPathCache;
+  /** The host name of the client if short circuit reads are enabled, otherwise null. */
+  @Nullable
+  private final String mShortCircuitHostName;
+  /** The windows of the reads from each worker if they are adaptive, otherwise null. */
+  @Nullable
+  private final Map<WorkerNetAddress, NettyReadWindow> mReadWindows;
+  /** The tenant the reads are scheduled for by the workers, or null to schedule them by user. */
+  @Nullable
+  private final String mTenant;
+  /** The policy to send slow reads again to another worker if enabled, otherwise null. */
+  @Nullable
+  private final HedgedReadPolicy mHedgedReadPolicy;
   private static final Logger LOG = LoggerFactory.getLogger(DoraCacheClient.class);
 
   /**
@@ -108,6 +132,20 @@ public class DoraCacheClient {
         context.getClusterConf().getBoolean(PropertyKey.USER_DYNAMIC_CONSISTENT_HASH_RING_ENABLED);
     int minReplicaCount = context.getClusterConf().getInt(PropertyKey.USER_FILE_REPLICATION_MIN);
     mPreferredWorkerCount = Math.max(1, minReplicaCount);
+    mAbsentPathCache = new AbsentUfsPathCache(
+        context.getClusterConf().getInt(PropertyKey.DORA_CLIENT_ABSENT_PATH_CACHE_SIZE),
+        context.getClusterConf().getDuration(PropertyKey.DORA_CLIENT_ABSENT_PATH_CACHE_TTL));
+    mShortCircuitHostName =
+        context.getClusterConf().getBoolean(PropertyKey.USER_SHORT_CIRCUIT_READ_ENABLED)
+            ? NetworkAddressUtils.getClientHostName(context.getClusterConf()) : null;
+    mReadWindows =
+        context.getClusterConf().getBoolean(PropertyKey.USER_NETWORK_NETTY_READER_ADAPTIVE_ENABLED)
+            ? new ConcurrentHashMap<>() : null;
+    mTenant = context.getClusterConf().isSet(PropertyKey.USER_NETWORK_READER_TENANT)
+        ? context.getClusterConf().getString(PropertyKey.USER_NETWORK_READER_TENANT) : null;
+    mHedgedReadPolicy =
+        context.getClusterConf().getBoolean(PropertyKey.USER_NETWORK_READER_HEDGE_ENABLED)
+            ? new HedgedReadPolicy(context.getClusterConf()) : null;
   }
 
   /**
@@ -127,7 +165,8 @@ public class DoraCacheClient {
     } else {
       throw new UnsupportedOperationException("Grpc dora reader not implemented");
     }
-    return new PositionReadFileInStream(reader, status, this);
+    return new PositionReadFileInStream(
+        withShortCircuit(reader, workerNetAddress, status), status, this);
   }
 
   /**
@@ -166,7 +205,76 @@ public class DoraCacheClient {
     WorkerNetAddress workerNetAddress = getWorkerNetAddress(status.toString());
     // Construct the partial read request
     NettyDataReader reader = createNettyDataReader(workerNetAddress, ufsOptions);
-    return new DoraCachePositionReader(reader, status.getLength(), externalPositionReader);
+    PositionReader workerReader = withShortCircuit(reader, workerNetAddress, status);
+    return new DoraCachePositionReader(
+        withHedging(workerReader, workerNetAddress, status.toString(), ufsOptions),
+        status.getLength(), externalPositionReader);
+  }
+
+  /**
+   * Sends the reads of a file the worker does not complete in time again to the next worker
+   * chosen by the worker location policy for the file, if hedged reads are enabled.
+   *
+   * @param workerReader the reader to read the file through the worker
+   * @param workerNetAddress the address of the worker
+   * @param fileId the id of the file the workers are chosen for
+   * @param ufsOptions the options to read the file
+   * @return a reader which sends slow reads again to another worker, or the given reader
+   */
+  private PositionReader withHedging(PositionReader workerReader,
+      WorkerNetAddress workerNetAddress, String fileId,
+      Protocol.OpenUfsBlockOptions ufsOptions) {
+    if (mHedgedReadPolicy == null) {
+      return workerReader;
+    }
+    try {
+      WorkerClusterView workers = getWorkers();
+      List<BlockWorkerInfo> candidates = mWorkerLocationPolicy.getPreferredWorkers(workers,
+          fileId, Math.min(workers.size(), mPreferredWorkerCount + 1));
+      Optional<WorkerNetAddress> hedgeAddress = candidates.stream()
+          .filter(BlockWorkerInfo::isActive)
+          .map(BlockWorkerInfo::getNetAddress)
+          .filter(address -> !address.equals(workerNetAddress))
+          .findFirst();
+      if (!hedgeAddress.isPresent()) {
+        return workerReader;
+      }
+      return new HedgedPositionReader(workerReader, new CloseableSupplier<>(
+          () -> createNettyDataReader(hedgeAddress.get(), ufsOptions)), mHedgedReadPolicy);
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Failed to find another worker to send the reads of {} to", fileId, e);
+      return workerReader;
+    }
+  }
+
+  /**
+   * Reads the pages of a file cached by a worker on the same host as the client from their
+   * local files, if short circuit reads are enabled. The local files of the pages are fetched
+   * from the worker as the file is read.
+   *
+   * @param workerReader the reader to read the file through the worker
+   * @param workerNetAddress the address of the worker
+   * @param status the status of the file
+   * @return a reader which reads the cached pages locally, or the given reader
+   */
+  private PositionReader withShortCircuit(PositionReader workerReader,
+      WorkerNetAddress workerNetAddress, URIStatus status) {
+    if (mShortCircuitHostName == null || status.getLength() <= 0
+        || !mShortCircuitHostName.equals(workerNetAddress.getHost())) {
+      return workerReader;
+    }
+    return new ShortCircuitPositionReader(workerReader, status.getLength(),
+        (offset, length) -> {
+          try (CloseableResource<BlockWorkerClient> client =
+                   mContext.acquireBlockWorkerClient(workerNetAddress)) {
+            return client.get().getCachedPageFiles(GetCachedPageFilesRequest.newBuilder()
+                .setUfsPath(status.getUfsPath())
+                .setFileLength(status.getLength())
+                .setOffset(offset)
+                .setLength(length)
+                .build());
+          }
+        });
   }
 
   protected GrpcDataReader.Factory createGrpcDataReader(
@@ -176,6 +284,9 @@ public class DoraCacheClient {
         .setBlockId(DUMMY_BLOCK_ID)
         .setOpenUfsBlockOptions(ufsOptions)
         .setChunkSize(mChunkSize);
+    if (mTenant != null) {
+      builder.setTenant(mTenant);
+    }
     return new GrpcDataReader.Factory(mContext, workerNetAddress, builder);
   }
 
@@ -186,7 +297,13 @@ public class DoraCacheClient {
         .setBlockId(DUMMY_BLOCK_ID)
         .setOpenUfsBlockOptions(ufsOptions)
         .setChunkSize(mChunkSize);
-    return new NettyDataReader(mContext, workerNetAddress, builder);
+    if (mTenant != null) {
+      builder.setTenant(mTenant);
+    }
+    NettyReadWindow readWindow = mReadWindows == null ? null
+        : mReadWindows.computeIfAbsent(workerNetAddress, address -> new NettyReadWindow(
+            mContext.getClusterConf(), address.getHost() + ":" + address.getNettyDataPort()));
+    return new NettyDataReader(mContext, workerNetAddress, builder, readWindow);
   }
 
   /**
@@ -222,7 +339,18 @@ public class DoraCacheClient {
    */
   public URIStatus getStatus(String path, GetStatusPOptions options)
       throws PermissionDeniedException {
-    return getStatusByGrpc(path, options);
+    if (mAbsentPathCache.isAbsent(path, getSyncIntervalMs(options.getCommonOptions()))) {
+      throw Status.NOT_FOUND.withDescription(String.format("File %s not found.", path))
+          .asRuntimeException();
+    }
+    try {
+      return getStatusByGrpc(path, options);
+    } catch (StatusRuntimeException e) {
+      if (e.getStatus().getCode() == Status.Code.NOT_FOUND) {
+        mAbsentPathCache.add(path);
+      }
+      throw e;
+    }
   }
 
   protected URIStatus getStatusByGrpc(String path, GetStatusPOptions options)
@@ -256,6 +384,7 @@ public class DoraCacheClient {
           .setOptions(options)
           .build();
       CreateFilePResponse response = client.get().createFile(request);
+      mAbsentPathCache.invalidate(path);
       FileInfo fileInfo = response.getFileInfo();
       String uuid = response.getUuid();
       return new Pair<>(new URIStatus(GrpcUtils.fromProto(fileInfo)), uuid);
@@ -321,6 +450,7 @@ public class DoraCacheClient {
           .setUuid(uuid)
           .build();
       client.get().completeFile(request);
+      mAbsentPathCache.invalidate(path);
       return;
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -362,6 +492,7 @@ public class DoraCacheClient {
           .setOptions(options)
           .build();
       client.get().rename(request);
+      mAbsentPathCache.invalidate(dst);
       return;
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -382,6 +513,7 @@ public class DoraCacheClient {
           .setOptions(options)
           .build();
       client.get().createDirectory(request);
+      mAbsentPathCache.invalidate(path);
       return;
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -399,6 +531,9 @@ public class DoraCacheClient {
    */
   public boolean exists(String path, ExistsPOptions options)
       throws InvalidPathException, IOException, AlluxioException {
+    if (mAbsentPathCache.isAbsent(path, getSyncIntervalMs(options.getCommonOptions()))) {
+      return false;
+    }
     try (CloseableResource<BlockWorkerClient> client =
              mContext.acquireBlockWorkerClient(getWorkerNetAddress(path))) {
       ExistsPRequest request = ExistsPRequest.newBuilder()
@@ -406,6 +541,9 @@ public class DoraCacheClient {
           .setOptions(options)
           .build();
       ExistsPResponse response = client.get().exists(request);
+      if (!response.getExists()) {
+        mAbsentPathCache.add(path);
+      }
       return response.getExists();
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -434,16 +572,18 @@ public class DoraCacheClient {
     }
   }
 
+  private static long getSyncIntervalMs(FileSystemMasterCommonPOptions options) {
+    return options.hasSyncIntervalMs() ? options.getSyncIntervalMs() : -1;
+  }
+
   /**
    * Get the worker net address of the specific file path.
    * @param path the file path
    * @return the related worker net address where file locates
    */
   public WorkerNetAddress getWorkerNetAddress(String path) {
-    try {
-      WorkerClusterView workers = mEnableDynamicHashRing ? mContext.getCachedWorkers(
-          FileSystemContext.GetWorkerListType.LIVE) : mContext.getCachedWorkers(
-          FileSystemContext.GetWorkerListType.ALL);
+    try (Span span = Tracer.startSpan("client.policy.lookup")) {
+      WorkerClusterView workers = getWorkers();
       checkState(!workers.isEmpty(), "No workers available in the cluster. Lost workers %s",
           mEnableDynamicHashRing ? "excluded" : "included");
       List<BlockWorkerInfo> preferredWorkers =
@@ -464,6 +604,12 @@ public class DoraCacheClient {
     }
   }
 
+  private WorkerClusterView getWorkers() throws IOException {
+    return mEnableDynamicHashRing ? mContext.getCachedWorkers(
+        FileSystemContext.GetWorkerListType.LIVE) : mContext.getCachedWorkers(
+        FileSystemContext.GetWorkerListType.ALL);
+  }
+
   /**
    * Caches data from ufs.
    * @param ufsPath the full ufs path
@@ -0,0 +1,206 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.CloseableSupplier;
+import alluxio.PositionReader;
+import alluxio.client.file.dora.netty.PartialReadException;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.google.common.base.Throwables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Implementation of {@link PositionReader} that reads from a worker, and sends a read which the
+ * worker has not completed in time again to another worker, as decided by a
+ * {@link HedgedReadPolicy}. The read is answered by the first worker to complete it, and the
+ * read from the other worker is canceled.
+ *
+ * Each of the two reads fills a buffer of its own, which is copied to the buffer of the caller
+ * once the read is answered, so that the read which is canceled never writes to it.
+ */
+@ThreadSafe
+public class HedgedPositionReader implements PositionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(HedgedPositionReader.class);
+  private final PositionReader mPrimaryReader;
+  private final CloseableSupplier<PositionReader> mHedgeReader;
+  private final HedgedReadPolicy mPolicy;
+  private volatile boolean mClosed;
+
+  /**
+   * @param primaryReader the reader to read from the worker of the file
+   * @param hedgeReader the reader to read from the other worker, created on the first read
+   *                    sent again
+   * @param policy the policy to decide when a read is sent again
+   */
+  public HedgedPositionReader(PositionReader primaryReader,
+      CloseableSupplier<PositionReader> hedgeReader, HedgedReadPolicy policy) {
+    mPrimaryReader = primaryReader;
+    mHedgeReader = hedgeReader;
+    mPolicy = policy;
+  }
+
+  @Override
+  public int readInternal(long position, ReadTargetBuffer buffer, int length)
+      throws IOException {
+    if (!mPolicy.isHedgeable(length)) {
+      return mPrimaryReader.read(position, buffer, length);
+    }
+    mPolicy.onRead();
+    long startTime = System.nanoTime();
+    BlockingQueue<Attempt> completed = new LinkedBlockingQueue<>();
+    Attempt primary = Attempt.start(mPolicy, mPrimaryReader, position, length, completed);
+    Attempt hedge = null;
+    try {
+      Attempt first = completed.poll(mPolicy.getDelayNanos(), TimeUnit.NANOSECONDS);
+      if (first == null) {
+        if (mPolicy.tryHedge()) {
+          hedge = Attempt.start(mPolicy, mHedgeReader.get(), position, length, completed);
+          Metrics.HEDGED_READ_COUNT.mark();
+        } else {
+          Metrics.HEDGED_READ_THROTTLED_COUNT.inc();
+        }
+        first = completed.take();
+      }
+      Attempt result = first;
+      if (first.mFailure != null && hedge != null) {
+        LOG.debug("Failed to read from {} worker, waiting for the other worker",
+            first == primary ? "the first" : "the other", first.mFailure);
+        Attempt second = completed.take();
+        // the failure of the first worker is reported if both failed
+        result = second.mFailure == null ? second : primary;
+      }
+      if (result.mFailure == null) {
+        mPolicy.recordLatency(System.nanoTime() - startTime);
+        if (result == hedge) {
+          Metrics.HEDGED_READ_WIN_COUNT.inc();
+        }
+      }
+      return result.copyTo(buffer);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PartialReadException(length, 0, PartialReadException.CauseType.INTERRUPT, e);
+    } finally {
+      primary.cancel();
+      if (hedge != null) {
+        hedge.cancel();
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    mPrimaryReader.close();
+    mHedgeReader.close();
+  }
+
+  /**
+   * A read from one of the workers into a buffer of its own.
+   */
+  private static final class Attempt {
+    private final PositionReader mReader;
+    private final long mPosition;
+    private final byte[] mData;
+    private final BlockingQueue<Attempt> mCompleted;
+    private final FutureTask<Void> mTask;
+    private volatile int mBytesRead;
+    @Nullable
+    private volatile Throwable mFailure;
+
+    private Attempt(PositionReader reader, long position, int length,
+        BlockingQueue<Attempt> completed) {
+      mReader = reader;
+      mPosition = position;
+      mData = new byte[length];
+      mCompleted = completed;
+      mTask = new FutureTask<>(this::run, null);
+    }
+
+    /**
+     * Starts a read, which adds itself to the given queue once it completes.
+     */
+    static Attempt start(HedgedReadPolicy policy, PositionReader reader, long position,
+        int length, BlockingQueue<Attempt> completed) {
+      Attempt attempt = new Attempt(reader, position, length, completed);
+      policy.getExecutor().execute(attempt.mTask);
+      return attempt;
+    }
+
+    private void run() {
+      try {
+        mBytesRead = mReader.read(mPosition, new ByteArrayTargetBuffer(mData, 0), mData.length);
+      } catch (Throwable t) {
+        mFailure = t;
+      }
+      mCompleted.add(this);
+    }
+
+    /**
+     * Copies the bytes read to the buffer of the caller.
+     *
+     * @return the number of bytes read
+     */
+    int copyTo(ReadTargetBuffer buffer) throws IOException {
+      Throwable failure = mFailure;
+      if (failure != null) {
+        if (failure instanceof PartialReadException
+            && ((PartialReadException) failure).getBytesRead() > 0) {
+          buffer.writeBytes(mData, 0, ((PartialReadException) failure).getBytesRead());
+        }
+        Throwables.throwIfInstanceOf(failure, IOException.class);
+        Throwables.throwIfUnchecked(failure);
+        throw new IOException(failure);
+      }
+      if (mBytesRead > 0) {
+        buffer.writeBytes(mData, 0, mBytesRead);
+      }
+      return mBytesRead;
+    }
+
+    /**
+     * Cancels the read if it has not completed, the reader being interrupted.
+     */
+    void cancel() {
+      mTask.cancel(true);
+    }
+  }
+
+  private static final class Metrics {
+    static final Meter HEDGED_READ_COUNT =
+        MetricsSystem.meter(MetricKey.CLIENT_HEDGED_READ_COUNT.getName());
+    static final Counter HEDGED_READ_WIN_COUNT =
+        MetricsSystem.counter(MetricKey.CLIENT_HEDGED_READ_WIN_COUNT.getName());
+    static final Counter HEDGED_READ_THROTTLED_COUNT =
+        MetricsSystem.counter(MetricKey.CLIENT_HEDGED_READ_THROTTLED_COUNT.getName());
+
+    private Metrics() {
+    } // prevent instantiation
+  }
+}
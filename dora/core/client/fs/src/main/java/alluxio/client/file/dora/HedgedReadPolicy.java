@@ -0,0 +1,143 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Decides when a read from a worker is sent again to another worker, for the
+ * {@link HedgedPositionReader}s of a client.
+ *
+ * A read is sent again once it has taken longer than a percentile of the latencies of the recent
+ * reads, so that only the reads slower than usual are. Each read adds the budget ratio to a
+ * budget, up to {@link #MAX_BUDGET} reads, and each read sent again takes one read from it, so
+ * that the reads sent again do not add more than the ratio of extra load to the workers, even
+ * when all of them are slow.
+ */
+@ThreadSafe
+public class HedgedReadPolicy {
+  /** The maximum number of reads sent again in a burst. */
+  static final double MAX_BUDGET = 10;
+  /** The number of latencies recorded before the delay is computed again. */
+  private static final int DELAY_UPDATE_INTERVAL = 100;
+  /** The threads running the reads, shared by the clients and stopped when idle. */
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+      ThreadFactoryUtils.build("hedged-read-%d", true));
+
+  private final double mPercentile;
+  private final long mMinDelayNanos;
+  private final double mBudgetRatio;
+  private final int mMaxReadLength;
+  /** The latencies of the recent reads in nanoseconds, biased towards the last minutes. */
+  private final Histogram mLatencies = new Histogram(new ExponentiallyDecayingReservoir());
+  private final AtomicLong mLatencyCount = new AtomicLong();
+  private volatile long mDelayNanos;
+  private double mBudget;
+
+  /**
+   * @param conf the configuration
+   */
+  public HedgedReadPolicy(AlluxioConfiguration conf) {
+    this(conf.getDouble(PropertyKey.USER_NETWORK_READER_HEDGE_DELAY_PERCENTILE),
+        conf.getMs(PropertyKey.USER_NETWORK_READER_HEDGE_DELAY_MIN),
+        conf.getDouble(PropertyKey.USER_NETWORK_READER_HEDGE_BUDGET_RATIO),
+        (int) Math.min(Integer.MAX_VALUE,
+            conf.getBytes(PropertyKey.USER_NETWORK_READER_HEDGE_SIZE_MAX)));
+  }
+
+  /**
+   * @param percentile the percentile of the latencies after which a read is sent again
+   * @param minDelayMs the minimum time to wait for a read before it is sent again
+   * @param budgetRatio the maximum ratio of the reads sent again
+   * @param maxReadLength the maximum length of a read to be sent again
+   */
+  HedgedReadPolicy(double percentile, long minDelayMs, double budgetRatio, int maxReadLength) {
+    Preconditions.checkArgument(percentile > 0 && percentile <= 100,
+        "%s must be in (0, 100], but is %s",
+        PropertyKey.USER_NETWORK_READER_HEDGE_DELAY_PERCENTILE, percentile);
+    Preconditions.checkArgument(budgetRatio >= 0, "%s must not be negative, but is %s",
+        PropertyKey.USER_NETWORK_READER_HEDGE_BUDGET_RATIO, budgetRatio);
+    mPercentile = percentile / 100;
+    mMinDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+    mBudgetRatio = budgetRatio;
+    mMaxReadLength = maxReadLength;
+    mDelayNanos = mMinDelayNanos;
+  }
+
+  /**
+   * @param length the length of a read
+   * @return whether the read may be sent again to another worker
+   */
+  public boolean isHedgeable(int length) {
+    return length <= mMaxReadLength;
+  }
+
+  /**
+   * @return the time to wait for a read before sending it again to another worker
+   */
+  public long getDelayNanos() {
+    return mDelayNanos;
+  }
+
+  /**
+   * Adds a read to the budget of the reads sent again.
+   */
+  public synchronized void onRead() {
+    mBudget = Math.min(MAX_BUDGET, mBudget + mBudgetRatio);
+  }
+
+  /**
+   * Takes a read sent again from the budget.
+   *
+   * @return whether a read can be sent again, otherwise the budget is used up
+   */
+  public synchronized boolean tryHedge() {
+    if (mBudget < 1) {
+      return false;
+    }
+    mBudget--;
+    return true;
+  }
+
+  /**
+   * Records the latency of a read, as seen by the reader. The latency of a read answered by the
+   * other worker first is the lower bound of the latency of the worker it was sent to first.
+   *
+   * @param latencyNanos the latency of the read
+   */
+  public void recordLatency(long latencyNanos) {
+    mLatencies.update(latencyNanos);
+    if (mLatencyCount.incrementAndGet() % DELAY_UPDATE_INTERVAL == 0) {
+      mDelayNanos = Math.max(mMinDelayNanos,
+          (long) mLatencies.getSnapshot().getValue(mPercentile));
+    }
+  }
+
+  /**
+   * @return the executor to run the reads
+   */
+  public ExecutorService getExecutor() {
+    return EXECUTOR;
+  }
+}
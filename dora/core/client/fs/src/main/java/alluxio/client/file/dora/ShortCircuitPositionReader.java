@@ -0,0 +1,269 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.Constants;
+import alluxio.PositionReader;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.grpc.CachedPageFile;
+import alluxio.grpc.GetCachedPageFilesResponse;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.ClosedChannelException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Implementation of {@link PositionReader} for a client on the same host as the worker, which
+ * reads the pages cached by the worker from their local files, and the other pages through the
+ * worker.
+ *
+ * The local files of the pages are fetched from the worker as the ranges of the file they are in
+ * are first read, and a number of them are kept open. If the worker does not hand them out, the
+ * whole file is read through the worker.
+ *
+ * The worker may evict or replace a page after it handed out its file. A page is only read from
+ * its file if the file still has the length of the page, otherwise the page is read through the
+ * worker from then on. A page file kept open remains readable once evicted, and still holds the
+ * page of the file which is read.
+ */
+@ThreadSafe
+public class ShortCircuitPositionReader implements PositionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(ShortCircuitPositionReader.class);
+  /** The length of the ranges of the file whose page files are fetched at once. */
+  @VisibleForTesting
+  static final long FETCH_RANGE_LENGTH = 64L * Constants.MB;
+  /** The maximum number of page files kept open. */
+  private static final int MAX_OPEN_PAGE_FILES = 64;
+
+  private final PositionReader mWorkerReader;
+  private final long mFileLength;
+  private final PageFilesFetcher mFetcher;
+  /** The indexes of the ranges of the file whose page files were fetched. */
+  private final Map<Long, Boolean> mFetchedRanges = new ConcurrentHashMap<>();
+  /** The local files of the cached pages, by page index. */
+  private final Map<Long, String> mPageFiles = new ConcurrentHashMap<>();
+  /** The page files kept open, by page index. */
+  private final Cache<Long, PageFile> mOpenFiles = CacheBuilder.newBuilder()
+      .maximumSize(MAX_OPEN_PAGE_FILES)
+      .removalListener((RemovalNotification<Long, PageFile> removal) ->
+          removal.getValue().close())
+      .build();
+  /** The page size of the worker, or 0 until page files are fetched. */
+  private volatile long mPageSize;
+  /** Whether the worker failed to hand out the page files, so every page is read through it. */
+  private volatile boolean mFetchFailed;
+
+  /**
+   * Fetches the local files of the cached pages of a range of the file from the worker.
+   */
+  @FunctionalInterface
+  public interface PageFilesFetcher {
+    /**
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @return the page size and the local files of the cached pages of the range
+     */
+    GetCachedPageFilesResponse fetch(long offset, long length) throws IOException;
+  }
+
+  /**
+   * @param workerReader the reader to read the pages which are not read locally
+   * @param fileLength the file length
+   * @param fetcher the fetcher of the local files of the cached pages
+   */
+  public ShortCircuitPositionReader(PositionReader workerReader, long fileLength,
+      PageFilesFetcher fetcher) {
+    mWorkerReader = workerReader;
+    mFileLength = fileLength;
+    mFetcher = fetcher;
+  }
+
+  @Override
+  public int readInternal(long position, ReadTargetBuffer buffer, int length)
+      throws IOException {
+    if (position >= mFileLength) { // at end of file
+      return -1;
+    }
+    fetchPageFiles(position);
+    long pageSize = mPageSize;
+    if (pageSize <= 0) {
+      return mWorkerReader.read(position, buffer, length);
+    }
+    int toRead = (int) Math.min(length, mFileLength - position);
+    int totalRead = 0;
+    while (totalRead < toRead) {
+      long pos = position + totalRead;
+      fetchPageFiles(pos);
+      long pageIndex = pos / pageSize;
+      int pageOffset = (int) (pos % pageSize);
+      int bytesToRead = (int) Math.min(toRead - totalRead, pageSize - pageOffset);
+      if (readLocal(pageIndex, pageOffset, buffer, bytesToRead)) {
+        totalRead += bytesToRead;
+        continue;
+      }
+      // read the following pages which are not local through the worker in one go
+      long end = (pageIndex + 1) * pageSize;
+      while (end < position + toRead && !isLocal(end)) {
+        end += pageSize;
+      }
+      int read = mWorkerReader.read(pos, buffer,
+          (int) Math.min(toRead - totalRead, end - pos));
+      if (read <= 0) {
+        break;
+      }
+      totalRead += read;
+    }
+    return totalRead == 0 ? -1 : totalRead;
+  }
+
+  /**
+   * @return the number of page files kept open
+   */
+  @VisibleForTesting
+  long getOpenFileCount() {
+    mOpenFiles.cleanUp();
+    return mOpenFiles.size();
+  }
+
+  /**
+   * Fetches the page files of the range of the file containing a position, unless they were.
+   */
+  private void fetchPageFiles(long position) {
+    if (mFetchFailed) {
+      return;
+    }
+    mFetchedRanges.computeIfAbsent(position / FETCH_RANGE_LENGTH, range -> {
+      try {
+        GetCachedPageFilesResponse response =
+            mFetcher.fetch(range * FETCH_RANGE_LENGTH, FETCH_RANGE_LENGTH);
+        for (CachedPageFile page : response.getPagesList()) {
+          mPageFiles.put(page.getPageIndex(), page.getPath());
+        }
+        mPageSize = response.getPageSize();
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Failed to fetch the local files of the cached pages", e);
+        mFetchFailed = true;
+      }
+      return true;
+    });
+  }
+
+  private boolean isLocal(long position) {
+    fetchPageFiles(position);
+    return mPageFiles.containsKey(position / mPageSize);
+  }
+
+  /**
+   * @return whether the bytes were read from the local file of the page, otherwise nothing was
+   *         read
+   */
+  private boolean readLocal(long pageIndex, int pageOffset, ReadTargetBuffer buffer,
+      int length) {
+    String path = mPageFiles.get(pageIndex);
+    if (path == null) {
+      return false;
+    }
+    int originalOffset = buffer.offset();
+    long pageLength = Math.min(mPageSize, mFileLength - pageIndex * mPageSize);
+    try {
+      while (true) {
+        PageFile file = mOpenFiles.get(pageIndex, () -> new PageFile(path));
+        try {
+          if (file.read(pageLength, pageOffset, buffer, length)) {
+            return true;
+          }
+          break;
+        } catch (ClosedChannelException e) {
+          // closed as too many page files were kept open since it was looked up
+          buffer.offset(originalOffset);
+        }
+      }
+      LOG.debug("The local file {} of page {} no longer holds the page", path, pageIndex);
+    } catch (ExecutionException | IOException e) {
+      LOG.debug("Failed to read the local file {} of page {}", path, pageIndex, e);
+    }
+    buffer.offset(originalOffset);
+    mPageFiles.remove(pageIndex, path);
+    mOpenFiles.invalidate(pageIndex);
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    mOpenFiles.invalidateAll();
+    mWorkerReader.close();
+  }
+
+  /**
+   * The local file of a page kept open.
+   */
+  @ThreadSafe
+  private static final class PageFile implements Closeable {
+    private final String mPath;
+    @GuardedBy("this")
+    private final RandomAccessFile mFile;
+    @GuardedBy("this")
+    private boolean mClosed;
+
+    PageFile(String path) throws IOException {
+      mPath = path;
+      mFile = new RandomAccessFile(path, "r");
+    }
+
+    /**
+     * @return whether the bytes were read, otherwise the file no longer holds the page
+     * @throws ClosedChannelException if the file was closed
+     */
+    synchronized boolean read(long pageLength, int pageOffset, ReadTargetBuffer buffer,
+        int length) throws IOException {
+      if (mClosed) {
+        throw new ClosedChannelException();
+      }
+      if (mFile.length() != pageLength) {
+        return false;
+      }
+      mFile.seek(pageOffset);
+      int read = 0;
+      while (read < length) {
+        int bytesRead = buffer.readFromFile(mFile, length - read);
+        if (bytesRead <= 0) {
+          break;
+        }
+        read += bytesRead;
+      }
+      return read == length;
+    }
+
+    @Override
+    public synchronized void close() {
+      mClosed = true;
+      try {
+        mFile.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close the local page file {}", mPath, e);
+      }
+    }
+  }
+}
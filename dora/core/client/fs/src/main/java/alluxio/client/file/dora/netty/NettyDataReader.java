@@ -17,12 +17,17 @@ import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.proto.dataserver.Protocol;
+import alluxio.trace.Span;
+import alluxio.trace.TraceContext;
+import alluxio.trace.Tracer;
+import alluxio.util.FlightRecorder;
 import alluxio.wire.WorkerNetAddress;
 
 import com.codahale.metrics.Counter;
 
 import java.io.IOException;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 
 /**
  * Positioned Netty data reader.
@@ -31,6 +36,8 @@ public class NettyDataReader implements PositionReader {
   private final FileSystemContext mContext;
   private final WorkerNetAddress mAddress;
   private final Supplier<Protocol.ReadRequest.Builder> mRequestBuilder;
+  @Nullable
+  private final NettyReadWindow mReadWindow;
 
   /**
    * Constructor.
@@ -41,31 +48,66 @@ public class NettyDataReader implements PositionReader {
    */
   public NettyDataReader(FileSystemContext context, WorkerNetAddress address,
       Protocol.ReadRequest.Builder requestBuilder) {
+    this(context, address, requestBuilder, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param context
+   * @param address
+   * @param requestBuilder
+   * @param readWindow the window to choose the packet size and the number of packets in flight
+   *                   of each read from, or null to use the ones of the request builder
+   */
+  public NettyDataReader(FileSystemContext context, WorkerNetAddress address,
+      Protocol.ReadRequest.Builder requestBuilder, @Nullable NettyReadWindow readWindow) {
     mContext = context;
     mAddress = address;
     // clone the builder so that the initial values does not get overridden
     mRequestBuilder = requestBuilder::clone;
+    mReadWindow = readWindow;
   }
 
   @Override
   public int readInternal(long position, ReadTargetBuffer buffer, int length) throws IOException {
-    Protocol.ReadRequest.Builder builder = mRequestBuilder.get()
-        .setLength(length)
-        .setOffset(position)
-        .clearCancel();
-    NettyDataReaderStateMachine clientStateMachine =
-        new NettyDataReaderStateMachine(mContext, mAddress, builder, buffer);
-    clientStateMachine.run();
-    int bytesRead = clientStateMachine.getBytesRead();
-    PartialReadException exception = clientStateMachine.getException();
-    if (exception != null) {
-      throw exception;
-    } else {
-      if (bytesRead == 0) {
-        return -1;
+    try (Span span = Tracer.startSpan("client.read")) {
+      span.setAttribute("worker", mAddress.getHost())
+          .setAttribute("offset", position)
+          .setAttribute("length", length);
+      Protocol.ReadRequest.Builder builder = mRequestBuilder.get()
+          .setLength(length)
+          .setOffset(position)
+          .clearCancel();
+      TraceContext traceContext = span.getContext();
+      if (traceContext != null) {
+        builder.setTraceContext(traceContext.encode());
+      }
+      if (mReadWindow != null) {
+        builder.setChunkSize(mReadWindow.getPacketSize(length))
+            .setMaxPacketsInFlight(mReadWindow.getPacketsInFlight());
+      }
+      NettyDataReaderStateMachine clientStateMachine =
+          new NettyDataReaderStateMachine(mContext, mAddress, builder, buffer);
+      long startTime = System.nanoTime();
+      clientStateMachine.run();
+      long elapsedNanos = System.nanoTime() - startTime;
+      FlightRecorder.reportLatency(elapsedNanos);
+      int bytesRead = clientStateMachine.getBytesRead();
+      PartialReadException exception = clientStateMachine.getException();
+      if (exception != null) {
+        throw exception;
+      } else {
+        if (mReadWindow != null) {
+          mReadWindow.onReadCompleted((int) builder.getChunkSize(), bytesRead,
+              clientStateMachine.getTimeToFirstDataNanos(), elapsedNanos);
+        }
+        if (bytesRead == 0) {
+          return -1;
+        }
+        Metrics.BYTES_READ_FROM_WORKERS.inc(bytesRead);
+        return bytesRead;
       }
-      Metrics.BYTES_READ_FROM_WORKERS.inc(bytesRead);
-      return bytesRead;
     }
   }
 
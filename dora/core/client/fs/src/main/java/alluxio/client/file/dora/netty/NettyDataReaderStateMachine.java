@@ -87,6 +87,8 @@ public class NettyDataReaderStateMachine {
   @Nullable
   private Channel mChannel;
   private int mBytesRead;
+  private long mRequestSentNanos = -1;
+  private long mFirstDataReceivedNanos = -1;
   @Nullable
   private Throwable mLastException;
   @Nullable
@@ -182,7 +184,9 @@ public class NettyDataReaderStateMachine {
     mContext = context;
     AlluxioConfiguration conf = context.getClusterConf();
     mReadTimeoutMs = conf.getMs(PropertyKey.USER_NETWORK_NETTY_TIMEOUT_MS);
-    mMaxPacketsInFlight = conf.getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS);
+    mMaxPacketsInFlight = requestBuilder.hasMaxPacketsInFlight()
+        ? requestBuilder.getMaxPacketsInFlight()
+        : conf.getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS);
     mAddress = address;
     // clone the builder so that the initial values does not get overridden
     mRequestBuilder = requestBuilder::clone;
@@ -332,6 +336,19 @@ public class NettyDataReaderStateMachine {
     return mBytesRead;
   }
 
+  /**
+   * Gets the time from sending the request to receiving the first data, which is the round trip
+   * time of the request plus the time for the worker to read the first packet.
+   *
+   * @return the time in nanoseconds, or -1 if no data has been received
+   */
+  public long getTimeToFirstDataNanos() {
+    if (mFirstDataReceivedNanos < 0) {
+      return -1;
+    }
+    return mFirstDataReceivedNanos - mRequestSentNanos;
+  }
+
   /**
    * Generates a diagram describing the state transition in a .dot file.
    * Only used for testing purposes.
@@ -391,6 +408,7 @@ public class NettyDataReaderStateMachine {
   void sendRequest() {
     Preconditions.checkNotNull(mChannel, "channel has not been acquired");
     Protocol.ReadRequest readRequest = mRequestBuilder.get().clearCancel().build();
+    mRequestSentNanos = System.nanoTime();
     mChannel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(readRequest)))
         .addListener((ChannelFutureListener) future -> {
           if (!future.isSuccess()) {
@@ -428,6 +446,9 @@ public class NettyDataReaderStateMachine {
 
   void onReceivedData(ByteBuf buf, Transition<State, TriggerEvent> transition) {
     Preconditions.checkState(TriggerEvent.DATA_AVAILABLE == transition.getTrigger());
+    if (mFirstDataReceivedNanos < 0) {
+      mFirstDataReceivedNanos = System.nanoTime();
+    }
     int bytesToWrite = buf.readableBytes();
     try {
       mOutputBuffer.writeBytes(buf);
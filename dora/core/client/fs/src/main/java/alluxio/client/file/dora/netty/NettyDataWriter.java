@@ -31,6 +31,7 @@ import alluxio.util.CommonUtils;
 import alluxio.util.proto.ProtoMessage;
 import alluxio.wire.WorkerNetAddress;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import io.netty.buffer.ByteBuf;
@@ -84,6 +85,8 @@ public class NettyDataWriter implements DataWriter {
   private final long mLength;
   protected Protocol.WriteRequest mPartialRequest;
   private final long mPacketSize;
+  /** Whether a write returns once its packet is queued rather than written to the channel. */
+  private final boolean mAsyncWrite;
 
   private boolean mClosed;
 
@@ -163,7 +166,28 @@ public class NettyDataWriter implements DataWriter {
   protected NettyDataWriter(FileSystemContext context, final WorkerNetAddress address,
                           long length, long packetSize, RequestType type, OutStreamOptions options,
                           Channel channel) {
+    this(context, address, length, packetSize, type, options, channel,
+        Configuration.getBoolean(PropertyKey.USER_NETWORK_NETTY_WRITER_ASYNC_ENABLED));
+  }
+
+  /**
+   * Creates an instance of {@link NettyDataWriter}.
+   *
+   * @param context    the file system context
+   * @param address    the data server address
+   * @param length     the length of the file to write, set to Long.MAX_VALUE if unknown
+   * @param packetSize the packet size
+   * @param type       type of the write request
+   * @param options    details of the write request which are constant for all requests
+   * @param channel    netty channel
+   * @param asyncWrite whether a write returns once its packet is queued
+   */
+  @VisibleForTesting
+  NettyDataWriter(FileSystemContext context, final WorkerNetAddress address,
+      long length, long packetSize, RequestType type, OutStreamOptions options,
+      Channel channel, boolean asyncWrite) {
     mContext = context;
+    mAsyncWrite = asyncWrite;
     mAddress = address;
     mLength = length;
     Protocol.WriteRequest.Builder builder =
@@ -254,9 +278,16 @@ public class NettyDataWriter implements DataWriter {
         .setOffset(offset)
         .build();
     DataBuffer dataBuffer = new NettyDataBuffer(buf);
+    ChannelFuture writeFuture =
+        mChannel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(writeRequest), dataBuffer))
+            .addListener(new WriteListener(offset + len));
+    if (mAsyncWrite) {
+      // the packets in flight are bounded above, and a failed write is reported through
+      // mPacketWriteException to the next write, flush or close
+      return;
+    }
     try {
-      mChannel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(writeRequest), dataBuffer))
-          .addListener(new WriteListener(offset + len)).sync();
+      writeFuture.sync();
     } catch (InterruptedException e) {
       if (mPacketWriteException != null) {
         Throwables.propagateIfPossible(mPacketWriteException, IOException.class);
@@ -279,13 +310,14 @@ public class NettyDataWriter implements DataWriter {
 
     try (LockResource lr = new LockResource(mLock)) {
       while (true) {
-        if (mPosToWrite >= mPosToQueue) {
-          return;
-        }
+        // a failed write also advances the pos written, so the failure is checked first
         if (mPacketWriteException != null) {
           Throwables.propagateIfPossible(mPacketWriteException, IOException.class);
           throw AlluxioStatusException.fromCheckedException(mPacketWriteException);
         }
+        if (mPosToWrite >= mPosToQueue) {
+          return;
+        }
         if (!mBufferEmptyOrFailed.await(WRITE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
           throw new DeadlineExceededException(
               String.format("Timeout flushing to %s for request %s after %dms.",
@@ -401,6 +433,14 @@ public class NettyDataWriter implements DataWriter {
         .addListener(new EofOrCancelListener());
   }
 
+  /**
+   * @return whether writes return once their packets are queued, the failures of the writes
+   *         being reported by the next write, flush or close
+   */
+  public boolean isAsyncWriteEnabled() {
+    return mAsyncWrite;
+  }
+
   @Override
   public int chunkSize() {
     return (int) mPacketSize;
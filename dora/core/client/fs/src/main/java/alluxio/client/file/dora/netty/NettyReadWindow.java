@@ -0,0 +1,149 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora.netty;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MultiDimensionalMetricsSystem;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Ints;
+import io.prometheus.metrics.core.datapoints.GaugeDataPoint;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Chooses the packet size and the number of packets in flight of the reads from a worker, from
+ * the throughput and the time to first data observed on the previous reads from the worker, in
+ * the way TCP tunes its receive window.
+ *
+ * The window in bytes aims at twice the bandwidth-delay product, so that the worker does not
+ * wait for the client to read before sending more. While the throughput is limited by the window
+ * itself, the estimate doubles the window on every read, until the link is filled. The window is
+ * split into as many packets as allowed before the packets grow beyond the minimum size.
+ *
+ * Reads smaller than a few packets are split into smaller packets, so that the worker sends the
+ * first packet while it reads the next ones. They do not sample the throughput, as they mostly
+ * measure the round trip time.
+ */
+@ThreadSafe
+public class NettyReadWindow {
+  /** The weight of a new sample of the time to first data, as for the smoothed RTT of TCP. */
+  private static final double TIME_SAMPLE_WEIGHT = 0.125;
+  /** The weight of a new sample of the throughput, which must follow the window as it grows. */
+  private static final double THROUGHPUT_SAMPLE_WEIGHT = 0.5;
+  /** The number of packets a small read is split into. */
+  private static final int PACKETS_PER_SMALL_READ = 4;
+  private static final int MIN_PACKETS_IN_FLIGHT = 2;
+
+  private final long mMinPacketSize;
+  private final long mMaxPacketSize;
+  private final int mMaxPacketsInFlight;
+  private final GaugeDataPoint mPacketSizeGauge;
+  private final GaugeDataPoint mPacketsInFlightGauge;
+  @GuardedBy("this")
+  private long mPacketSize;
+  @GuardedBy("this")
+  private int mPacketsInFlight;
+  /** The smoothed time to first data in nanoseconds, or 0 before the first sample. */
+  @GuardedBy("this")
+  private double mTimeToFirstDataNanos = 0;
+  /** The smoothed throughput in bytes per nanosecond, or 0 before the first sample. */
+  @GuardedBy("this")
+  private double mBytesPerNano = 0;
+
+  /**
+   * @param conf the configuration
+   * @param worker the worker the reads are from, as the label of the metrics
+   */
+  public NettyReadWindow(AlluxioConfiguration conf, String worker) {
+    this(conf.getBytes(PropertyKey.USER_NETWORK_NETTY_READER_PACKET_SIZE_MIN),
+        conf.getBytes(PropertyKey.USER_NETWORK_NETTY_READER_PACKET_SIZE_MAX),
+        conf.getBytes(PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES),
+        conf.getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS),
+        worker);
+  }
+
+  @VisibleForTesting
+  NettyReadWindow(long minPacketSize, long maxPacketSize, long initialPacketSize,
+      int maxPacketsInFlight, String worker) {
+    Preconditions.checkArgument(minPacketSize > 0 && minPacketSize <= maxPacketSize,
+        "invalid packet size range [%s, %s]", minPacketSize, maxPacketSize);
+    mMinPacketSize = minPacketSize;
+    mMaxPacketSize = maxPacketSize;
+    mMaxPacketsInFlight = Math.max(MIN_PACKETS_IN_FLIGHT, maxPacketsInFlight);
+    mPacketSize = clamp(initialPacketSize, mMinPacketSize, mMaxPacketSize);
+    mPacketsInFlight = mMaxPacketsInFlight;
+    mPacketSizeGauge = MultiDimensionalMetricsSystem.NETTY_READ_PACKET_SIZE_BY_WORKER.get(worker);
+    mPacketsInFlightGauge =
+        MultiDimensionalMetricsSystem.NETTY_READ_PACKETS_IN_FLIGHT_BY_WORKER.get(worker);
+    updateMetrics();
+  }
+
+  /**
+   * @param length the length of the read
+   * @return the packet size to request for the read
+   */
+  public synchronized int getPacketSize(long length) {
+    return Ints.saturatedCast(
+        clamp(length / PACKETS_PER_SMALL_READ, mMinPacketSize, mPacketSize));
+  }
+
+  /**
+   * @return the number of packets in flight to request
+   */
+  public synchronized int getPacketsInFlight() {
+    return mPacketsInFlight;
+  }
+
+  /**
+   * Updates the window from a completed read.
+   *
+   * @param packetSize the packet size requested for the read
+   * @param bytesRead the number of bytes read
+   * @param timeToFirstDataNanos the time from sending the request to receiving the first data,
+   *                             or a negative value if no data was received
+   * @param elapsedNanos the time the read took
+   */
+  public synchronized void onReadCompleted(int packetSize, long bytesRead,
+      long timeToFirstDataNanos, long elapsedNanos) {
+    if (timeToFirstDataNanos <= 0 || elapsedNanos <= 0) {
+      return;
+    }
+    mTimeToFirstDataNanos = mTimeToFirstDataNanos == 0 ? timeToFirstDataNanos
+        : mTimeToFirstDataNanos
+            + TIME_SAMPLE_WEIGHT * (timeToFirstDataNanos - mTimeToFirstDataNanos);
+    if (bytesRead < (long) PACKETS_PER_SMALL_READ * packetSize) {
+      return;
+    }
+    double bytesPerNano = (double) bytesRead / elapsedNanos;
+    mBytesPerNano = mBytesPerNano == 0 ? bytesPerNano
+        : mBytesPerNano + THROUGHPUT_SAMPLE_WEIGHT * (bytesPerNano - mBytesPerNano);
+    long window = (long) (2 * mBytesPerNano * mTimeToFirstDataNanos);
+    mPacketSize = clamp(window / mMaxPacketsInFlight, mMinPacketSize, mMaxPacketSize);
+    mPacketsInFlight = (int) clamp((window + mPacketSize - 1) / mPacketSize,
+        MIN_PACKETS_IN_FLIGHT, mMaxPacketsInFlight);
+    updateMetrics();
+  }
+
+  @GuardedBy("this")
+  private void updateMetrics() {
+    mPacketSizeGauge.set(mPacketSize);
+    mPacketsInFlightGauge.set(mPacketsInFlight);
+  }
+
+  private static long clamp(long value, long min, long max) {
+    return Math.max(min, Math.min(value, max));
+  }
+}
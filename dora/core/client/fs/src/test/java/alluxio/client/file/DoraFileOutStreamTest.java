@@ -0,0 +1,92 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.client.AlluxioStorageType;
+import alluxio.client.UnderStorageType;
+import alluxio.client.file.dora.DoraCacheClient;
+import alluxio.client.file.dora.netty.NettyDataWriter;
+import alluxio.client.file.options.OutStreamOptions;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.UnavailableException;
+import alluxio.grpc.CompleteFilePOptions;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link DoraFileOutStream}.
+ */
+public final class DoraFileOutStreamTest {
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+  private final DoraCacheClient mDoraClient = mock(DoraCacheClient.class);
+  private final NettyDataWriter mDataWriter = mock(NettyDataWriter.class);
+  private final FileSystemContext mContext = mock(FileSystemContext.class);
+  private final OutStreamOptions mOptions = mock(OutStreamOptions.class);
+
+  @Before
+  public void before() {
+    mConf.set(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED, false);
+    when(mContext.getClusterConf()).thenReturn(mConf);
+    when(mOptions.getAlluxioStorageType()).thenReturn(AlluxioStorageType.STORE);
+    when(mOptions.getUnderStorageType()).thenReturn(UnderStorageType.NO_PERSIST);
+  }
+
+  @Test
+  public void reportAsyncWriteFailureOnClose() throws Exception {
+    UnavailableException failure = new UnavailableException("channel closed");
+    when(mDataWriter.isAsyncWriteEnabled()).thenReturn(true);
+    doThrow(failure).when(mDataWriter).flush();
+    DoraFileOutStream stream = create();
+    RuntimeException e = assertThrows(RuntimeException.class, stream::close);
+    assertSame(failure, e.getCause());
+    // the file is not completed, as the worker may not have all of its data
+    verify(mDoraClient, never()).completeFile(anyString(), any(CompleteFilePOptions.class),
+        anyString());
+    verify(mDataWriter).close();
+  }
+
+  @Test
+  public void ignoreSyncWriteFailureOnClose() throws Exception {
+    when(mDataWriter.isAsyncWriteEnabled()).thenReturn(false);
+    doThrow(new UnavailableException("channel closed")).when(mDataWriter).flush();
+    create().close();
+    verify(mDoraClient).completeFile(anyString(), any(CompleteFilePOptions.class), anyString());
+  }
+
+  @Test
+  public void ignoreAsyncWriteFailureWhenWritingToUfs() throws Exception {
+    mConf.set(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED, true);
+    when(mDataWriter.isAsyncWriteEnabled()).thenReturn(true);
+    doThrow(new UnavailableException("channel closed")).when(mDataWriter).close();
+    create().close();
+    verify(mDoraClient).completeFile(anyString(), any(CompleteFilePOptions.class), anyString());
+  }
+
+  private DoraFileOutStream create() throws Exception {
+    return new DoraFileOutStream(mDoraClient, mDataWriter, new AlluxioURI("/file"), mOptions,
+        mContext, null, "uuid");
+  }
+}
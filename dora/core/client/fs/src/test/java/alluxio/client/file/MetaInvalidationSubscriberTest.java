@@ -0,0 +1,197 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.grpc.MetaInvalidationEvent;
+import alluxio.grpc.SubscribeMetaInvalidationsRequest;
+import alluxio.resource.CloseableResource;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for {@link MetaInvalidationSubscriber}.
+ */
+public final class MetaInvalidationSubscriberTest {
+  private static final WorkerNetAddress WORKER = new WorkerNetAddress().setHost("worker");
+
+  private final FileSystemContext mContext = mock(FileSystemContext.class);
+  private final BlockWorkerClient mClient = mock(BlockWorkerClient.class);
+  @SuppressWarnings("unchecked")
+  private final ClientCallStreamObserver<SubscribeMetaInvalidationsRequest> mCall =
+      mock(ClientCallStreamObserver.class);
+  private final List<String> mInvalidated = new ArrayList<>();
+  private final AtomicInteger mResets = new AtomicInteger();
+  private final AtomicInteger mClientsClosed = new AtomicInteger();
+  private final AtomicLong mTimeNanos = new AtomicLong();
+  private final Ticker mTicker = new Ticker() {
+    @Override
+    public long read() {
+      return mTimeNanos.get();
+    }
+  };
+  private ClientResponseObserver<SubscribeMetaInvalidationsRequest, MetaInvalidationEvent>
+      mObserver;
+  private MetaInvalidationSubscriber mSubscriber;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void before() throws Exception {
+    when(mContext.acquireBlockWorkerClient(any(WorkerNetAddress.class)))
+        .thenAnswer(invocation -> new CloseableResource<BlockWorkerClient>(mClient) {
+          @Override
+          public void closeResource() {
+            mClientsClosed.incrementAndGet();
+          }
+        });
+    doAnswer(invocation -> {
+      mObserver = invocation.getArgument(1);
+      mObserver.beforeStart(mCall);
+      return null;
+    }).when(mClient).subscribeMetaInvalidations(any(), any());
+    mSubscriber = new MetaInvalidationSubscriber(mContext, ImmutableList.of("s3://bucket/"),
+        mInvalidated::add, mResets::incrementAndGet, mTicker);
+  }
+
+  @Test
+  public void invalidateOnEvents() {
+    mSubscriber.subscribe(WORKER);
+    assertEquals(1, mSubscriber.getSubscriptionCount());
+    // the acknowledgement drops the cache, as invalidations may have been missed before it
+    mObserver.onNext(event(0, null));
+    assertEquals(1, mResets.get());
+    mObserver.onNext(event(1, "s3://bucket/a"));
+    mObserver.onNext(event(2, "s3://bucket/b"));
+    assertEquals(ImmutableList.of("s3://bucket/a", "s3://bucket/b"), mInvalidated);
+    assertEquals(1, mResets.get());
+    // subscribing again to a subscribed worker does nothing
+    mSubscriber.subscribe(WORKER);
+    assertEquals(1, mSubscriber.getSubscriptionCount());
+  }
+
+  @Test
+  public void endOnMissedEvent() {
+    mSubscriber.subscribe(WORKER);
+    mObserver.onNext(event(0, null));
+    mObserver.onNext(event(2, "s3://bucket/a"));
+    assertTrue(mInvalidated.isEmpty());
+    verify(mCall).cancel(anyString(), any());
+    // the cancellation ends the call with an error
+    mObserver.onError(Status.CANCELLED.asRuntimeException());
+    assertEquals(2, mResets.get());
+    assertEquals(0, mSubscriber.getSubscriptionCount());
+    assertEquals(1, mClientsClosed.get());
+  }
+
+  @Test
+  public void resubscribeAfterEnd() {
+    mSubscriber.subscribe(WORKER);
+    mObserver.onNext(event(0, null));
+    mObserver.onCompleted();
+    assertEquals(2, mResets.get());
+    assertEquals(0, mSubscriber.getSubscriptionCount());
+
+    // not subscribed to again until the backoff expired
+    mSubscriber.subscribe(WORKER);
+    assertEquals(0, mSubscriber.getSubscriptionCount());
+    advance(MetaInvalidationSubscriber.INITIAL_BACKOFF_MS);
+    mSubscriber.subscribe(WORKER);
+    assertEquals(1, mSubscriber.getSubscriptionCount());
+    mObserver.onNext(event(0, null));
+    mObserver.onNext(event(1, "s3://bucket/a"));
+    assertEquals(ImmutableList.of("s3://bucket/a"), mInvalidated);
+  }
+
+  @Test
+  public void backOffFromRejectingWorker() throws Exception {
+    AtomicInteger subscribeCalls = new AtomicInteger();
+    doAnswer(invocation -> {
+      subscribeCalls.incrementAndGet();
+      ClientResponseObserver<SubscribeMetaInvalidationsRequest, MetaInvalidationEvent> observer =
+          invocation.getArgument(1);
+      observer.beforeStart(mCall);
+      observer.onError(Status.RESOURCE_EXHAUSTED.asRuntimeException());
+      return null;
+    }).when(mClient).subscribeMetaInvalidations(any(), any());
+    // a cache miss every 100ms for a minute
+    for (int i = 0; i < 600; i++) {
+      mSubscriber.subscribe(WORKER);
+      advance(100);
+    }
+    // subscribed to after 0, 1, 3, 7, 15, 31 seconds
+    assertEquals(6, subscribeCalls.get());
+    // the cache did not rely on the subscriptions, which were never acknowledged
+    assertEquals(0, mResets.get());
+    assertEquals(subscribeCalls.get(), mClientsClosed.get());
+  }
+
+  @Test
+  public void stopSubscribingToUnsupportingWorker() throws Exception {
+    AtomicInteger subscribeCalls = new AtomicInteger();
+    doAnswer(invocation -> {
+      subscribeCalls.incrementAndGet();
+      ClientResponseObserver<SubscribeMetaInvalidationsRequest, MetaInvalidationEvent> observer =
+          invocation.getArgument(1);
+      observer.beforeStart(mCall);
+      observer.onError(Status.UNIMPLEMENTED.asRuntimeException());
+      return null;
+    }).when(mClient).subscribeMetaInvalidations(any(), any());
+    for (int i = 0; i < 10; i++) {
+      mSubscriber.subscribe(WORKER);
+      advance(MetaInvalidationSubscriber.MAX_BACKOFF_MS);
+    }
+    assertEquals(1, subscribeCalls.get());
+    assertEquals(0, mResets.get());
+  }
+
+  @Test
+  public void cancelOnClose() {
+    mSubscriber.subscribe(WORKER);
+    mSubscriber.close();
+    verify(mCall).cancel(anyString(), any());
+  }
+
+  private void advance(long ms) {
+    mTimeNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+  }
+
+  private static MetaInvalidationEvent event(long sequenceNumber, String path) {
+    MetaInvalidationEvent.Builder event = MetaInvalidationEvent.newBuilder()
+        .setSequenceNumber(sequenceNumber);
+    if (path != null) {
+      event.setPath(path);
+    }
+    return event.build();
+  }
+}
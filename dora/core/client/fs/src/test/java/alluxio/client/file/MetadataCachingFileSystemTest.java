@@ -30,8 +30,10 @@ import alluxio.grpc.DeletePOptions;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.RenamePOptions;
+import alluxio.membership.WorkerClusterView;
 import alluxio.wire.FileInfo;
 
+import com.google.common.collect.ImmutableList;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -285,16 +287,85 @@ public class MetadataCachingFileSystemTest {
     assertEquals(2, mRpcCountingFs.listStatusRpcCount(DIR));
   }
 
+  @Test
+  public void invalidateByWorker() throws Exception {
+    MetadataCachingFileSystem fs = createSubscribed();
+    fs.getStatus(FILE);
+    fs.listStatus(DIR);
+    assertEquals(1, mRpcCountingFs.getStatusRpcCount(FILE));
+    assertEquals(1, mRpcCountingFs.listStatusRpcCount(DIR));
+    // the invalidation of a file invalidates the listing of its parent too
+    fs.invalidateByWorker(FILE);
+    fs.getStatus(FILE);
+    fs.listStatus(DIR);
+    assertEquals(2, mRpcCountingFs.getStatusRpcCount(FILE));
+    assertEquals(2, mRpcCountingFs.listStatusRpcCount(DIR));
+    fs.invalidateAllByWorker();
+    fs.getStatus(FILE);
+    assertEquals(3, mRpcCountingFs.getStatusRpcCount(FILE));
+  }
+
+  @Test
+  public void doNotCacheLoadRacingWithInvalidation() throws Exception {
+    MetadataCachingFileSystem fs = createSubscribed();
+    mRpcCountingFs.mOnLoad = () -> fs.invalidateByWorker(FILE);
+    fs.getStatus(FILE);
+    fs.listStatus(DIR);
+    mRpcCountingFs.mOnLoad = null;
+    fs.getStatus(FILE);
+    fs.listStatus(DIR);
+    assertEquals(2, mRpcCountingFs.getStatusRpcCount(FILE));
+    assertEquals(2, mRpcCountingFs.listStatusRpcCount(DIR));
+  }
+
+  @Test
+  public void cacheLoadRacingWithInvalidationOfOtherPath() throws Exception {
+    MetadataCachingFileSystem fs = createSubscribed();
+    // the loads are not affected by the invalidation of unrelated paths
+    mRpcCountingFs.mOnLoad = () -> fs.invalidateByWorker(new AlluxioURI("/other/file"));
+    fs.getStatus(FILE);
+    fs.listStatus(DIR);
+    mRpcCountingFs.mOnLoad = null;
+    fs.getStatus(FILE);
+    fs.listStatus(DIR);
+    assertEquals(1, mRpcCountingFs.getStatusRpcCount(FILE));
+    assertEquals(1, mRpcCountingFs.listStatusRpcCount(DIR));
+  }
+
+  @Test
+  public void doNotCacheLoadRacingWithReset() throws Exception {
+    MetadataCachingFileSystem fs = createSubscribed();
+    mRpcCountingFs.mOnLoad = fs::invalidateAllByWorker;
+    fs.getStatus(FILE);
+    mRpcCountingFs.mOnLoad = null;
+    fs.getStatus(FILE);
+    assertEquals(2, mRpcCountingFs.getStatusRpcCount(FILE));
+  }
+
+  private MetadataCachingFileSystem createSubscribed() throws Exception {
+    // there are no workers to subscribe to, the invalidations are made by the test
+    when(mFileContext.getCachedWorkers()).thenReturn(new WorkerClusterView(ImmutableList.of()));
+    return new MetadataCachingFileSystem(mRpcCountingFs, mFileContext, true);
+  }
+
   class RpcCountingUfsBaseFileSystem extends DelegatingFileSystem {
     private Map<AlluxioURI, Integer> mGetStatusCount = new HashMap<>();
     private Map<AlluxioURI, Integer> mListStatusCount = new HashMap<>();
     private FileSystemContext mContext;
+    /** Called on every getStatus and listStatus, while the metadata is being loaded. */
+    private Runnable mOnLoad;
 
     public RpcCountingUfsBaseFileSystem(FileSystem fs, FileSystemContext context) {
       super(fs);
       mContext = context;
     }
 
+    private void onLoad() {
+      if (mOnLoad != null) {
+        mOnLoad.run();
+      }
+    }
+
     int getStatusRpcCount(AlluxioURI uri) {
       return mGetStatusCount.getOrDefault(uri, 0);
     }
@@ -307,6 +378,7 @@ public class MetadataCachingFileSystemTest {
     public URIStatus getStatus(AlluxioURI path, final GetStatusPOptions options)
         throws FileDoesNotExistException {
       mGetStatusCount.compute(path, (k, v) -> v == null ? 1 : v + 1);
+      onLoad();
       if (path.toString().equals(FILE_STATUS.getPath())) {
         return FILE_STATUS;
       }
@@ -319,6 +391,7 @@ public class MetadataCachingFileSystemTest {
     @Override
     public List<URIStatus> listStatus(AlluxioURI path, final ListStatusPOptions options) {
       mListStatusCount.compute(path, (k, v) -> v == null ? 1 : v + 1);
+      onLoad();
       return Arrays.asList(FILE_STATUS);
     }
 
@@ -13,6 +13,7 @@ package alluxio.client.file.cache;
 
 import static alluxio.client.file.cache.CacheUsage.PartitionDescriptor.dir;
 import static alluxio.client.file.cache.CacheUsage.PartitionDescriptor.file;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 
@@ -191,6 +192,32 @@ public class DefaultPageMetaStoreTest {
         file1Usage.map(CacheUsage::used));
   }
 
+  @Test
+  public void cachedBytes() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      PageId page = new PageId("0", i);
+      mMetaStore.addPage(page, new PageInfo(page, Constants.KB, mPageStoreDir));
+    }
+    PageId page = new PageId("1", 0);
+    mMetaStore.addPage(page, new PageInfo(page, Constants.KB, mPageStoreDir));
+    // adding a page twice does not count it twice
+    mMetaStore.addPage(page, new PageInfo(page, Constants.KB, mPageStoreDir));
+    assertArrayEquals(new long[] {3 * Constants.KB, Constants.KB, 0},
+        mMetaStore.getCachedBytes(ImmutableList.of("0", "1", "2")));
+
+    mMetaStore.removePage(new PageId("0", 1));
+    mMetaStore.removePage(page);
+    mMetaStore.commitFile("0", "2");
+    assertArrayEquals(new long[] {0, 0, 2 * Constants.KB},
+        mMetaStore.getCachedBytes(ImmutableList.of("0", "1", "2")));
+    assertEquals(Optional.of(2L * Constants.KB), mMetaStore.getUsage()
+        .flatMap(usage -> usage.partitionedBy(file("2"))).map(CacheUsage::used));
+
+    mMetaStore.reset();
+    assertArrayEquals(new long[] {0},
+        mMetaStore.getCachedBytes(ImmutableList.of("2")));
+  }
+
   @Test
   public void dirCacheUsage() {
     PageStoreOptions options = new PageStoreOptions()
@@ -0,0 +1,101 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreType;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link PageIndex} class.
+ */
+public final class PageIndexTest {
+  private final PageIndex mIndex = new PageIndex();
+  private PageStoreDir mDir;
+
+  @Before
+  public void before() {
+    mDir = PageStoreDir.createPageStoreDir(new CacheEvictorOptions(),
+        new PageStoreOptions().setStoreType(PageStoreType.MEM));
+  }
+
+  private PageInfo page(String fileId, long index) {
+    return new PageInfo(new PageId(fileId, index), 1024, mDir);
+  }
+
+  @Test
+  public void addGetRemove() {
+    PageInfo page = page("0", 0);
+    assertSame(page, mIndex.add(page));
+    assertTrue(mIndex.contains(new PageId("0", 0)));
+    assertSame(page, mIndex.get(new PageId("0", 0)));
+    assertNull(mIndex.get(new PageId("0", 1)));
+    assertNull(mIndex.get(new PageId("1", 0)));
+    assertEquals(1, mIndex.size());
+
+    assertSame(page, mIndex.remove(new PageId("0", 0)));
+    assertNull(mIndex.remove(new PageId("0", 0)));
+    assertFalse(mIndex.contains(new PageId("0", 0)));
+    assertNull(mIndex.getFirst("0"));
+    assertEquals(0, mIndex.size());
+  }
+
+  @Test
+  public void addExisting() {
+    mIndex.add(page("0", 0));
+    assertNull(mIndex.add(page("0", 0)));
+    assertEquals(1, mIndex.size());
+  }
+
+  @Test
+  public void fileIdShared() {
+    String fileId = "0123456789abcdef";
+    PageInfo first = mIndex.add(page(fileId, 0));
+    // an equal file id in another string
+    PageInfo second = mIndex.add(page(new String(fileId), 1));
+    assertSame(first.getPageId().getFileId(), second.getPageId().getFileId());
+    assertEquals(new PageId(fileId, 1), second.getPageId());
+    assertSame(second, mIndex.get(new PageId(fileId, 1)));
+  }
+
+  @Test
+  public void pagesOfFile() {
+    for (int i = 0; i < 100; i++) {
+      mIndex.add(page("0", i));
+    }
+    mIndex.add(page("1", 0));
+    assertEquals(100, mIndex.getFile("0").size());
+    assertEquals(ImmutableSet.of(page("1", 0)), mIndex.getFile("1"));
+    assertTrue(mIndex.getFile("2").isEmpty());
+    assertEquals(101, mIndex.size());
+
+    assertEquals(100, mIndex.removeFile("0").size());
+    assertTrue(mIndex.getFile("0").isEmpty());
+    assertTrue(mIndex.removeFile("0").isEmpty());
+    assertEquals(1, mIndex.size());
+
+    mIndex.clear();
+    assertEquals(0, mIndex.size());
+    assertNull(mIndex.get(new PageId("1", 0)));
+  }
+}
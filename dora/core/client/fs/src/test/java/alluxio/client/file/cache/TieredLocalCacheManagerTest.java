@@ -0,0 +1,190 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.PageNotFoundException;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Tests for the {@link LocalCacheManager} class with a {@link TieredPageMetaStore}.
+ */
+public final class TieredLocalCacheManagerTest {
+  private static final int PAGE_SIZE_BYTES = Constants.KB;
+  private static final int MEMORY_TIER_PAGES = 2;
+  private static final int SECOND_TIER_PAGES = 16;
+  private static final int PROMOTION_THRESHOLD = 2;
+
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+  private TieredPageMetaStore mPageMetaStore;
+  private LocalCacheManager mCacheManager;
+  private final byte[] mBuf = new byte[PAGE_SIZE_BYTES];
+
+  @Before
+  public void before() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, PAGE_SIZE_BYTES);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_OVERHEAD, 0);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.MEM);
+    CacheManagerOptions options = CacheManagerOptions.create(mConf);
+    PageStoreOptions template = options.getPageStoreOptions().get(0);
+    List<PageStoreOptions> storeOptions = ImmutableList.of(
+        PageStoreOptions.create(mConf).get(0).setIndex(0).setTier(0)
+            .setRootDir(template.getRootDir().resolve("tier0"))
+            .setCacheSize(MEMORY_TIER_PAGES * PAGE_SIZE_BYTES),
+        PageStoreOptions.create(mConf).get(0).setIndex(1).setTier(1)
+            .setRootDir(template.getRootDir().resolve("tier1"))
+            .setCacheSize(SECOND_TIER_PAGES * PAGE_SIZE_BYTES));
+    options.setPageStoreOptions(storeOptions)
+        .setPromotionThreshold(PROMOTION_THRESHOLD)
+        .setTierMoveThreads(1);
+    List<PageStoreDir> dirs = ImmutableList.of(
+        PageStoreDir.createPageStoreDir(options.getCacheEvictorOptions(), storeOptions.get(0)),
+        PageStoreDir.createPageStoreDir(options.getCacheEvictorOptions(), storeOptions.get(1)));
+    mPageMetaStore = new TieredPageMetaStore(dirs, ImmutableList.of(0, 1));
+    mCacheManager = LocalCacheManager.create(options, mPageMetaStore);
+    CommonUtils.waitFor("restore completed",
+        () -> mCacheManager.state() == CacheManager.State.READ_WRITE,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+
+  @After
+  public void after() throws Exception {
+    mCacheManager.close();
+  }
+
+  private static PageId pageId(int i) {
+    return new PageId("0", i);
+  }
+
+  private static byte[] page(int i) {
+    return BufferUtils.getIncreasingByteArray(i, PAGE_SIZE_BYTES);
+  }
+
+  private int tierOf(PageId pageId) throws PageNotFoundException {
+    return mPageMetaStore.getTier(mPageMetaStore.getPageInfo(pageId).getLocalCacheDir());
+  }
+
+  private void waitForTier(PageId pageId, int tier) throws Exception {
+    CommonUtils.waitFor(pageId + " in tier " + tier, () -> {
+      try {
+        return tierOf(pageId) == tier;
+      } catch (PageNotFoundException e) {
+        return false;
+      }
+    }, WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+
+  @Test
+  public void newPagesInMemoryTier() throws Exception {
+    assertTrue(mCacheManager.put(pageId(0), page(0)));
+    assertEquals(0, tierOf(pageId(0)));
+  }
+
+  @Test
+  public void demoteOnEviction() throws Exception {
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    // the first page is evicted from the memory tier to make room for the last one
+    waitForTier(pageId(0), 1);
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(0), PAGE_SIZE_BYTES, mBuf, 0));
+    assertArrayEquals(page(0), mBuf);
+    assertEquals(0, tierOf(pageId(MEMORY_TIER_PAGES)));
+  }
+
+  @Test
+  public void readWhileDemoted() throws Exception {
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    // the evicted page stays in the memory tier until it is in the tier below
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(0), PAGE_SIZE_BYTES, mBuf, 0));
+    assertArrayEquals(page(0), mBuf);
+    waitForTier(pageId(0), 1);
+    assertEquals(MEMORY_TIER_PAGES, mCacheManager.getUsage().get()
+        .partitionedBy(CacheUsage.PartitionDescriptor.tier(0)).get().used() / PAGE_SIZE_BYTES);
+  }
+
+  @Test
+  public void keepContextOnDemotion() throws Exception {
+    CacheContext context = CacheContext.defaults().setCacheIdentifier("file");
+    assertTrue(mCacheManager.put(pageId(0), page(0), context));
+    for (int i = 1; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    waitForTier(pageId(0), 1);
+    assertSame(context, mPageMetaStore.getPageInfo(pageId(0)).getCacheContext());
+  }
+
+  @Test
+  public void promoteOnRepeatedReads() throws Exception {
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    waitForTier(pageId(0), 1);
+    for (int i = 0; i < PROMOTION_THRESHOLD; i++) {
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(0), PAGE_SIZE_BYTES, mBuf, 0));
+    }
+    waitForTier(pageId(0), 0);
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId(0), PAGE_SIZE_BYTES, mBuf, 0));
+    assertArrayEquals(page(0), mBuf);
+    // another page is demoted to make room for the promoted one
+    waitForTier(pageId(1), 1);
+  }
+
+  @Test
+  public void tierUsage() throws Exception {
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      assertTrue(mCacheManager.put(pageId(i), page(i)));
+    }
+    waitForTier(pageId(0), 1);
+    CacheUsage usage = mCacheManager.getUsage().get();
+    TieredPageMetaStore.TierUsage memory = (TieredPageMetaStore.TierUsage)
+        usage.partitionedBy(CacheUsage.PartitionDescriptor.tier(0)).get();
+    TieredPageMetaStore.TierUsage second = (TieredPageMetaStore.TierUsage)
+        usage.partitionedBy(CacheUsage.PartitionDescriptor.tier(1)).get();
+    assertEquals(MEMORY_TIER_PAGES * PAGE_SIZE_BYTES, memory.capacity());
+    assertEquals(MEMORY_TIER_PAGES * PAGE_SIZE_BYTES, memory.used());
+    assertEquals(SECOND_TIER_PAGES * PAGE_SIZE_BYTES, second.capacity());
+    assertEquals(PAGE_SIZE_BYTES, second.used());
+    assertFalse(usage.partitionedBy(CacheUsage.PartitionDescriptor.tier(2)).isPresent());
+
+    mCacheManager.get(pageId(0), PAGE_SIZE_BYTES, mBuf, 0);
+    mCacheManager.get(pageId(1), PAGE_SIZE_BYTES, mBuf, 0);
+    assertTrue(memory.hitRatio() > 0);
+    assertTrue(second.hitRatio() > 0);
+  }
+}
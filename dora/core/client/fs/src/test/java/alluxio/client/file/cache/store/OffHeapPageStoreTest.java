@@ -0,0 +1,111 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.exception.PageNotFoundException;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.io.BufferUtils;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class OffHeapPageStoreTest {
+  private static final int PAGE_SIZE = 1024;
+  private OffHeapPageStore mPageStore;
+
+  @Before
+  public void before() {
+    mPageStore = new OffHeapPageStore(PAGE_SIZE);
+  }
+
+  @After
+  public void after() {
+    mPageStore.close();
+  }
+
+  @Test
+  public void putGet() throws Exception {
+    String msg = "Hello, World!";
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, msg.getBytes());
+    byte[] buf = new byte[PAGE_SIZE];
+    assertEquals(msg.getBytes().length,
+        mPageStore.get(id, 0, msg.length(), new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(msg.getBytes(), Arrays.copyOfRange(buf, 0, msg.getBytes().length));
+  }
+
+  @Test
+  public void getDataBuffer() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    DataBuffer buffer = mPageStore.getDataBuffer(id, 10, 100, false);
+    try {
+      assertEquals(100, buffer.getLength());
+      ByteBuf buf = (ByteBuf) buffer.getNettyOutput();
+      assertEquals(2, buf.refCnt());
+      byte[] data = new byte[100];
+      buffer.readBytes(data, 0, data.length);
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(10, 100), data);
+    } finally {
+      buffer.release();
+    }
+    // reads beyond the end of the page are truncated
+    DataBuffer tail = mPageStore.getDataBuffer(id, PAGE_SIZE - 10, 100, false);
+    assertEquals(10, tail.getLength());
+    tail.release();
+  }
+
+  @Test
+  public void deleteWhileReading() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    int freeSlots = mPageStore.getFreeSlots();
+    DataBuffer buffer = mPageStore.getDataBuffer(id, 0, PAGE_SIZE, false);
+    mPageStore.delete(id);
+    assertThrows(PageNotFoundException.class,
+        () -> mPageStore.getDataBuffer(id, 0, PAGE_SIZE, false));
+    // the slot is not reused while the page is being read
+    assertEquals(freeSlots, mPageStore.getFreeSlots());
+    mPageStore.put(new PageId("0", 1), new byte[PAGE_SIZE]);
+    byte[] data = new byte[PAGE_SIZE];
+    buffer.readBytes(data, 0, data.length);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(PAGE_SIZE), data);
+    buffer.release();
+    assertEquals(freeSlots, mPageStore.getFreeSlots());
+  }
+
+  @Test
+  public void slotsReused() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      PageId id = new PageId("0", i);
+      mPageStore.put(id, new byte[PAGE_SIZE]);
+      mPageStore.delete(id);
+    }
+    long arenaBytes = mPageStore.getArenaBytes();
+    for (int i = 0; i < 100; i++) {
+      PageId id = new PageId("1", i);
+      mPageStore.put(id, new byte[PAGE_SIZE]);
+      mPageStore.delete(id);
+    }
+    assertEquals(arenaBytes, mPageStore.getArenaBytes());
+  }
+}
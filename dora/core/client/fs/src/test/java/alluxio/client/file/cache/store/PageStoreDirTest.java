@@ -51,7 +51,8 @@ public class PageStoreDirTest {
   public static Collection<Object[]> data() {
     return Arrays.asList(new Object[][] {
         {PageStoreType.LOCAL},
-        {PageStoreType.MEM}
+        {PageStoreType.MEM},
+        {PageStoreType.OFF_HEAP}
     });
   }
 
@@ -99,7 +100,7 @@ public class PageStoreDirTest {
     }
     Set<PageInfo> restored = new HashSet<>();
     mPageStoreDir.scanPages((pageInfo -> restored.add(pageInfo.get())));
-    if (mOptions.getType().equals(PageStoreType.MEM)) {
+    if (mOptions.getType() != PageStoreType.LOCAL) {
       assertTrue(restored.isEmpty());
     } else {
       assertEquals(pages, restored);
@@ -119,7 +120,7 @@ public class PageStoreDirTest {
     }
     Set<PageInfo> restored = new HashSet<>();
     mPageStoreDir.scanPages((pageInfo -> restored.add(pageInfo.get())));
-    if (mOptions.getType().equals(PageStoreType.MEM)) {
+    if (mOptions.getType() != PageStoreType.LOCAL) {
       assertTrue(restored.isEmpty());
     } else {
       assertEquals(pages, restored);
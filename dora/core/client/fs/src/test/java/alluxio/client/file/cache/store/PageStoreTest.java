@@ -43,7 +43,8 @@ public class PageStoreTest {
   public static Collection<Object[]> data() {
     return Arrays.asList(new Object[][] {
         {PageStoreType.LOCAL},
-        {PageStoreType.MEM}
+        {PageStoreType.MEM},
+        {PageStoreType.OFF_HEAP}
     });
   }
 
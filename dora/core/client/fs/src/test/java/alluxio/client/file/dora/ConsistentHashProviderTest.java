@@ -25,6 +25,7 @@ import org.junit.Test;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -37,6 +38,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 public class ConsistentHashProviderTest {
   private static final long WORKER_LIST_TTL_MS = 20;
@@ -227,6 +229,66 @@ public class ConsistentHashProviderTest {
         provider.getActiveNodesMap());
   }
 
+  @Test
+  public void incrementalUpdate() throws Exception {
+    ConsistentHashProvider provider = new ConsistentHashProvider(
+        1, WORKER_LIST_TTL_MS, NUM_VIRTUAL_NODES);
+    Set<WorkerIdentity> kept = generateRandomWorkerList(10);
+    Set<WorkerIdentity> workerList = ImmutableSet.<WorkerIdentity>builder()
+        .addAll(kept).addAll(generateRandomWorkerList(3)).build();
+    provider.refresh(workerList);
+    NavigableMap<Integer, WorkerIdentity> oldNodes = provider.getActiveNodesMap();
+
+    // remove some workers and add others, the ring is the same as one built from scratch
+    Set<WorkerIdentity> newList = ImmutableSet.<WorkerIdentity>builder()
+        .addAll(kept).addAll(generateRandomWorkerList(2)).build();
+    Thread.sleep(WORKER_LIST_TTL_MS);
+    provider.refresh(newList);
+    assertEquals(newList, provider.getLastWorkers());
+    NavigableMap<Integer, WorkerIdentity> newNodes = provider.getActiveNodesMap();
+    assertEquals(ConsistentHashProvider.build(newList, NUM_VIRTUAL_NODES), newNodes);
+    // the ring was updated on a copy, and the virtual nodes of the kept workers did not move
+    assertEquals(ConsistentHashProvider.build(workerList, NUM_VIRTUAL_NODES), oldNodes);
+    oldNodes.forEach((node, worker) -> {
+      if (kept.contains(worker)) {
+        assertEquals(worker, newNodes.get(node));
+      }
+    });
+  }
+
+  @Test
+  public void incrementalUpdateWithCollisions() throws Exception {
+    // two virtual nodes of workers 382 and 864 collide, and two of workers 724 and 1698, which
+    // go to the last of them in the list
+    ConsistentHashProvider provider = new ConsistentHashProvider(
+        1, WORKER_LIST_TTL_MS, NUM_VIRTUAL_NODES);
+    Set<WorkerIdentity> workerList = workers(LongStream.of(382, 864, 724, 1698, 1, 2));
+    provider.refresh(workerList);
+    NavigableMap<Integer, WorkerIdentity> nodes =
+        ConsistentHashProvider.build(workerList, NUM_VIRTUAL_NODES);
+    assertEquals(workerList.size() * NUM_VIRTUAL_NODES - 4, nodes.size());
+    assertEquals(nodes, provider.getActiveNodesMap());
+
+    // remove a worker, add another, and reverse the order of the kept workers
+    Set<WorkerIdentity> newList = workers(LongStream.of(3, 2, 1698, 724, 864, 382));
+    Thread.sleep(WORKER_LIST_TTL_MS);
+    provider.refresh(newList);
+    assertEquals(ConsistentHashProvider.build(newList, NUM_VIRTUAL_NODES),
+        provider.getActiveNodesMap());
+
+    // the collided virtual nodes go to the other worker once their owner is removed
+    Set<WorkerIdentity> lastList = workers(LongStream.of(3, 2, 1698, 724, 864));
+    Thread.sleep(WORKER_LIST_TTL_MS);
+    provider.refresh(lastList);
+    assertEquals(ConsistentHashProvider.build(lastList, NUM_VIRTUAL_NODES),
+        provider.getActiveNodesMap());
+  }
+
+  private static Set<WorkerIdentity> workers(LongStream ids) {
+    return ids.mapToObj(WorkerIdentity.ParserV0.INSTANCE::fromLong)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
   private Set<WorkerIdentity> generateRandomWorkerList(int count) {
     ThreadLocalRandom rng = ThreadLocalRandom.current();
     ImmutableSet.Builder<WorkerIdentity> builder = ImmutableSet.builder();
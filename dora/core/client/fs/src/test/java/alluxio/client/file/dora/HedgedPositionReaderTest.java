@@ -0,0 +1,158 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.CloseableSupplier;
+import alluxio.PositionReader;
+import alluxio.client.file.dora.netty.PartialReadException;
+import alluxio.exception.status.InternalException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests for {@link HedgedPositionReader}.
+ */
+public class HedgedPositionReaderTest {
+  private static final int LENGTH = 64;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(2 * LENGTH);
+
+  private final AtomicBoolean mHedgeCreated = new AtomicBoolean();
+
+  @Test
+  public void answerFromFirstWorker() throws Exception {
+    HedgedPositionReader reader = create(HedgedPositionReaderTest::copy, (position, buffer,
+        length) -> {
+      throw new IOException("unexpected read");
+    }, new HedgedReadPolicy(95, 10_000, 1, LENGTH));
+    assertRead(reader, LENGTH);
+    assertFalse(mHedgeCreated.get());
+  }
+
+  @Test
+  public void hedgeSlowRead() throws Exception {
+    CountDownLatch canceled = new CountDownLatch(1);
+    HedgedPositionReader reader = create((position, buffer, length) -> {
+      try {
+        Thread.sleep(60_000);
+      } catch (InterruptedException e) {
+        canceled.countDown();
+      }
+      throw new IOException("canceled");
+    }, HedgedPositionReaderTest::copy, new HedgedReadPolicy(95, 10, 1, LENGTH));
+    assertRead(reader, LENGTH);
+    // the read from the first worker is canceled
+    assertTrue(canceled.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void throttleHedges() throws Exception {
+    HedgedPositionReader reader = create((position, buffer, length) -> {
+      sleep(100);
+      return copy(position, buffer, length);
+    }, HedgedPositionReaderTest::copy, new HedgedReadPolicy(95, 10, 0, LENGTH));
+    assertRead(reader, LENGTH);
+    assertFalse(mHedgeCreated.get());
+  }
+
+  @Test
+  public void answerFromFirstWorkerWhenOtherFails() throws Exception {
+    HedgedPositionReader reader = create((position, buffer, length) -> {
+      sleep(100);
+      return copy(position, buffer, length);
+    }, (position, buffer, length) -> {
+      throw new IOException("unavailable");
+    }, new HedgedReadPolicy(95, 10, 1, LENGTH));
+    assertRead(reader, 0);
+    assertTrue(mHedgeCreated.get());
+  }
+
+  @Test
+  public void reportFirstFailureWhenBothFail() throws Exception {
+    PartialReadException failure = new PartialReadException(LENGTH, LENGTH / 2,
+        PartialReadException.CauseType.SERVER_ERROR, new InternalException("disk failure"));
+    HedgedPositionReader reader = create((position, buffer, length) -> {
+      sleep(100);
+      buffer.writeBytes(DATA, (int) position, LENGTH / 2);
+      throw failure;
+    }, (position, buffer, length) -> {
+      throw new IOException("unavailable");
+    }, new HedgedReadPolicy(95, 10, 1, LENGTH));
+    byte[] buffer = new byte[LENGTH];
+    try {
+      reader.read(0, buffer, LENGTH);
+      fail("the read should fail");
+    } catch (PartialReadException e) {
+      assertSame(failure, e);
+    }
+    // the bytes read before the failure are passed on
+    assertArrayEquals(Arrays.copyOfRange(DATA, 0, LENGTH / 2),
+        Arrays.copyOfRange(buffer, 0, LENGTH / 2));
+  }
+
+  @Test
+  public void readLongReadsFromFirstWorkerOnly() throws Exception {
+    Thread caller = Thread.currentThread();
+    AtomicReference<Thread> readThread = new AtomicReference<>();
+    HedgedPositionReader reader = create((position, buffer, length) -> {
+      readThread.set(Thread.currentThread());
+      sleep(100);
+      return copy(position, buffer, length);
+    }, HedgedPositionReaderTest::copy, new HedgedReadPolicy(95, 10, 1, LENGTH - 1));
+    assertRead(reader, 0);
+    assertFalse(mHedgeCreated.get());
+    assertSame(caller, readThread.get());
+  }
+
+  private HedgedPositionReader create(PositionReader primaryReader, PositionReader hedgeReader,
+      HedgedReadPolicy policy) {
+    return new HedgedPositionReader(primaryReader, new CloseableSupplier<>(() -> {
+      mHedgeCreated.set(true);
+      return hedgeReader;
+    }), policy);
+  }
+
+  private static void assertRead(PositionReader reader, int position) throws IOException {
+    byte[] buffer = new byte[LENGTH];
+    assertEquals(LENGTH, reader.read(position, buffer, LENGTH));
+    assertArrayEquals(Arrays.copyOfRange(DATA, position, position + LENGTH), buffer);
+  }
+
+  private static int copy(long position, ReadTargetBuffer buffer, int length) {
+    buffer.writeBytes(DATA, (int) position, length);
+    return length;
+  }
+
+  private static void sleep(long ms) throws IOException {
+    try {
+      Thread.sleep(ms);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+}
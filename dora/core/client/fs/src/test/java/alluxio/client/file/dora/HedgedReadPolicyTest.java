@@ -0,0 +1,71 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link HedgedReadPolicy}.
+ */
+public class HedgedReadPolicyTest {
+  @Test
+  public void delayFromPercentile() {
+    HedgedReadPolicy policy = new HedgedReadPolicy(90, 1, 0.1, 1024);
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(1), policy.getDelayNanos());
+    for (long latency = 1; latency <= 100; latency++) {
+      policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(latency));
+    }
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(90), policy.getDelayNanos(),
+        TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  @Test
+  public void minDelay() {
+    HedgedReadPolicy policy = new HedgedReadPolicy(90, 10, 0.1, 1024);
+    for (int i = 0; i < 100; i++) {
+      policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(10), policy.getDelayNanos());
+  }
+
+  @Test
+  public void budget() {
+    HedgedReadPolicy policy = new HedgedReadPolicy(90, 1, 0.5, 1024);
+    assertFalse(policy.tryHedge());
+    policy.onRead();
+    assertFalse(policy.tryHedge());
+    policy.onRead();
+    assertTrue(policy.tryHedge());
+    assertFalse(policy.tryHedge());
+    // the budget saved while no read is slow is bounded
+    for (int i = 0; i < 100; i++) {
+      policy.onRead();
+    }
+    for (int i = 0; i < HedgedReadPolicy.MAX_BUDGET; i++) {
+      assertTrue(policy.tryHedge());
+    }
+    assertFalse(policy.tryHedge());
+  }
+
+  @Test
+  public void hedgeShortReadsOnly() {
+    HedgedReadPolicy policy = new HedgedReadPolicy(90, 1, 0.1, 1024);
+    assertTrue(policy.isHedgeable(1024));
+    assertFalse(policy.isHedgeable(1025));
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ByteArrayPositionReader;
+import alluxio.PositionReader;
+import alluxio.exception.runtime.FailedPreconditionRuntimeException;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.grpc.CachedPageFile;
+import alluxio.grpc.GetCachedPageFilesResponse;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ShortCircuitPositionReaderTest {
+  private static final int PAGE_SIZE = 100;
+  private static final int FILE_LENGTH = 350;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private final byte[] mData = BufferUtils.getIncreasingByteArray(FILE_LENGTH);
+  private final CountingPositionReader mWorkerReader = new CountingPositionReader(mData);
+  /** The offsets of the ranges whose page files were fetched. */
+  private final List<Long> mFetches = new ArrayList<>();
+
+  @Test
+  public void readLocalAndRemotePages() throws Exception {
+    // pages 0 and 3 are local, pages 1 and 2 are read through the worker
+    PositionReader reader = create(page(0), page(3));
+    byte[] buffer = new byte[FILE_LENGTH];
+    assertEquals(FILE_LENGTH, reader.read(0, new ByteArrayTargetBuffer(buffer, 0), FILE_LENGTH));
+    assertArrayEquals(mData, buffer);
+    assertEquals(1, mWorkerReader.mReads);
+    assertEquals(200, mWorkerReader.mBytesRead);
+  }
+
+  @Test
+  public void readWithinLocalPage() throws Exception {
+    PositionReader reader = create(page(1), page(3));
+    byte[] buffer = new byte[30];
+    assertEquals(30, reader.read(120, new ByteArrayTargetBuffer(buffer, 0), 30));
+    assertArrayEquals(Arrays.copyOfRange(mData, 120, 150), buffer);
+    // reads past the end of the file are cut short
+    assertEquals(20, reader.read(330, new ByteArrayTargetBuffer(buffer, 0), 30));
+    assertArrayEquals(Arrays.copyOfRange(mData, 330, 350), Arrays.copyOf(buffer, 20));
+    assertEquals(-1, reader.read(FILE_LENGTH, new ByteArrayTargetBuffer(buffer, 0), 30));
+    assertEquals(0, mWorkerReader.mReads);
+  }
+
+  @Test
+  public void fallBackOnEvictedPage() throws Exception {
+    CachedPageFile evicted = page(0);
+    new File(evicted.getPath()).delete();
+    CachedPageFile truncated = page(1);
+    Files.write(new File(truncated.getPath()).toPath(), new byte[10]);
+    PositionReader reader = create(evicted, truncated);
+    byte[] buffer = new byte[FILE_LENGTH];
+    assertEquals(FILE_LENGTH, reader.read(0, new ByteArrayTargetBuffer(buffer, 0), FILE_LENGTH));
+    assertArrayEquals(mData, buffer);
+    assertEquals(FILE_LENGTH, mWorkerReader.mBytesRead);
+  }
+
+  @Test
+  public void fetchPageFilesOnRead() throws Exception {
+    PositionReader reader = create(page(0));
+    assertTrue(mFetches.isEmpty());
+    byte[] buffer = new byte[10];
+    reader.read(0, new ByteArrayTargetBuffer(buffer, 0), 10);
+    reader.read(200, new ByteArrayTargetBuffer(buffer, 0), 10);
+    // the range of the file holding both reads is fetched once
+    assertEquals(Collections.singletonList(0L), mFetches);
+  }
+
+  @Test
+  public void keepPageFilesOpen() throws Exception {
+    CachedPageFile page = page(0);
+    ShortCircuitPositionReader reader = create(page);
+    byte[] buffer = new byte[10];
+    assertEquals(10, reader.read(0, new ByteArrayTargetBuffer(buffer, 0), 10));
+    assertEquals(1, reader.getOpenFileCount());
+    // the open page file remains readable once the worker removes it
+    new File(page.getPath()).delete();
+    assertEquals(10, reader.read(10, new ByteArrayTargetBuffer(buffer, 0), 10));
+    assertArrayEquals(Arrays.copyOfRange(mData, 10, 20), buffer);
+    assertEquals(0, mWorkerReader.mReads);
+    reader.close();
+    assertEquals(0, reader.getOpenFileCount());
+  }
+
+  @Test
+  public void readThroughWorkerOnFetchFailure() throws Exception {
+    PositionReader reader = new ShortCircuitPositionReader(mWorkerReader, FILE_LENGTH,
+        (offset, length) -> {
+          throw new FailedPreconditionRuntimeException("short circuit reads are disabled");
+        });
+    byte[] buffer = new byte[FILE_LENGTH];
+    assertEquals(FILE_LENGTH, reader.read(0, new ByteArrayTargetBuffer(buffer, 0), FILE_LENGTH));
+    assertArrayEquals(mData, buffer);
+    assertEquals(FILE_LENGTH, mWorkerReader.mBytesRead);
+  }
+
+  private ShortCircuitPositionReader create(CachedPageFile... pages) {
+    GetCachedPageFilesResponse response = GetCachedPageFilesResponse.newBuilder()
+        .setPageSize(PAGE_SIZE).addAllPages(Arrays.asList(pages)).build();
+    return new ShortCircuitPositionReader(mWorkerReader, FILE_LENGTH, (offset, length) -> {
+      assertEquals(ShortCircuitPositionReader.FETCH_RANGE_LENGTH, length);
+      mFetches.add(offset);
+      return response;
+    });
+  }
+
+  private CachedPageFile page(int pageIndex) throws IOException {
+    File file = mTemp.newFile();
+    int start = pageIndex * PAGE_SIZE;
+    Files.write(file.toPath(),
+        Arrays.copyOfRange(mData, start, Math.min(start + PAGE_SIZE, FILE_LENGTH)));
+    return CachedPageFile.newBuilder()
+        .setPageIndex(pageIndex).setPath(file.getAbsolutePath()).build();
+  }
+
+  private static class CountingPositionReader extends ByteArrayPositionReader {
+    private int mReads = 0;
+    private int mBytesRead = 0;
+
+    CountingPositionReader(byte[] data) {
+      super(data);
+    }
+
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length)
+        throws IOException {
+      int read = super.readInternal(position, buffer, length);
+      mReads++;
+      mBytesRead += Math.max(read, 0);
+      return read;
+    }
+  }
+}
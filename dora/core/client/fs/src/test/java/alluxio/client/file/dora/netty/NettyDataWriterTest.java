@@ -0,0 +1,127 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.ClientContext;
+import alluxio.Constants;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.options.OutStreamOptions;
+import alluxio.conf.Configuration;
+import alluxio.grpc.RequestType;
+import alluxio.wire.WorkerNetAddress;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link NettyDataWriter}.
+ */
+public class NettyDataWriterTest {
+  private static final int PACKET_SIZE = 16;
+
+  private final ExecutorService mExecutor = Executors.newSingleThreadExecutor();
+  private final WorkerNetAddress mWorkerAddress = new WorkerNetAddress();
+  /** The writes to the channel which are not completed yet. */
+  private final List<ChannelPromise> mPendingWrites = new CopyOnWriteArrayList<>();
+  private EmbeddedChannel mChannel;
+  private FileSystemContext mFsContext;
+
+  @Before
+  public void before() throws Exception {
+    // holds the writes to the channel until the test completes them
+    mChannel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+      @Override
+      public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        ReferenceCountUtil.release(msg);
+        mPendingWrites.add(promise);
+      }
+    });
+    mFsContext = mock(FileSystemContext.class);
+    when(mFsContext.acquireNettyChannel(any(WorkerNetAddress.class))).thenReturn(mChannel);
+    when(mFsContext.getClusterConf()).thenReturn(Configuration.global());
+    when(mFsContext.getClientContext())
+        .thenReturn(ClientContext.create(Configuration.global()));
+    doNothing()
+        .when(mFsContext).releaseNettyChannel(any(WorkerNetAddress.class), any(Channel.class));
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void asyncWriteReturnsBeforeWritten() throws Exception {
+    NettyDataWriter writer = create(true);
+    writer.writeChunk(new byte[2 * PACKET_SIZE], 0, 2 * PACKET_SIZE);
+    assertEquals(2, mPendingWrites.size());
+    assertEquals(2 * PACKET_SIZE, writer.pos());
+    // flush waits for the writes queued
+    Future<?> flush = mExecutor.submit(() -> {
+      writer.flush();
+      return null;
+    });
+    Thread.sleep(100);
+    assertFalse(flush.isDone());
+    completeWrites();
+    flush.get(Constants.MINUTE_MS, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void asyncWriteFailure() throws Exception {
+    NettyDataWriter writer = create(true);
+    writer.writeChunk(new byte[PACKET_SIZE], 0, PACKET_SIZE);
+    // the failed write closes the channel
+    mPendingWrites.get(0).setFailure(new IOException("connection reset"));
+    assertFalse(mChannel.isOpen());
+    // the failure is reported by the following flush and write
+    assertThrows(IOException.class, writer::flush);
+    assertThrows(IOException.class,
+        () -> writer.writeChunk(new byte[PACKET_SIZE], 0, PACKET_SIZE));
+  }
+
+  private NettyDataWriter create(boolean asyncWrite) {
+    OutStreamOptions options = OutStreamOptions.defaults(mFsContext).setUfsPath("/file");
+    return new NettyDataWriter(mFsContext, mWorkerAddress, Long.MAX_VALUE, PACKET_SIZE,
+        RequestType.UFS_FILE, options, mChannel, asyncWrite);
+  }
+
+  private void completeWrites() {
+    for (ChannelPromise promise : mPendingWrites) {
+      promise.setSuccess();
+    }
+    mPendingWrites.clear();
+  }
+}
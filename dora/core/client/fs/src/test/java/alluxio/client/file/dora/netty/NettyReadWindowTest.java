@@ -0,0 +1,68 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+
+import org.junit.Test;
+
+public class NettyReadWindowTest {
+  private static final long MS = Constants.MS_NANO;
+
+  private final NettyReadWindow mWindow =
+      new NettyReadWindow(64 * Constants.KB, 8 * Constants.MB, Constants.MB, 16, "worker");
+
+  @Test
+  public void initialWindow() {
+    assertEquals(Constants.MB, mWindow.getPacketSize(Constants.GB));
+    assertEquals(16, mWindow.getPacketsInFlight());
+    // small reads are split into smaller packets, down to the minimum
+    assertEquals(256 * Constants.KB, mWindow.getPacketSize(Constants.MB));
+    assertEquals(64 * Constants.KB, mWindow.getPacketSize(64 * Constants.KB));
+  }
+
+  @Test
+  public void growOnHighBandwidthDelayProduct() {
+    // 1 GB/s with 50 ms to first data makes a window of 1/10 GB
+    mWindow.onReadCompleted(Constants.MB, Constants.GB, 50 * MS, 1000 * MS);
+    assertEquals(Constants.GB / 10 / 16, mWindow.getPacketSize(Constants.GB));
+    assertEquals(16, mWindow.getPacketsInFlight());
+  }
+
+  @Test
+  public void shrinkOnLowBandwidthDelayProduct() {
+    // 1 GB/s with 0.2 ms to first data makes a window of 400 KB
+    mWindow.onReadCompleted(Constants.MB, Constants.GB, 200_000, 1000 * MS);
+    assertEquals(64 * Constants.KB, mWindow.getPacketSize(Constants.GB));
+    assertEquals(7, mWindow.getPacketsInFlight());
+  }
+
+  @Test
+  public void smallReadsDoNotSampleThroughput() {
+    // a read of one packet only measures the time to first data
+    mWindow.onReadCompleted(Constants.MB, Constants.MB, 50 * MS, 50 * MS);
+    assertEquals(Constants.MB, mWindow.getPacketSize(Constants.GB));
+    assertEquals(16, mWindow.getPacketsInFlight());
+    mWindow.onReadCompleted(Constants.MB, Constants.GB, 50 * MS, 1000 * MS);
+    assertTrue(mWindow.getPacketSize(Constants.GB) > Constants.MB);
+  }
+
+  @Test
+  public void ignoreFailedReads() {
+    mWindow.onReadCompleted(Constants.MB, 0, -1, 1000 * MS);
+    assertEquals(Constants.MB, mWindow.getPacketSize(Constants.GB));
+    assertEquals(16, mWindow.getPacketsInFlight());
+  }
+}
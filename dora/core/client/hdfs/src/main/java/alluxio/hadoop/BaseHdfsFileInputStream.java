@@ -17,6 +17,7 @@ import alluxio.client.file.FileSystem;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.FileDoesNotExistException;
+import alluxio.file.FileRange;
 
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FileSystem.Statistics;
@@ -30,6 +31,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -175,6 +178,28 @@ public class BaseHdfsFileInputStream extends InputStream implements Seekable, Po
     }
   }
 
+  /**
+   * Reads a list of ranges of the file asynchronously, following the contract of the vectored
+   * read of Hadoop's {@link PositionedReadable}: the data of each range is set to a future which
+   * completes with a buffer holding the range once it is read. Nearby ranges are merged into a
+   * single read and the reads are issued concurrently.
+   *
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate a buffer of a given size
+   */
+  public void readVectored(List<? extends FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+    mInputStream.readVectored(ranges, allocate);
+    if (mStatistics != null) {
+      for (FileRange range : ranges) {
+        range.getData().thenAccept(data -> mStatistics.incrementBytesRead(data.remaining()));
+      }
+    }
+  }
+
   @Override
   public void seek(long pos) throws IOException {
     try {
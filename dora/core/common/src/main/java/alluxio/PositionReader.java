@@ -13,8 +13,10 @@ package alluxio;
 
 import alluxio.file.ByteArrayTargetBuffer;
 import alluxio.file.ByteBufferTargetBuffer;
+import alluxio.file.FileRange;
 import alluxio.file.NettyBufTargetBuffer;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.file.VectoredReadUtils;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
@@ -22,6 +24,8 @@ import io.netty.buffer.ByteBuf;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -99,6 +103,21 @@ public interface PositionReader extends Closeable {
   int readInternal(long position, ReadTargetBuffer buffer, int length)
       throws IOException;
 
+  /**
+   * Reads a list of ranges of the file. Nearby ranges are merged into a single read and the reads
+   * are issued concurrently, so the method returns before the data is read. The data of each
+   * range is set to a future which completes once its read finishes, with a buffer sliced from
+   * one allocated by the given function, or with an {@link java.io.EOFException} if the range
+   * goes past the end of the file.
+   *
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate a buffer of a given size
+   */
+  default void readVectored(List<? extends FileRange> ranges, IntFunction<ByteBuffer> allocate)
+      throws IOException {
+    VectoredReadUtils.readVectored(this, ranges, allocate);
+  }
+
   /**
    * Closes the positon reader and do cleanup job if any.
    */
@@ -22,7 +22,12 @@ public enum PageStoreType {
   /**
    * A simple store with pages on the memory (HeapByteBuffer).
    */
-  MEM(PageStoreType.MEMORY_OVERHEAD_RATIO);
+  MEM(PageStoreType.MEMORY_OVERHEAD_RATIO),
+  /**
+   * A store with reference counted pages in direct memory outside of the JVM heap, which can be
+   * sent to the network without copying.
+   */
+  OFF_HEAP(PageStoreType.MEMORY_OVERHEAD_RATIO);
 
   // We assume there will be some overhead using ByteBuffer as a page store,
   // i.e., with 1GB space allocated, we
@@ -712,6 +712,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey METRICS_LABEL_CARDINALITY_LIMIT =
+      intBuilder(Name.METRICS_LABEL_CARDINALITY_LIMIT)
+          .setDefaultValue(100)
+          .setDescription("The maximum number of distinct values of an unbounded metrics label, "
+              + "such as the user or the mount point. Values seen after the limit is reached are "
+              + "reported under a single overflow label value.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
   public static final PropertyKey NETWORK_CONNECTION_AUTH_TIMEOUT =
       durationBuilder(Name.NETWORK_CONNECTION_AUTH_TIMEOUT)
           .setDefaultValue("30sec")
@@ -863,6 +872,56 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "paths.")
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey TRACE_ENABLED =
+      booleanBuilder(Name.TRACE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to record tracing spans for reads across the client, worker "
+              + "and UFS. Spans are kept in a bounded in-memory ring buffer and only exported "
+              + "for sampled or slow requests.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey TRACE_EXPORTER_CLASS =
+      classBuilder(Name.TRACE_EXPORTER_CLASS)
+          .setDefaultValue("alluxio.trace.FileSpanExporter")
+          .setDescription("The exporter of the sampled traces. The default exporter appends "
+              + "spans as json lines to a file under " + Name.TRACE_EXPORT_DIR + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey TRACE_EXPORT_DIR =
+      stringBuilder(Name.TRACE_EXPORT_DIR)
+          .setDefaultValue(format("${%s}", Name.LOGS_DIR))
+          .setDescription("The directory that the file exporter writes the traces to.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey TRACE_RING_BUFFER_SIZE =
+      intBuilder(Name.TRACE_RING_BUFFER_SIZE)
+          .setDefaultValue(8192)
+          .setDescription("The number of the most recent spans kept in memory per process. "
+              + "The spans of a slow request can only be exported while they are still in "
+              + "the buffer.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey TRACE_SAMPLE_RATIO =
+      doubleBuilder(Name.TRACE_SAMPLE_RATIO)
+          .setDefaultValue(0.0)
+          .setDescription("The ratio of the requests whose traces are always exported, "
+              + "decided when the trace starts. Requests slower than "
+              + Name.TRACE_SLOW_THRESHOLD + " are exported regardless of this ratio.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey TRACE_SLOW_THRESHOLD =
+      durationBuilder(Name.TRACE_SLOW_THRESHOLD)
+          .setDefaultValue("1sec")
+          .setDescription("The trace of a request is exported when its outermost span in a "
+              + "process takes longer than this duration.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
   public static final PropertyKey VERSION =
       stringBuilder(Name.VERSION)
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
@@ -2780,6 +2839,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_FLUSH_THREADS =
+      intBuilder(Name.MASTER_METASTORE_INODE_CACHE_FLUSH_THREADS)
+          .setDefaultSupplier(() -> Math.max(1, Runtime.getRuntime().availableProcessors() / 4),
+              "{CPU core count} / 4")
+          .setDescription("The number of threads used to flush dirty entries from the inode "
+              + "and edge caches to the backing store. Each eviction batch is partitioned by key "
+              + "and the partitions are written as independent write batches in parallel. "
+              + "Set this to 1 to flush on the eviction thread only.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO =
       doubleBuilder(Name.MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO)
           .setDefaultValue(0.85)
@@ -2825,6 +2895,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CHECKPOINT_SHARDS =
+      intBuilder(Name.MASTER_METASTORE_INODE_CHECKPOINT_SHARDS)
+          .setDefaultSupplier(() -> Math.max(1, Runtime.getRuntime().availableProcessors()),
+              "{CPU core count}")
+          .setDescription("The number of shards the heap inode store splits its inodes into "
+              + "when taking a snapshot. Each shard is written to its own checksummed file in "
+              + "parallel, and the shards are loaded in parallel when restoring the snapshot.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_INODE_ENUMERATOR_BUFFER_COUNT =
       intBuilder(Name.MASTER_METASTORE_INODE_ENUMERATOR_BUFFER_COUNT)
           .setDefaultValue(10000)
@@ -4042,6 +4122,53 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PEER_FETCH_ENABLED =
+      booleanBuilder(Name.WORKER_PEER_FETCH_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the pages missing from the cache of the worker are read "
+              + "first from the caches of the workers which owned the file before, under the "
+              + "previous view of the cluster or while this worker was not part of it, and "
+              + "only then from the UFS. This turns the data moved by membership changes into "
+              + "transfers between workers rather than reads from the UFS.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PEER_FETCH_JOIN_WINDOW =
+      durationBuilder(Name.WORKER_PEER_FETCH_JOIN_WINDOW)
+          .setDefaultValue("10min")
+          .setDescription("How long after the worker starts or joins the cluster again the "
+              + "workers which owned a file while this worker was not part of the cluster are "
+              + "asked for the pages of the file missing from its cache, when "
+              + Name.WORKER_PEER_FETCH_ENABLED + " is enabled. The workers which owned the file "
+              + "under the previous view of the cluster are always asked.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_DRAIN_BANDWIDTH =
+      dataSizeBuilder(Name.WORKER_DRAIN_BANDWIDTH)
+          .setDefaultValue("256MB")
+          .setDescription("The maximum number of bytes per second of the cached data handed over "
+              + "by a draining worker to the workers which will own it. 0 means unlimited.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_DRAIN_HOT_FILES_MAX =
+      intBuilder(Name.WORKER_DRAIN_HOT_FILES_MAX)
+          .setDefaultValue(100_000)
+          .setDescription("The maximum number of recently read files of which a draining worker "
+              + "hands the cached data over, the most recently read first.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_DRAIN_TIMEOUT =
+      durationBuilder(Name.WORKER_DRAIN_TIMEOUT)
+          .setDefaultValue("10min")
+          .setDescription("The maximum time a draining worker hands its cached data over to the "
+              + "workers which will own it, before it leaves the cluster with the rest of the "
+              + "data not handed over.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_DATA_SERVER_DOMAIN_SOCKET_AS_UUID =
       booleanBuilder(Name.WORKER_DATA_SERVER_DOMAIN_SOCKET_AS_UUID)
           .setDefaultValue(false)
@@ -4259,8 +4386,9 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .build();
   public static final PropertyKey WORKER_NETWORK_NETTY_CHANNEL =
       enumBuilder(Name.WORKER_NETWORK_NETTY_CHANNEL, ChannelType.class)
-          .setDescription("Netty channel type: NIO or EPOLL. If EPOLL is not available, this will "
-              + "automatically fall back to NIO.")
+          .setDescription("Netty channel type: NIO, EPOLL or IO_URING. If IO_URING is not "
+              + "available, this will automatically fall back to EPOLL, and if EPOLL is not "
+              + "available, to NIO.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .setDefaultValue(ChannelType.NIO)
@@ -4336,6 +4464,71 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_READER_PAGE_MAPPED =
+      booleanBuilder(Name.WORKER_NETWORK_READER_PAGE_MAPPED)
+          .setDefaultValue(false)
+          .setDescription("Whether the cached pages sent to a client reading through gRPC with "
+              + "zero copy enabled are mapped into memory from the page files, instead of being "
+              + "read into buffers. The page files must not be truncated while they are mapped.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          // not benchmarked against reading the pages into buffers yet
+          .setIsHidden(true)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_SCHEDULER_ENABLED =
+      booleanBuilder(Name.WORKER_NETWORK_READER_SCHEDULER_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the read requests served by the worker are admitted by a "
+              + "scheduler which shares the concurrent reads fairly across the tenants, by the "
+              + "tenant set by the client or else by the user, and which rejects the reads "
+              + "with a retryable status once they would wait longer than "
+              + Name.WORKER_NETWORK_READER_SCHEDULER_QUEUE_TIME_BUDGET + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_SCHEDULER_MAX_ACTIVE_REQUESTS =
+      intBuilder(Name.WORKER_NETWORK_READER_SCHEDULER_MAX_ACTIVE_REQUESTS)
+          .setDefaultValue(256)
+          .setDescription("The maximum number of read requests served at the same time by the "
+              + "worker, when " + Name.WORKER_NETWORK_READER_SCHEDULER_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_SCHEDULER_TENANT_MAX_ACTIVE_REQUESTS =
+      intBuilder(Name.WORKER_NETWORK_READER_SCHEDULER_TENANT_MAX_ACTIVE_REQUESTS)
+          .setDefaultValue(64)
+          .setDescription("The maximum number of read requests of a tenant served at the same "
+              + "time by the worker, when " + Name.WORKER_NETWORK_READER_SCHEDULER_ENABLED
+              + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_SCHEDULER_TENANT_MAX_BYTES_PER_SEC =
+      dataSizeBuilder(Name.WORKER_NETWORK_READER_SCHEDULER_TENANT_MAX_BYTES_PER_SEC)
+          .setDefaultValue("0B")
+          .setDescription("The maximum number of bytes per second read by a tenant from the "
+              + "worker, when " + Name.WORKER_NETWORK_READER_SCHEDULER_ENABLED + " is true. "
+              + "0 means unlimited.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_SCHEDULER_TENANT_WEIGHTS =
+      listBuilder(Name.WORKER_NETWORK_READER_SCHEDULER_TENANT_WEIGHTS)
+          .setDescription("The weights of the tenants in the share of the concurrent reads, as "
+              + "a comma separated list of tenant=weight, e.g. etl=1,dashboard=4. The tenants "
+              + "not listed have a weight of 1.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_READER_SCHEDULER_QUEUE_TIME_BUDGET =
+      durationBuilder(Name.WORKER_NETWORK_READER_SCHEDULER_QUEUE_TIME_BUDGET)
+          .setDefaultValue("1sec")
+          .setDescription("The maximum time a read request waits to be admitted by the worker. "
+              + "A request which is expected to wait longer is rejected on arrival, so that the "
+              + "client can retry it on another worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
       dataSizeBuilder(Name.WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES)
           .setDefaultValue("2MB")
@@ -4507,6 +4700,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_MEMORY_TIER_SIZE =
+      dataSizeBuilder(Name.WORKER_PAGE_STORE_MEMORY_TIER_SIZE)
+          .setDefaultValue("0")
+          .setDescription("The size of a memory tier in front of the directories in "
+              + Name.WORKER_PAGE_STORE_DIRS + ". New pages are written to the memory tier and "
+              + "are demoted to the directories instead of being evicted when the memory tier "
+              + "is full, while pages read repeatedly from the directories are promoted back. "
+              + "0 disables the memory tier.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_MEMORY_TIER_TYPE =
+      enumBuilder(Name.WORKER_PAGE_STORE_MEMORY_TIER_TYPE, PageStoreType.class)
+          .setDefaultValue(PageStoreType.OFF_HEAP)
+          .setDescription("The type of page store of the memory tier, either `MEM` or "
+              + "`OFF_HEAP`.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_OVERHEAD =
       doubleBuilder(Name.WORKER_PAGE_STORE_OVERHEAD)
           .setDefaultValue(0.1)
@@ -4523,6 +4735,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_PROMOTION_THRESHOLD =
+      intBuilder(Name.WORKER_PAGE_STORE_PROMOTION_THRESHOLD)
+          .setDefaultValue(3)
+          .setDescription("The number of reads of a page in a lower tier of the page store "
+              + "after which it is promoted to the tier above, when "
+              + Name.WORKER_PAGE_STORE_MEMORY_TIER_SIZE + " is positive.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_QUOTA_ENABLED =
       booleanBuilder(Name.WORKER_PAGE_STORE_QUOTA_ENABLED)
           .setDefaultValue(false)
@@ -4537,6 +4758,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_TIER_MOVE_THREADS =
+      intBuilder(Name.WORKER_PAGE_STORE_TIER_MOVE_THREADS)
+          .setDefaultValue(2)
+          .setDescription("The number of threads moving pages between the tiers of the page "
+              + "store, when " + Name.WORKER_PAGE_STORE_MEMORY_TIER_SIZE + " is positive.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_TIMEOUT_DURATION =
       durationBuilder(Name.WORKER_PAGE_STORE_TIMEOUT_DURATION)
           .setDefaultValue("-1")
@@ -4559,9 +4788,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey WORKER_PAGE_STORE_TYPE =
       enumBuilder(Name.WORKER_PAGE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
-          .setDescription("The type of page store to use for worker page store. Can be either "
-              + "`LOCAL` or `MEM`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `MEM` page store stores all pages in memory.")
+          .setDescription("The type of page store to use for worker page store. Can be "
+              + "`LOCAL`, `MEM` or `OFF_HEAP`. The `LOCAL` page store stores all pages in a "
+              + "directory, the `MEM` page store stores all pages in heap memory, the "
+              + "`OFF_HEAP` page store stores all pages in direct memory and sends them to "
+              + "clients without copying. The direct memory is limited by the JVM option "
+              + "-XX:MaxDirectMemorySize.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
@@ -4738,6 +4970,40 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_UFS_POSITION_READER_CACHE_ENABLED =
+      booleanBuilder(Name.WORKER_UFS_POSITION_READER_CACHE_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether the readers of the UFS files opened to read the pages "
+              + "which are not cached are kept open and shared by the following reads of the "
+              + "same files, as opening a file is expensive for some under file systems, such "
+              + "as HDFS. The readers of a file are closed when the worker invalidates its "
+              + "metadata.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_POSITION_READER_CACHE_EXPIRATION_TIME =
+      durationBuilder(Name.WORKER_UFS_POSITION_READER_CACHE_EXPIRATION_TIME)
+          .setDefaultValue("5min")
+          .setDescription("The time after which the readers of a UFS file which has not been "
+              + "read are closed.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_POSITION_READER_CACHE_MAX_FILES =
+      intBuilder(Name.WORKER_UFS_POSITION_READER_CACHE_MAX_FILES)
+          .setDefaultValue(5000)
+          .setDescription("The maximum number of UFS files to keep readers open for.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_POSITION_READER_CACHE_READERS_PER_FILE =
+      intBuilder(Name.WORKER_UFS_POSITION_READER_CACHE_READERS_PER_FILE)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of readers kept open for a UFS file. Once "
+              + "reached, concurrent reads of the file share the least used reader.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_RPC_EXECUTOR_TYPE =
       enumBuilder(Name.WORKER_RPC_EXECUTOR_TYPE, RpcExecutorType.class)
           .setDefaultValue(RpcExecutorType.TPE)
@@ -4842,6 +5108,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey WORKER_MEMBERSHIP_MANAGER_ETCD_WATCH_ENABLED =
+      booleanBuilder(Name.WORKER_MEMBERSHIP_MANAGER_ETCD_WATCH_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether the live workers are looked up from a view kept up to date "
+              + "by watching the changes of the worker entries in etcd, rather than by reading "
+              + "all of the entries on every lookup. Only applies when "
+              + Name.WORKER_MEMBERSHIP_MANAGER_TYPE + " is ETCD.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.ALL)
+          .build();
   public static final PropertyKey WORKER_FAILURE_DETECTION_TIMEOUT =
       durationBuilder(Name.WORKER_FAILURE_DETECTION_TIMEOUT)
           .setDefaultValue("2min")
@@ -5607,9 +5883,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey USER_CLIENT_CACHE_STORE_TYPE =
       enumBuilder(Name.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
-          .setDescription("The type of page store to use for client-side cache. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+          .setDescription("The type of page store to use for client-side cache. Can be "
+              + "`LOCAL`, `MEM` or `OFF_HEAP`. The `LOCAL` page store stores all pages in a "
+              + "directory, the `MEM` page store stores all pages in heap memory, the "
+              + "`OFF_HEAP` page store stores all pages in direct memory.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -5844,6 +6121,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_METADATA_CACHE_INVALIDATION_ENABLED =
+      booleanBuilder(Name.USER_METADATA_CACHE_INVALIDATION_ENABLED)
+          .setDefaultValue(false)
+          .setDescription(String.format("Whether the client metadata cache subscribes to "
+              + "metadata invalidations pushed by the workers. When enabled, a cached path is "
+              + "dropped as soon as the worker owning it sees its metadata change, so %s can be "
+              + "set to a long period without serving stale metadata for changes made through "
+              + "the workers. The whole cache is dropped if an invalidation may have been "
+              + "missed.", Name.USER_METADATA_CACHE_EXPIRATION_TIME))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_METRICS_COLLECTION_ENABLED =
       booleanBuilder(Name.USER_METRICS_COLLECTION_ENABLED)
           .setDefaultValue(false)
@@ -5920,6 +6209,31 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The preload data size to load on worker.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .build();
+  public static final PropertyKey USER_VECTORED_READ_MIN_SEEK_SIZE =
+      dataSizeBuilder(Name.USER_VECTORED_READ_MIN_SEEK_SIZE)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("4KB")
+          .setDescription("In a vectored read, ranges of a file separated by less than this "
+              + "size are merged into a single read, as reading the bytes in between is cheaper "
+              + "than issuing another read.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_VECTORED_READ_MAX_MERGED_SIZE =
+      dataSizeBuilder(Name.USER_VECTORED_READ_MAX_MERGED_SIZE)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("1MB")
+          .setDescription("The maximum size of a read merged from several ranges of a file in "
+              + "a vectored read.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_VECTORED_READ_THREADS =
+      intBuilder(Name.USER_VECTORED_READ_THREADS)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue(16)
+          .setDescription("The number of threads a client uses to issue the reads of vectored "
+              + "reads concurrently.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
   public static final PropertyKey USER_STREAMING_DATA_READ_TIMEOUT =
       durationBuilder(Name.USER_STREAMING_DATA_READ_TIMEOUT)
           .setAlias("alluxio.user.network.data.timeout.ms", Name.USER_NETWORK_DATA_TIMEOUT,
@@ -6148,8 +6462,9 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   @Deprecated
   public static final PropertyKey USER_NETWORK_NETTY_CHANNEL =
       enumBuilder(Name.USER_NETWORK_NETTY_CHANNEL, ChannelType.class)
-          .setDescription("Type of netty channels. If EPOLL is not available, this will "
-              + "automatically fall back to NIO.")
+          .setDescription("Type of netty channels: NIO, EPOLL or IO_URING. If IO_URING is not "
+              + "available, this will automatically fall back to EPOLL, and if EPOLL is not "
+              + "available, to NIO.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .setDefaultValue(ChannelType.NIO)
@@ -6201,7 +6516,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey USER_NETWORK_RPC_NETTY_CHANNEL =
       enumBuilder(Name.USER_NETWORK_RPC_NETTY_CHANNEL, ChannelType.class)
           .setDescription("Type of netty channels used by rpc connections. "
-              + "If EPOLL is not available, this will automatically fall back to NIO.")
+              + "If IO_URING is not available, this will automatically fall back to EPOLL, "
+              + "and if EPOLL is not available, to NIO.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .setDefaultValue(ChannelType.EPOLL)
@@ -6269,7 +6585,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
       enumBuilder(Name.USER_NETWORK_STREAMING_NETTY_CHANNEL, ChannelType.class)
           .setAlias(Name.USER_NETWORK_NETTY_CHANNEL)
           .setDescription("Type of netty channels used by streaming connections. "
-              + "If EPOLL is not available, this will automatically fall back to NIO.")
+              + "If IO_URING is not available, this will automatically fall back to EPOLL, "
+              + "and if EPOLL is not available, to NIO.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .setDefaultValue(ChannelType.EPOLL)
@@ -7030,6 +7347,86 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey JVM_FLIGHT_RECORDER_DUMP_DIR =
+      stringBuilder(Name.JVM_FLIGHT_RECORDER_DUMP_DIR)
+          .setDefaultValue(format("${%s}/jfr", Name.LOGS_DIR))
+          .setDescription("The directory to write the flight recordings to when they are dumped "
+              + "on a latency SLO breach.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey JVM_FLIGHT_RECORDER_DUMP_MAX_FILES =
+      intBuilder(Name.JVM_FLIGHT_RECORDER_DUMP_MAX_FILES)
+          .setDefaultValue(10)
+          .setDescription("The maximum number of dumped flight recordings to keep. The oldest "
+              + "recordings are deleted first.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey JVM_FLIGHT_RECORDER_DUMP_MIN_INTERVAL =
+      durationBuilder(Name.JVM_FLIGHT_RECORDER_DUMP_MIN_INTERVAL)
+          .setDefaultValue("5min")
+          .setDescription("The minimum time between two dumps caused by latency SLO breaches, so "
+              + "that a burst of slow operations produces a single recording.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey JVM_FLIGHT_RECORDER_EVENTS =
+      listBuilder(Name.JVM_FLIGHT_RECORDER_EVENTS)
+          .setDefaultValue("allocation,lock,socket,file")
+          .setDescription("The event sets recorded on top of the JDK default recording settings. "
+              + "Valid values are `allocation`, `lock` for monitor and park contention, "
+              + "`socket` and `file` for I/O.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey JVM_FLIGHT_RECORDER_EVENT_THRESHOLD =
+      durationBuilder(Name.JVM_FLIGHT_RECORDER_EVENT_THRESHOLD)
+          .setDefaultValue("20ms")
+          .setDescription("Lock contention and I/O events shorter than this are not recorded.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey JVM_FLIGHT_RECORDER_LATENCY_SLO =
+      durationBuilder(Name.JVM_FLIGHT_RECORDER_LATENCY_SLO)
+          .setDefaultValue("5sec")
+          .setDescription("A data access slower than this dumps the flight recording to "
+              + Name.JVM_FLIGHT_RECORDER_DUMP_DIR + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey JVM_FLIGHT_RECORDER_MAX_AGE =
+      durationBuilder(Name.JVM_FLIGHT_RECORDER_MAX_AGE)
+          .setDefaultValue("10min")
+          .setDescription("The length of the rolling window of the flight recording kept on "
+              + "local disk.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey JVM_FLIGHT_RECORDER_MAX_SIZE =
+      dataSizeBuilder(Name.JVM_FLIGHT_RECORDER_MAX_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("The maximum size of the rolling window of the flight recording kept "
+              + "on local disk.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey USER_JVM_FLIGHT_RECORDER_ENABLED =
+      booleanBuilder(Name.USER_JVM_FLIGHT_RECORDER_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to run a continuous flight recording in the client. Requires "
+              + "a JVM with JDK Flight Recorder, i.e. 8u262 or later.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey WORKER_JVM_FLIGHT_RECORDER_ENABLED =
+      booleanBuilder(Name.WORKER_JVM_FLIGHT_RECORDER_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to run a continuous flight recording in the worker. Requires "
+              + "a JVM with JDK Flight Recorder, i.e. 8u262 or later.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
 
   public static final PropertyKey HADOOP_SECURITY_AUTHENTICATION =
       stringBuilder(Name.HADOOP_SECURITY_AUTHENTICATION)
@@ -7060,6 +7457,26 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_SHORT_CIRCUIT_READ_ENABLED =
+      booleanBuilder(Name.WORKER_SHORT_CIRCUIT_READ_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker hands the local files of its cached pages out to "
+              + "the clients on the same host, for them to read the pages directly. The "
+              + "clients must also enable " + Name.USER_SHORT_CIRCUIT_READ_ENABLED + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey USER_SHORT_CIRCUIT_READ_ENABLED =
+      booleanBuilder(Name.USER_SHORT_CIRCUIT_READ_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether a client on the same host as the worker it reads a file "
+              + "from reads the pages of the file cached by the worker from the local files "
+              + "of the pages directly, rather than through the worker. The client must be "
+              + "able to read the page store directories of the worker, which must enable "
+              + Name.WORKER_SHORT_CIRCUIT_READ_ENABLED + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
 
   public static final PropertyKey USER_DYNAMIC_CONSISTENT_HASH_RING_ENABLED =
       booleanBuilder(Name.USER_DYNAMIC_CONSISTENT_HASH_RING_ENABLED)
@@ -7112,12 +7529,108 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("When a client writes to a remote worker, the maximum number of packets "
               + "to buffer by the client.")
           .build();
+  public static final PropertyKey USER_NETWORK_NETTY_WRITER_ASYNC_ENABLED =
+      booleanBuilder(Name.USER_NETWORK_NETTY_WRITER_ASYNC_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If enabled, a client writing to a worker does not wait for each "
+              + "packet to be sent before accepting the next one. Up to "
+              + Name.USER_NETWORK_NETTY_WRITER_BUFFER_SIZE_PACKETS + " packets are in flight, "
+              + "and write errors are reported by the following writes, or at the latest when "
+              + "the stream is flushed or closed.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS =
       intBuilder(Name.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS)
           .setDefaultValue(16)
           .setDescription("When a client reads from a remote worker, the maximum number of packets "
               + "to buffer by the client.")
           .build();
+  public static final PropertyKey USER_NETWORK_NETTY_READER_ADAPTIVE_ENABLED =
+      booleanBuilder(Name.USER_NETWORK_NETTY_READER_ADAPTIVE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the packet size and the number of packets in flight of the "
+              + "reads from a worker are adapted to the throughput and the round trip time "
+              + "observed on the previous reads from the worker, instead of being fixed by "
+              + Name.USER_STREAMING_READER_CHUNK_SIZE_BYTES + " and "
+              + Name.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS + ", which are then the "
+              + "initial values and the maximum number of packets in flight.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_NETTY_READER_PACKET_SIZE_MIN =
+      dataSizeBuilder(Name.USER_NETWORK_NETTY_READER_PACKET_SIZE_MIN)
+          .setDefaultValue("64KB")
+          .setDescription("The minimum packet size of the reads from a worker, when "
+              + Name.USER_NETWORK_NETTY_READER_ADAPTIVE_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_NETTY_READER_PACKET_SIZE_MAX =
+      dataSizeBuilder(Name.USER_NETWORK_NETTY_READER_PACKET_SIZE_MAX)
+          .setDefaultValue("8MB")
+          .setDescription("The maximum packet size of the reads from a worker, when "
+              + Name.USER_NETWORK_NETTY_READER_ADAPTIVE_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_READER_TENANT =
+      stringBuilder(Name.USER_NETWORK_READER_TENANT)
+          .setDescription("The tenant the reads from the workers are scheduled for, when the "
+              + "workers share their reads across tenants. If not set, the reads are scheduled "
+              + "for the user.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_READER_HEDGE_ENABLED =
+      booleanBuilder(Name.USER_NETWORK_READER_HEDGE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether a read from a worker which has not completed within the "
+              + "usual latency of the reads is sent again to the next worker chosen by the "
+              + "worker selection policy for the file, and answered by the first of the two "
+              + "workers to complete it. The other read is then canceled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_READER_HEDGE_DELAY_PERCENTILE =
+      doubleBuilder(Name.USER_NETWORK_READER_HEDGE_DELAY_PERCENTILE)
+          .setDefaultValue(95.0)
+          .setDescription("The percentile of the latencies of the recent reads from the workers "
+              + "after which a read is sent again to another worker, when "
+              + Name.USER_NETWORK_READER_HEDGE_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_READER_HEDGE_DELAY_MIN =
+      durationBuilder(Name.USER_NETWORK_READER_HEDGE_DELAY_MIN)
+          .setDefaultValue("5ms")
+          .setDescription("The minimum time to wait for a read from a worker before it is sent "
+              + "again to another worker, when " + Name.USER_NETWORK_READER_HEDGE_ENABLED
+              + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_READER_HEDGE_BUDGET_RATIO =
+      doubleBuilder(Name.USER_NETWORK_READER_HEDGE_BUDGET_RATIO)
+          .setDefaultValue(0.05)
+          .setDescription("The maximum number of reads sent again to another worker, as a "
+              + "ratio of the reads from the workers, when "
+              + Name.USER_NETWORK_READER_HEDGE_ENABLED + " is true. Reads are no longer sent "
+              + "again once the budget is used up, which bounds the extra load on the workers "
+              + "when they are all slow.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_READER_HEDGE_SIZE_MAX =
+      dataSizeBuilder(Name.USER_NETWORK_READER_HEDGE_SIZE_MAX)
+          .setDefaultValue("4MB")
+          .setDescription("The maximum length of a read from a worker to be sent again to "
+              + "another worker, when " + Name.USER_NETWORK_READER_HEDGE_ENABLED + " is true. "
+              + "Longer reads are bound by the throughput rather than the latency of the "
+              + "workers, and are never sent again.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_NETWORK_NETTY_CHANNEL_POOL_DISABLED =
       booleanBuilder(Name.USER_NETWORK_NETTY_CHANNEL_POOL_DISABLED)
           .setDefaultValue(false)
@@ -7179,6 +7692,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey DORA_CLIENT_ABSENT_PATH_CACHE_SIZE =
+      intBuilder(Name.DORA_CLIENT_ABSENT_PATH_CACHE_SIZE)
+          .setDefaultValue(0)
+          .setDescription("The maximum number of paths the dora client remembers to not exist, "
+              + "so that looking them up again does not go to a worker. 0 disables the cache. "
+              + "The cache is not invalidated by the paths created by other clients, which are "
+              + "considered missing for up to "
+              + Name.DORA_CLIENT_ABSENT_PATH_CACHE_TTL + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey DORA_CLIENT_ABSENT_PATH_CACHE_TTL =
+      durationBuilder(Name.DORA_CLIENT_ABSENT_PATH_CACHE_TTL)
+          .setDefaultValue("10s")
+          .setDescription("How long the dora client remembers a path to not exist. A path "
+              + "created by another client may be considered missing for up to this long.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
 
   public static final PropertyKey DORA_WORKER_METASTORE_ROCKSDB_DIR =
       stringBuilder(Name.DORA_WORKER_METASTORE_ROCKSDB_DIR)
@@ -7242,6 +7774,43 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.WORKER)
           .build();
 
+  public static final PropertyKey DORA_UFS_ABSENT_PATH_CACHE_SIZE =
+      intBuilder(Name.DORA_UFS_ABSENT_PATH_CACHE_SIZE)
+          .setDefaultValue(100000)
+          .setDescription("The maximum number of paths the worker remembers to not exist in "
+              + "the UFS, so that looking them up again does not go to the UFS. "
+              + "0 disables the cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_UFS_ABSENT_PATH_CACHE_TTL =
+      durationBuilder(Name.DORA_UFS_ABSENT_PATH_CACHE_TTL)
+          .setDefaultValue("1min")
+          .setDescription("How long the worker remembers a path to not exist in the UFS. A path "
+              + "created directly in the UFS, or a directory created as the parent of a file "
+              + "created through another worker, may be considered missing for up to this long, "
+              + "while the other paths created through Alluxio are visible immediately.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_META_INVALIDATION_MAX_SUBSCRIBERS =
+      intBuilder(Name.DORA_WORKER_META_INVALIDATION_MAX_SUBSCRIBERS)
+          .setDefaultValue(1024)
+          .setDescription("The maximum number of clients subscribed to the metadata "
+              + "invalidations of a worker at a time. Further subscriptions are rejected.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_META_INVALIDATION_QUEUE_SIZE =
+      intBuilder(Name.DORA_WORKER_META_INVALIDATION_QUEUE_SIZE)
+          .setDefaultValue(1024)
+          .setDescription("The maximum number of metadata invalidations queued for a "
+              + "subscribed client. A client which falls further behind is unsubscribed, and "
+              + "drops its metadata cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+
   public static final PropertyKey DORA_UFS_LIST_STATUS_CACHE_NR_FILES =
       intBuilder(Name.DORA_UFS_LIST_STATUS_CACHE_NR_FILES)
           .setDefaultValue(100000)
@@ -7251,6 +7820,22 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey DORA_UFS_LIST_STATUS_CACHE_LOAD_METADATA_ENABLED =
+      booleanBuilder(Name.DORA_UFS_LIST_STATUS_CACHE_LOAD_METADATA_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker answers the status of a file from the cached "
+              + "listing of its parent, so that the status of the files just listed does not "
+              + "need to be loaded from the UFS one by one. The listing is only looked up on "
+              + "the worker owning the file, and is only cached there if the worker also owns "
+              + "the parent directory. With a hash based worker location policy that is the "
+              + "case for about one file in as many as there are workers, so this mostly helps "
+              + "clusters of a few workers, and does not generally spare the UFS the status "
+              + "requests of the files of a directory just listed, e.g. when planning the "
+              + "splits of a query. Such metadata has neither extended attributes nor a real "
+              + "content hash, so it is not used when either is enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey DORA_READ_VIRTUAL_BLOCK_SIZE =
       dataSizeBuilder(Name.DORA_READ_VIRTUAL_BLOCK_SIZE)
           .setDefaultValue("0MB")
@@ -7318,6 +7903,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.metrics.executor.task.warn.frequency";
     public static final String METRICS_KEY_INCLUDING_UNIQUE_ID_ENABLED =
         "alluxio.metrics.key.including.unique.id.enabled";
+    public static final String METRICS_LABEL_CARDINALITY_LIMIT =
+        "alluxio.metrics.label.cardinality.limit";
     public static final String NETWORK_CONNECTION_AUTH_TIMEOUT =
         "alluxio.network.connection.auth.timeout";
     public static final String NETWORK_CONNECTION_HEALTH_CHECK_TIMEOUT =
@@ -7347,6 +7934,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String ROCKS_BLOCK_CONF_FILE = "alluxio.site.conf.rocks.block.file";
     public static final String TEST_MODE = "alluxio.test.mode";
     public static final String TMP_DIRS = "alluxio.tmp.dirs";
+    public static final String TRACE_ENABLED = "alluxio.trace.enabled";
+    public static final String TRACE_EXPORTER_CLASS = "alluxio.trace.exporter.class";
+    public static final String TRACE_EXPORT_DIR = "alluxio.trace.export.dir";
+    public static final String TRACE_RING_BUFFER_SIZE = "alluxio.trace.ring.buffer.size";
+    public static final String TRACE_SAMPLE_RATIO = "alluxio.trace.sample.ratio";
+    public static final String TRACE_SLOW_THRESHOLD = "alluxio.trace.slow.threshold";
     public static final String USER_LOGS_DIR = "alluxio.user.logs.dir";
     public static final String VERSION = "alluxio.version";
     public static final String WEB_FILE_INFO_ENABLED = "alluxio.web.file.info.enabled";
@@ -7822,6 +8415,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.metastore.rocks.parallel.backup.threads";
     public static final String MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE =
         "alluxio.master.metastore.inode.cache.evict.batch.size";
+    public static final String MASTER_METASTORE_INODE_CACHE_FLUSH_THREADS =
+        "alluxio.master.metastore.inode.cache.flush.threads";
     public static final String MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO =
         "alluxio.master.metastore.inode.cache.high.water.mark.ratio";
     public static final String MASTER_METASTORE_INODE_CACHE_LOW_WATER_MARK_RATIO =
@@ -7830,6 +8425,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.metastore.inode.cache.max.size";
     public static final String MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT =
         "alluxio.master.metastore.inode.iteration.crawler.count";
+    public static final String MASTER_METASTORE_INODE_CHECKPOINT_SHARDS =
+        "alluxio.master.metastore.inode.checkpoint.shards";
     public static final String MASTER_METASTORE_INODE_ENUMERATOR_BUFFER_COUNT =
         "alluxio.master.metastore.inode.enumerator.buffer.count";
     public static final String MASTER_METASTORE_ITERATOR_READAHEAD_SIZE =
@@ -8029,6 +8626,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.data.server.domain.socket.as.uuid";
     public static final String WORKER_FAST_DATA_LOAD_ENABLED =
         "alluxio.worker.fast.data.load.enabled";
+    public static final String WORKER_PEER_FETCH_ENABLED =
+        "alluxio.worker.peer.fetch.enabled";
+    public static final String WORKER_PEER_FETCH_JOIN_WINDOW =
+        "alluxio.worker.peer.fetch.join.window";
+    public static final String WORKER_DRAIN_BANDWIDTH = "alluxio.worker.drain.bandwidth";
+    public static final String WORKER_DRAIN_HOT_FILES_MAX =
+        "alluxio.worker.drain.hot.files.max";
+    public static final String WORKER_DRAIN_TIMEOUT = "alluxio.worker.drain.timeout";
     public static final String WORKER_FUSE_MOUNT_ALLUXIO_PATH =
         "alluxio.worker.fuse.mount.alluxio.path";
     public static final String WORKER_FUSE_MOUNT_OPTIONS =
@@ -8105,6 +8710,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.reader.buffer.size";
     public static final String WORKER_NETWORK_READER_BUFFER_POOLED =
         "alluxio.worker.network.reader.buffer.pooled";
+    public static final String WORKER_NETWORK_READER_PAGE_MAPPED =
+        "alluxio.worker.network.reader.page.mapped";
+    public static final String WORKER_NETWORK_READER_SCHEDULER_ENABLED =
+        "alluxio.worker.network.reader.scheduler.enabled";
+    public static final String WORKER_NETWORK_READER_SCHEDULER_MAX_ACTIVE_REQUESTS =
+        "alluxio.worker.network.reader.scheduler.max.active.requests";
+    public static final String WORKER_NETWORK_READER_SCHEDULER_TENANT_MAX_ACTIVE_REQUESTS =
+        "alluxio.worker.network.reader.scheduler.tenant.max.active.requests";
+    public static final String WORKER_NETWORK_READER_SCHEDULER_TENANT_MAX_BYTES_PER_SEC =
+        "alluxio.worker.network.reader.scheduler.tenant.max.bytes.per.sec";
+    public static final String WORKER_NETWORK_READER_SCHEDULER_TENANT_WEIGHTS =
+        "alluxio.worker.network.reader.scheduler.tenant.weights";
+    public static final String WORKER_NETWORK_READER_SCHEDULER_QUEUE_TIME_BUDGET =
+        "alluxio.worker.network.reader.scheduler.queue.time.budget";
     public static final String WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
         "alluxio.worker.network.reader.max.chunk.size.bytes";
     public static final String WORKER_NETWORK_SHUTDOWN_TIMEOUT =
@@ -8146,14 +8765,22 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.page.store.evictor.nondeterministic.enabled";
     public static final String WORKER_PAGE_STORE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.worker.page.store.local.store.file.buckets";
+    public static final String WORKER_PAGE_STORE_MEMORY_TIER_SIZE =
+        "alluxio.worker.page.store.memory.tier.size";
+    public static final String WORKER_PAGE_STORE_MEMORY_TIER_TYPE =
+        "alluxio.worker.page.store.memory.tier.type";
     public static final String WORKER_PAGE_STORE_OVERHEAD =
         "alluxio.worker.page.store.overhead";
     public static final String WORKER_PAGE_STORE_PAGE_SIZE =
         "alluxio.worker.page.store.page.size";
+    public static final String WORKER_PAGE_STORE_PROMOTION_THRESHOLD =
+        "alluxio.worker.page.store.promotion.threshold";
     public static final String WORKER_PAGE_STORE_QUOTA_ENABLED =
         "alluxio.worker.page.store.quota.enabled";
     public static final String WORKER_PAGE_STORE_SIZES =
         "alluxio.worker.page.store.sizes";
+    public static final String WORKER_PAGE_STORE_TIER_MOVE_THREADS =
+        "alluxio.worker.page.store.tier.move.threads";
     public static final String WORKER_PAGE_STORE_TIMEOUT_DURATION =
         "alluxio.worker.page.store.timeout.duration";
     public static final String WORKER_PAGE_STORE_TIMEOUT_THREADS =
@@ -8217,8 +8844,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.ufs.instream.cache.enabled";
     public static final String WORKER_UFS_INSTREAM_CACHE_MAX_SIZE =
         "alluxio.worker.ufs.instream.cache.max.size";
+    public static final String WORKER_UFS_POSITION_READER_CACHE_ENABLED =
+        "alluxio.worker.ufs.position.reader.cache.enabled";
+    public static final String WORKER_UFS_POSITION_READER_CACHE_EXPIRATION_TIME =
+        "alluxio.worker.ufs.position.reader.cache.expiration.time";
+    public static final String WORKER_UFS_POSITION_READER_CACHE_MAX_FILES =
+        "alluxio.worker.ufs.position.reader.cache.max.files";
+    public static final String WORKER_UFS_POSITION_READER_CACHE_READERS_PER_FILE =
+        "alluxio.worker.ufs.position.reader.cache.readers.per.file";
     public static final String WORKER_MEMBERSHIP_MANAGER_TYPE =
         "alluxio.worker.membership.manager.type";
+    public static final String WORKER_MEMBERSHIP_MANAGER_ETCD_WATCH_ENABLED =
+        "alluxio.worker.membership.manager.etcd.watch.enabled";
     public static final String WORKER_FAILURE_DETECTION_TIMEOUT =
         "alluxio.worker.failure.detection.timeout";
     public static final String WORKER_STATIC_MEMBERSHIP_MANAGER_CONFIG_FILE =
@@ -8456,6 +9093,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.metadata.cache.max.size";
     public static final String USER_METADATA_CACHE_EXPIRATION_TIME =
         "alluxio.user.metadata.cache.expiration.time";
+    public static final String USER_METADATA_CACHE_INVALIDATION_ENABLED =
+        "alluxio.user.metadata.cache.invalidation.enabled";
     public static final String USER_METRICS_COLLECTION_ENABLED =
         "alluxio.user.metrics.collection.enabled";
     public static final String USER_METRICS_HEARTBEAT_INTERVAL_MS =
@@ -8473,6 +9112,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.position.reader.preload.data.file.size.threshold";
     public static final String USER_POSITION_READER_PRELOAD_DATA_SIZE =
         "alluxio.user.position.reader.preload.data.size";
+    public static final String USER_VECTORED_READ_MIN_SEEK_SIZE =
+        "alluxio.user.vectored.read.min.seek.size";
+    public static final String USER_VECTORED_READ_MAX_MERGED_SIZE =
+        "alluxio.user.vectored.read.max.merged.size";
+    public static final String USER_VECTORED_READ_THREADS =
+        "alluxio.user.vectored.read.threads";
     public static final String USER_NETWORK_DATA_TIMEOUT =
         "alluxio.user.network.data.timeout";
     public static final String USER_NETWORK_READER_BUFFER_SIZE_MESSAGES =
@@ -8726,6 +9371,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String WORKER_JVM_MONITOR_ENABLED = "alluxio.worker.jvm.monitor.enabled";
     public static final String STANDALONE_FUSE_JVM_MONITOR_ENABLED
         = "alluxio.standalone.fuse.jvm.monitor.enabled";
+    public static final String JVM_FLIGHT_RECORDER_DUMP_DIR =
+        "alluxio.jvm.flight.recorder.dump.dir";
+    public static final String JVM_FLIGHT_RECORDER_DUMP_MAX_FILES =
+        "alluxio.jvm.flight.recorder.dump.max.files";
+    public static final String JVM_FLIGHT_RECORDER_DUMP_MIN_INTERVAL =
+        "alluxio.jvm.flight.recorder.dump.min.interval";
+    public static final String JVM_FLIGHT_RECORDER_EVENTS = "alluxio.jvm.flight.recorder.events";
+    public static final String JVM_FLIGHT_RECORDER_EVENT_THRESHOLD =
+        "alluxio.jvm.flight.recorder.event.threshold";
+    public static final String JVM_FLIGHT_RECORDER_LATENCY_SLO =
+        "alluxio.jvm.flight.recorder.latency.slo";
+    public static final String JVM_FLIGHT_RECORDER_MAX_AGE =
+        "alluxio.jvm.flight.recorder.max.age";
+    public static final String JVM_FLIGHT_RECORDER_MAX_SIZE =
+        "alluxio.jvm.flight.recorder.max.size";
+    public static final String USER_JVM_FLIGHT_RECORDER_ENABLED =
+        "alluxio.user.jvm.flight.recorder.enabled";
+    public static final String WORKER_JVM_FLIGHT_RECORDER_ENABLED =
+        "alluxio.worker.jvm.flight.recorder.enabled";
 
     public static final String HADOOP_SECURITY_AUTHENTICATION =
         "alluxio.hadoop.security.authentication";
@@ -8738,6 +9402,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
 
     public static final String USER_NETTY_DATA_TRANSMISSION_ENABLED =
         "alluxio.user.netty.data.transmission.enabled";
+    public static final String WORKER_SHORT_CIRCUIT_READ_ENABLED =
+        "alluxio.worker.short.circuit.read.enabled";
+    public static final String USER_SHORT_CIRCUIT_READ_ENABLED =
+        "alluxio.user.short.circuit.read.enabled";
 
     public static final String USER_DYNAMIC_CONSISTENT_HASH_RING_ENABLED =
         "alluxio.user.dynamic.consistent.hash.ring.enabled";
@@ -8755,8 +9423,28 @@ public final class PropertyKey implements Comparable<PropertyKey> {
 
     public static final String USER_NETWORK_NETTY_WRITER_BUFFER_SIZE_PACKETS =
         "alluxio.user.network.netty.writer.buffer.size.packets";
+    public static final String USER_NETWORK_NETTY_WRITER_ASYNC_ENABLED =
+        "alluxio.user.network.netty.writer.async.enabled";
     public static final String USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS =
         "alluxio.user.network.netty.reader.buffer.size.packets";
+    public static final String USER_NETWORK_NETTY_READER_ADAPTIVE_ENABLED =
+        "alluxio.user.network.netty.reader.adaptive.enabled";
+    public static final String USER_NETWORK_NETTY_READER_PACKET_SIZE_MIN =
+        "alluxio.user.network.netty.reader.packet.size.min";
+    public static final String USER_NETWORK_NETTY_READER_PACKET_SIZE_MAX =
+        "alluxio.user.network.netty.reader.packet.size.max";
+    public static final String USER_NETWORK_READER_TENANT =
+        "alluxio.user.network.reader.tenant";
+    public static final String USER_NETWORK_READER_HEDGE_ENABLED =
+        "alluxio.user.network.reader.hedge.enabled";
+    public static final String USER_NETWORK_READER_HEDGE_DELAY_PERCENTILE =
+        "alluxio.user.network.reader.hedge.delay.percentile";
+    public static final String USER_NETWORK_READER_HEDGE_DELAY_MIN =
+        "alluxio.user.network.reader.hedge.delay.min";
+    public static final String USER_NETWORK_READER_HEDGE_BUDGET_RATIO =
+        "alluxio.user.network.reader.hedge.budget.ratio";
+    public static final String USER_NETWORK_READER_HEDGE_SIZE_MAX =
+        "alluxio.user.network.reader.hedge.size.max";
 
     public static final String DORA_ENABLED =
         "alluxio.dora.enabled";
@@ -8765,6 +9453,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String DORA_CLIENT_UFS_ROOT = "alluxio.dora.client.ufs.root";
     public static final String DORA_CLIENT_METADATA_CACHE_ENABLED
         = "alluxio.dora.client.metadata.cache.enabled";
+    public static final String DORA_CLIENT_ABSENT_PATH_CACHE_SIZE =
+        "alluxio.dora.client.absent.path.cache.size";
+    public static final String DORA_CLIENT_ABSENT_PATH_CACHE_TTL =
+        "alluxio.dora.client.absent.path.cache.ttl";
 
     public static final String DORA_WORKER_METASTORE_ROCKSDB_DIR =
         "alluxio.dora.worker.metastore.rocksdb.dir";
@@ -8784,6 +9476,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.dora.ufs.list.status.cache.ttl";
     public static final String DORA_UFS_LIST_STATUS_CACHE_NR_FILES =
         "alluxio.dora.ufs.list.status.cache.nr.files";
+    public static final String DORA_UFS_LIST_STATUS_CACHE_LOAD_METADATA_ENABLED =
+        "alluxio.dora.ufs.list.status.cache.load.metadata.enabled";
+    public static final String DORA_UFS_ABSENT_PATH_CACHE_SIZE =
+        "alluxio.dora.ufs.absent.path.cache.size";
+    public static final String DORA_UFS_ABSENT_PATH_CACHE_TTL =
+        "alluxio.dora.ufs.absent.path.cache.ttl";
+    public static final String DORA_WORKER_META_INVALIDATION_MAX_SUBSCRIBERS =
+        "alluxio.dora.worker.meta.invalidation.max.subscribers";
+    public static final String DORA_WORKER_META_INVALIDATION_QUEUE_SIZE =
+        "alluxio.dora.worker.meta.invalidation.queue.size";
 
     public static final String CLIENT_WRITE_TO_UFS_ENABLED =
         "alluxio.client.write.to.ufs.enabled";
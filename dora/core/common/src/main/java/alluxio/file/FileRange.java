@@ -0,0 +1,88 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.file;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A range of a file to read in a vectored read, along with the future holding its data once the
+ * read completes. This mirrors the FileRange of Hadoop, which is not available in every Hadoop
+ * version the client is built against.
+ */
+public final class FileRange {
+  private final long mOffset;
+  private final int mLength;
+  private CompletableFuture<ByteBuffer> mData;
+
+  /**
+   * @param offset the offset of the range in the file
+   * @param length the length of the range
+   * @return a new range
+   */
+  public static FileRange create(long offset, int length) {
+    return new FileRange(offset, length);
+  }
+
+  private FileRange(long offset, int length) {
+    Preconditions.checkArgument(offset >= 0, "offset should be non-negative: %s", offset);
+    Preconditions.checkArgument(length >= 0, "length should be non-negative: %s", length);
+    mOffset = offset;
+    mLength = length;
+  }
+
+  /**
+   * @return the offset of the range in the file
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
+  /**
+   * @return the length of the range
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return the offset in the file right after the range
+   */
+  public long getEnd() {
+    return mOffset + mLength;
+  }
+
+  /**
+   * @return the future holding the data of the range, which is set when the read is issued
+   */
+  public CompletableFuture<ByteBuffer> getData() {
+    return mData;
+  }
+
+  /**
+   * @param data the future holding the data of the range
+   */
+  public void setData(CompletableFuture<ByteBuffer> data) {
+    mData = data;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("offset", mOffset)
+        .add("length", mLength)
+        .toString();
+  }
+}
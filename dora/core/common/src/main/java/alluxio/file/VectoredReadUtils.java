@@ -0,0 +1,240 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.file;
+
+import alluxio.PositionReader;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Utilities for vectored reads, which read a list of ranges of a file at once.
+ *
+ * The ranges are sorted and those separated by less than a minimum seek size are merged into a
+ * single read of bounded size, so many small reads close to each other turn into a few larger
+ * ones. The merged reads are issued concurrently, each into a buffer from the caller which is
+ * then sliced into the buffers of the ranges it covers.
+ */
+public final class VectoredReadUtils {
+  /**
+   * Reads the ranges from a position reader, on a thread pool shared by all readers of the
+   * process. The data of each range is set to a future which completes once its read finishes.
+   *
+   * @param reader the reader, which must be thread-safe
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate a buffer of a given size
+   */
+  public static void readVectored(PositionReader reader, List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) {
+    readVectored(reader, ranges, allocate, ExecutorHolder.EXECUTOR);
+  }
+
+  /**
+   * Reads the ranges from a position reader, merging them as configured.
+   *
+   * @param reader the reader, which must be thread-safe unless the executor runs tasks inline
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate a buffer of a given size
+   * @param executor the executor to issue the reads on
+   */
+  public static void readVectored(PositionReader reader, List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate, Executor executor) {
+    readVectored(reader, ranges, allocate, executor,
+        (int) Configuration.getBytes(PropertyKey.USER_VECTORED_READ_MIN_SEEK_SIZE),
+        (int) Configuration.getBytes(PropertyKey.USER_VECTORED_READ_MAX_MERGED_SIZE));
+  }
+
+  /**
+   * Reads the ranges from a position reader.
+   *
+   * @param reader the reader, which must be thread-safe unless the executor runs tasks inline
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate a buffer of a given size
+   * @param executor the executor to issue the reads on
+   * @param minSeek the ranges closer to each other than this are merged into one read
+   * @param maxMergedSize the maximum size of a merged read
+   */
+  public static void readVectored(PositionReader reader, List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate, Executor executor, int minSeek, int maxMergedSize) {
+    List<FileRange> sortedRanges = sortRanges(ranges);
+    for (FileRange range : ranges) {
+      range.setData(new CompletableFuture<>());
+    }
+    for (CombinedFileRange combined : mergeSortedRanges(sortedRanges, minSeek, maxMergedSize)) {
+      try {
+        executor.execute(() -> readCombinedRange(reader, combined, allocate));
+      } catch (RejectedExecutionException e) {
+        combined.fail(e);
+      }
+    }
+  }
+
+  /**
+   * @param ranges the ranges
+   * @return the ranges sorted by offset
+   * @throws IllegalArgumentException if any two ranges overlap
+   */
+  @VisibleForTesting
+  static List<FileRange> sortRanges(List<? extends FileRange> ranges) {
+    List<FileRange> sortedRanges = new ArrayList<>(ranges);
+    sortedRanges.sort(Comparator.comparingLong(FileRange::getOffset));
+    for (int i = 1; i < sortedRanges.size(); i++) {
+      FileRange prev = sortedRanges.get(i - 1);
+      FileRange range = sortedRanges.get(i);
+      Preconditions.checkArgument(prev.getEnd() <= range.getOffset(),
+          "Overlapping ranges %s and %s", prev, range);
+    }
+    return sortedRanges;
+  }
+
+  /**
+   * Merges the sorted ranges separated by less than the minimum seek size, as long as the merged
+   * range stays within the maximum size. A range larger than the maximum size is left as is.
+   *
+   * @param sortedRanges the ranges sorted by offset
+   * @param minSeek the ranges closer to each other than this are merged
+   * @param maxMergedSize the maximum size of a merged range
+   * @return the merged ranges
+   */
+  @VisibleForTesting
+  static List<CombinedFileRange> mergeSortedRanges(List<FileRange> sortedRanges, int minSeek,
+      int maxMergedSize) {
+    List<CombinedFileRange> result = new ArrayList<>();
+    CombinedFileRange current = null;
+    for (FileRange range : sortedRanges) {
+      if (current == null || !current.merge(range, minSeek, maxMergedSize)) {
+        current = new CombinedFileRange(range);
+        result.add(current);
+      }
+    }
+    return result;
+  }
+
+  private static void readCombinedRange(PositionReader reader, CombinedFileRange combined,
+      IntFunction<ByteBuffer> allocate) {
+    try {
+      int length = combined.getLength();
+      ByteBuffer buffer = allocate.apply(length);
+      int start = buffer.position();
+      int totalRead = 0;
+      while (totalRead < length) {
+        int read = reader.read(combined.mOffset + totalRead, buffer, length - totalRead);
+        if (read < 0) {
+          break;
+        }
+        totalRead += read;
+      }
+      for (FileRange range : combined.mRanges) {
+        int rangeStart = (int) (range.getOffset() - combined.mOffset);
+        if (rangeStart + range.getLength() > totalRead) {
+          range.getData().completeExceptionally(new EOFException(String.format(
+              "Reached the end of file before the end of %s", range)));
+          continue;
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(start + rangeStart + range.getLength());
+        slice.position(start + rangeStart);
+        range.getData().complete(slice.slice());
+      }
+    } catch (IOException | RuntimeException e) {
+      combined.fail(e);
+    }
+  }
+
+  /**
+   * A range covering one or more of the ranges to read.
+   */
+  @VisibleForTesting
+  static final class CombinedFileRange {
+    private final long mOffset;
+    private long mEnd;
+    private final List<FileRange> mRanges = new ArrayList<>();
+
+    CombinedFileRange(FileRange range) {
+      mOffset = range.getOffset();
+      mEnd = range.getEnd();
+      mRanges.add(range);
+    }
+
+    /**
+     * @return the offset of the range in the file
+     */
+    long getOffset() {
+      return mOffset;
+    }
+
+    /**
+     * @return the length of the range
+     */
+    int getLength() {
+      return (int) (mEnd - mOffset);
+    }
+
+    /**
+     * @return the ranges covered by this range
+     */
+    List<FileRange> getRanges() {
+      return mRanges;
+    }
+
+    private boolean merge(FileRange range, int minSeek, int maxMergedSize) {
+      if (range.getOffset() - mEnd >= minSeek || range.getEnd() - mOffset > maxMergedSize) {
+        return false;
+      }
+      mEnd = range.getEnd();
+      mRanges.add(range);
+      return true;
+    }
+
+    private void fail(Throwable t) {
+      for (FileRange range : mRanges) {
+        range.getData().completeExceptionally(t);
+      }
+    }
+  }
+
+  /**
+   * Holds the thread pool shared by vectored reads, created when it is first used.
+   */
+  private static final class ExecutorHolder {
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private static ExecutorService createExecutor() {
+      int threads = Configuration.getInt(PropertyKey.USER_VECTORED_READ_THREADS);
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60,
+          TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+          ThreadFactoryUtils.build("alluxio-vectored-read-%d", true));
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
+
+  private VectoredReadUtils() {} // prevent instantiation
+}
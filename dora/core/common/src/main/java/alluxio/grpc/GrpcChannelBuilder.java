@@ -168,6 +168,9 @@ public class GrpcChannelBuilder {
     if (mConfiguration.getBoolean(PropertyKey.USER_CLIENT_REPORT_VERSION_ENABLED)) {
       channel.intercept(new ClientVersionClientInjector());
     }
+    if (mConfiguration.getBoolean(PropertyKey.TRACE_ENABLED)) {
+      channel.intercept(new TraceContextClientInjector());
+    }
     return channel;
   }
 }
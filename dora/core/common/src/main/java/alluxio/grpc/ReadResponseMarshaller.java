@@ -53,13 +53,18 @@ public class ReadResponseMarshaller extends DataMessageMarshaller<ReadResponse>
       chunkBuffer = new NettyDataBuffer(
           Unpooled.wrappedBuffer(message.getChunk().getData().asReadOnlyByteBuffer()));
     }
-    int size = message.getSerializedSize() - chunkBuffer.readableBytes();
-    byte[] header = new byte[size];
+    // the header is computed from the buffer alone, as the data may not be in the message
+    int dataSize = chunkBuffer.readableBytes();
+    int dataHeaderSize = CodedOutputStream.computeTagSize(Chunk.DATA_FIELD_NUMBER)
+        + CodedOutputStream.computeUInt32SizeNoTag(dataSize);
+    int chunkSize = dataHeaderSize + dataSize;
+    byte[] header = new byte[CodedOutputStream.computeTagSize(ReadResponse.CHUNK_FIELD_NUMBER)
+        + CodedOutputStream.computeUInt32SizeNoTag(chunkSize) + dataHeaderSize];
     CodedOutputStream stream = CodedOutputStream.newInstance(header);
     stream.writeTag(ReadResponse.CHUNK_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
-    stream.writeUInt32NoTag(message.getChunk().getSerializedSize());
+    stream.writeUInt32NoTag(chunkSize);
     stream.writeTag(Chunk.DATA_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
-    stream.writeUInt32NoTag(chunkBuffer.readableBytes());
+    stream.writeUInt32NoTag(dataSize);
     return new ByteBuf[] { Unpooled.wrappedBuffer(header), (ByteBuf) chunkBuffer.getNettyOutput() };
   }
 
@@ -0,0 +1,56 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.grpc;
+
+import alluxio.trace.Span;
+import alluxio.trace.TraceContext;
+import alluxio.trace.Tracer;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+
+/**
+ * Server side interceptor that records a span for each callback of a call, as a child of the
+ * trace context sent by the client.
+ *
+ * The spans are scoped to a single callback rather than to the whole call because the callbacks
+ * of a call may run in different threads, and the spans started by the handler should be nested
+ * under the span of the thread that runs them.
+ */
+public class TraceContextServerInjector implements ServerInterceptor {
+  @Override
+  public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+      Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+    TraceContext remoteParent =
+        TraceContext.decode(headers.get(TraceContextClientInjector.S_TRACE_CONTEXT_KEY));
+    String name = "grpc." + call.getMethodDescriptor().getBareMethodName();
+    return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(
+        next.startCall(call, headers)) {
+      @Override
+      public void onMessage(ReqT message) {
+        try (Span span = Tracer.startSpan(name, remoteParent)) {
+          super.onMessage(message);
+        }
+      }
+
+      @Override
+      public void onHalfClose() {
+        try (Span span = Tracer.startSpan(name, remoteParent)) {
+          super.onHalfClose();
+        }
+      }
+    };
+  }
+}
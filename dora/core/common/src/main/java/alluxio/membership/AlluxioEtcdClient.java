@@ -11,6 +11,7 @@
 
 package alluxio.membership;
 
+import alluxio.collections.Pair;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.runtime.UnavailableRuntimeException;
@@ -315,6 +316,16 @@ public class AlluxioEtcdClient {
    * @return list of children KeyValues
    */
   public List<KeyValue> getChildren(String parentPath) {
+    return getChildrenWithRevision(parentPath).getSecond();
+  }
+
+  /**
+   * Get list of children path kv pairs from a given parentPath, along with the etcd revision
+   * they were read at, so that a watch from the next revision on misses no change after them.
+   * @param parentPath parentPath ends with /
+   * @return the revision and the list of children KeyValues
+   */
+  public Pair<Long, List<KeyValue>> getChildrenWithRevision(String parentPath) {
     Preconditions.checkArgument(!StringUtil.isNullOrEmpty(parentPath));
     return retryInternal(
         String.format("Getting children for path:%s", parentPath),
@@ -324,7 +335,7 @@ public class AlluxioEtcdClient {
                   ByteSequence.from(parentPath, StandardCharsets.UTF_8),
                   GetOption.newBuilder().isPrefix(true).build())
               .get(DEFAULT_TIMEOUT_IN_SEC, TimeUnit.SECONDS);
-          return getResponse.getKvs();
+          return new Pair<>(getResponse.getHeader().getRevision(), getResponse.getKvs());
         });
   }
 
@@ -333,9 +344,10 @@ public class AlluxioEtcdClient {
    * @param parentPath
    * @param listener
    * @param watchType
+   * @param startRevision the etcd revision to watch from, or 0 to watch from now on
    */
   private void addListenerInternal(
-      String parentPath, StateListener listener, WatchType watchType) {
+      String parentPath, StateListener listener, WatchType watchType, long startRevision) {
     if (mRegisteredWatchers.containsKey(getRegisterWatcherKey(parentPath, watchType))) {
       LOG.warn("Watcher already there for path:{} for children.", parentPath);
       return;
@@ -361,6 +373,9 @@ public class AlluxioEtcdClient {
       default:
         break;
     }
+    if (startRevision > 0) {
+      watchOptBuilder.withRevision(startRevision);
+    }
 
     Watch.Watcher watcher = retryInternal(
         String.format("Adding listener for path:%s, type:%s", parentPath, watchType),
@@ -377,11 +392,13 @@ public class AlluxioEtcdClient {
                       case PUT:
                         listener.onNewPut(
                             event.getKeyValue().getKey().toString(StandardCharsets.UTF_8),
-                            event.getKeyValue().getValue().getBytes());
+                            event.getKeyValue().getValue().getBytes(),
+                            event.getKeyValue().getModRevision());
                         break;
                       case DELETE:
                         listener.onNewDelete(
-                            event.getKeyValue().getKey().toString(StandardCharsets.UTF_8));
+                            event.getKeyValue().getKey().toString(StandardCharsets.UTF_8),
+                            event.getKeyValue().getModRevision());
                         break;
                       case UNRECOGNIZED: // Fall through
                       default:
@@ -396,13 +413,15 @@ public class AlluxioEtcdClient {
                 public void onError(Throwable throwable) {
                   LOG.warn("Error occurred on children watch for path:{}, removing the watch.",
                       parentPath, throwable);
-                  removeChildrenListener(parentPath);
+                  removeListenerInternal(parentPath, watchType);
+                  listener.onWatchEnded();
                 }
 
                 @Override
                 public void onCompleted() {
                   LOG.warn("Watch for path onCompleted:{}, removing the watch.", parentPath);
-                  removeChildrenListener(parentPath);
+                  removeListenerInternal(parentPath, watchType);
+                  listener.onWatchEnded();
                 }
               });
           return newWatcher;
@@ -431,7 +450,7 @@ public class AlluxioEtcdClient {
    * @param listener
    */
   public void addStateListener(String path, StateListener listener) {
-    addListenerInternal(path, listener, WatchType.SINGLE_PATH);
+    addListenerInternal(path, listener, WatchType.SINGLE_PATH, 0);
   }
 
   /**
@@ -448,7 +467,19 @@ public class AlluxioEtcdClient {
    * @param listener
    */
   public void addChildrenListener(String parentPath, StateListener listener) {
-    addListenerInternal(parentPath, listener, WatchType.CHILDREN);
+    addListenerInternal(parentPath, listener, WatchType.CHILDREN, 0);
+  }
+
+  /**
+   * Add state listener to watch children for given path, from a given etcd revision on.
+   * If the revision has been compacted, the watch ends right away.
+   * @param parentPath
+   * @param listener
+   * @param startRevision the etcd revision of the first change to be notified of
+   */
+  public void addChildrenListener(String parentPath, StateListener listener,
+      long startRevision) {
+    addListenerInternal(parentPath, listener, WatchType.CHILDREN, startRevision);
   }
 
   /**
@@ -0,0 +1,167 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.membership;
+
+import alluxio.collections.Pair;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerState;
+
+import io.etcd.jetcd.KeyValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Keeps a view of the live workers registered in etcd up to date by watching their service
+ * entries, instead of reading and parsing all of the entries on every lookup.
+ *
+ * The entries are read once along with the etcd revision they were read at, and the watch
+ * starts from the next revision, so that no change is missed in between. Every put or delete
+ * of an entry after the revision of the snapshot updates the view incrementally, including the
+ * changes of several entries in the same revision. If the watch ends, e.g. because its revision was
+ * compacted, the entries are read again on the next lookup.
+ */
+@ThreadSafe
+public class EtcdLiveMembersWatcher implements StateListener, AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(EtcdLiveMembersWatcher.class);
+
+  private final AlluxioEtcdClient mAlluxioEtcdClient;
+  private final String mPathPrefix;
+  /** The live workers by the keys of their service entries. */
+  @GuardedBy("this")
+  private final Map<String, WorkerInfo> mWorkers = new HashMap<>();
+  /** The etcd revision the entries were last read at, whose changes are in the view. */
+  @GuardedBy("this")
+  private long mSnapshotRevision = 0;
+  /** The etcd revision of the last change applied to the view. */
+  @GuardedBy("this")
+  private long mRevision = 0;
+  @GuardedBy("this")
+  private boolean mWatching = false;
+  @GuardedBy("this")
+  private boolean mClosed = false;
+  @Nullable
+  private volatile WorkerClusterView mView;
+
+  /**
+   * @param alluxioEtcdClient the etcd client
+   * @param pathPrefix the path prefix of the service entries of the live workers
+   */
+  public EtcdLiveMembersWatcher(AlluxioEtcdClient alluxioEtcdClient, String pathPrefix) {
+    mAlluxioEtcdClient = alluxioEtcdClient;
+    mPathPrefix = pathPrefix;
+  }
+
+  /**
+   * @return the live workers, read from etcd only if they are not being watched
+   */
+  public WorkerClusterView getLiveMembers() {
+    WorkerClusterView view = mView;
+    if (view != null) {
+      return view;
+    }
+    synchronized (this) {
+      return mView != null ? mView : resync();
+    }
+  }
+
+  /**
+   * @return the etcd revision of the last change applied to the view
+   */
+  public synchronized long getRevision() {
+    return mRevision;
+  }
+
+  @GuardedBy("this")
+  private WorkerClusterView resync() {
+    Pair<Long, List<KeyValue>> children = mAlluxioEtcdClient.getChildrenWithRevision(mPathPrefix);
+    mWorkers.clear();
+    for (KeyValue kv : children.getSecond()) {
+      parseWorker(kv.getValue().getBytes()).ifPresent(worker ->
+          mWorkers.put(kv.getKey().toString(StandardCharsets.UTF_8), worker));
+    }
+    mSnapshotRevision = children.getFirst();
+    mRevision = mSnapshotRevision;
+    WorkerClusterView view = new WorkerClusterView(mWorkers.values());
+    if (!mClosed) {
+      mAlluxioEtcdClient.addChildrenListener(mPathPrefix, this, mRevision + 1);
+      mWatching = true;
+      // the view is kept up to date from now on
+      mView = view;
+    }
+    return view;
+  }
+
+  @Override
+  public synchronized void onNewPut(String newPutKey, byte[] newPutValue, long revision) {
+    if (revision <= mSnapshotRevision) {
+      return;
+    }
+    mRevision = revision;
+    Optional<WorkerInfo> worker = parseWorker(newPutValue);
+    if (!worker.isPresent()) {
+      LOG.warn("Ignoring the unparsable service entry of {}", newPutKey);
+      return;
+    }
+    WorkerInfo previous = mWorkers.put(newPutKey, worker.get());
+    if (!worker.get().equals(previous)) {
+      mView = new WorkerClusterView(mWorkers.values());
+      LOG.debug("Worker {} is live as of revision {}", worker.get().getIdentity(), revision);
+    }
+  }
+
+  @Override
+  public synchronized void onNewDelete(String newDeleteKey, long revision) {
+    if (revision <= mSnapshotRevision) {
+      return;
+    }
+    mRevision = revision;
+    WorkerInfo removed = mWorkers.remove(newDeleteKey);
+    if (removed != null) {
+      mView = new WorkerClusterView(mWorkers.values());
+      LOG.debug("Worker {} is no longer live as of revision {}", removed.getIdentity(), revision);
+    }
+  }
+
+  @Override
+  public synchronized void onWatchEnded() {
+    mWatching = false;
+    // read the entries again on the next lookup, as changes may be missed from now on
+    mView = null;
+  }
+
+  @Override
+  public synchronized void close() {
+    mClosed = true;
+    if (mWatching) {
+      mAlluxioEtcdClient.removeChildrenListener(mPathPrefix);
+      mWatching = false;
+    }
+    mView = null;
+  }
+
+  private static Optional<WorkerInfo> parseWorker(byte[] value) {
+    return EtcdMembershipManager.parseWorkerServiceEntity(value)
+        .map(entity -> new WorkerInfo()
+            .setIdentity(entity.getIdentity())
+            .setAddress(entity.getWorkerNetAddress())
+            .setState(WorkerState.LIVE));
+  }
+}
@@ -47,6 +47,7 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 /**
  * MembershipManager backed by configured etcd cluster.
@@ -58,6 +59,9 @@ public class EtcdMembershipManager implements MembershipManager {
   private String mClusterName;
   private Supplier<String> mRingPathPrefix =
       CommonUtils.memoize(this::constructRingPathPrefix);
+  /** Keeps the view of the live workers up to date, or null to read them on every lookup. */
+  @Nullable
+  private final EtcdLiveMembersWatcher mLiveMembersWatcher;
 
   /**
    * @param conf
@@ -84,6 +88,10 @@ public class EtcdMembershipManager implements MembershipManager {
     mConf = conf;
     mClusterName = conf.getString(PropertyKey.ALLUXIO_CLUSTER_NAME);
     mAlluxioEtcdClient = alluxioEtcdClient;
+    mLiveMembersWatcher = conf.getBoolean(PropertyKey.WORKER_MEMBERSHIP_MANAGER_ETCD_WATCH_ENABLED)
+        ? new EtcdLiveMembersWatcher(alluxioEtcdClient,
+            alluxioEtcdClient.mServiceDiscovery.getRegisterPathPrefix())
+        : null;
   }
 
   private String constructRingPathPrefix() {
@@ -166,10 +174,7 @@ public class EtcdMembershipManager implements MembershipManager {
 
   @Override
   public WorkerClusterView getAllMembers() throws IOException {
-    Set<WorkerIdentity> liveWorkerIds = parseWorkersFromEtcdKvPairs(
-        mAlluxioEtcdClient.mServiceDiscovery.getAllLiveServices())
-        .map(WorkerServiceEntity::getIdentity)
-        .collect(Collectors.toSet());
+    Set<WorkerIdentity> liveWorkerIds = getLiveMembers().workerIds();
     Predicate<WorkerInfo> isLive = w -> liveWorkerIds.contains(w.getIdentity());
     Iterable<WorkerInfo> workerInfoIterable = parseWorkersFromEtcdKvPairs(
         mAlluxioEtcdClient.getChildren(getRingPathPrefix()))
@@ -183,6 +188,9 @@ public class EtcdMembershipManager implements MembershipManager {
 
   @Override
   public WorkerClusterView getLiveMembers() throws IOException {
+    if (mLiveMembersWatcher != null) {
+      return mLiveMembersWatcher.getLiveMembers();
+    }
     Iterable<WorkerInfo> workerInfoIterable = parseWorkersFromEtcdKvPairs(
         mAlluxioEtcdClient.mServiceDiscovery.getAllLiveServices())
         .map(w -> new WorkerInfo()
@@ -193,12 +201,14 @@ public class EtcdMembershipManager implements MembershipManager {
     return new WorkerClusterView(workerInfoIterable);
   }
 
+  @Override
+  public boolean isWatchingLiveMembers() {
+    return mLiveMembersWatcher != null;
+  }
+
   @Override
   public WorkerClusterView getFailedMembers() throws IOException {
-    Set<WorkerIdentity> liveWorkerIds = parseWorkersFromEtcdKvPairs(
-        mAlluxioEtcdClient.mServiceDiscovery.getAllLiveServices())
-        .map(WorkerServiceEntity::getIdentity)
-        .collect(Collectors.toSet());
+    Set<WorkerIdentity> liveWorkerIds = getLiveMembers().workerIds();
     Iterable<WorkerInfo> failedWorkerIterable = parseWorkersFromEtcdKvPairs(
         mAlluxioEtcdClient.getChildren(getRingPathPrefix()))
         .filter(w -> !liveWorkerIds.contains(w.getIdentity()))
@@ -219,9 +229,17 @@ public class EtcdMembershipManager implements MembershipManager {
   }
 
   private Optional<WorkerServiceEntity> parseWorkerServiceEntity(KeyValue etcdKvPair) {
+    return parseWorkerServiceEntity(etcdKvPair.getValue().getBytes());
+  }
+
+  /**
+   * @param serializedEntity the serialized worker service entity
+   * @return the worker service entity, or none if it cannot be parsed
+   */
+  static Optional<WorkerServiceEntity> parseWorkerServiceEntity(byte[] serializedEntity) {
     try {
       WorkerServiceEntity entity = new WorkerServiceEntity();
-      entity.deserialize(etcdKvPair.getValue().getBytes());
+      entity.deserialize(serializedEntity);
       return Optional.of(entity);
     } catch (JsonParseException ex) {
       return Optional.empty();
@@ -281,7 +299,9 @@ public class EtcdMembershipManager implements MembershipManager {
 
   @Override
   public void close() throws Exception {
-    // NOTHING TO CLOSE
+    if (mLiveMembersWatcher != null) {
+      mLiveMembersWatcher.close();
+    }
     // The EtcdClient is a singleton so its life cycle is managed by the class itself
   }
 }
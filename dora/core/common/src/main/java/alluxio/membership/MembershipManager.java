@@ -57,6 +57,16 @@ public interface MembershipManager extends AutoCloseable {
    */
   public WorkerClusterView getLiveMembers() throws IOException;
 
+  /**
+   * Whether the live members are kept up to date by watching the membership changes, so that
+   * {@link #getLiveMembers()} is cheap enough to call on every lookup.
+   *
+   * @return whether the live members are watched
+   */
+  default boolean isWatchingLiveMembers() {
+    return false;
+  }
+
   /**
    * Gets a view for all failed workers.
    *
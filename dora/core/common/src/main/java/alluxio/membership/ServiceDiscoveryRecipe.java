@@ -322,6 +322,13 @@ public class ServiceDiscoveryRecipe implements AutoCloseable {
     return mAlluxioEtcdClient.getChildren(mRegisterPathPrefix);
   }
 
+  /**
+   * @return the path prefix of the registered services
+   */
+  public String getRegisterPathPrefix() {
+    return mRegisterPathPrefix;
+  }
+
   /**
    * Periodically check if any DefaultServiceEntity's lease got expired and needs
    * to renew the lease with new keepalive client.
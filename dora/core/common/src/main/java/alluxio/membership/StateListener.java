@@ -19,12 +19,19 @@ public interface StateListener {
    * Act on detecting new put on the key.
    * @param newPutKey
    * @param newPutValue
+   * @param revision the etcd revision of the put
    */
-  public void onNewPut(String newPutKey, byte[] newPutValue);
+  public void onNewPut(String newPutKey, byte[] newPutValue, long revision);
 
   /**
    * Act on detecting new delete on the key.
    * @param newDeleteKey
+   * @param revision the etcd revision of the delete
    */
-  public void onNewDelete(String newDeleteKey);
+  public void onNewDelete(String newDeleteKey, long revision);
+
+  /**
+   * Act on the watch ending, after which no more changes are notified.
+   */
+  default void onWatchEnded() {}
 }
@@ -0,0 +1,81 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import io.prometheus.metrics.core.datapoints.DataPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The children of a Prometheus metric which has a label with an unbounded set of values, such as
+ * the user or the mount point of a request.
+ *
+ * Children are bound once per label value and cached, so that looking up a known value neither
+ * allocates nor touches the metric's own label map. Once the number of distinct values reaches the
+ * limit, all new values are recorded under {@link #OVERFLOW_LABEL_VALUE}, which keeps the number
+ * of time series exported by a process bounded.
+ *
+ * @param <T> the type of the data points
+ */
+@ThreadSafe
+public final class BoundedLabelChildren<T extends DataPoint> {
+  /** The label value used for values seen after the cardinality limit is reached. */
+  public static final String OVERFLOW_LABEL_VALUE = "_other";
+  /** The label value used when the value is not known. */
+  public static final String UNKNOWN_LABEL_VALUE = "_unknown";
+
+  private final Map<String, T> mChildren = new ConcurrentHashMap<>();
+  private final Function<String, T> mBinder;
+  private final int mMaxValues;
+  private final T mOverflow;
+  private final T mUnknown;
+
+  /**
+   * @param maxValues the maximum number of distinct label values
+   * @param binder binds a label value to a child of the metric
+   */
+  public BoundedLabelChildren(int maxValues, Function<String, T> binder) {
+    mMaxValues = maxValues;
+    mBinder = binder;
+    mOverflow = binder.apply(OVERFLOW_LABEL_VALUE);
+    mUnknown = binder.apply(UNKNOWN_LABEL_VALUE);
+  }
+
+  /**
+   * @param labelValue the label value
+   * @return the child for the label value, or the overflow child if the limit has been reached
+   */
+  public T get(@Nullable String labelValue) {
+    if (labelValue == null || labelValue.isEmpty()) {
+      return mUnknown;
+    }
+    T child = mChildren.get(labelValue);
+    if (child != null) {
+      return child;
+    }
+    if (mChildren.size() >= mMaxValues) {
+      return mOverflow;
+    }
+    return mChildren.computeIfAbsent(labelValue, mBinder);
+  }
+
+  /**
+   * @return the number of distinct label values bound so far, excluding overflow and unknown
+   */
+  public int size() {
+    return mChildren.size();
+  }
+}
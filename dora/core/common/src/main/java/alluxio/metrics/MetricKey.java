@@ -289,6 +289,20 @@ public final class MetricKey implements Comparable<MetricKey> {
               + "from (parentId, childName) to childId.")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey MASTER_EDGE_CACHE_EVICTION_BACKLOG =
+      new Builder("Master.EdgeCacheEvictionBacklog")
+          .setDescription("Number of edges (inode metadata) above the low water mark of the edge "
+              + "cache which are waiting to be flushed and evicted.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey MASTER_EDGE_CACHE_FLUSH_TIMER =
+      new Builder("Master.EdgeCacheFlushTimer")
+          .setDescription("The latency of flushing a batch of dirty edges (inode metadata) "
+              + "from the edge cache to the backing store.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey MASTER_EDGE_CACHE_HITS =
       new Builder("Master.EdgeCacheHits")
           .setDescription("Total number of hits in the edge (inode metadata) cache. "
@@ -342,6 +356,20 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("Total number of inodes that was evicted from the cache.")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey MASTER_INODE_CACHE_EVICTION_BACKLOG =
+      new Builder("Master.InodeCacheEvictionBacklog")
+          .setDescription("Number of inodes above the low water mark of the inode cache which "
+              + "are waiting to be flushed and evicted.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey MASTER_INODE_CACHE_FLUSH_TIMER =
+      new Builder("Master.InodeCacheFlushTimer")
+          .setDescription("The latency of flushing a batch of dirty inodes from the inode cache "
+              + "to the backing store.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey MASTER_INODE_CACHE_HITS =
       new Builder("Master.InodeCacheHits")
           .setDescription("Total number of hits in the inodes (inode metadata) cache.")
@@ -2339,6 +2367,20 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_PAGES_DEMOTED =
+      new Builder("Client.CachePagesDemoted")
+          .setDescription("Total number of pages moved to a lower tier of the cache instead of "
+              + "being evicted.")
+          .setMetricType(MetricType.METER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PAGES_PROMOTED =
+      new Builder("Client.CachePagesPromoted")
+          .setDescription("Total number of pages moved to a higher tier of the cache after "
+              + "repeated reads.")
+          .setMetricType(MetricType.METER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_BYTES_WRITTEN_CACHE =
       new Builder("Client.CacheBytesWrittenCache")
           .setDescription("Total number of bytes written to the client cache.")
@@ -2538,6 +2580,13 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_TIER_MOVE_REJECTION_ERRORS =
+      new Builder("Client.CacheTierMoveRejectionErrors")
+          .setDescription("Number of pages which were not moved between the tiers of the cache "
+              + "due to a full tier move queue. Pages which are not demoted are evicted.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_STORE_DELETE_TIMEOUT =
       new Builder("Client.CacheStoreDeleteTimeout")
           .setDescription("Number of timeouts when deleting pages from page store.")
@@ -2624,6 +2673,27 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_HEDGED_READ_COUNT =
+      new Builder("Client.HedgedReadCount")
+          .setDescription("The number of reads from a worker sent again to another worker "
+              + "because the first worker did not complete them in time.")
+          .setMetricType(MetricType.METER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_HEDGED_READ_WIN_COUNT =
+      new Builder("Client.HedgedReadWinCount")
+          .setDescription("The number of reads sent again to another worker which that worker "
+              + "completed before the first worker.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_HEDGED_READ_THROTTLED_COUNT =
+      new Builder("Client.HedgedReadThrottledCount")
+          .setDescription("The number of slow reads from a worker not sent again to another "
+              + "worker because the budget of the reads sent again was used up.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
 
   public static final MetricKey CLOSE_UFS_OUTSTREAM_LATENCY =
       new Builder("Client.CloseUFSOutStreamLatency")
@@ -17,7 +17,11 @@ import alluxio.util.CommonUtils;
 import alluxio.util.FormatUtils;
 
 import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.core.datapoints.CounterDataPoint;
+import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
+import io.prometheus.metrics.core.datapoints.GaugeDataPoint;
 import io.prometheus.metrics.core.metrics.Counter;
+import io.prometheus.metrics.core.metrics.Gauge;
 import io.prometheus.metrics.core.metrics.GaugeWithCallback;
 import io.prometheus.metrics.core.metrics.Histogram;
 import io.prometheus.metrics.exporter.common.PrometheusHttpRequest;
@@ -26,6 +30,7 @@ import io.prometheus.metrics.exporter.common.PrometheusScrapeHandler;
 import io.prometheus.metrics.exporter.servlet.jakarta.HttpExchangeAdapter;
 import io.prometheus.metrics.instrumentation.jvm.JvmMetrics;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.Labels;
 import io.prometheus.metrics.model.snapshots.Unit;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
@@ -35,6 +40,7 @@ import java.io.OutputStream;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.function.DoubleSupplier;
+import javax.annotation.Nullable;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -64,18 +70,139 @@ public final class MultiDimensionalMetricsSystem {
       .labelNames("method")
       .build();
 
+  public static final Histogram DATA_ACCESS_LATENCY = Histogram.builder()
+      .name("alluxio_data_access_latency")
+      .help("latency of reading or writing a chunk of data on the worker")
+      .unit(Unit.SECONDS)
+      .labelNames("method")
+      .build();
+
+  public static final Histogram PAGE_CACHE_LATENCY = Histogram.builder()
+      .name("alluxio_page_cache_latency")
+      .help("latency of the page cache operations")
+      .unit(Unit.SECONDS)
+      .labelNames("op")
+      .build();
+
+  public static final Histogram UFS_ACCESS_LATENCY = Histogram.builder()
+      .name("alluxio_ufs_access_latency")
+      .help("latency of reading or writing data from or to the ufs")
+      .unit(Unit.SECONDS)
+      .labelNames("method")
+      .build();
+
+  public static final Counter USER_DATA_ACCESS = Counter.builder()
+      .name("alluxio_user_data_access")
+      .help("amount of the data access per user")
+      .unit(Unit.BYTES)
+      .labelNames("method", "user")
+      .build();
+
+  // Children of the labeled metrics, bound once so that the hot paths do not resolve them from
+  // label values on every call.
+  public static final DistributionDataPoint DATA_ACCESS_READ = DATA_ACCESS.labelValues("read");
+  public static final DistributionDataPoint DATA_ACCESS_WRITE = DATA_ACCESS.labelValues("write");
+  public static final DistributionDataPoint DATA_ACCESS_READ_LATENCY =
+      DATA_ACCESS_LATENCY.labelValues("read");
+  public static final DistributionDataPoint DATA_ACCESS_WRITE_LATENCY =
+      DATA_ACCESS_LATENCY.labelValues("write");
+  public static final DistributionDataPoint PAGE_CACHE_GET_LATENCY =
+      PAGE_CACHE_LATENCY.labelValues("get");
+  public static final DistributionDataPoint PAGE_CACHE_PUT_LATENCY =
+      PAGE_CACHE_LATENCY.labelValues("put");
+  public static final DistributionDataPoint UFS_READ_LATENCY =
+      UFS_ACCESS_LATENCY.labelValues("read");
+  public static final CounterDataPoint UFS_DATA_READ = UFS_DATA_ACCESS.labelValues("read");
+  public static final CounterDataPoint UFS_DATA_WRITE = UFS_DATA_ACCESS.labelValues("write");
+  public static final BoundedLabelChildren<CounterDataPoint> USER_DATA_READ =
+      new BoundedLabelChildren<>(
+          Configuration.getInt(PropertyKey.METRICS_LABEL_CARDINALITY_LIMIT),
+          user -> USER_DATA_ACCESS.labelValues("read", user));
+
+  public static final Gauge NETTY_READ_PACKET_SIZE = Gauge.builder()
+      .name("alluxio_netty_read_packet_size")
+      .help("packet size chosen for the adaptive netty reads from a worker")
+      .unit(Unit.BYTES)
+      .labelNames("worker")
+      .build();
+
+  public static final Gauge NETTY_READ_PACKETS_IN_FLIGHT = Gauge.builder()
+      .name("alluxio_netty_read_packets_in_flight")
+      .help("number of packets in flight chosen for the adaptive netty reads from a worker")
+      .labelNames("worker")
+      .build();
+
+  public static final BoundedLabelChildren<GaugeDataPoint> NETTY_READ_PACKET_SIZE_BY_WORKER =
+      new BoundedLabelChildren<>(
+          Configuration.getInt(PropertyKey.METRICS_LABEL_CARDINALITY_LIMIT),
+          worker -> NETTY_READ_PACKET_SIZE.labelValues(worker));
+  public static final BoundedLabelChildren<GaugeDataPoint>
+      NETTY_READ_PACKETS_IN_FLIGHT_BY_WORKER = new BoundedLabelChildren<>(
+          Configuration.getInt(PropertyKey.METRICS_LABEL_CARDINALITY_LIMIT),
+          worker -> NETTY_READ_PACKETS_IN_FLIGHT.labelValues(worker));
+
+  public static final Histogram READ_SCHEDULER_QUEUE_TIME = Histogram.builder()
+      .name("alluxio_read_scheduler_queue_time")
+      .help("time the read requests of a tenant wait to be admitted by the worker")
+      .unit(Unit.SECONDS)
+      .labelNames("tenant")
+      .build();
+
+  public static final Counter READ_SCHEDULER_DATA = Counter.builder()
+      .name("alluxio_read_scheduler_data")
+      .help("amount of the data read by a tenant from the worker when the reads are scheduled")
+      .unit(Unit.BYTES)
+      .labelNames("tenant")
+      .build();
+
+  public static final Counter READ_SCHEDULER_REJECTED = Counter.builder()
+      .name("alluxio_read_scheduler_rejected")
+      .help("counter of the read requests of a tenant rejected by the worker as overloaded")
+      .labelNames("tenant")
+      .build();
+
+  public static final BoundedLabelChildren<DistributionDataPoint>
+      READ_SCHEDULER_QUEUE_TIME_BY_TENANT = new BoundedLabelChildren<>(
+          Configuration.getInt(PropertyKey.METRICS_LABEL_CARDINALITY_LIMIT),
+          tenant -> READ_SCHEDULER_QUEUE_TIME.labelValues(tenant));
+  public static final BoundedLabelChildren<CounterDataPoint> READ_SCHEDULER_DATA_BY_TENANT =
+      new BoundedLabelChildren<>(
+          Configuration.getInt(PropertyKey.METRICS_LABEL_CARDINALITY_LIMIT),
+          tenant -> READ_SCHEDULER_DATA.labelValues(tenant));
+  public static final BoundedLabelChildren<CounterDataPoint> READ_SCHEDULER_REJECTED_BY_TENANT =
+      new BoundedLabelChildren<>(
+          Configuration.getInt(PropertyKey.METRICS_LABEL_CARDINALITY_LIMIT),
+          tenant -> READ_SCHEDULER_REJECTED.labelValues(tenant));
+
+  /** The name of the exemplar label carrying the id of the request. */
+  public static final String EXEMPLAR_REQUEST_ID = "request_id";
+  private static final double NANOS_PER_SECOND = 1e9;
+
   public static final Counter CACHED_DATA_READ = Counter.builder()
       .name("alluxio_cached_data_read")
       .help("amount of the read cached data")
       .unit(Unit.BYTES)
       .build();
 
+  public static final Counter CACHED_TIER_DATA_READ = Counter.builder()
+      .name("alluxio_cached_tier_data_read")
+      .help("amount of the read cached data per tier of the cache")
+      .unit(Unit.BYTES)
+      .labelNames("tier")
+      .build();
+
   public static final Counter EXTERNAL_DATA_READ = Counter.builder()
       .name("alluxio_external_data_read")
       .help("amount of the read data when cache missed on client")
       .unit(Unit.BYTES)
       .build();
 
+  public static final Counter PEER_DATA_READ = Counter.builder()
+      .name("alluxio_peer_data_read")
+      .help("amount of the data missing from the cache read from the caches of other workers")
+      .unit(Unit.BYTES)
+      .build();
+
   public static final Counter CACHED_EVICTED_DATA = Counter.builder()
       .name("alluxio_cached_evicted_data")
       .help("amount of the evicted data")
@@ -121,16 +248,57 @@ public final class MultiDimensionalMetricsSystem {
     }
     if (CommonUtils.PROCESS_TYPE.get() == CommonUtils.ProcessType.CLIENT) {
       PrometheusRegistry.defaultRegistry.register(EXTERNAL_DATA_READ);
+      PrometheusRegistry.defaultRegistry.register(NETTY_READ_PACKET_SIZE);
+      PrometheusRegistry.defaultRegistry.register(NETTY_READ_PACKETS_IN_FLIGHT);
+    }
+    if (CommonUtils.PROCESS_TYPE.get() == CommonUtils.ProcessType.WORKER) {
+      PrometheusRegistry.defaultRegistry.register(READ_SCHEDULER_QUEUE_TIME);
+      PrometheusRegistry.defaultRegistry.register(READ_SCHEDULER_DATA);
+      PrometheusRegistry.defaultRegistry.register(READ_SCHEDULER_REJECTED);
+      PrometheusRegistry.defaultRegistry.register(PEER_DATA_READ);
     }
     PrometheusRegistry.defaultRegistry.register(DATA_ACCESS);
+    PrometheusRegistry.defaultRegistry.register(DATA_ACCESS_LATENCY);
+    PrometheusRegistry.defaultRegistry.register(PAGE_CACHE_LATENCY);
+    PrometheusRegistry.defaultRegistry.register(UFS_ACCESS_LATENCY);
+    PrometheusRegistry.defaultRegistry.register(USER_DATA_ACCESS);
     PrometheusRegistry.defaultRegistry.register(UFS_DATA_ACCESS);
     PrometheusRegistry.defaultRegistry.register(META_OPERATION);
     PrometheusRegistry.defaultRegistry.register(CACHED_DATA_READ);
+    PrometheusRegistry.defaultRegistry.register(CACHED_TIER_DATA_READ);
     PrometheusRegistry.defaultRegistry.register(CACHED_EVICTED_DATA);
     PrometheusRegistry.defaultRegistry.register(CACHED_STORAGE);
     PrometheusRegistry.defaultRegistry.register(CACHED_CAPACITY);
   }
 
+  /**
+   * Records a latency into a histogram child in seconds.
+   *
+   * @param child the histogram child
+   * @param startNanos the start time of the operation from {@link System#nanoTime()}
+   */
+  public static void observeLatency(DistributionDataPoint child, long startNanos) {
+    child.observe((System.nanoTime() - startNanos) / NANOS_PER_SECOND);
+  }
+
+  /**
+   * Records a latency into a histogram child in seconds, offering the request id as an exemplar
+   * so that a slow bucket can be traced back to a request.
+   *
+   * @param child the histogram child
+   * @param startNanos the start time of the operation from {@link System#nanoTime()}
+   * @param requestId the id of the request, or null if unknown
+   */
+  public static void observeLatency(DistributionDataPoint child, long startNanos,
+      @Nullable String requestId) {
+    double seconds = (System.nanoTime() - startNanos) / NANOS_PER_SECOND;
+    if (requestId == null) {
+      child.observe(seconds);
+    } else {
+      child.observeWithExemplar(seconds, Labels.of(EXEMPLAR_REQUEST_ID, requestId));
+    }
+  }
+
   /**
    * Set the supplier for CACHE_STORAGE metrics.
    *
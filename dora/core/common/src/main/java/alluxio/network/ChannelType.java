@@ -14,7 +14,8 @@ package alluxio.network;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * What type of netty channel to use. {@link #NIO} and {@link #EPOLL} are supported currently.
+ * What type of netty channel to use. {@link #NIO}, {@link #EPOLL} and {@link #IO_URING} are
+ * supported currently.
  */
 @ThreadSafe
 public enum ChannelType {
@@ -23,5 +24,11 @@ public enum ChannelType {
    * Use Linux's epoll for channel API. This type of channel only works on Linux.
    */
   EPOLL,
+  /**
+   * Use Linux's io_uring for channel API. This type of channel only works on Linux 5.9 or later,
+   * and requires the netty io_uring transport to be on the classpath. Otherwise, it falls back to
+   * {@link #EPOLL}.
+   */
+  IO_URING,
   ;
 }
@@ -40,6 +40,20 @@ public final class DataFileChannel implements DataBuffer {
     mLength = length;
   }
 
+  /**
+   * @return the file
+   */
+  public File getFile() {
+    return mFile;
+  }
+
+  /**
+   * @return the offset of the data in the file
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
   @Override
   public Object getNettyOutput() {
     return new DefaultFileRegion(mFile, mOffset, mLength);
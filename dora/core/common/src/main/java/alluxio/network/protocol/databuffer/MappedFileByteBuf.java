@@ -0,0 +1,40 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol.databuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only region of a file mapped into memory by a {@link MappedFileCache}, wrapped in Netty
+ * ByteBuf. Writing the buffer to a channel copies the data from the page cache of the file
+ * directly, without reading it into a buffer first. The mapping of the file is released when
+ * the buffer is released.
+ */
+public class MappedFileByteBuf extends RefCountedNioByteBuf {
+  private final Runnable mOnRelease;
+
+  /**
+   * @param region the region of the mapping
+   * @param onRelease releases the mapping once the buffer is released
+   */
+  MappedFileByteBuf(ByteBuffer region, Runnable onRelease) {
+    super(region, region.capacity(), region.capacity());
+    mOnRelease = onRelease;
+    // the buffer is readable as a whole
+    writerIndex(region.capacity());
+  }
+
+  @Override
+  protected void deallocate() {
+    mOnRelease.run();
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol.databuffer;
+
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of the read-only mappings of whole files into memory, so that the regions of a file
+ * read repeatedly, such as the pages cached by a worker, are not mapped, loaded and unmapped on
+ * every read. A file is mapped and loaded when a region of it is first read, and unmapped once
+ * it is evicted from the cache and the buffers over its regions are released.
+ *
+ * A file replaced by another one at the same path is mapped again. The file must not be
+ * truncated while it is mapped, as accessing the truncated part fails. A mapping keeps the disk
+ * space of a deleted file in use until it is unmapped, so the mappings expire once the file has
+ * not been read for the expiration time.
+ */
+@ThreadSafe
+public class MappedFileCache implements Closeable {
+  /** The default maximum number of files mapped. */
+  public static final int DEFAULT_MAX_FILES = 1024;
+  /** The default time after which the mapping of a file not read is released. */
+  public static final long DEFAULT_EXPIRATION_MS = 10_000;
+
+  /** The mappings by the path of the file. */
+  private final Cache<String, Mapping> mMappings;
+
+  /**
+   * @param maxFiles the maximum number of files mapped
+   * @param expirationMs the time after which the mapping of a file not read is released
+   */
+  public MappedFileCache(int maxFiles, long expirationMs) {
+    mMappings = CacheBuilder.newBuilder()
+        .maximumSize(maxFiles)
+        .expireAfterAccess(expirationMs, TimeUnit.MILLISECONDS)
+        .removalListener((RemovalNotification<String, Mapping> removal) ->
+            removal.getValue().release())
+        .build();
+  }
+
+  /**
+   * Gets a buffer over a region of a file mapped into memory. The region is cut short at the
+   * end of the file. The buffer's reader index is 0 and its writer index is its length.
+   *
+   * @param file the file
+   * @param offset the offset of the region in the file
+   * @param length the length of the region
+   * @return the buffer over the mapped region
+   */
+  public ByteBuf map(File file, long offset, int length) throws IOException {
+    String path = file.getAbsolutePath();
+    BasicFileAttributes attributes = Files.readAttributes(file.toPath(),
+        BasicFileAttributes.class);
+    int mappedLength = (int) Math.max(0, Math.min(length, attributes.size() - offset));
+    if (mappedLength == 0) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+    while (true) {
+      Mapping mapping = mMappings.getIfPresent(path);
+      if (mapping == null || !mapping.isOf(attributes)) {
+        Mapping created = Mapping.create(file, attributes);
+        if (mapping == null) {
+          if (mMappings.asMap().putIfAbsent(path, created) != null) {
+            created.release();
+            continue;
+          }
+        } else if (!mMappings.asMap().replace(path, mapping, created)) {
+          // the replaced mapping is released by the removal listener
+          created.release();
+          continue;
+        }
+        mapping = created;
+      }
+      if (!mapping.retain()) {
+        // unmapped since it was looked up
+        continue;
+      }
+      ByteBuffer region = mapping.mBuffer.duplicate();
+      region.position((int) offset);
+      region.limit((int) offset + mappedLength);
+      return new MappedFileByteBuf(region.slice(), mapping::release);
+    }
+  }
+
+  /**
+   * @return the number of files mapped
+   */
+  @VisibleForTesting
+  public long size() {
+    mMappings.cleanUp();
+    return mMappings.size();
+  }
+
+  @Override
+  public void close() {
+    mMappings.invalidateAll();
+  }
+
+  /**
+   * The mapping of a whole file, unmapped once the cache and every buffer over it released it.
+   */
+  private static final class Mapping {
+    private final MappedByteBuffer mBuffer;
+    /** Identifies the file mapped, along with its size and modification time. */
+    private final Object mFileKey;
+    private final long mSize;
+    private final long mLastModifiedMs;
+    /** The references of the cache and of the buffers over the mapping. */
+    private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+    private Mapping(MappedByteBuffer buffer, BasicFileAttributes attributes) {
+      mBuffer = buffer;
+      mFileKey = attributes.fileKey();
+      mSize = attributes.size();
+      mLastModifiedMs = attributes.lastModifiedTime().toMillis();
+    }
+
+    /**
+     * Maps a file into memory, and loads it, so that the file is read by the calling thread
+     * rather than by the thread which writes the buffers over it.
+     */
+    static Mapping create(File file, BasicFileAttributes attributes) throws IOException {
+      try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+           FileChannel channel = raf.getChannel()) {
+        // the mapping stays valid after the channel is closed
+        MappedByteBuffer buffer =
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, attributes.size());
+        buffer.load();
+        return new Mapping(buffer, attributes);
+      }
+    }
+
+    boolean isOf(BasicFileAttributes attributes) {
+      return Objects.equals(mFileKey, attributes.fileKey()) && mSize == attributes.size()
+          && mLastModifiedMs == attributes.lastModifiedTime().toMillis();
+    }
+
+    /**
+     * @return whether the mapping was retained, otherwise it is unmapped
+     */
+    boolean retain() {
+      while (true) {
+        int refCount = mRefCount.get();
+        if (refCount == 0) {
+          return false;
+        }
+        if (mRefCount.compareAndSet(refCount, refCount + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void release() {
+      if (mRefCount.decrementAndGet() == 0) {
+        BufferUtils.cleanDirectBuffer(mBuffer);
+      }
+    }
+  }
+}
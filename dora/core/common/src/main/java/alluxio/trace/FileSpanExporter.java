@@ -0,0 +1,85 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.CommonUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends spans as json lines to {@code trace-<process type>.log} under
+ * {@link PropertyKey#TRACE_EXPORT_DIR}, one line per span.
+ */
+public class FileSpanExporter implements SpanExporter {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final Path mDir;
+  private final Path mPath;
+  private BufferedWriter mWriter;
+
+  /**
+   * @param conf the configuration
+   */
+  public FileSpanExporter(AlluxioConfiguration conf) {
+    mDir = Paths.get(conf.getString(PropertyKey.TRACE_EXPORT_DIR));
+    mPath = mDir.resolve("trace-" + CommonUtils.PROCESS_TYPE.get().name().toLowerCase() + ".log");
+  }
+
+  @Override
+  public void export(List<Span> spans) throws IOException {
+    if (mWriter == null) {
+      Files.createDirectories(mDir);
+      mWriter = Files.newBufferedWriter(mPath, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    for (Span span : spans) {
+      mWriter.write(MAPPER.writeValueAsString(toMap(span)));
+      mWriter.newLine();
+    }
+    mWriter.flush();
+  }
+
+  private static Map<String, Object> toMap(Span span) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("traceId", Long.toHexString(span.getTraceId()));
+    map.put("spanId", Long.toHexString(span.getSpanId()));
+    map.put("parentSpanId", Long.toHexString(span.getParentSpanId()));
+    map.put("name", span.getName());
+    map.put("startTimeMs", span.getStartTimeMs());
+    map.put("durationNanos", span.getDurationNanos());
+    if (!span.getAttributes().isEmpty()) {
+      map.put("attributes", span.getAttributes());
+    }
+    return map;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mWriter != null) {
+      mWriter.close();
+      mWriter = null;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import com.google.common.base.MoreObjects;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A timed operation within a trace. A span is started by {@link Tracer#startSpan(String)} and
+ * becomes the parent of the spans started in the same thread until it is closed.
+ *
+ * A span must be closed exactly once, in the thread that started it.
+ */
+@NotThreadSafe
+public class Span implements Closeable {
+  /** The span returned when tracing is disabled. */
+  static final Span NOOP = new Span() {
+    @Override
+    public Span setAttribute(String key, Object value) {
+      return this;
+    }
+
+    @Override
+    public void close() {}
+  };
+
+  @Nullable
+  private final Tracer mTracer;
+  @Nullable
+  private final Span mLocalParent;
+  private final long mTraceId;
+  private final long mSpanId;
+  private final long mParentSpanId;
+  private final boolean mSampled;
+  private final String mName;
+  private final long mStartTimeMs;
+  private final long mStartNanos;
+  private long mDurationNanos = -1;
+  @Nullable
+  private Map<String, String> mAttributes;
+
+  private Span() {
+    mTracer = null;
+    mLocalParent = null;
+    mTraceId = 0;
+    mSpanId = 0;
+    mParentSpanId = 0;
+    mSampled = false;
+    mName = "noop";
+    mStartTimeMs = 0;
+    mStartNanos = 0;
+  }
+
+  Span(Tracer tracer, String name, @Nullable Span localParent, long traceId, long spanId,
+      long parentSpanId, boolean sampled) {
+    mTracer = tracer;
+    mName = name;
+    mLocalParent = localParent;
+    mTraceId = traceId;
+    mSpanId = spanId;
+    mParentSpanId = parentSpanId;
+    mSampled = sampled;
+    mStartTimeMs = System.currentTimeMillis();
+    mStartNanos = System.nanoTime();
+  }
+
+  /**
+   * Attaches an attribute to the span.
+   *
+   * @param key the key of the attribute
+   * @param value the value of the attribute
+   * @return this span
+   */
+  public Span setAttribute(String key, Object value) {
+    if (mAttributes == null) {
+      mAttributes = new LinkedHashMap<>(4);
+    }
+    mAttributes.put(key, String.valueOf(value));
+    return this;
+  }
+
+  /**
+   * @return the context to propagate to other processes, or null if tracing is disabled
+   */
+  @Nullable
+  public TraceContext getContext() {
+    if (mTracer == null) {
+      return null;
+    }
+    return new TraceContext(mTraceId, mSpanId, mSampled);
+  }
+
+  /**
+   * Ends the span.
+   */
+  @Override
+  public void close() {
+    if (mDurationNanos >= 0) {
+      return;
+    }
+    mDurationNanos = System.nanoTime() - mStartNanos;
+    mTracer.finish(this);
+  }
+
+  @Nullable
+  Span getLocalParent() {
+    return mLocalParent;
+  }
+
+  /**
+   * @return the id of the trace
+   */
+  public long getTraceId() {
+    return mTraceId;
+  }
+
+  /**
+   * @return the id of the span
+   */
+  public long getSpanId() {
+    return mSpanId;
+  }
+
+  /**
+   * @return the id of the parent span, or 0 if this is the root of the trace
+   */
+  public long getParentSpanId() {
+    return mParentSpanId;
+  }
+
+  /**
+   * @return whether the trace is sampled from its start
+   */
+  public boolean isSampled() {
+    return mSampled;
+  }
+
+  /**
+   * @return the name of the span
+   */
+  public String getName() {
+    return mName;
+  }
+
+  /**
+   * @return the wall clock time when the span started, in milliseconds
+   */
+  public long getStartTimeMs() {
+    return mStartTimeMs;
+  }
+
+  /**
+   * @return the duration of the span in nanoseconds, or -1 if the span is not ended
+   */
+  public long getDurationNanos() {
+    return mDurationNanos;
+  }
+
+  /**
+   * @return the attributes of the span
+   */
+  public Map<String, String> getAttributes() {
+    return mAttributes == null ? Collections.emptyMap() : mAttributes;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("name", mName)
+        .add("traceId", Long.toHexString(mTraceId))
+        .add("spanId", Long.toHexString(mSpanId))
+        .add("parentSpanId", Long.toHexString(mParentSpanId))
+        .add("durationNanos", mDurationNanos)
+        .add("attributes", mAttributes)
+        .toString();
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Exports the spans of sampled traces out of the process. Implementations are created from
+ * {@link alluxio.conf.PropertyKey#TRACE_EXPORTER_CLASS} and must have a constructor taking an
+ * {@link alluxio.conf.AlluxioConfiguration}.
+ *
+ * Exports are called from a single background thread.
+ */
+public interface SpanExporter extends Closeable {
+  /**
+   * @param spans the spans of one trace recorded in this process
+   */
+  void export(List<Span> spans) throws IOException;
+}
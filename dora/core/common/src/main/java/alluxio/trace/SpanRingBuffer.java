@@ -0,0 +1,74 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A fixed size buffer of the most recently ended spans. Adding a span overwrites the oldest one
+ * without locking, so recording spans costs the same no matter how many traces are exported.
+ */
+@ThreadSafe
+public final class SpanRingBuffer {
+  private final AtomicReferenceArray<Span> mSpans;
+  private final AtomicLong mCursor = new AtomicLong();
+  private final int mMask;
+
+  /**
+   * @param capacity the minimum number of spans to keep, rounded up to a power of two
+   */
+  public SpanRingBuffer(int capacity) {
+    Preconditions.checkArgument(capacity > 0 && capacity <= (1 << 30),
+        "capacity must be within (0, 2^30]: %s", capacity);
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    mSpans = new AtomicReferenceArray<>(size);
+    mMask = size - 1;
+  }
+
+  /**
+   * @param span the ended span to add
+   */
+  public void add(Span span) {
+    mSpans.set((int) (mCursor.getAndIncrement() & mMask), span);
+  }
+
+  /**
+   * @param traceId the id of the trace
+   * @return the spans of the trace which are still in the buffer
+   */
+  public List<Span> collect(long traceId) {
+    List<Span> spans = new ArrayList<>();
+    for (int i = 0; i < mSpans.length(); i++) {
+      Span span = mSpans.get(i);
+      if (span != null && span.getTraceId() == traceId) {
+        spans.add(span);
+      }
+    }
+    return spans;
+  }
+
+  /**
+   * @return the capacity of the buffer
+   */
+  public int capacity() {
+    return mSpans.length();
+  }
+}
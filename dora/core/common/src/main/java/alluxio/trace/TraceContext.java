@@ -0,0 +1,104 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The part of a span which is propagated to other processes, so that the spans recorded there
+ * can be attached to the same trace.
+ *
+ * The context is encoded as {@code traceId-spanId-sampled}, with the ids in hex and the
+ * sampled flag being either 0 or 1.
+ */
+@ThreadSafe
+public final class TraceContext {
+  private final long mTraceId;
+  private final long mSpanId;
+  private final boolean mSampled;
+
+  /**
+   * @param traceId the id of the trace
+   * @param spanId the id of the span
+   * @param sampled whether the trace is sampled from its start and must be exported
+   */
+  public TraceContext(long traceId, long spanId, boolean sampled) {
+    mTraceId = traceId;
+    mSpanId = spanId;
+    mSampled = sampled;
+  }
+
+  /**
+   * @return the id of the trace
+   */
+  public long getTraceId() {
+    return mTraceId;
+  }
+
+  /**
+   * @return the id of the span
+   */
+  public long getSpanId() {
+    return mSpanId;
+  }
+
+  /**
+   * @return whether the trace is sampled from its start and must be exported
+   */
+  public boolean isSampled() {
+    return mSampled;
+  }
+
+  /**
+   * @return the encoded context
+   */
+  public String encode() {
+    return Long.toHexString(mTraceId) + '-' + Long.toHexString(mSpanId) + '-'
+        + (mSampled ? '1' : '0');
+  }
+
+  /**
+   * @param encoded the encoded context
+   * @return the decoded context, or null if the input is empty or malformed
+   */
+  @Nullable
+  public static TraceContext decode(@Nullable String encoded) {
+    if (encoded == null || encoded.isEmpty()) {
+      return null;
+    }
+    int first = encoded.indexOf('-');
+    int second = encoded.indexOf('-', first + 1);
+    if (first <= 0 || second <= first + 1 || second != encoded.length() - 2) {
+      return null;
+    }
+    try {
+      return new TraceContext(
+          Long.parseUnsignedLong(encoded.substring(0, first), 16),
+          Long.parseUnsignedLong(encoded.substring(first + 1, second), 16),
+          encoded.charAt(second + 1) == '1');
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("traceId", Long.toHexString(mTraceId))
+        .add("spanId", Long.toHexString(mSpanId))
+        .add("sampled", mSampled)
+        .toString();
+  }
+}
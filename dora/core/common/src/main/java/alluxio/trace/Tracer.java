@@ -0,0 +1,210 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.CommonUtils;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Records spans of the requests served by this process.
+ *
+ * Every span is kept in a {@link SpanRingBuffer} when it ends, which is cheap enough to do for
+ * all requests. When the outermost span of a trace in this process ends, the trace is exported
+ * if it was sampled when it started, or if the span took longer than
+ * {@link PropertyKey#TRACE_SLOW_THRESHOLD}. This tail-based decision means slow requests are
+ * exported even with a sample ratio of zero, while fast requests cost no more than the spans
+ * themselves. Exports run on a background thread and are dropped if it falls behind.
+ */
+@ThreadSafe
+public final class Tracer {
+  private static final Logger LOG = LoggerFactory.getLogger(Tracer.class);
+  private static final int EXPORT_QUEUE_SIZE = 1024;
+
+  @Nullable
+  private static volatile Tracer sInstance;
+
+  private final boolean mEnabled;
+  private final double mSampleRatio;
+  private final long mSlowThresholdNanos;
+  private final ThreadLocal<Span> mCurrent = new ThreadLocal<>();
+  @Nullable
+  private final SpanRingBuffer mSpans;
+  @Nullable
+  private final SpanExporter mExporter;
+  @Nullable
+  private final ThreadPoolExecutor mExportExecutor;
+
+  /**
+   * @return the tracer of this process
+   */
+  public static Tracer get() {
+    if (sInstance == null) {
+      synchronized (Tracer.class) {
+        if (sInstance == null) {
+          AlluxioConfiguration conf = Configuration.global();
+          sInstance = new Tracer(conf, conf.getBoolean(PropertyKey.TRACE_ENABLED)
+              ? CommonUtils.createNewClassInstance(
+                  conf.getClass(PropertyKey.TRACE_EXPORTER_CLASS),
+                  new Class[] {AlluxioConfiguration.class}, new Object[] {conf})
+              : null);
+        }
+      }
+    }
+    return sInstance;
+  }
+
+  /**
+   * Starts a span in the current thread. Its parent is the innermost open span in the thread,
+   * if any.
+   *
+   * @param name the name of the span
+   * @return the span, to be closed when the operation ends
+   */
+  public static Span startSpan(String name) {
+    return get().start(name, null);
+  }
+
+  /**
+   * Starts a span in the current thread as the child of a span in another process.
+   *
+   * @param name the name of the span
+   * @param remoteParent the context received from the caller, or null if the caller is not traced
+   * @return the span, to be closed when the operation ends
+   */
+  public static Span startSpan(String name, @Nullable TraceContext remoteParent) {
+    return get().start(name, remoteParent);
+  }
+
+  /**
+   * @return the encoded context of the innermost open span in the current thread, or null
+   */
+  @Nullable
+  public static String currentContext() {
+    Tracer tracer = get();
+    if (!tracer.mEnabled) {
+      return null;
+    }
+    Span current = tracer.mCurrent.get();
+    return current == null ? null : current.getContext().encode();
+  }
+
+  /**
+   * @param conf the configuration
+   * @param exporter the exporter of the sampled traces, or null to disable tracing
+   */
+  @VisibleForTesting
+  Tracer(AlluxioConfiguration conf, @Nullable SpanExporter exporter) {
+    mEnabled = conf.getBoolean(PropertyKey.TRACE_ENABLED) && exporter != null;
+    mSampleRatio = conf.getDouble(PropertyKey.TRACE_SAMPLE_RATIO);
+    mSlowThresholdNanos =
+        TimeUnit.MILLISECONDS.toNanos(conf.getMs(PropertyKey.TRACE_SLOW_THRESHOLD));
+    if (mEnabled) {
+      mSpans = new SpanRingBuffer(conf.getInt(PropertyKey.TRACE_RING_BUFFER_SIZE));
+      mExporter = exporter;
+      mExportExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(EXPORT_QUEUE_SIZE),
+          ThreadFactoryUtils.build("trace-exporter-%d", true),
+          new ThreadPoolExecutor.DiscardPolicy());
+    } else {
+      mSpans = null;
+      mExporter = null;
+      mExportExecutor = null;
+    }
+  }
+
+  @VisibleForTesting
+  Span start(String name, @Nullable TraceContext remoteParent) {
+    if (!mEnabled) {
+      return Span.NOOP;
+    }
+    long spanId = nextId();
+    Span localParent = mCurrent.get();
+    Span span;
+    if (localParent != null) {
+      span = new Span(this, name, localParent, localParent.getTraceId(), spanId,
+          localParent.getSpanId(), localParent.isSampled());
+    } else if (remoteParent != null) {
+      span = new Span(this, name, null, remoteParent.getTraceId(), spanId,
+          remoteParent.getSpanId(), remoteParent.isSampled());
+    } else {
+      boolean sampled = mSampleRatio > 0
+          && ThreadLocalRandom.current().nextDouble() < mSampleRatio;
+      span = new Span(this, name, null, nextId(), spanId, 0, sampled);
+    }
+    mCurrent.set(span);
+    return span;
+  }
+
+  void finish(Span span) {
+    if (mCurrent.get() == span) {
+      if (span.getLocalParent() == null) {
+        mCurrent.remove();
+      } else {
+        mCurrent.set(span.getLocalParent());
+      }
+    }
+    mSpans.add(span);
+    if (span.getLocalParent() == null
+        && (span.isSampled() || span.getDurationNanos() >= mSlowThresholdNanos)) {
+      long traceId = span.getTraceId();
+      mExportExecutor.execute(() -> export(traceId));
+    }
+  }
+
+  private void export(long traceId) {
+    List<Span> spans = mSpans.collect(traceId);
+    if (spans.isEmpty()) {
+      return;
+    }
+    try {
+      mExporter.export(spans);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to export trace {}: {}", Long.toHexString(traceId), e.toString());
+    }
+  }
+
+  /**
+   * Waits for the pending exports to finish and closes the exporter.
+   */
+  @VisibleForTesting
+  void close() throws IOException, InterruptedException {
+    if (mExportExecutor != null) {
+      mExportExecutor.shutdown();
+      mExportExecutor.awaitTermination(10, TimeUnit.SECONDS);
+      mExporter.close();
+    }
+  }
+
+  private static long nextId() {
+    long id;
+    do {
+      id = ThreadLocalRandom.current().nextLong();
+    } while (id == 0);
+    return id;
+  }
+}
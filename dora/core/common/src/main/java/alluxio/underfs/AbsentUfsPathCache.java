@@ -0,0 +1,124 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+
+import java.time.Duration;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded cache of the full ufs paths which were found not to exist, so that repeated lookups
+ * of missing paths do not each wait for the UFS to answer that the path is not found.
+ *
+ * A path is only absent if it was found to be absent itself, not if one of its ancestors was.
+ * Each worker has a cache of its own, and the paths under an absent directory are created
+ * through the workers owning them, which do not invalidate the caches of the other workers.
+ *
+ * Entries expire after a TTL, which bounds how long a path created directly in the UFS, or
+ * created as the parent of a path created through another cache, is considered absent. A path
+ * created through the owner of the cache must be {@link #invalidate invalidated}, which also
+ * invalidates its ancestors, as they may have been created along with it.
+ */
+@ThreadSafe
+public final class AbsentUfsPathCache {
+  private static final String SCHEME_SEPARATOR = "://";
+
+  private final boolean mEnabled;
+  /** The absent paths, with the time in nanoseconds when they were found absent. */
+  private final Cache<String, Long> mCache;
+
+  /**
+   * @param maxSize the maximum number of paths in the cache, or 0 to cache nothing
+   * @param ttl the time after which a path is no longer considered absent
+   */
+  public AbsentUfsPathCache(long maxSize, Duration ttl) {
+    mEnabled = maxSize > 0;
+    mCache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .build();
+  }
+
+  /**
+   * Records that a path was just found not to exist.
+   *
+   * @param path the full ufs path
+   */
+  public void add(String path) {
+    if (!mEnabled) {
+      return;
+    }
+    mCache.put(path, System.nanoTime());
+  }
+
+  /**
+   * @param path the full ufs path
+   * @param syncIntervalMs the maximum age of the absence to accept in milliseconds, 0 to accept
+   *                       none, or a negative value to accept any which has not expired
+   * @return whether the path is known to be absent
+   */
+  public boolean isAbsent(String path, long syncIntervalMs) {
+    if (syncIntervalMs == 0 || mCache.estimatedSize() == 0) {
+      return false;
+    }
+    Long absentSince = mCache.getIfPresent(path);
+    return absentSince != null && (syncIntervalMs < 0
+        || System.nanoTime() - absentSince <= syncIntervalMs * Constants.MS_NANO);
+  }
+
+  /**
+   * Invalidates the absence of a path and its ancestors, when the path is created.
+   *
+   * @param path the full ufs path
+   */
+  public void invalidate(String path) {
+    int rootEnd = getRootEnd(path);
+    String current = path;
+    while (true) {
+      mCache.invalidate(current);
+      int separator = current.lastIndexOf(AlluxioURI.SEPARATOR, current.length() - 2);
+      if (separator < rootEnd) {
+        return;
+      }
+      current = current.substring(0, separator);
+    }
+  }
+
+  /**
+   * @return the approximate number of paths in the cache
+   */
+  @VisibleForTesting
+  public long size() {
+    mCache.cleanUp();
+    return mCache.estimatedSize();
+  }
+
+  /**
+   * @param path a full ufs path
+   * @return the index of the first separator after the scheme and authority of the path, before
+   *         which no ancestor is invalidated
+   */
+  private static int getRootEnd(String path) {
+    int scheme = path.indexOf(SCHEME_SEPARATOR);
+    if (scheme < 0) {
+      return 1;
+    }
+    int authorityEnd = path.indexOf(AlluxioURI.SEPARATOR, scheme + SCHEME_SEPARATOR.length());
+    return authorityEnd < 0 ? path.length() : authorityEnd + 1;
+  }
+}
@@ -13,6 +13,8 @@ package alluxio.underfs;
 
 import alluxio.PositionReader;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.trace.Span;
+import alluxio.trace.Tracer;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -55,7 +57,11 @@ public abstract class ObjectPositionReader implements PositionReader {
       return -1;
     }
     int bytesToRead = (int) Math.min(mFileLength - position, length);
-    try (InputStream in = openObjectInputStream(position, bytesToRead)) {
+    try (Span span = Tracer.startSpan("ufs.read")
+        .setAttribute("bucket", mBucketName)
+        .setAttribute("path", mPath)
+        .setAttribute("length", bytesToRead);
+        InputStream in = openObjectInputStream(position, bytesToRead)) {
       int totalRead = 0;
       int currentRead = 0;
       while (totalRead < bytesToRead) {
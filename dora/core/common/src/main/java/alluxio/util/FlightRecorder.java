@@ -0,0 +1,192 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.util;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Runs an always-on JDK Flight Recorder recording in this process, keeping a rolling window of
+ * the recent events on local disk.
+ *
+ * The window is dumped to {@link PropertyKey#JVM_FLIGHT_RECORDER_DUMP_DIR} when an operation
+ * reported through {@link #reportLatency(long)} is slower than
+ * {@link PropertyKey#JVM_FLIGHT_RECORDER_LATENCY_SLO}, at most once per
+ * {@link PropertyKey#JVM_FLIGHT_RECORDER_DUMP_MIN_INTERVAL}. The window can also be copied out
+ * at any time through {@link #copyTo(Path)}.
+ */
+@ThreadSafe
+public final class FlightRecorder implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(FlightRecorder.class);
+  private static final String RECORDING_SUFFIX = ".jfr";
+
+  @Nullable
+  private static volatile FlightRecorder sInstance;
+
+  private final JfrRecording mRecording;
+  private final Path mDumpDir;
+  private final int mMaxDumpFiles;
+  private final long mSloNanos;
+  private final long mMinDumpIntervalMs;
+  private final AtomicLong mLastDumpMs = new AtomicLong(Long.MIN_VALUE / 2);
+  private final ExecutorService mDumpExecutor = Executors.newSingleThreadExecutor(
+      ThreadFactoryUtils.build("flight-recorder-dump-%d", true));
+
+  /**
+   * Starts the flight recorder of this process if it is not started yet.
+   *
+   * @param conf the configuration
+   * @return the flight recorder, or empty if the JVM does not support flight recording
+   */
+  public static synchronized Optional<FlightRecorder> start(AlluxioConfiguration conf) {
+    if (sInstance != null) {
+      return Optional.of(sInstance);
+    }
+    if (!JfrRecording.isAvailable()) {
+      LOG.warn("JDK Flight Recorder is not available in this JVM, flight recording is disabled");
+      return Optional.empty();
+    }
+    try {
+      sInstance = new FlightRecorder(conf);
+      LOG.info("Started flight recording, dumps go to {}", sInstance.mDumpDir);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to start flight recording: {}", e.toString());
+    }
+    return Optional.ofNullable(sInstance);
+  }
+
+  /**
+   * @return the flight recorder of this process, or empty if it is not started
+   */
+  public static Optional<FlightRecorder> get() {
+    return Optional.ofNullable(sInstance);
+  }
+
+  /**
+   * Reports the latency of an operation, dumping the recording if it breaches the SLO. This is
+   * cheap enough to call for every operation on the data path.
+   *
+   * @param latencyNanos the latency of the operation in nanoseconds
+   */
+  public static void reportLatency(long latencyNanos) {
+    FlightRecorder recorder = sInstance;
+    if (recorder != null && latencyNanos >= recorder.mSloNanos) {
+      recorder.onSloBreach(latencyNanos);
+    }
+  }
+
+  @VisibleForTesting
+  FlightRecorder(AlluxioConfiguration conf) throws IOException {
+    mDumpDir = Paths.get(conf.getString(PropertyKey.JVM_FLIGHT_RECORDER_DUMP_DIR));
+    mMaxDumpFiles = conf.getInt(PropertyKey.JVM_FLIGHT_RECORDER_DUMP_MAX_FILES);
+    mSloNanos =
+        TimeUnit.MILLISECONDS.toNanos(conf.getMs(PropertyKey.JVM_FLIGHT_RECORDER_LATENCY_SLO));
+    mMinDumpIntervalMs = conf.getMs(PropertyKey.JVM_FLIGHT_RECORDER_DUMP_MIN_INTERVAL);
+    mRecording = new JfrRecording("alluxio-" + processName(),
+        conf.getList(PropertyKey.JVM_FLIGHT_RECORDER_EVENTS),
+        Duration.ofMillis(conf.getMs(PropertyKey.JVM_FLIGHT_RECORDER_EVENT_THRESHOLD)),
+        Duration.ofMillis(conf.getMs(PropertyKey.JVM_FLIGHT_RECORDER_MAX_AGE)),
+        conf.getBytes(PropertyKey.JVM_FLIGHT_RECORDER_MAX_SIZE));
+  }
+
+  private void onSloBreach(long latencyNanos) {
+    long now = System.currentTimeMillis();
+    long last = mLastDumpMs.get();
+    if (now - last < mMinDumpIntervalMs || !mLastDumpMs.compareAndSet(last, now)) {
+      return;
+    }
+    LOG.info("Operation took {}ms, dumping the flight recording",
+        TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+    mDumpExecutor.execute(() -> {
+      try {
+        dump("slo");
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Failed to dump the flight recording: {}", e.toString());
+      }
+    });
+  }
+
+  /**
+   * Dumps the rolling window to a new file in the dump directory, deleting the oldest dumps
+   * beyond the configured maximum.
+   *
+   * @param reason a short reason which is added to the file name
+   * @return the path of the dumped recording
+   */
+  public synchronized Path dump(String reason) throws IOException {
+    Files.createDirectories(mDumpDir);
+    Path path = mDumpDir.resolve(String.format("%s-%s-%s%s", processName(),
+        new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()), reason, RECORDING_SUFFIX));
+    mRecording.dump(path);
+    LOG.info("Dumped the flight recording to {}", path);
+    try (Stream<Path> files = Files.list(mDumpDir)) {
+      List<Path> dumps = files
+          .filter(p -> p.toString().endsWith(RECORDING_SUFFIX))
+          .sorted(Comparator.comparing(p -> p.toFile().lastModified()))
+          .collect(Collectors.toList());
+      for (int i = 0; i < dumps.size() - mMaxDumpFiles; i++) {
+        Files.deleteIfExists(dumps.get(i));
+      }
+    }
+    return path;
+  }
+
+  /**
+   * Copies the rolling window to a file.
+   *
+   * @param path the path of the file, which is overwritten if it exists
+   */
+  public void copyTo(Path path) throws IOException {
+    mRecording.dump(path);
+  }
+
+  @Override
+  public void close() {
+    clearInstance(this);
+    mDumpExecutor.shutdownNow();
+    mRecording.close();
+  }
+
+  private static synchronized void clearInstance(FlightRecorder recorder) {
+    if (sInstance == recorder) {
+      sInstance = null;
+    }
+  }
+
+  private static String processName() {
+    return CommonUtils.PROCESS_TYPE.get().name().toLowerCase();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A continuous JDK Flight Recorder recording. All references to the {@code jdk.jfr} API are kept
+ * in this class, so that {@link FlightRecorder} can be loaded on JVMs without it.
+ */
+final class JfrRecording {
+  /** The JFR events enabled by each configurable event set. */
+  private static final Map<String, List<String>> EVENT_SETS = ImmutableMap.of(
+      "allocation", ImmutableList.of(
+          "jdk.ObjectAllocationInNewTLAB", "jdk.ObjectAllocationOutsideTLAB"),
+      "lock", ImmutableList.of(
+          "jdk.JavaMonitorEnter", "jdk.JavaMonitorWait", "jdk.ThreadPark"),
+      "socket", ImmutableList.of("jdk.SocketRead", "jdk.SocketWrite"),
+      "file", ImmutableList.of("jdk.FileRead", "jdk.FileWrite"));
+  /** The event sets whose events are only recorded when they last longer than a threshold. */
+  private static final List<String> THRESHOLD_EVENT_SETS =
+      ImmutableList.of("lock", "socket", "file");
+
+  private final Recording mRecording;
+
+  /**
+   * @return whether the JVM has the JDK Flight Recorder API
+   */
+  static boolean isAvailable() {
+    try {
+      Class.forName("jdk.jfr.Recording");
+      return jdk.jfr.FlightRecorder.isAvailable();
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * Creates and starts a recording.
+   *
+   * @param name the name of the recording
+   * @param eventSets the event sets to enable on top of the JDK default settings
+   * @param threshold the duration threshold of the lock and I/O events
+   * @param maxAge the length of the rolling window
+   * @param maxSize the maximum size of the rolling window in bytes
+   */
+  JfrRecording(String name, List<String> eventSets, Duration threshold, Duration maxAge,
+      long maxSize) throws IOException {
+    try {
+      mRecording = new Recording(Configuration.getConfiguration("default"));
+    } catch (ParseException e) {
+      throw new IOException("Failed to parse the default JFR configuration", e);
+    }
+    for (String eventSet : eventSets) {
+      List<String> events = EVENT_SETS.get(eventSet.trim().toLowerCase());
+      if (events == null) {
+        throw new IllegalArgumentException(String.format(
+            "Unknown flight recorder event set %s, valid sets are %s",
+            eventSet, EVENT_SETS.keySet()));
+      }
+      for (String event : events) {
+        if (THRESHOLD_EVENT_SETS.contains(eventSet.trim().toLowerCase())) {
+          mRecording.enable(event).withThreshold(threshold).withStackTrace();
+        } else {
+          mRecording.enable(event).withStackTrace();
+        }
+      }
+    }
+    mRecording.setName(name);
+    mRecording.setToDisk(true);
+    mRecording.setMaxAge(maxAge);
+    mRecording.setMaxSize(maxSize);
+    mRecording.start();
+  }
+
+  /**
+   * Writes the contents of the rolling window to a file.
+   *
+   * @param path the path of the file
+   */
+  void dump(Path path) throws IOException {
+    mRecording.dump(path);
+  }
+
+  /**
+   * Stops the recording and discards its data.
+   */
+  void close() {
+    mRecording.close();
+  }
+}
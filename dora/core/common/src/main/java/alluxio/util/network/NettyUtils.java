@@ -49,7 +49,11 @@ public final class NettyUtils {
 
   public static final ChannelType CHANNEL_TYPE = getChannelType();
 
+  /** The package of the netty io_uring transport, which is not a dependency of Alluxio. */
+  private static final String IO_URING_PACKAGE = "io.netty.incubator.channel.uring.";
+
   private static Boolean sNettyEpollAvailable = null;
+  private static Boolean sNettyIoUringAvailable = null;
 
   private NettyUtils() {}
 
@@ -73,6 +77,14 @@ public final class NettyUtils {
         return new NioEventLoopGroup(numThreads, threadFactory);
       case EPOLL:
         return new EpollEventLoopGroup(numThreads, threadFactory);
+      case IO_URING:
+        try {
+          return getIoUringClass("IOUringEventLoopGroup", EventLoopGroup.class)
+              .getConstructor(int.class, ThreadFactory.class)
+              .newInstance(numThreads, threadFactory);
+        } catch (ReflectiveOperationException e) {
+          throw new IllegalStateException("Failed to create an IO_URING event loop", e);
+        }
       default:
         throw new IllegalArgumentException("Unknown io type: " + type);
     }
@@ -98,6 +110,8 @@ public final class NettyUtils {
         return NioServerSocketChannel.class;
       case EPOLL:
         return EpollServerSocketChannel.class;
+      case IO_URING:
+        return getIoUringClass("IOUringServerSocketChannel", ServerChannel.class);
       default:
         throw new IllegalArgumentException("Unknown io type: " + workerChannelType);
     }
@@ -189,6 +203,44 @@ public final class NettyUtils {
     }
   }
 
+  /**
+   * @return whether netty io_uring is available to the system
+   */
+  public static synchronized boolean isNettyIoUringAvailable() {
+    if (sNettyIoUringAvailable == null) {
+      // Only call checkNettyIoUringAvailable once ever so that we only log the result once.
+      sNettyIoUringAvailable = checkNettyIoUringAvailable();
+    }
+    return sNettyIoUringAvailable;
+  }
+
+  private static boolean checkNettyIoUringAvailable() {
+    try {
+      Class<?> ioUring = Class.forName(IO_URING_PACKAGE + "IOUring");
+      if (!(Boolean) ioUring.getMethod("isAvailable").invoke(null)) {
+        LOG.info("IO_URING is not supported by the kernel, will use EPOLL");
+        return false;
+      }
+      LOG.info("IO_URING is available");
+      return true;
+    } catch (ClassNotFoundException e) {
+      LOG.info("IO_URING transport of netty is not on the classpath, will use EPOLL");
+      return false;
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+      LOG.warn("IO_URING transport of netty cannot be loaded, will use EPOLL", e);
+      return false;
+    }
+  }
+
+  private static <T> Class<? extends T> getIoUringClass(String name, Class<T> type) {
+    Preconditions.checkState(isNettyIoUringAvailable(), "IO_URING is not available");
+    try {
+      return Class.forName(IO_URING_PACKAGE + name).asSubclass(type);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Failed to load the IO_URING transport of netty", e);
+    }
+  }
+
   /**
    * Gets the ChannelType properly from the USER_NETWORK_NETTY_CHANNEL property key.
    *
@@ -242,6 +294,8 @@ public final class NettyUtils {
         return NioSocketChannel.class;
       case EPOLL:
         return EpollSocketChannel.class;
+      case IO_URING:
+        return getIoUringClass("IOUringSocketChannel", Channel.class);
       default:
         throw new IllegalArgumentException("Unknown io type: " + channelType);
     }
@@ -260,6 +314,7 @@ public final class NettyUtils {
 
   /**
    * Get the proper channel type. Always returns {@link ChannelType} NIO if EPOLL is not available.
+   * IO_URING falls back to EPOLL if it is not available.
    *
    * @param key the property key for looking up the configured channel type
    * @param conf the Alluxio configuration
@@ -269,6 +324,10 @@ public final class NettyUtils {
     if (!isNettyEpollAvailable()) {
       return ChannelType.NIO;
     }
-    return conf.getEnum(key, ChannelType.class);
+    ChannelType channelType = conf.getEnum(key, ChannelType.class);
+    if (channelType == ChannelType.IO_URING && !isNettyIoUringAvailable()) {
+      return ChannelType.EPOLL;
+    }
+    return channelType;
   }
 }
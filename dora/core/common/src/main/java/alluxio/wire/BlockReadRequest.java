@@ -16,6 +16,7 @@ import alluxio.util.IdUtils;
 
 import com.google.common.base.MoreObjects;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -31,6 +32,8 @@ public final class BlockReadRequest {
   private final long mSessionId;
   private final boolean mPromote;
   private final boolean mPositionShort;
+  @Nullable
+  private final String mTenant;
 
   /**
    * Creates an instance of {@link BlockReadRequest}.
@@ -42,7 +45,8 @@ public final class BlockReadRequest {
     return new BlockReadRequest(request.getBlockId(), request.getOffset(),
         request.getOffset() + request.getLength(),
         request.getChunkSize(), request.getPromote(), request.getPositionShort(),
-        request.hasOpenUfsBlockOptions() ? request.getOpenUfsBlockOptions() : null);
+        request.hasOpenUfsBlockOptions() ? request.getOpenUfsBlockOptions() : null,
+        request.hasTenant() ? request.getTenant() : null);
   }
 
   /**
@@ -55,9 +59,11 @@ public final class BlockReadRequest {
    * @param promote whether to promote the block to top tier
    * @param positionShort whether this is a short read
    * @param openUfsBlockOptions options to read file from UFS
+   * @param tenant the tenant the read is scheduled for
    */
   private BlockReadRequest(long id, long start, long end, long chunkSize, boolean promote,
-      boolean positionShort, Protocol.OpenUfsBlockOptions openUfsBlockOptions) {
+      boolean positionShort, Protocol.OpenUfsBlockOptions openUfsBlockOptions,
+      @Nullable String tenant) {
     mId = id;
     mStart = start;
     mEnd = end;
@@ -66,6 +72,7 @@ public final class BlockReadRequest {
     mOpenUfsBlockOptions = openUfsBlockOptions;
     mPromote = promote;
     mPositionShort = positionShort;
+    mTenant = tenant;
   }
 
   /**
@@ -124,6 +131,14 @@ public final class BlockReadRequest {
     return mOpenUfsBlockOptions;
   }
 
+  /**
+   * @return the tenant the read is scheduled for, or null if it is scheduled for the user
+   */
+  @Nullable
+  public String getTenant() {
+    return mTenant;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -135,6 +150,7 @@ public final class BlockReadRequest {
         .add("sessionId", getSessionId())
         .add("start", getStart())
         .add("positionShort", isPositionShort())
+        .add("tenant", mTenant)
         .toString();
   }
 }
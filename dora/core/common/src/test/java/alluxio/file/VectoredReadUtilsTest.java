@@ -0,0 +1,126 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ByteArrayPositionReader;
+import alluxio.PositionReader;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the {@link VectoredReadUtils} class.
+ */
+public final class VectoredReadUtilsTest {
+  private static final int FILE_LENGTH = 1024;
+
+  private final PositionReader mFileReader =
+      new ByteArrayPositionReader(BufferUtils.getIncreasingByteArray(FILE_LENGTH));
+  /** Reads the file, stopping at the end of it. */
+  private final PositionReader mReader = (position, buffer, length) -> position >= FILE_LENGTH
+      ? -1 : mFileReader.read(position, buffer, (int) Math.min(length, FILE_LENGTH - position));
+
+  private static void checkData(List<FileRange> ranges) throws Exception {
+    for (FileRange range : ranges) {
+      ByteBuffer data = range.getData().get(1, TimeUnit.MINUTES);
+      assertEquals(range.getLength(), data.remaining());
+      byte[] bytes = new byte[range.getLength()];
+      data.get(bytes);
+      assertTrue(BufferUtils.equalIncreasingByteArray((int) range.getOffset(), bytes.length,
+          bytes));
+    }
+  }
+
+  @Test
+  public void mergeRanges() {
+    List<FileRange> ranges = VectoredReadUtils.sortRanges(ImmutableList.of(
+        FileRange.create(300, 10), FileRange.create(0, 10), FileRange.create(12, 10),
+        FileRange.create(100, 10), FileRange.create(24, 50)));
+    List<VectoredReadUtils.CombinedFileRange> merged =
+        VectoredReadUtils.mergeSortedRanges(ranges, 4, 64);
+    assertEquals(4, merged.size());
+    // the first two ranges are merged, the third would exceed the maximum size
+    assertEquals(0, merged.get(0).getOffset());
+    assertEquals(22, merged.get(0).getLength());
+    assertEquals(2, merged.get(0).getRanges().size());
+    assertEquals(24, merged.get(1).getOffset());
+    assertEquals(100, merged.get(2).getOffset());
+    assertEquals(300, merged.get(3).getOffset());
+  }
+
+  @Test
+  public void overlappingRanges() {
+    assertThrows(IllegalArgumentException.class, () -> VectoredReadUtils.sortRanges(
+        ImmutableList.of(FileRange.create(0, 10), FileRange.create(9, 10))));
+  }
+
+  @Test
+  public void readRanges() throws Exception {
+    List<FileRange> ranges = ImmutableList.of(FileRange.create(500, 100),
+        FileRange.create(0, 10), FileRange.create(12, 0), FileRange.create(20, 30),
+        FileRange.create(1000, 24));
+    AtomicInteger allocated = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      VectoredReadUtils.readVectored(mReader, ranges, size -> {
+        allocated.incrementAndGet();
+        return ByteBuffer.allocateDirect(size);
+      }, executor, 16, 256);
+      checkData(ranges);
+    } finally {
+      executor.shutdownNow();
+    }
+    // the ranges at the start of the file are read at once
+    assertEquals(3, allocated.get());
+  }
+
+  @Test
+  public void readRangesWithDefaults() throws Exception {
+    List<FileRange> ranges = ImmutableList.of(FileRange.create(100, 10),
+        FileRange.create(0, 10), FileRange.create(1000, 24));
+    AtomicInteger allocated = new AtomicInteger();
+    mReader.readVectored(ranges, size -> {
+      allocated.incrementAndGet();
+      return ByteBuffer.allocate(size);
+    });
+    checkData(ranges);
+    // the whole file is smaller than the default minimum seek size
+    assertEquals(1, allocated.get());
+  }
+
+  @Test
+  public void readPastEndOfFile() throws Exception {
+    FileRange inFile = FileRange.create(FILE_LENGTH - 20, 10);
+    FileRange pastEnd = FileRange.create(FILE_LENGTH - 5, 10);
+    VectoredReadUtils.readVectored(mReader, ImmutableList.of(inFile, pastEnd),
+        ByteBuffer::allocate, MoreExecutors.directExecutor());
+    assertEquals(10, inFile.getData().get().remaining());
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> pastEnd.getData().get());
+    assertTrue(e.getCause() instanceof EOFException);
+  }
+}
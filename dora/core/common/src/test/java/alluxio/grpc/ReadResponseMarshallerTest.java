@@ -45,6 +45,21 @@ public final class ReadResponseMarshallerTest {
     validateStream(buildResponse("test".getBytes()));
   }
 
+  @Test
+  public void streamCompositeBuffer() throws Exception {
+    ReadResponseMarshaller marshaller = new ReadResponseMarshaller();
+    // the data is only in the buffer, not in the message
+    ReadResponse message = ReadResponse.newBuilder().setChunk(Chunk.getDefaultInstance()).build();
+    marshaller.offerBuffer(new NettyDataBuffer(Unpooled.wrappedBuffer(
+        Unpooled.wrappedBuffer("te".getBytes()), Unpooled.wrappedBuffer("st".getBytes()))),
+        message);
+    InputStream stream = marshaller.stream(message);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ((Drainable) stream).drainTo(outputStream);
+    assertArrayEquals(buildResponse("test".getBytes()).toByteArray(),
+        outputStream.toByteArray());
+  }
+
   @Test
   public void parseEmptyMessage() throws Exception {
     validateParse(ReadResponse.getDefaultInstance());
@@ -0,0 +1,114 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.membership;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.collections.Pair;
+import alluxio.wire.WorkerIdentity;
+import alluxio.wire.WorkerIdentityTestUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.ByteString;
+import io.etcd.jetcd.ByteSequence;
+import io.etcd.jetcd.KeyValue;
+import org.junit.Test;
+
+public class EtcdLiveMembersWatcherTest {
+  private static final String PREFIX = "/ServiceDiscovery/cluster";
+
+  private final WorkerIdentity mWorker1 = WorkerIdentityTestUtils.ofLegacyId(1);
+  private final WorkerIdentity mWorker2 = WorkerIdentityTestUtils.ofLegacyId(2);
+  private final AlluxioEtcdClient mClient = mock(AlluxioEtcdClient.class);
+  private final EtcdLiveMembersWatcher mWatcher = new EtcdLiveMembersWatcher(mClient, PREFIX);
+
+  @Test
+  public void applyChangesAfterSnapshot() throws Exception {
+    when(mClient.getChildrenWithRevision(PREFIX)).thenReturn(
+        new Pair<>(5L, ImmutableList.of(keyValue(key(mWorker1), mWorker1))));
+
+    assertEquals(ImmutableSet.of(mWorker1), mWatcher.getLiveMembers().workerIds());
+    verify(mClient).addChildrenListener(PREFIX, mWatcher, 6L);
+
+    // changes at or before the revision of the snapshot are already in it
+    mWatcher.onNewPut(key(mWorker2), serialize(mWorker2), 5);
+    assertEquals(ImmutableSet.of(mWorker1), mWatcher.getLiveMembers().workerIds());
+    mWatcher.onNewPut(key(mWorker2), serialize(mWorker2), 7);
+    assertEquals(ImmutableSet.of(mWorker1, mWorker2), mWatcher.getLiveMembers().workerIds());
+    mWatcher.onNewDelete(key(mWorker1), 8);
+    assertEquals(ImmutableSet.of(mWorker2), mWatcher.getLiveMembers().workerIds());
+    assertEquals(8, mWatcher.getRevision());
+    // the entries are only read once while they are watched
+    verify(mClient, times(1)).getChildrenWithRevision(PREFIX);
+  }
+
+  @Test
+  public void applyChangesInSameRevision() throws Exception {
+    when(mClient.getChildrenWithRevision(PREFIX)).thenReturn(
+        new Pair<>(5L, ImmutableList.of(keyValue(key(mWorker1), mWorker1))));
+    mWatcher.getLiveMembers();
+
+    // a transaction changes several entries in the same revision
+    mWatcher.onNewPut(key(mWorker2), serialize(mWorker2), 7);
+    mWatcher.onNewDelete(key(mWorker1), 7);
+    assertEquals(ImmutableSet.of(mWorker2), mWatcher.getLiveMembers().workerIds());
+    assertEquals(7, mWatcher.getRevision());
+  }
+
+  @Test
+  public void resyncAfterWatchEnded() throws Exception {
+    when(mClient.getChildrenWithRevision(PREFIX))
+        .thenReturn(new Pair<>(5L, ImmutableList.of(keyValue(key(mWorker1), mWorker1))))
+        .thenReturn(new Pair<>(9L, ImmutableList.of(keyValue(key(mWorker2), mWorker2))));
+    assertEquals(ImmutableSet.of(mWorker1), mWatcher.getLiveMembers().workerIds());
+
+    mWatcher.onWatchEnded();
+    assertEquals(ImmutableSet.of(mWorker2), mWatcher.getLiveMembers().workerIds());
+    verify(mClient).addChildrenListener(PREFIX, mWatcher, 10L);
+    verify(mClient, times(2)).getChildrenWithRevision(PREFIX);
+  }
+
+  @Test
+  public void noWatchAfterClose() throws Exception {
+    when(mClient.getChildrenWithRevision(PREFIX)).thenReturn(
+        new Pair<>(5L, ImmutableList.of(keyValue(key(mWorker1), mWorker1))));
+    mWatcher.getLiveMembers();
+    mWatcher.close();
+    verify(mClient).removeChildrenListener(PREFIX);
+
+    assertEquals(ImmutableSet.of(mWorker1), mWatcher.getLiveMembers().workerIds());
+    verify(mClient, times(1)).addChildrenListener(any(), any(), anyLong());
+  }
+
+  private static String key(WorkerIdentity worker) {
+    return PREFIX + MembershipManager.PATH_SEPARATOR + worker;
+  }
+
+  private static byte[] serialize(WorkerIdentity worker) {
+    return new WorkerServiceEntity(worker, new WorkerNetAddress().setHost("host")).serialize();
+  }
+
+  private static KeyValue keyValue(String key, WorkerIdentity worker) {
+    return new KeyValue(io.etcd.jetcd.api.KeyValue.newBuilder()
+        .setKey(ByteString.copyFromUtf8(key))
+        .setValue(ByteString.copyFrom(serialize(worker)))
+        .build(), ByteSequence.EMPTY);
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import io.prometheus.metrics.core.datapoints.CounterDataPoint;
+import io.prometheus.metrics.core.metrics.Counter;
+import org.junit.Test;
+
+/**
+ * Tests {@link BoundedLabelChildren}.
+ */
+public final class BoundedLabelChildrenTest {
+  private final Counter mCounter = Counter.builder()
+      .name("bounded_label_children_test")
+      .labelNames("user")
+      .build();
+
+  @Test
+  public void cachesChildren() {
+    BoundedLabelChildren<CounterDataPoint> children =
+        new BoundedLabelChildren<>(10, mCounter::labelValues);
+    assertSame(children.get("a"), children.get("a"));
+    assertSame(mCounter.labelValues("a"), children.get("a"));
+    assertEquals(1, children.size());
+  }
+
+  @Test
+  public void overflow() {
+    BoundedLabelChildren<CounterDataPoint> children =
+        new BoundedLabelChildren<>(2, mCounter::labelValues);
+    children.get("a").inc();
+    children.get("b").inc();
+    children.get("c").inc();
+    children.get("d").inc();
+    assertEquals(2, children.size());
+    assertSame(mCounter.labelValues(BoundedLabelChildren.OVERFLOW_LABEL_VALUE),
+        children.get("e"));
+    // values bound before the limit was reached are still recorded separately
+    assertSame(mCounter.labelValues("a"), children.get("a"));
+  }
+
+  @Test
+  public void unknown() {
+    BoundedLabelChildren<CounterDataPoint> children =
+        new BoundedLabelChildren<>(2, mCounter::labelValues);
+    assertSame(mCounter.labelValues(BoundedLabelChildren.UNKNOWN_LABEL_VALUE), children.get(null));
+    assertSame(mCounter.labelValues(BoundedLabelChildren.UNKNOWN_LABEL_VALUE), children.get(""));
+    assertEquals(0, children.size());
+  }
+}
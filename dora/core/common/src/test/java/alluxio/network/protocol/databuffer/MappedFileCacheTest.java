@@ -0,0 +1,103 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol.databuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.util.io.BufferUtils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class MappedFileCacheTest {
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private final byte[] mData = BufferUtils.getIncreasingByteArray(100);
+  private final MappedFileCache mCache = new MappedFileCache(10, Constants.MINUTE_MS);
+
+  @After
+  public void after() {
+    mCache.close();
+  }
+
+  @Test
+  public void mapRegion() throws Exception {
+    File file = mTemp.newFile();
+    Files.write(file.toPath(), mData);
+    ByteBuf buf = mCache.map(file, 10, 30);
+    assertEquals(30, buf.readableBytes());
+    assertArrayEquals(Arrays.copyOfRange(mData, 10, 40), ByteBufUtil.getBytes(buf));
+    assertTrue(buf.release());
+  }
+
+  @Test
+  public void mapPastEndOfFile() throws Exception {
+    File file = mTemp.newFile();
+    Files.write(file.toPath(), mData);
+    ByteBuf buf = mCache.map(file, 90, 30);
+    assertArrayEquals(Arrays.copyOfRange(mData, 90, 100), ByteBufUtil.getBytes(buf));
+    assertTrue(buf.release());
+    assertEquals(0, mCache.map(file, 120, 30).readableBytes());
+  }
+
+  @Test
+  public void reuseMapping() throws Exception {
+    File file = mTemp.newFile();
+    Files.write(file.toPath(), mData);
+    ByteBuf first = mCache.map(file, 0, 50);
+    ByteBuf second = mCache.map(file, 50, 50);
+    assertEquals(1, mCache.size());
+    first.release();
+    second.release();
+    assertArrayEquals(Arrays.copyOfRange(mData, 20, 30),
+        ByteBufUtil.getBytes(mCache.map(file, 20, 10)));
+    assertEquals(1, mCache.size());
+  }
+
+  @Test
+  public void remapReplacedFile() throws Exception {
+    File file = mTemp.newFile();
+    Files.write(file.toPath(), mData);
+    ByteBuf old = mCache.map(file, 0, 10);
+    // the file is replaced while a buffer over its old mapping is in use
+    file.delete();
+    byte[] replaced = BufferUtils.getIncreasingByteArray(50, 60);
+    Files.write(file.toPath(), replaced);
+    assertArrayEquals(Arrays.copyOf(replaced, 10), ByteBufUtil.getBytes(mCache.map(file, 0, 10)));
+    assertArrayEquals(Arrays.copyOf(mData, 10), ByteBufUtil.getBytes(old));
+    assertTrue(old.release());
+    assertEquals(1, mCache.size());
+  }
+
+  @Test
+  public void keepMappingInUseAfterClose() throws Exception {
+    File file = mTemp.newFile();
+    Files.write(file.toPath(), mData);
+    ByteBuf buf = mCache.map(file, 0, 10);
+    mCache.close();
+    assertEquals(0, mCache.size());
+    assertArrayEquals(Arrays.copyOf(mData, 10), ByteBufUtil.getBytes(buf));
+    assertTrue(buf.release());
+  }
+}
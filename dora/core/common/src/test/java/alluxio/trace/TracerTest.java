@@ -0,0 +1,149 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tests {@link Tracer}.
+ */
+public final class TracerTest {
+  private final List<List<Span>> mExported = new CopyOnWriteArrayList<>();
+  private final SpanExporter mExporter = new SpanExporter() {
+    @Override
+    public void export(List<Span> spans) {
+      mExported.add(new ArrayList<>(spans));
+    }
+
+    @Override
+    public void close() {}
+  };
+  private InstancedConfiguration mConf;
+  private Tracer mTracer;
+
+  @Before
+  public void before() {
+    mConf = Configuration.copyGlobal();
+    mConf.set(PropertyKey.TRACE_ENABLED, true);
+    mConf.set(PropertyKey.TRACE_SLOW_THRESHOLD, "1h");
+  }
+
+  @After
+  public void after() throws Exception {
+    if (mTracer != null) {
+      mTracer.close();
+    }
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    mConf.set(PropertyKey.TRACE_ENABLED, false);
+    mTracer = new Tracer(mConf, mExporter);
+    try (Span span = mTracer.start("op", null)) {
+      assertSame(Span.NOOP, span);
+      assertNull(span.getContext());
+    }
+  }
+
+  @Test
+  public void nestedSpans() throws Exception {
+    mTracer = new Tracer(mConf, mExporter);
+    Span root = mTracer.start("root", null);
+    Span child = mTracer.start("child", null);
+    assertEquals(root.getTraceId(), child.getTraceId());
+    assertEquals(root.getSpanId(), child.getParentSpanId());
+    child.close();
+    Span sibling = mTracer.start("sibling", null);
+    assertEquals(root.getSpanId(), sibling.getParentSpanId());
+    sibling.close();
+    root.close();
+    assertEquals(0, root.getParentSpanId());
+    Span next = mTracer.start("next", null);
+    assertTrue(next.getTraceId() != root.getTraceId());
+    next.close();
+  }
+
+  @Test
+  public void remoteParent() throws Exception {
+    mTracer = new Tracer(mConf, mExporter);
+    TraceContext remote = new TraceContext(1234L, 5678L, false);
+    try (Span span = mTracer.start("server", remote)) {
+      assertEquals(1234L, span.getTraceId());
+      assertEquals(5678L, span.getParentSpanId());
+    }
+  }
+
+  @Test
+  public void fastTraceNotExported() throws Exception {
+    mTracer = new Tracer(mConf, mExporter);
+    try (Span root = mTracer.start("root", null)) {
+      mTracer.start("child", null).close();
+    }
+    mTracer.close();
+    assertTrue(mExported.isEmpty());
+  }
+
+  @Test
+  public void slowTraceExported() throws Exception {
+    mConf.set(PropertyKey.TRACE_SLOW_THRESHOLD, "0ms");
+    mTracer = new Tracer(mConf, mExporter);
+    Span root = mTracer.start("root", null);
+    mTracer.start("child", null).close();
+    root.close();
+    mTracer.close();
+    assertEquals(1, mExported.size());
+    assertEquals(2, mExported.get(0).size());
+    for (Span span : mExported.get(0)) {
+      assertEquals(root.getTraceId(), span.getTraceId());
+    }
+  }
+
+  @Test
+  public void sampledTraceExported() throws Exception {
+    mConf.set(PropertyKey.TRACE_SAMPLE_RATIO, 1.0);
+    mTracer = new Tracer(mConf, mExporter);
+    try (Span root = mTracer.start("root", null)) {
+      assertTrue(root.isSampled());
+    }
+    mTracer.close();
+    assertEquals(1, mExported.size());
+  }
+
+  @Test
+  public void contextRoundTrip() {
+    TraceContext context = new TraceContext(-1L, 42L, true);
+    TraceContext decoded = TraceContext.decode(context.encode());
+    assertEquals(context.getTraceId(), decoded.getTraceId());
+    assertEquals(context.getSpanId(), decoded.getSpanId());
+    assertTrue(decoded.isSampled());
+    assertNull(TraceContext.decode(""));
+    assertNull(TraceContext.decode("xyz"));
+    assertNull(TraceContext.decode("1-2"));
+    assertFalse(TraceContext.decode("1-2-0").isSampled());
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+public class AbsentUfsPathCacheTest {
+  private final AbsentUfsPathCache mCache = new AbsentUfsPathCache(100, Duration.ofMinutes(1));
+
+  @Test
+  public void absentOnlyFromOwnEntry() {
+    mCache.add("s3://bucket/a/b");
+    assertTrue(mCache.isAbsent("s3://bucket/a/b", -1));
+    // the descendants of an absent path may be created through other workers
+    assertFalse(mCache.isAbsent("s3://bucket/a/b/c/d", -1));
+    assertFalse(mCache.isAbsent("s3://bucket/a", -1));
+    assertFalse(mCache.isAbsent("s3://bucket/a/bc", -1));
+    assertFalse(mCache.isAbsent("s3://other/a/b", -1));
+  }
+
+  @Test
+  public void createThroughOtherWorker() {
+    AbsentUfsPathCache otherWorker = new AbsentUfsPathCache(100, Duration.ofMinutes(1));
+    mCache.add("s3://bucket/a");
+    otherWorker.add("s3://bucket/a/f");
+    // the file is created through the other worker, which owns it
+    otherWorker.invalidate("s3://bucket/a/f");
+    assertFalse(otherWorker.isAbsent("s3://bucket/a/f", -1));
+    // the path is not considered absent because its parent was found absent by this worker
+    assertFalse(mCache.isAbsent("s3://bucket/a/f", -1));
+    assertFalse(mCache.isAbsent("s3://bucket/a/g", -1));
+  }
+
+  @Test
+  public void localPaths() {
+    mCache.add("/a/b");
+    assertTrue(mCache.isAbsent("/a/b", -1));
+    assertFalse(mCache.isAbsent("/a/b/c", -1));
+    assertFalse(mCache.isAbsent("/a", -1));
+    assertFalse(mCache.isAbsent("/", -1));
+  }
+
+  @Test
+  public void syncInterval() throws Exception {
+    mCache.add("s3://bucket/a");
+    assertFalse(mCache.isAbsent("s3://bucket/a", 0));
+    Thread.sleep(10);
+    assertFalse(mCache.isAbsent("s3://bucket/a", 1));
+    assertTrue(mCache.isAbsent("s3://bucket/a", 60_000));
+  }
+
+  @Test
+  public void invalidateAncestors() {
+    mCache.add("s3://bucket/a");
+    mCache.add("s3://bucket/a/b");
+    mCache.add("s3://bucket/x");
+    mCache.invalidate("s3://bucket/a/b/c");
+    assertFalse(mCache.isAbsent("s3://bucket/a/b/c", -1));
+    assertFalse(mCache.isAbsent("s3://bucket/a", -1));
+    assertTrue(mCache.isAbsent("s3://bucket/x", -1));
+    assertEquals(1, mCache.size());
+  }
+
+  @Test
+  public void expire() throws Exception {
+    AbsentUfsPathCache cache = new AbsentUfsPathCache(100, Duration.ofMillis(1));
+    cache.add("s3://bucket/a");
+    Thread.sleep(10);
+    assertFalse(cache.isAbsent("s3://bucket/a", -1));
+  }
+
+  @Test
+  public void disabled() {
+    AbsentUfsPathCache cache = new AbsentUfsPathCache(0, Duration.ofMinutes(1));
+    cache.add("s3://bucket/a");
+    assertFalse(cache.isAbsent("s3://bucket/a", -1));
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests {@link FlightRecorder}.
+ */
+public final class FlightRecorderTest {
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private InstancedConfiguration mConf;
+  private File mDumpDir;
+
+  @Before
+  public void before() throws Exception {
+    Assume.assumeTrue(JfrRecording.isAvailable());
+    mDumpDir = mFolder.newFolder("jfr");
+    mConf = Configuration.copyGlobal();
+    mConf.set(PropertyKey.JVM_FLIGHT_RECORDER_DUMP_DIR, mDumpDir.getAbsolutePath());
+    mConf.set(PropertyKey.JVM_FLIGHT_RECORDER_DUMP_MAX_FILES, 2);
+    mConf.set(PropertyKey.JVM_FLIGHT_RECORDER_DUMP_MIN_INTERVAL, "1h");
+    mConf.set(PropertyKey.JVM_FLIGHT_RECORDER_LATENCY_SLO, "1sec");
+  }
+
+  @After
+  public void after() {
+    FlightRecorder.get().ifPresent(FlightRecorder::close);
+  }
+
+  @Test
+  public void copyTo() throws Exception {
+    try (FlightRecorder recorder = new FlightRecorder(mConf)) {
+      Path file = mFolder.newFile("copy.jfr").toPath();
+      recorder.copyTo(file);
+      assertTrue(Files.size(file) > 0);
+    }
+  }
+
+  @Test
+  public void dumpKeepsMaxFiles() throws Exception {
+    try (FlightRecorder recorder = new FlightRecorder(mConf)) {
+      for (int i = 0; i < 3; i++) {
+        recorder.dump("test" + i);
+      }
+      assertEquals(2, mDumpDir.list().length);
+    }
+  }
+
+  @Test
+  public void dumpOnSloBreach() throws Exception {
+    Optional<FlightRecorder> recorder = FlightRecorder.start(mConf);
+    assertTrue(recorder.isPresent());
+    FlightRecorder.reportLatency(TimeUnit.MILLISECONDS.toNanos(10));
+    assertEquals(0, mDumpDir.list().length);
+    FlightRecorder.reportLatency(TimeUnit.SECONDS.toNanos(2));
+    // a second breach within the minimum interval does not dump again
+    FlightRecorder.reportLatency(TimeUnit.SECONDS.toNanos(2));
+    CommonUtils.waitFor("recording to be dumped", () -> mDumpDir.list().length > 0,
+        WaitForOptions.defaults().setTimeoutMs(30000));
+    assertEquals(1, mDumpDir.list().length);
+    recorder.get().close();
+    assertFalse(FlightRecorder.get().isPresent());
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.util.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.network.ChannelType;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.Test;
+
+/**
+ * Tests the {@link NettyUtils} methods related to the netty channel types.
+ */
+public class NettyUtilsTest {
+
+  /**
+   * Tests that IO_URING falls back to EPOLL, or to NIO where EPOLL is not available either,
+   * when the netty io_uring transport is not on the classpath.
+   */
+  @Test
+  public void ioUringFallback() {
+    InstancedConfiguration conf = Configuration.copyGlobal();
+    conf.set(PropertyKey.USER_NETWORK_STREAMING_NETTY_CHANNEL, ChannelType.IO_URING);
+
+    assertFalse(NettyUtils.isNettyIoUringAvailable());
+    ChannelType expected =
+        NettyUtils.isNettyEpollAvailable() ? ChannelType.EPOLL : ChannelType.NIO;
+    assertEquals(expected, NettyUtils.getUserChannel(conf));
+  }
+
+  /**
+   * Tests that the channel classes and the event loop match the channel type.
+   */
+  @Test
+  public void nioChannel() {
+    InstancedConfiguration conf = Configuration.copyGlobal();
+    conf.set(PropertyKey.USER_NETWORK_STREAMING_NETTY_CHANNEL, ChannelType.NIO);
+
+    assertEquals(ChannelType.NIO, NettyUtils.getUserChannel(conf));
+    assertEquals(NioSocketChannel.class, NettyUtils.getChannelClass(
+        false, PropertyKey.USER_NETWORK_STREAMING_NETTY_CHANNEL, conf));
+    EventLoopGroup group = NettyUtils.createEventLoop(ChannelType.NIO, 1, "test-%d", true);
+    group.shutdownGracefully();
+  }
+}
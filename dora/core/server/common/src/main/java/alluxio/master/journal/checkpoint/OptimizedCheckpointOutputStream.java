@@ -58,6 +58,18 @@ public class OptimizedCheckpointOutputStream extends OutputStream {
     mOutputStream.write(b);
   }
 
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    // Pass whole buffers down instead of the byte-at-a-time default of OutputStream, so that the
+    // digest and the LZ4 encoder work on the serialized protos in bulk.
+    mOutputStream.write(b, off, len);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    mOutputStream.flush();
+  }
+
   @Override
   public void close() throws IOException {
     mOutputStream.close();
@@ -15,10 +15,13 @@ import alluxio.Constants;
 import alluxio.master.metastore.ReadOption;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.logging.SamplingLogger;
 
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +35,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -46,6 +53,9 @@ import javax.annotation.concurrent.ThreadSafe;
  * best performance, maximum capacity should never be reached. This requires that the eviction
  * thread can keep up cache writes.
  *
+ * To help the eviction thread keep up, dirty entries in each eviction batch are partitioned by key
+ * and the partitions are flushed to the backing store in parallel by a pool of flush threads.
+ *
  * Cache hit reads are served without any locking. Writes and cache miss reads take locks on their
  * cache key.
  *
@@ -63,15 +73,20 @@ public abstract class Cache<K, V> implements Closeable {
   private final int mHighWaterMark;
   private final int mLowWaterMark;
   private final int mEvictBatchSize;
+  private final int mFlushThreads;
   private final String mName;
   @VisibleForTesting
   final ConcurrentHashMap<K, Entry> mMap;
-  // TODO(andrew): Support using multiple threads to speed up backing store writes.
   // Thread for performing eviction to the backing store.
   @VisibleForTesting
   final EvictionThread mEvictionThread;
+  // Threads for flushing partitions of dirty entries in parallel, null if only one flush thread
+  // is configured, in which case the eviction thread flushes by itself.
+  @Nullable
+  private final ExecutorService mFlushExecutor;
 
   private final StatsCounter mStatsCounter;
+  private final Timer mFlushTimer;
 
   /**
    * @param conf cache configuration
@@ -81,21 +96,31 @@ public abstract class Cache<K, V> implements Closeable {
    * @param loadTimesKey the load times metrics key
    * @param missesKey the misses metrics key
    * @param sizeKey the size metrics key
+   * @param backlogKey the eviction backlog metrics key
+   * @param flushTimerKey the flush latency metrics key
    */
   public Cache(CacheConfiguration conf, String name, MetricKey evictionsKey, MetricKey hitsKey,
-               MetricKey loadTimesKey, MetricKey missesKey, MetricKey sizeKey) {
+               MetricKey loadTimesKey, MetricKey missesKey, MetricKey sizeKey,
+               MetricKey backlogKey, MetricKey flushTimerKey) {
     mMaxSize = conf.getMaxSize();
     mHighWaterMark = conf.getHighWaterMark();
     mLowWaterMark = conf.getLowWaterMark();
     mEvictBatchSize = conf.getEvictBatchSize();
+    mFlushThreads = Math.max(1, conf.getFlushThreads());
     mName = name;
     mMap = new ConcurrentHashMap<>(mMaxSize);
     mEvictionThread = new EvictionThread();
     mEvictionThread.setDaemon(true);
-    // The eviction thread is started lazily when we first reach the high water mark.
+    // The eviction thread is started lazily when we first reach the high water mark. The pool
+    // threads are also only created once partitions are submitted to it.
+    mFlushExecutor = mFlushThreads > 1 ? Executors.newFixedThreadPool(mFlushThreads - 1,
+        ThreadFactoryUtils.build(mName + "-flush-%d", true)) : null;
     mStatsCounter = new StatsCounter(evictionsKey, hitsKey, loadTimesKey, missesKey);
+    mFlushTimer = MetricsSystem.timer(flushTimerKey.getName());
 
     MetricsSystem.registerGaugeIfAbsent(sizeKey.getName(), mMap::size);
+    MetricsSystem.registerGaugeIfAbsent(backlogKey.getName(),
+        () -> Math.max(0, mMap.size() - mLowWaterMark));
   }
 
   /**
@@ -251,20 +276,85 @@ public abstract class Cache<K, V> implements Closeable {
    * Flushes all data to the backing store.
    */
   public void flush() throws InterruptedException {
-    List<Entry> toFlush = new ArrayList<>(mEvictBatchSize);
+    List<List<Entry>> partitions = newPartitions();
     Iterator<Entry> it = mMap.values().iterator();
     while (it.hasNext()) {
       if (Thread.interrupted()) {
         throw new InterruptedException();
       }
-      while (toFlush.size() < mEvictBatchSize && it.hasNext()) {
+      int batchSize = 0;
+      while (batchSize < mEvictBatchSize && it.hasNext()) {
         Entry candidate = it.next();
         if (candidate.mDirty) {
-          toFlush.add(candidate);
+          partitions.get(partitionOf(candidate)).add(candidate);
+          batchSize++;
+        }
+      }
+      flushPartitions(partitions);
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedException();
+      }
+    }
+  }
+
+  private List<List<Entry>> newPartitions() {
+    List<List<Entry>> partitions = new ArrayList<>(mFlushThreads);
+    for (int i = 0; i < mFlushThreads; i++) {
+      partitions.add(new ArrayList<>(mEvictBatchSize / mFlushThreads + 1));
+    }
+    return partitions;
+  }
+
+  private int partitionOf(Entry entry) {
+    return Math.floorMod(entry.mKey.hashCode(), mFlushThreads);
+  }
+
+  /**
+   * Flushes the given partitions of dirty entries to the backing store and clears them. One
+   * partition is flushed by the calling thread while the others are handed to the flush threads.
+   *
+   * If the calling thread is interrupted while waiting for the flush threads, the remaining
+   * flushes are cancelled and the interrupt flag is set. Entries which were not flushed stay dirty.
+   *
+   * @param partitions the partitions to flush
+   */
+  private void flushPartitions(List<List<Entry>> partitions) {
+    long start = System.nanoTime();
+    List<Future<?>> futures = new ArrayList<>(partitions.size());
+    List<Entry> local = null;
+    try {
+      for (List<Entry> partition : partitions) {
+        if (partition.isEmpty()) {
+          continue;
+        }
+        if (local == null) {
+          local = partition;
+        } else {
+          // Hand off a copy so that the partition can be cleared even if the task is cancelled.
+          List<Entry> batch = new ArrayList<>(partition);
+          futures.add(mFlushExecutor.submit(() -> flushEntries(batch)));
         }
       }
-      flushEntries(toFlush);
-      toFlush.clear();
+      if (local == null) {
+        return;
+      }
+      flushEntries(local);
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      mFlushTimer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    } finally {
+      for (Future<?> future : futures) {
+        future.cancel(true);
+      }
+      for (List<Entry> partition : partitions) {
+        partition.clear();
+      }
     }
   }
 
@@ -306,11 +396,18 @@ public abstract class Cache<K, V> implements Closeable {
   @Override
   public void close() {
     mEvictionThread.interrupt();
+    if (mFlushExecutor != null) {
+      mFlushExecutor.shutdownNow();
+    }
     try {
       mEvictionThread.join(10L * Constants.SECOND_MS);
       if (mEvictionThread.isAlive()) {
         LOG.warn("Failed to stop eviction thread");
       }
+      if (mFlushExecutor != null
+          && !mFlushExecutor.awaitTermination(10L * Constants.SECOND_MS, TimeUnit.MILLISECONDS)) {
+        LOG.warn("Failed to stop flush threads");
+      }
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new RuntimeException(e);
@@ -322,10 +419,11 @@ public abstract class Cache<K, V> implements Closeable {
     @VisibleForTesting
     volatile boolean mIsSleeping = true;
 
-    // Populated with #fillBatch, cleared with #evictBatch. We keep it around so that we don't need
-    // to keep re-allocating the list.
+    // Populated with #fillBatch, cleared with #evictBatch. We keep them around so that we don't
+    // need to keep re-allocating the lists. Dirty candidates are partitioned by key so that each
+    // partition can be flushed by a different flush thread.
     private final List<Entry> mEvictionCandidates = new ArrayList<>(mEvictBatchSize);
-    private final List<Entry> mDirtyEvictionCandidates = new ArrayList<>(mEvictBatchSize);
+    private final List<List<Entry>> mDirtyEvictionCandidates = newPartitions();
     private final Logger mCacheFullLogger = new SamplingLogger(LOG, 10L * Constants.SECOND_MS);
 
     private Iterator<Entry> mEvictionHead = Collections.emptyIterator();
@@ -365,7 +463,7 @@ public abstract class Cache<K, V> implements Closeable {
       long evictionStart = System.nanoTime();
       int toEvict = mMap.size() - mLowWaterMark;
       int evictionCount = 0;
-      while (evictionCount < toEvict) {
+      while (evictionCount < toEvict && !Thread.currentThread().isInterrupted()) {
         if (!mEvictionHead.hasNext()) {
           mEvictionHead = mMap.values().iterator();
         }
@@ -395,7 +493,7 @@ public abstract class Cache<K, V> implements Closeable {
         }
         mEvictionCandidates.add(candidate);
         if (candidate.mDirty) {
-          mDirtyEvictionCandidates.add(candidate);
+          mDirtyEvictionCandidates.get(partitionOf(candidate)).add(candidate);
         }
       }
     }
@@ -410,14 +508,13 @@ public abstract class Cache<K, V> implements Closeable {
       if (mEvictionCandidates.isEmpty()) {
         return evicted;
       }
-      flushEntries(mDirtyEvictionCandidates);
+      flushPartitions(mDirtyEvictionCandidates);
       for (Entry entry : mEvictionCandidates) {
         if (evictIfClean(entry)) {
           evicted++;
         }
       }
       mEvictionCandidates.clear();
-      mDirtyEvictionCandidates.clear();
       return evicted;
     }
 
@@ -508,6 +605,7 @@ public abstract class Cache<K, V> implements Closeable {
    * Attempts to flush the given entries to the backing store.
    *
    * The subclass is responsible for setting each candidate's mDirty field to false on success.
+   * This may be called concurrently by multiple flush threads, each with a disjoint set of entries.
    *
    * @param candidates the candidate entries to flush
    */
@@ -19,12 +19,15 @@ public class CacheConfiguration {
   private final int mHighWaterMark;
   private final int mLowWaterMark;
   private final int mEvictBatchSize;
+  private final int mFlushThreads;
 
-  private CacheConfiguration(int maxSize, int highWaterMark, int lowWaterMark, int evictBatchSize) {
+  private CacheConfiguration(int maxSize, int highWaterMark, int lowWaterMark, int evictBatchSize,
+      int flushThreads) {
     mMaxSize = maxSize;
     mHighWaterMark = highWaterMark;
     mLowWaterMark = lowWaterMark;
     mEvictBatchSize = evictBatchSize;
+    mFlushThreads = flushThreads;
   }
 
   /**
@@ -55,6 +58,13 @@ public class CacheConfiguration {
     return mEvictBatchSize;
   }
 
+  /**
+   * @return the number of threads used to flush entries to the backing store
+   */
+  public int getFlushThreads() {
+    return mFlushThreads;
+  }
+
   /**
    * @return a cache configuration builder
    */
@@ -70,6 +80,7 @@ public class CacheConfiguration {
     private int mHighWaterMark;
     private int mLowWaterMark;
     private int mEvictBatchSize;
+    private int mFlushThreads = 1;
 
     /**
      * @param maxSize the target max cache size
@@ -107,11 +118,21 @@ public class CacheConfiguration {
       return this;
     }
 
+    /**
+     * @param flushThreads the number of threads used to flush entries to the backing store
+     * @return the builder
+     */
+    public Builder setFlushThreads(int flushThreads) {
+      mFlushThreads = flushThreads;
+      return this;
+    }
+
     /**
      * @return a cache configuration based on the values passed to the builder
      */
     public CacheConfiguration build() {
-      return new CacheConfiguration(mMaxSize, mHighWaterMark, mLowWaterMark, mEvictBatchSize);
+      return new CacheConfiguration(mMaxSize, mHighWaterMark, mLowWaterMark, mEvictBatchSize,
+          mFlushThreads);
     }
   }
 }
@@ -153,6 +153,7 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     CacheConfiguration cacheConf = CacheConfiguration.newBuilder().setMaxSize(maxSize)
         .setHighWaterMark(highWaterMark).setLowWaterMark(lowWaterMark)
         .setEvictBatchSize(conf.getInt(PropertyKey.MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE))
+        .setFlushThreads(conf.getInt(PropertyKey.MASTER_METASTORE_INODE_CACHE_FLUSH_THREADS))
         .build();
     mInodeCache = new InodeCache(cacheConf);
     mEdgeCache = new EdgeCache(cacheConf);
@@ -332,7 +333,8 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     public InodeCache(CacheConfiguration conf) {
       super(conf, "inode-cache", MetricKey.MASTER_INODE_CACHE_EVICTIONS,
           MetricKey.MASTER_INODE_CACHE_HITS, MetricKey.MASTER_INODE_CACHE_LOAD_TIMES,
-          MetricKey.MASTER_INODE_CACHE_MISSES, MetricKey.MASTER_INODE_CACHE_SIZE);
+          MetricKey.MASTER_INODE_CACHE_MISSES, MetricKey.MASTER_INODE_CACHE_SIZE,
+          MetricKey.MASTER_INODE_CACHE_EVICTION_BACKLOG, MetricKey.MASTER_INODE_CACHE_FLUSH_TIMER);
     }
 
     @Override
@@ -444,7 +446,8 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     public EdgeCache(CacheConfiguration conf) {
       super(conf, "edge-cache", MetricKey.MASTER_EDGE_CACHE_EVICTIONS,
           MetricKey.MASTER_EDGE_CACHE_HITS, MetricKey.MASTER_EDGE_CACHE_LOAD_TIMES,
-          MetricKey.MASTER_EDGE_CACHE_MISSES, MetricKey.MASTER_EDGE_CACHE_SIZE);
+          MetricKey.MASTER_EDGE_CACHE_MISSES, MetricKey.MASTER_EDGE_CACHE_SIZE,
+          MetricKey.MASTER_EDGE_CACHE_EVICTION_BACKLOG, MetricKey.MASTER_EDGE_CACHE_FLUSH_TIMER);
     }
 
     /**
@@ -14,6 +14,8 @@ package alluxio.master.metastore.heap;
 import alluxio.collections.TwoKeyConcurrentSortedMap;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
+import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.grpc.ErrorType;
 import alluxio.master.file.meta.EdgeEntry;
 import alluxio.master.file.meta.Inode;
 import alluxio.master.file.meta.InodeDirectoryView;
@@ -24,6 +26,8 @@ import alluxio.master.journal.checkpoint.CheckpointInputStream;
 import alluxio.master.journal.checkpoint.CheckpointName;
 import alluxio.master.journal.checkpoint.CheckpointOutputStream;
 import alluxio.master.journal.checkpoint.CheckpointType;
+import alluxio.master.journal.checkpoint.OptimizedCheckpointInputStream;
+import alluxio.master.journal.checkpoint.OptimizedCheckpointOutputStream;
 import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.ReadOption;
 import alluxio.metrics.MetricKey;
@@ -34,22 +38,33 @@ import alluxio.util.ObjectSizeCalculator;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
+import io.grpc.Status;
+import org.apache.ratis.io.MD5Hash;
+import org.apache.ratis.util.MD5FileUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.StreamSupport;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -168,6 +183,30 @@ public class HeapInodeStore implements InodeStore {
     return mEdges.getOrDefault(id, Collections.emptySortedMap());
   }
 
+  /**
+   * Writes the inodes as independent shards into a sub-directory named after the checkpoint. Each
+   * shard is a complete {@link CheckpointType#INODE_PROTOS} checkpoint with its own MD5 file, so
+   * that the shards are serialized, compressed and checksummed in parallel.
+   *
+   * @param directory where the checkpoint will be written
+   * @param executorService to use when running tasks asynchronously
+   * @return a future that completes once all shards have been written
+   */
+  @Override
+  public CompletableFuture<Void> writeToCheckpoint(File directory,
+      ExecutorService executorService) {
+    File shardDir = new File(directory, getCheckpointName().toString());
+    List<Spliterator<MutableInode<?>>> shards =
+        splitInodes(Configuration.getInt(PropertyKey.MASTER_METASTORE_INODE_CHECKPOINT_SHARDS));
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[shards.size()];
+    for (int i = 0; i < shards.size(); i++) {
+      File shardFile = new File(shardDir, Integer.toString(i));
+      Spliterator<MutableInode<?>> shard = shards.get(i);
+      futures[i] = CompletableFuture.runAsync(() -> writeShard(shardFile, shard), executorService);
+    }
+    return CompletableFuture.allOf(futures);
+  }
+
   @Override
   public void writeToCheckpoint(OutputStream output) throws IOException, InterruptedException {
     output = new CheckpointOutputStream(output, CheckpointType.INODE_PROTOS);
@@ -179,6 +218,32 @@ public class HeapInodeStore implements InodeStore {
     }
   }
 
+  /**
+   * Restores the shards written by {@link #writeToCheckpoint(File, ExecutorService)} in parallel.
+   * Checkpoints written as a single file are restored with the default single stream method.
+   *
+   * @param directory where the checkpoint will be located
+   * @param executorService to use when running asynchronous tasks
+   * @return a future that completes once all shards have been restored
+   */
+  @Override
+  public CompletableFuture<Void> restoreFromCheckpoint(File directory,
+      ExecutorService executorService) {
+    File shardDir = new File(directory, getCheckpointName().toString());
+    if (!shardDir.isDirectory()) {
+      return InodeStore.super.restoreFromCheckpoint(directory, executorService);
+    }
+    File[] shardFiles = shardDir.listFiles(
+        (dir, name) -> !name.endsWith(MD5FileUtil.MD5_SUFFIX));
+    if (shardFiles == null) {
+      shardFiles = new File[0];
+    }
+    return CompletableFuture.allOf(Arrays.stream(shardFiles)
+        .map(shardFile -> CompletableFuture.runAsync(() -> restoreShard(shardFile),
+            executorService))
+        .toArray(CompletableFuture[]::new));
+  }
+
   @Override
   public void restoreFromCheckpoint(CheckpointInputStream input) throws IOException {
     Preconditions.checkState(input.getType() == CheckpointType.INODE_PROTOS,
@@ -191,6 +256,62 @@ public class HeapInodeStore implements InodeStore {
     }
   }
 
+  /**
+   * Splits the inodes into up to the given number of disjoint spliterators of similar size.
+   */
+  private List<Spliterator<MutableInode<?>>> splitInodes(int numShards) {
+    List<Spliterator<MutableInode<?>>> shards = new ArrayList<>(numShards);
+    shards.add(mInodes.values().spliterator());
+    boolean split = true;
+    while (split && shards.size() < numShards) {
+      split = false;
+      for (int i = shards.size() - 1; i >= 0 && shards.size() < numShards; i--) {
+        Spliterator<MutableInode<?>> prefix = shards.get(i).trySplit();
+        if (prefix != null) {
+          shards.add(prefix);
+          split = true;
+        }
+      }
+    }
+    return shards;
+  }
+
+  private void writeShard(File file, Spliterator<MutableInode<?>> shard) {
+    try {
+      Files.createDirectories(file.getParentFile().toPath());
+      MessageDigest md5 = MD5Hash.getDigester();
+      try (OutputStream output = new CheckpointOutputStream(
+          new OptimizedCheckpointOutputStream(file, md5), CheckpointType.INODE_PROTOS)) {
+        Iterator<MutableInode<?>> it = Spliterators.iterator(shard);
+        while (it.hasNext()) {
+          if (Thread.interrupted()) {
+            throw new InterruptedException();
+          }
+          it.next().toProto().writeDelimitedTo(output);
+        }
+      }
+      MD5FileUtil.saveMD5File(file, new MD5Hash(md5.digest()));
+    } catch (Exception e) {
+      throw new AlluxioRuntimeException(Status.INTERNAL,
+          String.format("Failed to take snapshot %s shard %s", getCheckpointName(), file),
+          e, ErrorType.Internal, false);
+    }
+  }
+
+  private void restoreShard(File file) {
+    try {
+      MessageDigest md5 = MD5Hash.getDigester();
+      try (CheckpointInputStream input = new OptimizedCheckpointInputStream(file, md5)) {
+        restoreFromCheckpoint(input);
+      }
+      MD5FileUtil.verifySavedMD5(file, new MD5Hash(md5.digest()));
+    } catch (Exception e) {
+      throw new AlluxioRuntimeException(Status.INTERNAL,
+          String.format("Failed to restore snapshot %s shard %s", getCheckpointName(), file),
+          e, ErrorType.Internal, false);
+    }
+  }
+
   @Override
   public CheckpointName getCheckpointName() {
     return CheckpointName.HEAP_INODE_STORE;
@@ -126,4 +126,23 @@ public class InodeStoreCheckpointTest {
     mNewInodeStore = createInodeStore();
     mNewInodeStore.restoreFromCheckpoint(dir, executor).join();
   }
+
+  @Test
+  public void testDirectoryManyInodes() throws IOException {
+    Configuration.set(PropertyKey.MASTER_METASTORE_INODE_CHECKPOINT_SHARDS, 8);
+    CreateDirectoryContext c = CreateDirectoryContext.defaults();
+    for (long id = 100; id < 10_100; id++) {
+      mBaseInodeStore.writeNewInode(MutableInodeDirectory.create(id, 1, "dir" + id, c));
+    }
+    File dir = mFolder.newFolder("checkpoint");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    mBaseInodeStore.writeToCheckpoint(dir, executor).join();
+    mNewInodeStore = createInodeStore();
+    mNewInodeStore.restoreFromCheckpoint(dir, executor).join();
+    for (long id = 100; id < 10_100; id++) {
+      Optional<Inode> inode = mNewInodeStore.get(id);
+      Assert.assertTrue(inode.isPresent());
+      Assert.assertEquals("dir" + id, inode.get().getName());
+    }
+  }
 }
@@ -301,6 +301,23 @@ public class CachingInodeStoreMockedBackingStoreTest {
     assertEquals(CACHE_SIZE / 2, CloseableIterator.size(mBackingStore.getChildren(0L)));
   }
 
+  @Test
+  public void parallelFlushToBackingStore() throws Exception {
+    mStore.close();
+    mConf.set(PropertyKey.MASTER_METASTORE_INODE_CACHE_FLUSH_THREADS, 4);
+    mStore = new CachingInodeStore(mBackingStore, new InodeLockManager());
+    for (long inodeId = 10; inodeId < 10 + CACHE_SIZE * 3; inodeId++) {
+      MutableInodeDirectory dir = createInodeDir(inodeId, 0);
+      mStore.addChild(0, dir);
+    }
+    mStore.mEdgeCache.flush();
+    mStore.mInodeCache.flush();
+    assertEquals(CACHE_SIZE * 3, CloseableIterator.size(mBackingStore.getChildren(0L)));
+    for (long inodeId = 10; inodeId < 10 + CACHE_SIZE * 3; inodeId++) {
+      assertTrue(mBackingStore.get(inodeId).isPresent());
+    }
+  }
+
   private MutableInodeDirectory createInodeDir(long id, long parentId) {
     MutableInodeDirectory dir = MutableInodeDirectory.create(id, parentId, Long.toString(id),
         CreateDirectoryContext.defaults());
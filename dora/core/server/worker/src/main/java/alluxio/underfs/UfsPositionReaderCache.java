@@ -0,0 +1,262 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.PositionReader;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.file.ReadTargetBuffer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of the open readers of UFS files, so that the reads of the pages of a file which are
+ * not cached do not open the file again. Opening a file is a metadata RPC for some under file
+ * systems, such as HDFS, plus a connection to the storage node.
+ *
+ * Up to a number of readers are kept open for each file, and the concurrent reads of the file
+ * share the least used of them once that number is reached, as the reads of a
+ * {@link PositionReader} do not depend on each other. The readers of a file are closed once the
+ * file has not been read for the expiration time, once the file is invalidated, or when it is
+ * read with another length, once the reads using them complete. A reader which failed a read is
+ * closed rather than reused.
+ *
+ * The readers acquired from the cache are closed to release them.
+ */
+@ThreadSafe
+public final class UfsPositionReaderCache implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsPositionReaderCache.class);
+
+  private final boolean mEnabled;
+  private final int mReadersPerFile;
+  /** The open readers, by UFS path. */
+  private final Cache<String, FileReaders> mFiles;
+
+  /**
+   * @param conf the configuration
+   */
+  public UfsPositionReaderCache(AlluxioConfiguration conf) {
+    this(conf.getBoolean(PropertyKey.WORKER_UFS_POSITION_READER_CACHE_ENABLED),
+        conf.getInt(PropertyKey.WORKER_UFS_POSITION_READER_CACHE_MAX_FILES),
+        conf.getInt(PropertyKey.WORKER_UFS_POSITION_READER_CACHE_READERS_PER_FILE),
+        conf.getMs(PropertyKey.WORKER_UFS_POSITION_READER_CACHE_EXPIRATION_TIME),
+        Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  UfsPositionReaderCache(boolean enabled, int maxFiles, int readersPerFile, long expirationMs,
+      Ticker ticker) {
+    mEnabled = enabled;
+    mReadersPerFile = Math.max(1, readersPerFile);
+    mFiles = CacheBuilder.newBuilder()
+        .maximumSize(maxFiles)
+        .expireAfterAccess(expirationMs, TimeUnit.MILLISECONDS)
+        .ticker(ticker)
+        .removalListener((RemovalNotification<String, FileReaders> removal) ->
+            removal.getValue().evict())
+        .build();
+  }
+
+  /**
+   * Acquires a reader of a UFS file, which is released when closed.
+   *
+   * @param ufs the under file system of the file
+   * @param path the path of the file
+   * @param fileLength the length of the file
+   * @return a reader of the file
+   */
+  public PositionReader acquire(UnderFileSystem ufs, String path, long fileLength) {
+    if (!mEnabled) {
+      return ufs.openPositionRead(path, fileLength);
+    }
+    // expire the idle readers without waiting for the cache to be written to
+    mFiles.cleanUp();
+    while (true) {
+      FileReaders readers;
+      try {
+        readers = mFiles.get(path, () -> new FileReaders(path, fileLength));
+      } catch (ExecutionException e) {
+        // creating the readers of a file does not open any
+        throw new IllegalStateException(e.getCause());
+      }
+      if (readers.mFileLength != fileLength) {
+        // the readers were opened for another version of the file
+        mFiles.asMap().remove(path, readers);
+        continue;
+      }
+      PositionReader reader = readers.acquire(ufs, mReadersPerFile);
+      if (reader != null) {
+        return reader;
+      }
+      // the readers were evicted since they were looked up
+    }
+  }
+
+  /**
+   * Closes the readers of a file, once the reads using them complete, when the file is
+   * modified or removed.
+   *
+   * @param path the path of the file
+   */
+  public void invalidate(String path) {
+    mFiles.invalidate(path);
+  }
+
+  /**
+   * @param path the path of a file
+   * @return the number of open readers of the file
+   */
+  @VisibleForTesting
+  int getReaderCount(String path) {
+    FileReaders readers = mFiles.getIfPresent(path);
+    return readers == null ? 0 : readers.size();
+  }
+
+  @Override
+  public void close() {
+    mFiles.invalidateAll();
+  }
+
+  /**
+   * The open readers of a file.
+   */
+  @ThreadSafe
+  private static final class FileReaders {
+    private final String mPath;
+    private final long mFileLength;
+    @GuardedBy("this")
+    private final List<SharedReader> mReaders = new ArrayList<>();
+    @GuardedBy("this")
+    private boolean mEvicted;
+
+    FileReaders(String path, long fileLength) {
+      mPath = path;
+      mFileLength = fileLength;
+    }
+
+    /**
+     * @return a reader of the file, or null if the readers were evicted
+     */
+    @Nullable
+    synchronized PositionReader acquire(UnderFileSystem ufs, int readersPerFile) {
+      if (mEvicted) {
+        return null;
+      }
+      SharedReader shared = mReaders.stream()
+          .min(Comparator.comparingInt(reader -> reader.mUsers))
+          .orElse(null);
+      if (shared == null || (shared.mUsers > 0 && mReaders.size() < readersPerFile)) {
+        shared = new SharedReader(ufs.openPositionRead(mPath, mFileLength));
+        mReaders.add(shared);
+      }
+      shared.mUsers++;
+      return new Handle(this, shared);
+    }
+
+    synchronized void release(SharedReader shared, boolean failed) {
+      shared.mUsers--;
+      if (failed) {
+        mReaders.remove(shared);
+      }
+      if (shared.mUsers == 0 && !mReaders.contains(shared)) {
+        close(shared);
+      }
+    }
+
+    synchronized void evict() {
+      mEvicted = true;
+      for (SharedReader shared : mReaders) {
+        if (shared.mUsers == 0) {
+          close(shared);
+        }
+      }
+      // the readers in use are closed once released
+      mReaders.clear();
+    }
+
+    synchronized int size() {
+      return mReaders.size();
+    }
+
+    private void close(SharedReader shared) {
+      try {
+        shared.mReader.close();
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Failed to close the UFS reader of {}", mPath, e);
+      }
+    }
+  }
+
+  /**
+   * A reader of a file shared by the reads of the file.
+   */
+  private static final class SharedReader {
+    private final PositionReader mReader;
+    /** The number of handles of the reader not yet closed, guarded by the readers of the file. */
+    private int mUsers;
+
+    SharedReader(PositionReader reader) {
+      mReader = reader;
+    }
+  }
+
+  /**
+   * A reader acquired from the cache, which releases the shared reader when closed.
+   */
+  private static final class Handle implements PositionReader {
+    private final FileReaders mReaders;
+    private final SharedReader mShared;
+    private final AtomicBoolean mClosed = new AtomicBoolean();
+    private volatile boolean mFailed;
+
+    Handle(FileReaders readers, SharedReader shared) {
+      mReaders = readers;
+      mShared = shared;
+    }
+
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length)
+        throws IOException {
+      try {
+        return mShared.mReader.read(position, buffer, length);
+      } catch (IOException | RuntimeException e) {
+        mFailed = true;
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() {
+      if (mClosed.compareAndSet(false, true)) {
+        mReaders.release(mShared, mFailed);
+      }
+    }
+  }
+}
@@ -20,6 +20,7 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.network.ChannelType;
 import alluxio.underfs.UfsManager;
 import alluxio.util.CommonUtils;
+import alluxio.util.FlightRecorder;
 import alluxio.util.JvmPauseMonitor;
 import alluxio.util.WaitForOptions;
 import alluxio.util.network.NettyUtils;
@@ -295,6 +296,10 @@ public class AlluxioWorkerProcess implements WorkerProcess {
           mJvmPauseMonitor::getWarnTimeExceeded);
     }
 
+    if (Configuration.getBoolean(PropertyKey.WORKER_JVM_FLIGHT_RECORDER_ENABLED)) {
+      FlightRecorder.start(Configuration.global());
+    }
+
     // Start serving RPC, this will block
     AtomicReference<WorkerIdentity> workerId = mRegistry.get(DataWorker.class).getWorkerId();
     LOG.info("Alluxio worker started. id={}, bindHost={}, connectHost={}, rpcPort={}, webPort={}",
@@ -316,6 +321,7 @@ public class AlluxioWorkerProcess implements WorkerProcess {
       if (mJvmPauseMonitor != null) {
         mJvmPauseMonitor.stop();
       }
+      FlightRecorder.get().ifPresent(FlightRecorder::close);
     }
     stopWorkers();
   }
@@ -0,0 +1,82 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker;
+
+import alluxio.util.FlightRecorder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.ws.rs.GET;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * This class is a REST handler for requesting general worker information.
+ */
+@NotThreadSafe
+@javax.ws.rs.Path(AlluxioWorkerRestServiceHandler.SERVICE_PREFIX)
+public final class AlluxioWorkerRestServiceHandler {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AlluxioWorkerRestServiceHandler.class);
+
+  public static final String SERVICE_PREFIX = "worker";
+
+  // endpoints
+  public static final String FLIGHT_RECORDING = "flight_recording";
+
+  /**
+   * @summary get the current rolling window of the worker's flight recording, as a JFR file
+   * @return the response object
+   */
+  @GET
+  @javax.ws.rs.Path(FLIGHT_RECORDING)
+  @Produces(MediaType.APPLICATION_OCTET_STREAM)
+  public Response getFlightRecording() {
+    Optional<FlightRecorder> recorder = FlightRecorder.get();
+    if (!recorder.isPresent()) {
+      return Response.status(Response.Status.NOT_FOUND)
+          .type(MediaType.TEXT_PLAIN)
+          .entity("Flight recording is not enabled on this worker")
+          .build();
+    }
+    Path file;
+    try {
+      file = Files.createTempFile("alluxio-worker-", ".jfr");
+      recorder.get().copyTo(file);
+    } catch (IOException e) {
+      LOG.warn("Failed to copy the flight recording: {}", e.toString());
+      return Response.serverError()
+          .type(MediaType.TEXT_PLAIN)
+          .entity(e.getMessage())
+          .build();
+    }
+    StreamingOutput output = out -> {
+      try {
+        Files.copy(file, out);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    };
+    return Response.ok(output)
+        .header("Content-Disposition",
+            "attachment; filename=\"" + file.getFileName() + "\"")
+        .build();
+  }
+}
@@ -21,6 +21,7 @@ import alluxio.file.FileId;
 import alluxio.grpc.FileInfo;
 import alluxio.proto.meta.DoraMeta;
 import alluxio.proto.meta.DoraMeta.FileStatus;
+import alluxio.underfs.AbsentUfsPathCache;
 import alluxio.underfs.Fingerprint;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UfsStatus;
@@ -34,6 +35,7 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,9 +43,21 @@ import org.slf4j.LoggerFactory;
 import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * The Dora metadata manager that orchestrates the metadata operations.
@@ -57,6 +71,10 @@ public class DoraMetaManager implements Closeable {
   private final DoraMetaStore mMetaStore;
   private final CacheManager mCacheManager;
   protected final UfsManager mUfsManager;
+  private final MetaInvalidationPublisher mInvalidationPublisher;
+  /** The listeners called with the full ufs path of a file whose cached data is invalidated. */
+  private final List<Consumer<String>> mFileInvalidationListeners =
+      new CopyOnWriteArrayList<>();
 
   private static final Logger SAMPLING_LOG = new SamplingLogger(
       LoggerFactory.getLogger(DoraMetaManager.class), 1L * Constants.MINUTE_MS);
@@ -74,6 +92,22 @@ public class DoraMetaManager implements Closeable {
           v.mUfsStatuses == null ? 0 : v.mUfsStatuses.length)
       .expireAfterWrite(Configuration.getDuration(PropertyKey.DORA_UFS_LIST_STATUS_CACHE_TTL))
       .build();
+  /** The listings being listed from UFS to be cached, by path. */
+  private final ConcurrentHashMap<String, CompletableFuture<ListStatusResult>> mListingsInFlight =
+      new ConcurrentHashMap<>();
+  /**
+   * The maximum time to wait for a listing in flight, which completes as fast as its first
+   * caller consumes it, before listing the directory again.
+   */
+  private final long mListingInFlightTimeoutMs =
+      Configuration.getMs(PropertyKey.WORKER_NETWORK_PACKET_SENDING_TIMEOUT);
+  // the statuses in a listing have neither xattrs nor a real content hash
+  private final boolean mLoadMetadataFromListing = mListStatusCache != null
+      && Configuration.getBoolean(PropertyKey.DORA_UFS_LIST_STATUS_CACHE_LOAD_METADATA_ENABLED)
+      && !mGetRealContentHash && !mXAttrWriteToUFSEnabled;
+  private final AbsentUfsPathCache mAbsentPathCache = new AbsentUfsPathCache(
+      Configuration.getInt(PropertyKey.DORA_UFS_ABSENT_PATH_CACHE_SIZE),
+      Configuration.getDuration(PropertyKey.DORA_UFS_ABSENT_PATH_CACHE_TTL));
 
   /**
    * Creates a dora meta manager.
@@ -92,6 +126,23 @@ public class DoraMetaManager implements Closeable {
     mMetaStore = new RocksDBDoraMetaStore(dbDir, ttl);
     mCacheManager = cacheManger;
     mUfsManager = ufsManager;
+    mInvalidationPublisher = new MetaInvalidationPublisher(conf);
+  }
+
+  /**
+   * @return the publisher of the invalidations of the metadata in this manager
+   */
+  public MetaInvalidationPublisher getInvalidationPublisher() {
+    return mInvalidationPublisher;
+  }
+
+  /**
+   * Adds a listener called when the cached data of a file is invalidated, because the file was
+   * modified or removed.
+   * @param listener the listener, called with the full ufs path of the file
+   */
+  public void addFileInvalidationListener(Consumer<String> listener) {
+    mFileInvalidationListeners.add(listener);
   }
 
   protected UnderFileSystem getUfsInstance(String ufsUriStr) {
@@ -139,6 +190,7 @@ public class DoraMetaManager implements Closeable {
     Optional<FileStatus> fileStatus = getFromUfs(path);
     if (!fileStatus.isPresent()) {
       removeFromMetaStore(path);
+      mAbsentPathCache.add(path);
     } else {
       put(path, fileStatus.get());
     }
@@ -146,6 +198,42 @@ public class DoraMetaManager implements Closeable {
     return fileStatus;
   }
 
+  /**
+   * Gets file meta from the cached listing of its parent and loads it into the metastore if
+   * found, so that the files of a directory just listed are not loaded from UFS one by one.
+   * The loaded meta is as old as the listing. Only the listings cached by this worker are looked
+   * up, so the meta of a file is only found if this worker also owns its parent directory.
+   *
+   * @param path the full ufs path
+   * @param syncIntervalMs the maximum age of the listing to accept in milliseconds, 0 to accept
+   *                       none, or a negative value to accept any cached listing
+   * @return the file status, or empty optional if the listing of the parent is not cached, is
+   * too old or does not contain the file
+   */
+  public Optional<FileStatus> loadFromListingCache(String path, long syncIntervalMs) {
+    if (!mLoadMetadataFromListing || syncIntervalMs == 0) {
+      return Optional.empty();
+    }
+    AlluxioURI uri = new AlluxioURI(path);
+    AlluxioURI parent = uri.getParent();
+    if (parent == null) {
+      return Optional.empty();
+    }
+    ListStatusResult listing = mListStatusCache.getIfPresent(parent.toString());
+    if (listing == null || (syncIntervalMs > 0
+        && System.nanoTime() - listing.mTimeStamp > syncIntervalMs * Constants.MS_NANO)) {
+      return Optional.empty();
+    }
+    UfsStatus status = listing.getStatus(uri.getName());
+    if (status == null) {
+      return Optional.empty();
+    }
+    FileStatus fs = buildFileStatusFromListing(
+        getUfsInstance(path).getUnderFSType(), status, path, listing.mTimeStamp);
+    put(path, fs);
+    return Optional.of(fs);
+  }
+
   /**
    * Gets file meta from the metastore.
    * @param path the full ufs path
@@ -157,11 +245,17 @@ public class DoraMetaManager implements Closeable {
 
   /**
    * Puts meta of a file into the metastore, and invalidates the file data cache.
+   * The clients are notified if the existing meta changed.
    * @param path the full ufs path
    * @param status the file meta
    */
   public void put(String path, FileStatus status) {
+    mAbsentPathCache.invalidate(path);
     Optional<FileStatus> existingStatus = mMetaStore.getDoraMeta(path);
+    if (existingStatus.isPresent()
+        && !existingStatus.get().getFileInfo().equals(status.getFileInfo())) {
+      mInvalidationPublisher.publish(path);
+    }
     if (!existingStatus.isPresent()
         || existingStatus.get().getFileInfo().getFolder()
         || existingStatus.get().getFileInfo().getLength() == 0) {
@@ -176,6 +270,7 @@ public class DoraMetaManager implements Closeable {
 
   /**
    * Removes meta of a file from the meta store.
+   * The clients are notified if the meta existed.
    * @param path the full ufs path
    * @return the removed file meta, if exists
    */
@@ -184,13 +279,36 @@ public class DoraMetaManager implements Closeable {
     Optional<FileStatus> status = mMetaStore.getDoraMeta(path);
     if (status.isPresent()) {
       mMetaStore.removeDoraMeta(path);
+      // the clients invalidate the listing of the parent too
+      mInvalidationPublisher.publish(path);
     }
     invalidateCachedFile(path);
     return status;
   }
 
   /**
-   * Invalidates the listing cache of a given path.
+   * Checks if a path was recently found not to exist in the UFS, so that it does not need to be
+   * loaded from the UFS again.
+   * @param path the full ufs path
+   * @param syncIntervalMs the maximum age of the absence to accept in milliseconds, 0 to accept
+   *                       none, or a negative value to accept any which has not expired
+   * @return true if the path is known to be absent
+   */
+  public boolean isAbsentInUfs(String path, long syncIntervalMs) {
+    return mAbsentPathCache.isAbsent(path, syncIntervalMs);
+  }
+
+  /**
+   * Invalidates the absence of a path and its ancestors, when the path is created.
+   * @param path the full ufs path
+   */
+  public void invalidateAbsentPath(String path) {
+    mAbsentPathCache.invalidate(path);
+  }
+
+  /**
+   * Invalidates the listing cache of a given path, e.g. before listing it again.
+   * The clients are not notified, as the listing is not known to have changed.
    * @param path the full ufs path
    */
   public void invalidateListingCache(String path) {
@@ -200,14 +318,15 @@ public class DoraMetaManager implements Closeable {
   }
 
   /**
-   * Invalidates the listing cache of its parent of a given path.
+   * Invalidates the listing cache of its parent of a given path, when the path is modified.
    * If root is specified, the listing cache of root itself will be invalidated.
+   * The clients are notified, as the listing changed.
    * @param path the full ufs path
    */
   public void invalidateListingCacheOfParent(String path) {
-    if (mListStatusCache != null) {
-      mListStatusCache.invalidate(getPathParent(path));
-    }
+    String parent = getPathParent(path);
+    invalidateListingCache(parent);
+    mInvalidationPublisher.publish(parent);
   }
 
   /**
@@ -248,15 +367,7 @@ public class DoraMetaManager implements Closeable {
     try {
       ListStatusResult cached = mListStatusCache.get(path, (k) -> {
         try {
-          Optional<UfsStatus[]> listResults = listFromUfs(path, false);
-          return listResults.map(
-                  ufsStatuses -> new ListStatusResult(
-                      System.nanoTime(), ufsStatuses,
-                      ufsStatuses.length == 1 && ufsStatuses[0].isFile()
-                  ))
-              // This cache also serves as absent cache, so we persist a NULL (not empty) result,
-              // if the path not found or is not a directory.
-              .orElseGet(() -> new ListStatusResult(System.nanoTime(), null, false));
+          return toListStatusResult(listFromUfs(path, false));
         } catch (Exception e) {
           throw new RuntimeException(e);
         }
@@ -275,6 +386,112 @@ public class DoraMetaManager implements Closeable {
     }
   }
 
+  /**
+   * Lists a directory from UFS like {@link #listFromUfsThenCache(String, boolean)}, but hands the
+   * statuses to the consumer in batches as the UFS lists them, rather than once the whole
+   * directory is listed. Non-recursive listings are added to the listing cache once complete.
+   * Concurrent non-recursive listings of the same directory list it from UFS only once, the
+   * others waiting for that listing to complete and handing its statuses over. A listing which
+   * does not complete within the packet sending timeout is not waited for, and the directory is
+   * listed from UFS again.
+   *
+   * @param path the ufs path
+   * @param isRecursive if the listing is recursive
+   * @param batchSize the maximum number of statuses in a batch
+   * @param consumer the consumer of the batches of statuses
+   * @return false if the directory does not exist or the path does not denote a directory,
+   * in which case the consumer is not called
+   * @throws IOException if the UFS call failed
+   */
+  public boolean listFromUfsThenCache(String path, boolean isRecursive, int batchSize,
+      Consumer<List<UfsStatus>> consumer) throws IOException {
+    if (mListStatusCache == null || isRecursive) {
+      return listFromUfs(path, isRecursive, batchSize, consumer, false).mUfsStatuses != null;
+    }
+    while (true) {
+      CompletableFuture<ListStatusResult> listing = new CompletableFuture<>();
+      CompletableFuture<ListStatusResult> inFlight = mListingsInFlight.putIfAbsent(path, listing);
+      if (inFlight == null) {
+        try {
+          ListStatusResult result = listFromUfs(path, false, batchSize, consumer, true);
+          mListStatusCache.put(path, result);
+          listing.complete(result);
+          return result.mUfsStatuses != null;
+        } catch (Throwable t) {
+          listing.completeExceptionally(t);
+          throw t;
+        } finally {
+          mListingsInFlight.remove(path, listing);
+        }
+      }
+      ListStatusResult result;
+      try {
+        result = inFlight.get(mListingInFlightTimeoutMs, TimeUnit.MILLISECONDS);
+      } catch (ExecutionException e) {
+        // the listing failed, or its consumer did, so the directory is listed again
+        continue;
+      } catch (TimeoutException e) {
+        LOG.debug("Timed out waiting for the listing of {} in flight, listing it again", path);
+        return listFromUfs(path, false, batchSize, consumer, false).mUfsStatuses != null;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted waiting for the listing of " + path);
+      }
+      if (result.mUfsStatuses == null) {
+        return false;
+      }
+      Lists.partition(Arrays.asList(result.mUfsStatuses), batchSize).forEach(consumer);
+      return true;
+    }
+  }
+
+  /**
+   * Lists a directory from UFS, handing the statuses to the consumer in batches as the UFS
+   * lists them.
+   *
+   * @param path the ufs path
+   * @param isRecursive if the listing is recursive
+   * @param batchSize the maximum number of statuses in a batch
+   * @param consumer the consumer of the batches of statuses
+   * @param keepStatuses whether to return the statuses listed, rather than an empty listing
+   * @return the listing, whose statuses are null if the directory does not exist or the path
+   * does not denote a directory
+   */
+  private ListStatusResult listFromUfs(String path, boolean isRecursive, int batchSize,
+      Consumer<List<UfsStatus>> consumer, boolean keepStatuses) throws IOException {
+    UnderFileSystem ufs = getUfsInstance(path);
+    Iterator<UfsStatus> iterator = null;
+    try {
+      iterator = ufs.listStatusIterable(
+          path, ListOptions.defaults().setRecursive(isRecursive), null, batchSize);
+    } catch (FileNotFoundException e) {
+      // handled as a path which is not a directory below
+    }
+    if (iterator == null) {
+      Optional<UfsStatus[]> status = getFromUfsAsListing(ufs, path);
+      status.ifPresent(statuses -> consumer.accept(Arrays.asList(statuses)));
+      return toListStatusResult(status);
+    }
+    List<UfsStatus> listing = new ArrayList<>();
+    int batchStart = 0;
+    while (iterator.hasNext()) {
+      listing.add(iterator.next());
+      if (listing.size() - batchStart == batchSize) {
+        consumer.accept(listing.subList(batchStart, listing.size()));
+        if (keepStatuses) {
+          batchStart = listing.size();
+        } else {
+          listing.clear();
+        }
+      }
+    }
+    if (listing.size() > batchStart) {
+      consumer.accept(listing.subList(batchStart, listing.size()));
+    }
+    return toListStatusResult(Optional.of(keepStatuses
+        ? listing.toArray(new UfsStatus[0]) : new UfsStatus[0]));
+  }
+
   /**
    * Lists a directory from UFS.
    * @param path the ufs path
@@ -298,6 +515,18 @@ public class DoraMetaManager implements Closeable {
         throw e;
       }
     }
+    return getFromUfsAsListing(ufs, path);
+  }
+
+  /**
+   * Gets the status of a path which could not be listed as a directory, in the form of a listing.
+   *
+   * @param ufs the UFS of the path
+   * @param path the ufs path
+   * @return an empty option if the path does not exist, otherwise the status of the file
+   */
+  private Optional<UfsStatus[]> getFromUfsAsListing(UnderFileSystem ufs, String path)
+      throws IOException {
     // TODO(yimin) put the ufs status into the metastore
     // If list does not give a result,
     // the request path might either be a regular file/object or not exist.
@@ -315,6 +544,25 @@ public class DoraMetaManager implements Closeable {
     }
   }
 
+  private static ListStatusResult toListStatusResult(Optional<UfsStatus[]> listResults) {
+    return listResults.map(
+            ufsStatuses -> new ListStatusResult(
+                System.nanoTime(), ufsStatuses,
+                ufsStatuses.length == 1 && ufsStatuses[0].isFile()
+            ))
+        // This cache also serves as absent cache, so we persist a NULL (not empty) result,
+        // if the path not found or is not a directory.
+        .orElseGet(() -> new ListStatusResult(System.nanoTime(), null, false));
+  }
+
+  private FileStatus buildFileStatusFromListing(String ufsType, UfsStatus status, String path,
+      long timestamp) {
+    return PagedDoraWorker.buildFileStatusFromUfsStatus(
+        mCacheManager.getUsage(), ufsType, status, path, null).toBuilder()
+        .setTs(timestamp)
+        .build();
+  }
+
   /**
    * Decides if the page cache should be invalidated if the file metadata is updated.
    * Similar to {@link alluxio.underfs.Fingerprint#matchContent(Fingerprint)},
@@ -346,6 +594,9 @@ public class DoraMetaManager implements Closeable {
     SAMPLING_LOG.info("Invalidating cached file {}", path);
     FileId fileId = FileId.of(AlluxioURI.hash(path));
     mCacheManager.deleteFile(fileId.toString());
+    for (Consumer<String> listener : mFileInvalidationListeners) {
+      listener.accept(path);
+    }
   }
 
   private String getPathParent(String path) {
@@ -362,6 +613,7 @@ public class DoraMetaManager implements Closeable {
 
   @Override
   public void close() throws IOException {
+    mInvalidationPublisher.close();
     mMetaStore.close();
   }
 }
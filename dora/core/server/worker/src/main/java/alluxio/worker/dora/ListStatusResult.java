@@ -11,7 +11,13 @@
 
 package alluxio.worker.dora;
 
+import alluxio.AlluxioURI;
 import alluxio.underfs.UfsStatus;
+import alluxio.util.CommonUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * The list status results stored in the cache.
@@ -21,6 +27,9 @@ public class ListStatusResult {
   UfsStatus[] mUfsStatuses;
 
   private final boolean mIsFile;
+  /** The entries by name, built on the first lookup of an entry. */
+  @Nullable
+  private volatile Map<String, UfsStatus> mStatusesByName;
 
   /**
    * @return if the list target is a file; if true,
@@ -35,4 +44,29 @@ public class ListStatusResult {
     mUfsStatuses = ufsStatuses;
     mIsFile = isFile;
   }
+
+  /**
+   * Looks up an entry of the listing by name. The entries are indexed on the first lookup, so
+   * looking up every entry of a large directory does not scan the listing each time.
+   *
+   * @param name the name of the entry, relative to the listed directory
+   * @return the status of the entry, or null if the listing does not contain it
+   */
+  @Nullable
+  UfsStatus getStatus(String name) {
+    if (mUfsStatuses == null) {
+      return null;
+    }
+    Map<String, UfsStatus> statusesByName = mStatusesByName;
+    if (statusesByName == null) {
+      // concurrent lookups may each build the index, which is harmless
+      statusesByName = new HashMap<>(mUfsStatuses.length * 4 / 3 + 1);
+      for (UfsStatus status : mUfsStatuses) {
+        statusesByName.put(
+            CommonUtils.stripSuffixIfPresent(status.getName(), AlluxioURI.SEPARATOR), status);
+      }
+      mStatusesByName = statusesByName;
+    }
+    return statusesByName.get(name);
+  }
 }
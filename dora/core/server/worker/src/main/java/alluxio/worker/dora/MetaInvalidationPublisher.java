@@ -0,0 +1,268 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.runtime.ResourceExhaustedRuntimeException;
+import alluxio.grpc.MetaInvalidationEvent;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Pushes the invalidations of the metadata cached by the worker to the subscribed clients, so
+ * that the clients can cache the metadata for a long time.
+ *
+ * Each subscription has a bounded queue of events, numbered without gaps, which is drained to
+ * the client by a single dispatcher thread as fast as the client reads them. A client which
+ * falls so far behind that its queue fills up is unsubscribed with an error, as it can no longer
+ * know which paths changed; the number of subscriptions is bounded as well. The first event of
+ * a subscription has no path, and tells the client from when on it receives every invalidation.
+ */
+@ThreadSafe
+public class MetaInvalidationPublisher implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(MetaInvalidationPublisher.class);
+
+  private final int mMaxSubscribers;
+  private final int mQueueSize;
+  private final Set<Subscription> mSubscriptions = ConcurrentHashMap.newKeySet();
+  private final ExecutorService mDispatcher = Executors.newSingleThreadExecutor(
+      ThreadFactoryUtils.build("meta-invalidation-dispatcher-%d", true));
+
+  /**
+   * @param conf the configuration
+   */
+  public MetaInvalidationPublisher(AlluxioConfiguration conf) {
+    this(conf.getInt(PropertyKey.DORA_WORKER_META_INVALIDATION_MAX_SUBSCRIBERS),
+        conf.getInt(PropertyKey.DORA_WORKER_META_INVALIDATION_QUEUE_SIZE));
+  }
+
+  @VisibleForTesting
+  MetaInvalidationPublisher(int maxSubscribers, int queueSize) {
+    mMaxSubscribers = maxSubscribers;
+    mQueueSize = queueSize;
+  }
+
+  /**
+   * Subscribes a client to the invalidations of the paths under any of the given prefixes. The
+   * events are sent to the observer until the call is cancelled or the publisher is closed.
+   *
+   * @param pathPrefixes the full ufs paths under which to publish invalidations, or empty for
+   *                     all paths
+   * @param observer the observer of the server stream
+   */
+  public void subscribe(List<String> pathPrefixes,
+      StreamObserver<MetaInvalidationEvent> observer) {
+    Subscription subscription = new Subscription(pathPrefixes, observer);
+    if (observer instanceof ServerCallStreamObserver) {
+      ServerCallStreamObserver<MetaInvalidationEvent> callObserver =
+          (ServerCallStreamObserver<MetaInvalidationEvent>) observer;
+      callObserver.setOnReadyHandler(subscription::scheduleDrain);
+      callObserver.setOnCancelHandler(() -> mSubscriptions.remove(subscription));
+    }
+    // the number of subscriptions may briefly exceed the limit by the number of concurrent
+    // subscribers, which is fine for a limit on the fan-out
+    if (mSubscriptions.size() >= mMaxSubscribers) {
+      observer.onError(new ResourceExhaustedRuntimeException(String.format(
+          "The worker has reached the limit of %d metadata invalidation subscribers",
+          mMaxSubscribers), true).toGrpcStatusRuntimeException());
+      return;
+    }
+    mSubscriptions.add(subscription);
+    subscription.offer(null);
+    LOG.debug("Subscribed a client to metadata invalidations under {}", pathPrefixes);
+  }
+
+  /**
+   * Publishes the invalidation of a path to the clients which subscribed to it.
+   *
+   * @param path the full ufs path of which the metadata or listing changed
+   */
+  public void publish(String path) {
+    if (mSubscriptions.isEmpty()) {
+      return;
+    }
+    for (Subscription subscription : mSubscriptions) {
+      if (subscription.matches(path)) {
+        subscription.offer(path);
+      }
+    }
+  }
+
+  /**
+   * @return the number of subscriptions
+   */
+  @VisibleForTesting
+  int getSubscriptionCount() {
+    return mSubscriptions.size();
+  }
+
+  @Override
+  public void close() {
+    for (Subscription subscription : mSubscriptions) {
+      subscription.close(null);
+    }
+    mDispatcher.shutdown();
+  }
+
+  /**
+   * @param path a full ufs path
+   * @param prefix a full ufs path
+   * @return whether the path is the prefix itself or a path under it
+   */
+  @VisibleForTesting
+  static boolean isUnder(String path, String prefix) {
+    return path.startsWith(prefix) && (path.length() == prefix.length()
+        || prefix.endsWith(AlluxioURI.SEPARATOR)
+        || path.startsWith(AlluxioURI.SEPARATOR, prefix.length()));
+  }
+
+  private final class Subscription {
+    private final List<String> mPathPrefixes;
+    private final StreamObserver<MetaInvalidationEvent> mObserver;
+    private final BlockingQueue<MetaInvalidationEvent> mQueue;
+    /** Whether a drain of the queue is scheduled or running. */
+    private final AtomicBoolean mDraining = new AtomicBoolean();
+    @GuardedBy("this")
+    private long mNextSequenceNumber = 0;
+    /** Set once the subscription is to be closed, with the error to close it with, if any. */
+    @Nullable
+    private volatile Closing mClosing;
+
+    Subscription(List<String> pathPrefixes, StreamObserver<MetaInvalidationEvent> observer) {
+      mPathPrefixes = ImmutableList.copyOf(pathPrefixes);
+      mObserver = observer;
+      mQueue = new ArrayBlockingQueue<>(mQueueSize);
+    }
+
+    boolean matches(String path) {
+      if (mPathPrefixes.isEmpty()) {
+        return true;
+      }
+      for (String prefix : mPathPrefixes) {
+        if (isUnder(path, prefix)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * @param path the invalidated path, or null for the event acknowledging the subscription
+     */
+    synchronized void offer(@Nullable String path) {
+      if (mClosing != null) {
+        return;
+      }
+      MetaInvalidationEvent.Builder event = MetaInvalidationEvent.newBuilder()
+          .setSequenceNumber(mNextSequenceNumber++);
+      if (path != null) {
+        event.setPath(path);
+      }
+      if (!mQueue.offer(event.build())) {
+        mQueue.clear();
+        close(new ResourceExhaustedRuntimeException(
+            "The client fell too far behind the metadata invalidations of the worker", true));
+        return;
+      }
+      scheduleDrain();
+    }
+
+    void close(@Nullable ResourceExhaustedRuntimeException error) {
+      mClosing = new Closing(error);
+      scheduleDrain();
+    }
+
+    void scheduleDrain() {
+      if (mDraining.compareAndSet(false, true)) {
+        try {
+          mDispatcher.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+          // the publisher is closed
+          mSubscriptions.remove(this);
+        }
+      }
+    }
+
+    /**
+     * Sends the queued events while the client is ready for them. Only one drain runs at a time
+     * for a subscription, so the observer is never called concurrently.
+     */
+    private void drain() {
+      do {
+        Closing closing = mClosing;
+        if (closing != null) {
+          mSubscriptions.remove(this);
+          if (closing.mError == null) {
+            mObserver.onCompleted();
+          } else {
+            mObserver.onError(closing.mError.toGrpcStatusRuntimeException());
+          }
+          // the subscription stays marked as draining, so it is never drained again
+          return;
+        }
+        while (isReady()) {
+          MetaInvalidationEvent event = mQueue.poll();
+          if (event == null) {
+            break;
+          }
+          try {
+            mObserver.onNext(event);
+          } catch (RuntimeException e) {
+            LOG.debug("Failed to send a metadata invalidation to a client", e);
+            mSubscriptions.remove(this);
+            return;
+          }
+        }
+        mDraining.set(false);
+        // events offered or a closing requested after the last check and before the flag is
+        // cleared would not schedule another drain, so they are picked up here
+      } while ((mClosing != null || (!mQueue.isEmpty() && isReady()))
+          && mDraining.compareAndSet(false, true));
+    }
+
+    private boolean isReady() {
+      return !(mObserver instanceof ServerCallStreamObserver)
+          || ((ServerCallStreamObserver<MetaInvalidationEvent>) mObserver).isReady();
+    }
+  }
+
+  private static final class Closing {
+    @Nullable
+    private final ResourceExhaustedRuntimeException mError;
+
+    Closing(@Nullable ResourceExhaustedRuntimeException error) {
+      mError = error;
+    }
+  }
+}
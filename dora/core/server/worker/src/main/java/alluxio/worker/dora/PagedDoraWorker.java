@@ -14,11 +14,13 @@ package alluxio.worker.dora;
 import static alluxio.client.file.cache.CacheUsage.PartitionDescriptor.file;
 
 import alluxio.AlluxioURI;
+import alluxio.CloseableSupplier;
 import alluxio.Constants;
 import alluxio.DefaultStorageTierAssoc;
 import alluxio.PositionReader;
 import alluxio.Server;
 import alluxio.StorageTierAssoc;
+import alluxio.client.file.CacheContext;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.cache.CacheManager;
@@ -32,19 +34,24 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AccessControlException;
+import alluxio.exception.PageNotFoundException;
 import alluxio.exception.runtime.AlluxioRuntimeException;
 import alluxio.exception.runtime.AlreadyExistsRuntimeException;
 import alluxio.exception.runtime.FailedPreconditionRuntimeException;
+import alluxio.exception.runtime.NotFoundRuntimeException;
 import alluxio.exception.runtime.UnavailableRuntimeException;
 import alluxio.exception.status.AlreadyExistsException;
 import alluxio.exception.status.FailedPreconditionException;
+import alluxio.grpc.CachedPageFile;
 import alluxio.grpc.Command;
 import alluxio.grpc.CommandType;
 import alluxio.grpc.CompleteFilePOptions;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.DrainWorkerResponse;
 import alluxio.grpc.ExistsPOptions;
+import alluxio.grpc.GetCachedPageFilesResponse;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GrpcService;
 import alluxio.grpc.GrpcUtils;
@@ -55,6 +62,7 @@ import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.LoadMetadataPType;
 import alluxio.grpc.LoadMetadataSubTask;
 import alluxio.grpc.LoadSubTask;
+import alluxio.grpc.MetaInvalidationEvent;
 import alluxio.grpc.RenamePOptions;
 import alluxio.grpc.Route;
 import alluxio.grpc.RouteFailure;
@@ -72,6 +80,7 @@ import alluxio.membership.MasterMembershipManager;
 import alluxio.membership.MembershipManager;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.MappedFileCache;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.proto.meta.DoraMeta;
 import alluxio.resource.PooledResource;
@@ -83,6 +92,7 @@ import alluxio.security.user.ServerUserState;
 import alluxio.underfs.UfsFileStatus;
 import alluxio.underfs.UfsInputStreamCache;
 import alluxio.underfs.UfsManager;
+import alluxio.underfs.UfsPositionReaderCache;
 import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
@@ -110,12 +120,14 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.io.Closer;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.inject.Inject;
 import com.google.protobuf.ByteString;
 import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import org.slf4j.Logger;
@@ -126,6 +138,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -138,6 +151,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import javax.inject.Named;
 
@@ -158,6 +172,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   protected final DoraMetaManager mMetaManager;
   private final MembershipManager mMembershipManager;
   private final UfsInputStreamCache mUfsStreamCache;
+  private final UfsPositionReaderCache mUfsReaderCache;
   private final long mPageSize;
   protected final AlluxioConfiguration mConf;
   private final BlockMasterClientPool mBlockMasterClientPool;
@@ -174,6 +189,14 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   private final ExecutorService mCacheDataExecutor = Executors.newFixedThreadPool(
       Configuration.getInt(PropertyKey.WORKER_PRELOAD_DATA_THREAD_POOL_SIZE));
   private final boolean mFastDataLoadEnabled;
+  private final boolean mShortCircuitReadEnabled;
+  /** The mappings of the page files to send the cached pages from, or null if not mapped. */
+  @Nullable
+  private final MappedFileCache mMappedPageFiles;
+  /** Locates the workers to read the pages not cached from, or null if they are read from UFS. */
+  @Nullable
+  private final PreviousOwnerLocator mPreviousOwnerLocator;
+  private final WorkerDrainer mDrainer;
 
   /**
    * Constructor.
@@ -211,6 +234,12 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     mBlockMasterClientPool = blockMasterClientPool;
     mCacheManager = cacheManager;
     mMetaManager = mResourceCloser.register(metaManager);
+    mUfsReaderCache = mResourceCloser.register(new UfsPositionReaderCache(mConf));
+    mMappedPageFiles = mConf.getBoolean(PropertyKey.WORKER_NETWORK_READER_PAGE_MAPPED)
+        ? mResourceCloser.register(new MappedFileCache(
+            MappedFileCache.DEFAULT_MAX_FILES, MappedFileCache.DEFAULT_EXPIRATION_MS))
+        : null;
+    mMetaManager.addFileInvalidationListener(mUfsReaderCache::invalidate);
     mMembershipManager = membershipManager;
     mOpenFileHandleContainer = new DoraOpenFileHandleContainer();
     mMkdirsRecursive = MkdirsOptions.defaults(mConf).setCreateParent(true);
@@ -219,6 +248,23 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
         .getBoolean(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED);
     mXAttrWriteToUFSEnabled = mConf.getBoolean(PropertyKey.UNDERFS_XATTR_CHANGE_ENABLED);
     mFastDataLoadEnabled = mConf.getBoolean(PropertyKey.WORKER_FAST_DATA_LOAD_ENABLED);
+    mShortCircuitReadEnabled = mConf.getBoolean(PropertyKey.WORKER_SHORT_CIRCUIT_READ_ENABLED);
+    mPreviousOwnerLocator = mConf.getBoolean(PropertyKey.WORKER_PEER_FETCH_ENABLED)
+        ? new PreviousOwnerLocator(mConf, mMembershipManager, mWorkerId::get) : null;
+    mDrainer = new WorkerDrainer(mConf, mCacheManager, mMembershipManager, mFsContext,
+        () -> new WorkerInfo().setIdentity(mWorkerId.get()).setAddress(mAddress));
+  }
+
+  /**
+   * Subscribes a client to the invalidations of the metadata cached by this worker.
+   *
+   * @param pathPrefixes the full ufs paths under which to receive invalidations, or empty for
+   *                     all paths
+   * @param observer the observer of the stream of invalidations
+   */
+  public void subscribeMetaInvalidations(List<String> pathPrefixes,
+      StreamObserver<MetaInvalidationEvent> observer) {
+    mMetaManager.getInvalidationPublisher().subscribe(pathPrefixes, observer);
   }
 
   /**
@@ -309,8 +355,15 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     }
   }
 
-  private void decommission() {
-    // TO BE IMPLEMENTED
+  /**
+   * Drains the worker before it is removed from the cluster: hands the cached data of the
+   * recently read files over to the workers which will own them, and then leaves the cluster.
+   *
+   * @param statusOnly whether to only get the progress of the drain, without starting it
+   * @return the progress of the drain
+   */
+  public DrainWorkerResponse drain(boolean statusOnly) {
+    return mDrainer.drain(statusOnly);
   }
 
   private void registerToMaster() throws IOException {
@@ -371,17 +424,9 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   @Nullable
   public UfsStatus[] listStatus(String path, ListStatusPOptions options)
       throws IOException, AccessControlException {
-    final long syncIntervalMs = options.hasCommonOptions()
-        ? (options.getCommonOptions().hasSyncIntervalMs()
-        ? options.getCommonOptions().getSyncIntervalMs() : -1) :
-        -1;
     boolean isRecursive = options.getRecursive();
-    final Optional<ListStatusResult> resultFromCache = mMetaManager.listCached(path, isRecursive);
-    if (resultFromCache.isPresent()
-        && options.getLoadMetadataType() != LoadMetadataPType.ALWAYS
-        && (syncIntervalMs < 0
-        || System.nanoTime() - resultFromCache.get().mTimeStamp
-        <= syncIntervalMs * Constants.MS_NANO)) {
+    final Optional<ListStatusResult> resultFromCache = listValidCached(path, options);
+    if (resultFromCache.isPresent()) {
       MetricsSystem.counter(MetricKey.WORKER_LIST_STATUS_HIT_REQUESTS.getName()).inc();
       return resultFromCache.get().mUfsStatuses;
     }
@@ -392,6 +437,50 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     return ufsStatuses.orElse(null);
   }
 
+  /**
+   * Lists a directory like {@link #listStatus(String, ListStatusPOptions)}, but hands the
+   * statuses to the consumer in batches, the first of which is handed over as soon as the UFS
+   * lists it rather than once the whole directory is listed.
+   *
+   * @param path the full ufs path to list
+   * @param options the list options
+   * @param batchSize the maximum number of statuses in a batch
+   * @param consumer the consumer of the batches of statuses
+   * @return false if the path does not exist, in which case the consumer is not called
+   */
+  public boolean listStatus(String path, ListStatusPOptions options, int batchSize,
+      Consumer<List<UfsStatus>> consumer) throws IOException, AccessControlException {
+    final Optional<ListStatusResult> resultFromCache = listValidCached(path, options);
+    if (resultFromCache.isPresent()) {
+      MetricsSystem.counter(MetricKey.WORKER_LIST_STATUS_HIT_REQUESTS.getName()).inc();
+      UfsStatus[] statuses = resultFromCache.get().mUfsStatuses;
+      if (statuses == null) {
+        return false;
+      }
+      Lists.partition(Arrays.asList(statuses), batchSize).forEach(consumer);
+      return true;
+    }
+    mMetaManager.invalidateListingCache(path);
+    MetricsSystem.counter(MetricKey.WORKER_LIST_STATUS_EXTERNAL_REQUESTS.getName()).inc();
+    return mMetaManager.listFromUfsThenCache(path, options.getRecursive(), batchSize, consumer);
+  }
+
+  /**
+   * @param path the full ufs path to list
+   * @param options the list options
+   * @return the cached listing, if it exists and is recent enough for the options
+   */
+  private Optional<ListStatusResult> listValidCached(String path, ListStatusPOptions options) {
+    final long syncIntervalMs = options.hasCommonOptions()
+        ? (options.getCommonOptions().hasSyncIntervalMs()
+        ? options.getCommonOptions().getSyncIntervalMs() : -1) :
+        -1;
+    return mMetaManager.listCached(path, options.getRecursive())
+        .filter(result -> options.getLoadMetadataType() != LoadMetadataPType.ALWAYS
+            && (syncIntervalMs < 0
+            || System.nanoTime() - result.mTimeStamp <= syncIntervalMs * Constants.MS_NANO));
+  }
+
   @Override
   public FileInfo getFileInfo(String ufsFullPath, GetStatusPOptions options)
       throws IOException, AccessControlException {
@@ -424,9 +513,21 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
         // The target is being written to. It's fine to return FileNotFound.
         LOG.debug("File {} is being written to.", ufsFullPath);
         status = Optional.empty();
+      } else if (!status.isPresent()
+          && mMetaManager.isAbsentInUfs(ufsFullPath, syncIntervalMs)) {
+        // the path was just found missing, which the UFS is often slow to tell again
+        MetricsSystem.counter(MetricKey.WORKER_GET_FILE_INFO_HIT_REQUESTS.getName()).inc();
       } else {
-        status = mMetaManager.loadFromUfs(ufsFullPath);
-        MetricsSystem.counter(MetricKey.WORKER_GET_FILE_INFO_EXTERNAL_REQUESTS.getName()).inc();
+        // a file is often looked up right after its parent is listed
+        Optional<DoraMeta.FileStatus> listed =
+            mMetaManager.loadFromListingCache(ufsFullPath, syncIntervalMs);
+        if (listed.isPresent()) {
+          status = listed;
+          MetricsSystem.counter(MetricKey.WORKER_GET_FILE_INFO_HIT_REQUESTS.getName()).inc();
+        } else {
+          status = mMetaManager.loadFromUfs(ufsFullPath);
+          MetricsSystem.counter(MetricKey.WORKER_GET_FILE_INFO_EXTERNAL_REQUESTS.getName()).inc();
+        }
       }
     } else {
       MetricsSystem.counter(MetricKey.WORKER_GET_FILE_INFO_HIT_REQUESTS.getName()).inc();
@@ -460,8 +561,29 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   public BlockReader createFileReader(String fileId, long offset, boolean positionShort,
       Protocol.OpenUfsBlockOptions options) throws IOException, AccessControlException {
     UnderFileSystem ufs = getUfsInstance(options.getUfsPath());
-    return PagedFileReader.create(mConf, mCacheManager, ufs, fileId,
-        options.getUfsPath(), options.getBlockSize(), offset);
+    String ufsPath = options.getUfsPath();
+    long fileSize = options.getBlockSize();
+    CloseableSupplier<PositionReader> fallbackReader;
+    if (options.getCachedOnly()) {
+      // a read from another worker, which reads the pages not cached here from the UFS itself
+      fallbackReader = new CloseableSupplier<>(() -> {
+        throw new NotFoundRuntimeException(
+            String.format("File %s is not fully cached by this worker", ufsPath));
+      });
+    } else {
+      mDrainer.onFileRead(fileId, ufsPath, fileSize);
+      if (mPreviousOwnerLocator != null) {
+        // the previous owners are only located on the first page not cached
+        fallbackReader = new CloseableSupplier<>(() -> PeerCachePositionReader.create(
+            mFsContext, mPreviousOwnerLocator.getPreviousOwners(ufsPath), options, mPageSize,
+            new CloseableSupplier<>(() -> mUfsReaderCache.acquire(ufs, ufsPath, fileSize))));
+      } else {
+        fallbackReader =
+            new CloseableSupplier<>(() -> mUfsReaderCache.acquire(ufs, ufsPath, fileSize));
+      }
+    }
+    return PagedFileReader.create(mConf, mCacheManager, fallbackReader, fileId, fileSize, offset,
+        mMappedPageFiles);
   }
 
   @Override
@@ -475,8 +597,8 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     List<PageId> cachedPages = mCacheManager.getCachedPageIdsByFileId(fileId,
         status.getUfsFileStatus().getContentLength());
     // Ceiling
-    int numOfPagesInBlock = (int) ((length + mPageSize - 1) / mPageSize);
-    for (long pageIndex = offset / mPageSize; pageIndex < numOfPagesInBlock;
+    long endPageIndex = (offset + length + mPageSize - 1) / mPageSize;
+    for (long pageIndex = offset / mPageSize; pageIndex < endPageIndex;
          pageIndex++) {
       PageId pageId = new PageId(fileId, pageIndex);
       if (!cachedPages.contains(pageId)) {
@@ -680,20 +802,22 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     }
     long lastPageId = fileLength / mPageSize;
     // TODO(elega) can batch multiple pages together ot speed up the loading.
-    for (PageId pageId : pageIds) {
-      int lengthToLoad = (int)
-          (pageId.getPageIndex() == lastPageId ? fileLength % mPageSize : mPageSize);
-      long offset = pageId.getPageIndex() * mPageSize;
-      ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(lengthToLoad);
-      try (PositionReader reader = ufs.get().openPositionRead(ufsPath, fileLength)) {
-        int bytesRead = reader.read(offset, buf, lengthToLoad);
-        if (lengthToLoad != bytesRead) {
-          throw new RuntimeException(
-              "Page load failed, expected: " + lengthToLoad + " actual " + bytesRead);
+    try (PositionReader reader = mUfsReaderCache.acquire(ufs.get(), ufsPath, fileLength)) {
+      for (PageId pageId : pageIds) {
+        int lengthToLoad = (int)
+            (pageId.getPageIndex() == lastPageId ? fileLength % mPageSize : mPageSize);
+        long offset = pageId.getPageIndex() * mPageSize;
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(lengthToLoad);
+        try {
+          int bytesRead = reader.read(offset, buf, lengthToLoad);
+          if (lengthToLoad != bytesRead) {
+            throw new RuntimeException(
+                "Page load failed, expected: " + lengthToLoad + " actual " + bytesRead);
+          }
+          mCacheManager.put(pageId, buf.nioBuffer());
+        } finally {
+          buf.release();
         }
-        mCacheManager.put(pageId, buf.nioBuffer());
-      } finally {
-        buf.release();
       }
     }
   }
@@ -938,6 +1062,8 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
         // client is going to overwrite this file. We need to invalidate the cached meta and data.
         mMetaManager.removeFromMetaStore(path);
       }
+      // the file and any missing parent are created, so they must not be considered absent
+      mMetaManager.invalidateAbsentPath(path);
 
       // Prepare a "fake" UfsStatus here. Please prepare more fields here.
       String owner = createOption.getOwner() != null ? createOption.getOwner() : "";
@@ -1008,6 +1134,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
             ufs.deleteDirectory(path, DeleteOptions.NON_RECURSIVE);
           }
         }
+        mMetaManager.invalidateListingCacheOfParent(path);
       }
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -1050,6 +1177,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       }
       if (rc) {
         mMetaManager.removeFromMetaStore(src);
+        mMetaManager.invalidateAbsentPath(dst);
         mMetaManager.loadFromUfs(dst);
         mMetaManager.invalidateListingCacheOfParent(dst);
       }
@@ -1194,6 +1322,65 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     return mCacheManager.getUsage();
   }
 
+  /**
+   * Gets the number of bytes cached of each of the given files in one call.
+   *
+   * @param ufsFullPaths the full UFS paths of the files
+   * @return the number of bytes cached of each file, in the same order as the paths
+   */
+  public long[] getCachedBytes(List<String> ufsFullPaths) {
+    List<String> fileIds = new ArrayList<>(ufsFullPaths.size());
+    for (String ufsFullPath : ufsFullPaths) {
+      // because cache manager uses hashed ufs path as file ID
+      fileIds.add(new AlluxioURI(ufsFullPath).hash());
+    }
+    return mCacheManager.getCachedBytes(fileIds);
+  }
+
+  /**
+   * Gets the local files of the cached pages of a range of a file, for a client on the same host
+   * to read the pages directly. The pages which are not stored in local files are left out, as
+   * well as the pages evicted in the meantime. A page may also be evicted after it is returned,
+   * which the client finds out when it cannot read the file of the page.
+   *
+   * @param ufsFullPath the full UFS path of the file
+   * @param fileLength the length of the file
+   * @param offset the offset of the range in the file
+   * @param length the length of the range
+   * @return the page size and the local files of the cached pages of the range
+   */
+  public GetCachedPageFilesResponse getCachedPageFiles(String ufsFullPath, long fileLength,
+      long offset, long length) {
+    if (!mShortCircuitReadEnabled) {
+      throw new FailedPreconditionRuntimeException(String.format(
+          "Short circuit reads are disabled, enable %s on the worker to use them",
+          PropertyKey.Name.WORKER_SHORT_CIRCUIT_READ_ENABLED));
+    }
+    GetCachedPageFilesResponse.Builder response =
+        GetCachedPageFilesResponse.newBuilder().setPageSize(mPageSize);
+    long end = Math.min(fileLength, offset + length);
+    if (offset < 0 || offset >= end) {
+      return response.build();
+    }
+    String fileId = new AlluxioURI(ufsFullPath).hash();
+    CacheContext context = CacheContext.defaults();
+    for (long pageIndex = offset / mPageSize; pageIndex * mPageSize < end; pageIndex++) {
+      long index = pageIndex;
+      try {
+        mCacheManager.getDataFileChannel(new PageId(fileId, index), 0, 0, context)
+            .ifPresent(channel -> response.addPages(CachedPageFile.newBuilder()
+                .setPageIndex(index)
+                .setPath(channel.getFile().getAbsolutePath())));
+      } catch (PageNotFoundException e) {
+        // not cached
+      } catch (UnsupportedOperationException e) {
+        // the pages are not stored in local files
+        break;
+      }
+    }
+    return response.build();
+  }
+
   protected void checkCopyPermission(String srcPath, String dstPath)
       throws AccessControlException, IOException {
     // No-op
@@ -1226,8 +1413,49 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   public static alluxio.grpc.FileInfo buildFileInfoFromUfsStatus(
       Optional<CacheUsage> cacheUsage, String ufsType, UfsStatus status, String ufsFullPath,
       @Nullable Map<String, String> xattrMap) {
-    String filename = new AlluxioURI(ufsFullPath).getName();
+    long bytesInCache = 0;
+    if (status instanceof UfsFileStatus) {
+      String cacheManagerFileId = new AlluxioURI(ufsFullPath).hash();
+      bytesInCache = cacheUsage
+          .flatMap(usage -> usage.partitionedBy(file(cacheManagerFileId)))
+          .map(CacheUsage::used).orElse(0L);
+    }
+    return buildFileInfoFromUfsStatus(bytesInCache, ufsType, status, ufsFullPath, xattrMap);
+  }
 
+  /**
+   * Build FileInfo from UfsStatus and UFS full Path, with the number of bytes of the file
+   * which are cached already known, e.g. from {@link #getCachedBytes(List)}.
+   *
+   * @param bytesInCache the number of bytes of the file in the cache
+   * @param ufsType type of the UFS
+   * @param status file status
+   * @param ufsFullPath full UFS path mapping to the file
+   * @param xattrMap extra attributes
+   * @return a FileInfo
+   */
+  public static alluxio.grpc.FileInfo buildFileInfoFromUfsStatus(
+      long bytesInCache, String ufsType, UfsStatus status, String ufsFullPath,
+      @Nullable Map<String, String> xattrMap) {
+    return buildFileInfoFromUfsStatus(bytesInCache, ufsType, status, ufsFullPath,
+        new AlluxioURI(ufsFullPath).getName(), xattrMap);
+  }
+
+  /**
+   * Build FileInfo from UfsStatus and UFS full Path, with the name of the file already known,
+   * e.g. from the relative name of the status in a listing, so the path does not need parsing.
+   *
+   * @param bytesInCache the number of bytes of the file in the cache
+   * @param ufsType type of the UFS
+   * @param status file status
+   * @param ufsFullPath full UFS path mapping to the file
+   * @param filename the name of the file, which is the last component of the path
+   * @param xattrMap extra attributes
+   * @return a FileInfo
+   */
+  public static alluxio.grpc.FileInfo buildFileInfoFromUfsStatus(
+      long bytesInCache, String ufsType, UfsStatus status, String ufsFullPath, String filename,
+      @Nullable Map<String, String> xattrMap) {
     alluxio.grpc.FileInfo.Builder infoBuilder = alluxio.grpc.FileInfo.newBuilder()
         .setUfsType(ufsType)
         .setFileId(ufsFullPath.hashCode())
@@ -1258,10 +1486,6 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       }
 
       // get cached percentage
-      String cacheManagerFileId = new AlluxioURI(ufsFullPath).hash();
-      final long bytesInCache = cacheUsage
-          .flatMap(usage -> usage.partitionedBy(file(cacheManagerFileId)))
-          .map(CacheUsage::used).orElse(0L);
       final long fileLength = fileStatus.getContentLength();
       final int cachedPercentage;
       if (fileLength > 0) {
@@ -24,6 +24,7 @@ import alluxio.file.ReadTargetBuffer;
 import alluxio.network.protocol.databuffer.CompositeDataBuffer;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.network.protocol.databuffer.MappedFileCache;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.worker.block.io.BlockReadableChannel;
@@ -32,8 +33,11 @@ import alluxio.worker.block.io.BlockReader;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -42,14 +46,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
 
 /**
  * Paged file reader.
  */
 public class PagedFileReader extends BlockReader implements PositionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(PagedFileReader.class);
   private static final ByteBuffer EMPTY_BYTE_BUFFER = ByteBuffer.allocate(0);
   private final long mFileSize;
   private final LocalCachePositionReader mPositionReader;
+  @Nullable
+  private final MappedFileCache mMappedPageFiles;
   private long mPos;
   private volatile boolean mClosed = false;
 
@@ -68,11 +77,30 @@ public class PagedFileReader extends BlockReader implements PositionReader {
   public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
                                        UnderFileSystem ufs, String fileId,
                                        String ufsPath, long fileSize, long startPosition) {
-    FileId fileIdField = FileId.of(fileId);
-    return new PagedFileReader(LocalCachePositionReader.create(cacheManager,
-        new CloseableSupplier<>(() -> ufs.openPositionRead(ufsPath, fileSize)),
-        fileIdField, fileSize, conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE),
-        CacheContext.defaults()), fileSize, startPosition);
+    return create(conf, cacheManager,
+        new CloseableSupplier<>(() -> ufs.openPositionRead(ufsPath, fileSize)), fileId,
+        fileSize, startPosition, null);
+  }
+
+  /**
+   * Creates a new {@link PagedFileReader} reading the pages not cached from the given reader.
+   *
+   * @param conf the configuration
+   * @param cacheManager the cache manager
+   * @param fallbackReader the reader of the pages not cached
+   * @param fileId the file ID
+   * @param fileSize the file size
+   * @param startPosition the position to start reading from
+   * @param mappedPageFiles the mappings of the page files to send the cached pages from, or null
+   *                        to read the pages into buffers
+   * @return a new {@link PagedFileReader}
+   */
+  public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
+      CloseableSupplier<PositionReader> fallbackReader, String fileId, long fileSize,
+      long startPosition, @Nullable MappedFileCache mappedPageFiles) {
+    return new PagedFileReader(LocalCachePositionReader.create(cacheManager, fallbackReader,
+        FileId.of(fileId), fileSize, conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE),
+        CacheContext.defaults()), fileSize, startPosition, mappedPageFiles);
   }
 
   /**
@@ -84,9 +112,15 @@ public class PagedFileReader extends BlockReader implements PositionReader {
    */
   public PagedFileReader(LocalCachePositionReader localCachePositionReader,
                          long fileSize, long startPosition) {
+    this(localCachePositionReader, fileSize, startPosition, null);
+  }
+
+  private PagedFileReader(LocalCachePositionReader localCachePositionReader,
+      long fileSize, long startPosition, @Nullable MappedFileCache mappedPageFiles) {
     mPositionReader = Preconditions.checkNotNull(localCachePositionReader);
     mFileSize = fileSize;
     mPos = startPosition;
+    mMappedPageFiles = mappedPageFiles;
   }
 
   @VisibleForTesting
@@ -100,7 +134,8 @@ public class PagedFileReader extends BlockReader implements PositionReader {
   }
 
   /**
-   * Get a {@link CompositeDataBuffer} which has a list of {@link DataFileChannel}.
+   * Get a {@link CompositeDataBuffer} which has a list of {@link DataFileChannel} or buffers
+   * shared with the page store, falling back to copying for the pages which are not cached.
    *
    * @param channel the Channel object which is used for allocating ByteBuf
    * @param length the bytes to read
@@ -115,26 +150,34 @@ public class PagedFileReader extends BlockReader implements PositionReader {
     List<DataBuffer> dataBufferList = new ArrayList<>();
     long bytesToTransfer = Math.min(length, mFileSize - mPos);
     long bytesToTransferLeft = bytesToTransfer;
-    while (bytesToTransferLeft > 0) {
-      long lengthPerOp = Math.min(bytesToTransferLeft, mPositionReader.getPageSize());
-      DataBuffer dataBuffer;
-      Optional<DataFileChannel> dataFileChannel =
-          mPositionReader.getDataFileChannel(mPos, (int) lengthPerOp);
-      if (!dataFileChannel.isPresent()) {
-        dataBuffer = getDataBufferByCopying(channel, (int) lengthPerOp);
-      } else {
-        // update mPos
-        // TODO(JiamingMai): need to lock page files since the openFile op is called in netty latter
-        dataBuffer = dataFileChannel.get();
-        if (dataBuffer.getLength() > 0) {
-          mPos += dataBuffer.getLength();
-        } else {
+    try {
+      while (bytesToTransferLeft > 0) {
+        long lengthPerOp = Math.min(bytesToTransferLeft, mPositionReader.getPageSize());
+        DataBuffer dataBuffer;
+        Optional<DataBuffer> dataFileChannel =
+            mPositionReader.getDataBuffer(mPos, (int) lengthPerOp);
+        if (!dataFileChannel.isPresent()) {
           dataBuffer = getDataBufferByCopying(channel, (int) lengthPerOp);
+        } else {
+          // update mPos
+          // TODO(JiamingMai): need to lock page files since the openFile op is called in netty
+          // latter
+          dataBuffer = dataFileChannel.get();
+          if (dataBuffer.getLength() > 0) {
+            mPos += dataBuffer.getLength();
+          } else {
+            dataBuffer.release();
+            dataBuffer = getDataBufferByCopying(channel, (int) lengthPerOp);
+          }
         }
+        // update bytesToTransferLeft
+        bytesToTransferLeft -= dataBuffer.getLength();
+        dataBufferList.add(dataBuffer);
       }
-      // update bytesToTransferLeft
-      bytesToTransferLeft -= dataBuffer.getLength();
-      dataBufferList.add(dataBuffer);
+    } catch (Throwable e) {
+      // the pages read before a page which failed to be read are not sent
+      dataBufferList.forEach(DataBuffer::release);
+      throw e;
     }
     CompositeDataBuffer compositeDataBuffer = new CompositeDataBuffer(dataBufferList);
     return compositeDataBuffer;
@@ -152,6 +195,96 @@ public class PagedFileReader extends BlockReader implements PositionReader {
     }
   }
 
+  /**
+   * Get a {@link NettyDataBuffer} which can be serialized by gRPC without copying, as gRPC only
+   * takes {@link ByteBuf}s rather than file regions. The parts of the cached pages stored in
+   * files are sent from the mappings of the page files, which are reused across reads, the ones
+   * stored in memory are shared with the page store, and the others are read into buffers from
+   * the allocator. Without mappings of the page files, every part is read into a buffer.
+   *
+   * @param length the bytes to read
+   * @param allocator allocates a buffer of the given capacity to read the parts not cached
+   * @return a {@link NettyDataBuffer} over a composite of the parts
+   */
+  public NettyDataBuffer getMappedDataBuffer(int length, IntFunction<ByteBuf> allocator)
+      throws IOException {
+    long bytesToTransfer = Math.max(0, Math.min(length, mFileSize - mPos));
+    CompositeByteBuf composite = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+    try {
+      while (composite.readableBytes() < bytesToTransfer) {
+        long pageSize = mPositionReader.getPageSize();
+        int lengthPerOp = (int) Math.min(bytesToTransfer - composite.readableBytes(),
+            pageSize - mPos % pageSize);
+        ByteBuf buf = getMappedByteBuf(lengthPerOp);
+        if (buf == null) {
+          buf = allocator.apply(lengthPerOp);
+          try {
+            while (buf.writableBytes() > 0 && transferTo(buf) != -1) {
+            }
+          } catch (Throwable e) {
+            buf.release();
+            throw e;
+          }
+        }
+        if (buf.readableBytes() == 0) {
+          buf.release();
+          break;
+        }
+        composite.addComponent(true, buf);
+      }
+      return new NettyDataBuffer(composite);
+    } catch (Throwable e) {
+      composite.release();
+      throw e;
+    }
+  }
+
+  /**
+   * @return a buffer over the cached part of the page at the current position without copying
+   *         it, or null if the page is not cached or cannot be mapped
+   */
+  @Nullable
+  private ByteBuf getMappedByteBuf(int length) {
+    Optional<DataBuffer> cached;
+    try {
+      cached = mPositionReader.getDataBuffer(mPos, length);
+    } catch (UnsupportedOperationException e) {
+      // the page store cannot share its pages
+      return null;
+    }
+    if (!cached.isPresent()) {
+      return null;
+    }
+    DataBuffer dataBuffer = cached.get();
+    ByteBuf buf = null;
+    if (dataBuffer instanceof DataFileChannel) {
+      if (mMappedPageFiles == null) {
+        return null;
+      }
+      DataFileChannel dataFileChannel = (DataFileChannel) dataBuffer;
+      try {
+        buf = mMappedPageFiles.map(dataFileChannel.getFile(), dataFileChannel.getOffset(),
+            (int) dataFileChannel.getLength());
+      } catch (IOException e) {
+        // the page may be evicted in the meantime, read it through the cache instead
+        LOG.debug("Failed to map page file {}", dataFileChannel.getFile(), e);
+      }
+    } else if (dataBuffer.getNettyOutput() instanceof ByteBuf) {
+      // the buffer is handed over without releasing it
+      buf = (ByteBuf) dataBuffer.getNettyOutput();
+    } else {
+      dataBuffer.release();
+    }
+    if (buf == null || buf.readableBytes() == 0) {
+      if (buf != null) {
+        buf.release();
+      }
+      return null;
+    }
+    mPos += buf.readableBytes();
+    return buf;
+  }
+
   @Override
   public ByteBuffer read(long offset, long length) throws IOException {
     if (length == 0 || offset >= mFileSize) {
@@ -0,0 +1,138 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.CloseableSupplier;
+import alluxio.PositionReader;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.dora.netty.NettyDataReader;
+import alluxio.client.file.dora.netty.PartialReadException;
+import alluxio.exception.status.NotFoundException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.MultiDimensionalMetricsSystem;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.Closer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link PositionReader} which reads the pages missing from the cache of this worker from the
+ * caches of the workers which owned the file before, and from the UFS when none of them has a
+ * page cached. The workers are asked in order for the pages they have cached only, so that a
+ * page missing from all caches is read from the UFS once, by this worker, after every worker
+ * was asked.
+ *
+ * A worker which fails to serve a read for another reason than the page not being cached is not
+ * asked again for the file.
+ */
+@ThreadSafe
+public class PeerCachePositionReader implements PositionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(PeerCachePositionReader.class);
+
+  private final List<WorkerNetAddress> mPeers;
+  private final List<PositionReader> mPeerReaders;
+  private final CloseableSupplier<PositionReader> mUfsReader;
+  /** Whether each peer failed, and is not read from anymore. */
+  @GuardedBy("this")
+  private final boolean[] mFailed;
+
+  /**
+   * Creates a reader of a file from the given workers and the UFS.
+   *
+   * @param context the file system context to connect to the workers with
+   * @param peers the workers to read from, in order
+   * @param options the options of the read of the file
+   * @param pageSize the page size
+   * @param ufsReader the reader of the file from the UFS
+   * @return the reader
+   */
+  public static PeerCachePositionReader create(FileSystemContext context,
+      List<WorkerNetAddress> peers, Protocol.OpenUfsBlockOptions options, long pageSize,
+      CloseableSupplier<PositionReader> ufsReader) {
+    Protocol.ReadRequest.Builder builder = Protocol.ReadRequest.newBuilder()
+        .setBlockId(-1)
+        .setOpenUfsBlockOptions(options.toBuilder().setCachedOnly(true))
+        .setChunkSize(pageSize);
+    return new PeerCachePositionReader(peers,
+        address -> new NettyDataReader(context, address, builder), ufsReader);
+  }
+
+  @VisibleForTesting
+  PeerCachePositionReader(List<WorkerNetAddress> peers,
+      Function<WorkerNetAddress, PositionReader> peerReaderFactory,
+      CloseableSupplier<PositionReader> ufsReader) {
+    mPeers = peers;
+    mPeerReaders = peers.stream().map(peerReaderFactory).collect(Collectors.toList());
+    mUfsReader = ufsReader;
+    mFailed = new boolean[peers.size()];
+  }
+
+  @Override
+  public synchronized int readInternal(long position, ReadTargetBuffer buffer, int length)
+      throws IOException {
+    int offset = buffer.offset();
+    for (int i = 0; i < mPeerReaders.size(); i++) {
+      if (mFailed[i]) {
+        continue;
+      }
+      WorkerNetAddress peer = mPeers.get(i);
+      try {
+        int bytesRead = mPeerReaders.get(i).read(position, buffer, length);
+        if (bytesRead > 0) {
+          MultiDimensionalMetricsSystem.PEER_DATA_READ.inc(bytesRead);
+        }
+        return bytesRead;
+      } catch (IOException | RuntimeException e) {
+        // discard what the peer wrote before failing, the whole range is read again
+        buffer.offset(offset);
+        if (isNotCached(e)) {
+          LOG.debug("Worker {} does not cache the range [{}, {}) of the file", peer, position,
+              position + length);
+          continue;
+        }
+        LOG.warn("Failed to read from worker {}, not reading from it anymore: {}", peer,
+            e.toString());
+        mFailed[i] = true;
+        mPeerReaders.get(i).close();
+      }
+    }
+    return mUfsReader.get().read(position, buffer, length);
+  }
+
+  private static boolean isNotCached(Throwable e) {
+    return e instanceof PartialReadException
+        && ((PartialReadException) e).getCauseType() == PartialReadException.CauseType.SERVER_ERROR
+        && e.getCause() instanceof NotFoundException;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    Closer closer = Closer.create();
+    for (int i = 0; i < mPeerReaders.size(); i++) {
+      if (!mFailed[i]) {
+        closer.register(mPeerReaders.get(i));
+      }
+    }
+    closer.register(mUfsReader);
+    closer.close();
+  }
+}
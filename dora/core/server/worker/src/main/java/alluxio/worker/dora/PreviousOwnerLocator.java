@@ -0,0 +1,185 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.file.dora.WorkerLocationPolicy;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.membership.MembershipManager;
+import alluxio.membership.WorkerClusterView;
+import alluxio.refresh.RefreshPolicy;
+import alluxio.refresh.TimeoutRefresh;
+import alluxio.wire.WorkerIdentity;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Locates the workers which owned a file before this worker, and may still have it cached, by
+ * applying the worker location policy of the clients to the previous view of the cluster, and to
+ * the current view without this worker, which is the view the clients had while this worker was
+ * not part of the cluster, e.g. while it restarted. The latter is only used for a while after
+ * this worker started or joined the cluster again, as the clients have routed the file to this
+ * worker since.
+ */
+@ThreadSafe
+public class PreviousOwnerLocator {
+  private static final Logger LOG = LoggerFactory.getLogger(PreviousOwnerLocator.class);
+
+  private final MembershipManager mMembershipManager;
+  private final WorkerLocationPolicy mWorkerLocationPolicy;
+  private final Supplier<WorkerIdentity> mWorkerId;
+  private final boolean mLiveWorkersOnly;
+  private final int mOwnerCount;
+  private final long mJoinWindowNanos;
+  private final Ticker mTicker;
+  @GuardedBy("this")
+  private final RefreshPolicy mRefreshPolicy;
+  /** The time in nanoseconds this worker started or last joined the cluster again. */
+  @GuardedBy("this")
+  private long mJoinedAtNanos;
+  /** The current view of the cluster, or null before it is first read. */
+  @GuardedBy("this")
+  @Nullable
+  private WorkerClusterView mView;
+  /** The view of the cluster before its workers last changed, or null if they never did. */
+  @GuardedBy("this")
+  @Nullable
+  private WorkerClusterView mPreviousView;
+
+  /**
+   * @param conf the configuration
+   * @param membershipManager the membership manager
+   * @param workerId the identity of this worker
+   */
+  public PreviousOwnerLocator(AlluxioConfiguration conf, MembershipManager membershipManager,
+      Supplier<WorkerIdentity> workerId) {
+    this(membershipManager, WorkerLocationPolicy.Factory.create(conf), workerId,
+        conf.getBoolean(PropertyKey.USER_DYNAMIC_CONSISTENT_HASH_RING_ENABLED),
+        Math.max(1, conf.getInt(PropertyKey.USER_FILE_REPLICATION_MIN)),
+        new TimeoutRefresh(conf.getMs(PropertyKey.USER_WORKER_LIST_REFRESH_INTERVAL)),
+        conf.getMs(PropertyKey.WORKER_PEER_FETCH_JOIN_WINDOW), Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  PreviousOwnerLocator(MembershipManager membershipManager,
+      WorkerLocationPolicy workerLocationPolicy, Supplier<WorkerIdentity> workerId,
+      boolean liveWorkersOnly, int ownerCount, RefreshPolicy refreshPolicy, long joinWindowMs,
+      Ticker ticker) {
+    mMembershipManager = membershipManager;
+    mWorkerLocationPolicy = workerLocationPolicy;
+    mWorkerId = workerId;
+    mLiveWorkersOnly = liveWorkersOnly;
+    mOwnerCount = ownerCount;
+    mRefreshPolicy = refreshPolicy;
+    mJoinWindowNanos = TimeUnit.MILLISECONDS.toNanos(joinWindowMs);
+    mTicker = ticker;
+    // the worker is created as it starts
+    mJoinedAtNanos = ticker.read();
+  }
+
+  /**
+   * @param ufsPath the UFS path of the file
+   * @return the addresses of the workers other than this one which owned the file before, in the
+   *         order they should be asked for the file
+   */
+  public List<WorkerNetAddress> getPreviousOwners(String ufsPath) {
+    WorkerClusterView view;
+    WorkerClusterView previousView;
+    boolean recentlyJoined;
+    synchronized (this) {
+      refresh();
+      view = mView;
+      previousView = mPreviousView;
+      recentlyJoined = mTicker.read() - mJoinedAtNanos < mJoinWindowNanos;
+    }
+    if (view == null) {
+      return new ArrayList<>();
+    }
+    WorkerIdentity self = mWorkerId.get();
+    Set<WorkerNetAddress> owners = new LinkedHashSet<>();
+    if (previousView != null) {
+      // the owners which have left the cluster since cannot be asked
+      addOwners(previousView, ufsPath, self, owners, view.workerIds());
+    }
+    if (recentlyJoined) {
+      addOwners(new WorkerClusterView(view.stream()
+              .filter(worker -> !worker.getIdentity().equals(self))
+              .collect(Collectors.toList())),
+          ufsPath, self, owners, view.workerIds());
+    }
+    return new ArrayList<>(owners);
+  }
+
+  @GuardedBy("this")
+  private void refresh() {
+    if (mView != null && !(mLiveWorkersOnly && mMembershipManager.isWatchingLiveMembers())
+        && !mRefreshPolicy.attempt()) {
+      return;
+    }
+    WorkerClusterView view;
+    try {
+      view = mLiveWorkersOnly
+          ? mMembershipManager.getLiveMembers() : mMembershipManager.getAllMembers();
+    } catch (IOException e) {
+      LOG.warn("Failed to refresh the view of the cluster, using the last one: {}",
+          e.toString());
+      return;
+    }
+    if (mView != null && !mView.workerIds().equals(view.workerIds())) {
+      mPreviousView = mView;
+      WorkerIdentity self = mWorkerId.get();
+      if (!mView.workerIds().contains(self) && view.workerIds().contains(self)) {
+        // the clients did not route files to this worker while it was out of the cluster
+        mJoinedAtNanos = mTicker.read();
+      }
+    }
+    mView = view;
+  }
+
+  private void addOwners(WorkerClusterView view, String ufsPath, WorkerIdentity self,
+      Set<WorkerNetAddress> owners, Collection<WorkerIdentity> currentWorkers) {
+    int count = Math.min(mOwnerCount, view.size());
+    if (count == 0) {
+      return;
+    }
+    try {
+      for (BlockWorkerInfo worker
+          : mWorkerLocationPolicy.getPreferredWorkers(view, ufsPath, count)) {
+        if (!worker.getIdentity().equals(self)
+            && currentWorkers.contains(worker.getIdentity())) {
+          owners.add(worker.getNetAddress());
+        }
+      }
+    } catch (ResourceExhaustedException e) {
+      LOG.debug("Failed to locate the previous owners of {}", ufsPath, e);
+    }
+  }
+}
@@ -0,0 +1,389 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.CancelledException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.metrics.MultiDimensionalMetricsSystem;
+import alluxio.proto.dataserver.Protocol;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.RateLimiter;
+import io.prometheus.metrics.core.datapoints.CounterDataPoint;
+import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Admits the read requests served by the worker, sharing the concurrent reads fairly across the
+ * tenants.
+ *
+ * A request holds one of a bounded number of slots while it is served, and a tenant holds at most
+ * a bounded number of them. A freed slot is granted to the waiting tenant which holds the smallest
+ * share of the slots for its weight, and within the tenant to the request which waited the
+ * longest, so that a tenant scanning a lot of data does not delay the reads of the others beyond
+ * its share. The bytes read by a tenant are also limited to a rate.
+ *
+ * A request is rejected with a retryable status once it has waited for the queue time budget, or
+ * as soon as it arrives if the requests of its tenant already waiting are expected to take longer
+ * than the budget to be admitted, so that the client retries it elsewhere instead of waiting on
+ * an overloaded worker.
+ */
+@ThreadSafe
+public final class ReadRequestScheduler {
+  /** The weight of a new sample of the time a request holds its slot. */
+  private static final double HOLD_TIME_SAMPLE_WEIGHT = 0.125;
+  private static final long RATE_LIMITER_EXPIRY_MINUTES = 10;
+
+  private final boolean mEnabled;
+  private final int mMaxActive;
+  private final int mMaxActivePerTenant;
+  private final long mQueueTimeBudgetNanos;
+  private final Map<String, Double> mWeights;
+  /** The rate limiters of the tenants, kept after the tenants are idle, or null if unlimited. */
+  @Nullable
+  private final LoadingCache<String, RateLimiter> mRateLimiters;
+  private final Permit mUnlimitedPermit = new Permit(null, null, 0);
+
+  /** The tenants which have requests admitted or waiting. */
+  @GuardedBy("this")
+  private final Map<String, Tenant> mTenants = new HashMap<>();
+  @GuardedBy("this")
+  private int mActive = 0;
+  /** The smoothed time a request holds its slot in nanoseconds, or 0 before the first sample. */
+  @GuardedBy("this")
+  private double mHoldNanos = 0;
+
+  /**
+   * @return the scheduler shared by the data servers of the worker
+   */
+  public static ReadRequestScheduler get() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  /**
+   * @param tenant the tenant set by the client, if any
+   * @param options the options to open the file read, if any
+   * @return the tenant a read is scheduled for, which is the user if the client set no tenant,
+   *         or null if neither is known
+   */
+  @Nullable
+  public static String getTenant(@Nullable String tenant,
+      @Nullable Protocol.OpenUfsBlockOptions options) {
+    if (tenant != null && !tenant.isEmpty()) {
+      return tenant;
+    }
+    return options != null && options.hasUser() ? options.getUser() : null;
+  }
+
+  /**
+   * @param conf the configuration
+   */
+  public ReadRequestScheduler(AlluxioConfiguration conf) {
+    this(conf.getBoolean(PropertyKey.WORKER_NETWORK_READER_SCHEDULER_ENABLED),
+        conf.getInt(PropertyKey.WORKER_NETWORK_READER_SCHEDULER_MAX_ACTIVE_REQUESTS),
+        conf.getInt(PropertyKey.WORKER_NETWORK_READER_SCHEDULER_TENANT_MAX_ACTIVE_REQUESTS),
+        conf.getBytes(PropertyKey.WORKER_NETWORK_READER_SCHEDULER_TENANT_MAX_BYTES_PER_SEC),
+        conf.isSet(PropertyKey.WORKER_NETWORK_READER_SCHEDULER_TENANT_WEIGHTS)
+            ? conf.getList(PropertyKey.WORKER_NETWORK_READER_SCHEDULER_TENANT_WEIGHTS)
+            : Collections.emptyList(),
+        conf.getMs(PropertyKey.WORKER_NETWORK_READER_SCHEDULER_QUEUE_TIME_BUDGET));
+  }
+
+  @VisibleForTesting
+  ReadRequestScheduler(boolean enabled, int maxActive, int maxActivePerTenant,
+      long maxBytesPerSecPerTenant, List<String> weights, long queueTimeBudgetMs) {
+    Preconditions.checkArgument(maxActive > 0 && maxActivePerTenant > 0,
+        "invalid maximum number of active requests %s and per tenant %s",
+        maxActive, maxActivePerTenant);
+    mEnabled = enabled;
+    mMaxActive = maxActive;
+    mMaxActivePerTenant = Math.min(maxActivePerTenant, maxActive);
+    mQueueTimeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeBudgetMs);
+    mWeights = parseWeights(weights);
+    mRateLimiters = maxBytesPerSecPerTenant <= 0 ? null : CacheBuilder.newBuilder()
+        .expireAfterAccess(RATE_LIMITER_EXPIRY_MINUTES, TimeUnit.MINUTES)
+        .build(CacheLoader.from(tenant -> RateLimiter.create(maxBytesPerSecPerTenant)));
+  }
+
+  /**
+   * Waits until a read request of a tenant can be served. The returned permit must be closed when
+   * the request completes.
+   *
+   * @param tenant the tenant of the request, or null if it is not known
+   * @return the permit of the request
+   * @throws UnavailableException if the worker is too loaded to serve the request in time
+   * @throws CancelledException if the thread is interrupted while waiting
+   */
+  public Permit acquire(@Nullable String tenant) throws AlluxioStatusException {
+    if (!mEnabled) {
+      return mUnlimitedPermit;
+    }
+    String name = tenant == null ? "" : tenant;
+    long startNanos = System.nanoTime();
+    Tenant state;
+    synchronized (this) {
+      state = mTenants.computeIfAbsent(name, this::newTenant);
+      if (state.mWaiters.isEmpty() && canAdmit(state)) {
+        admit(state);
+      } else {
+        if (getExpectedQueueNanos(state) > mQueueTimeBudgetNanos) {
+          removeIfIdle(state);
+          throw reject(state, "expected to wait longer than");
+        }
+        Waiter waiter = new Waiter(startNanos);
+        state.mWaiters.add(waiter);
+        try {
+          long remainingNanos = mQueueTimeBudgetNanos;
+          while (!waiter.mAdmitted && remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            remainingNanos = mQueueTimeBudgetNanos - (System.nanoTime() - startNanos);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          abandon(state, waiter);
+          throw new CancelledException("Interrupted while waiting for the read to be admitted", e);
+        }
+        if (!waiter.mAdmitted) {
+          abandon(state, waiter);
+          throw reject(state, "waited for");
+        }
+      }
+    }
+    MultiDimensionalMetricsSystem.observeLatency(state.mQueueTime, startNanos);
+    return new Permit(state,
+        mRateLimiters == null ? null : mRateLimiters.getUnchecked(name), System.nanoTime());
+  }
+
+  private Tenant newTenant(String name) {
+    return new Tenant(name, mWeights.getOrDefault(name, 1.0));
+  }
+
+  @GuardedBy("this")
+  private boolean canAdmit(Tenant tenant) {
+    return mActive < mMaxActive && tenant.mActive < mMaxActivePerTenant;
+  }
+
+  @GuardedBy("this")
+  private void admit(Tenant tenant) {
+    mActive++;
+    tenant.mActive++;
+  }
+
+  /**
+   * @return the time the requests of the tenant already waiting are expected to take to be
+   *         admitted, if the tenant is served at its maximum number of active requests
+   */
+  @GuardedBy("this")
+  private double getExpectedQueueNanos(Tenant tenant) {
+    return (tenant.mWaiters.size() + 1) * mHoldNanos / mMaxActivePerTenant;
+  }
+
+  @GuardedBy("this")
+  private UnavailableException reject(Tenant tenant, String reason) {
+    tenant.mRejected.inc();
+    return new UnavailableException(String.format(
+        "Worker is overloaded: the read of tenant %s was %s the queue time budget of %d ms",
+        tenant.mName, reason, TimeUnit.NANOSECONDS.toMillis(mQueueTimeBudgetNanos)));
+  }
+
+  /**
+   * Gives up a request which stopped waiting, releasing its slot if it was just admitted.
+   */
+  @GuardedBy("this")
+  private void abandon(Tenant tenant, Waiter waiter) {
+    if (waiter.mAdmitted) {
+      mActive--;
+      tenant.mActive--;
+      admitWaiters();
+    } else {
+      tenant.mWaiters.remove(waiter);
+    }
+    removeIfIdle(tenant);
+  }
+
+  private synchronized void release(Tenant tenant, long holdNanos) {
+    mHoldNanos = mHoldNanos == 0 ? holdNanos
+        : mHoldNanos + HOLD_TIME_SAMPLE_WEIGHT * (holdNanos - mHoldNanos);
+    mActive--;
+    tenant.mActive--;
+    admitWaiters();
+    removeIfIdle(tenant);
+  }
+
+  /**
+   * Grants the free slots to the waiting tenants with the smallest share of the slots for their
+   * weights, breaking ties by the time the first request of the tenants has waited.
+   */
+  @GuardedBy("this")
+  private void admitWaiters() {
+    boolean admitted = false;
+    while (mActive < mMaxActive) {
+      Tenant next = null;
+      for (Tenant tenant : mTenants.values()) {
+        if (tenant.mWaiters.isEmpty() || tenant.mActive >= mMaxActivePerTenant) {
+          continue;
+        }
+        int order = next == null ? -1 : Double.compare(tenant.getShare(), next.getShare());
+        if (order < 0 || (order == 0
+            && tenant.mWaiters.peek().mEnqueuedNanos - next.mWaiters.peek().mEnqueuedNanos < 0)) {
+          next = tenant;
+        }
+      }
+      if (next == null) {
+        break;
+      }
+      next.mWaiters.poll().mAdmitted = true;
+      admit(next);
+      admitted = true;
+    }
+    if (admitted) {
+      notifyAll();
+    }
+  }
+
+  @GuardedBy("this")
+  private void removeIfIdle(Tenant tenant) {
+    if (tenant.mActive == 0 && tenant.mWaiters.isEmpty()) {
+      mTenants.remove(tenant.mName);
+    }
+  }
+
+  private static Map<String, Double> parseWeights(List<String> weights) {
+    ImmutableMap.Builder<String, Double> builder = ImmutableMap.builder();
+    for (String entry : weights) {
+      String[] parts = entry.trim().split("=");
+      Preconditions.checkArgument(parts.length == 2,
+          "invalid tenant weight %s, expecting tenant=weight", entry);
+      double weight;
+      try {
+        weight = Double.parseDouble(parts[1].trim());
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException(
+            String.format("invalid tenant weight %s, expecting tenant=weight", entry), e);
+      }
+      Preconditions.checkArgument(weight > 0, "the weight of tenant %s must be positive: %s",
+          parts[0], weight);
+      builder.put(parts[0].trim(), weight);
+    }
+    return builder.build();
+  }
+
+  /**
+   * The state of a tenant which has requests admitted or waiting.
+   */
+  private static final class Tenant {
+    private final String mName;
+    private final double mWeight;
+    private final DistributionDataPoint mQueueTime;
+    private final CounterDataPoint mData;
+    private final CounterDataPoint mRejected;
+    private final ArrayDeque<Waiter> mWaiters = new ArrayDeque<>();
+    private int mActive = 0;
+
+    private Tenant(String name, double weight) {
+      mName = name;
+      mWeight = weight;
+      mQueueTime = MultiDimensionalMetricsSystem.READ_SCHEDULER_QUEUE_TIME_BY_TENANT.get(name);
+      mData = MultiDimensionalMetricsSystem.READ_SCHEDULER_DATA_BY_TENANT.get(name);
+      mRejected = MultiDimensionalMetricsSystem.READ_SCHEDULER_REJECTED_BY_TENANT.get(name);
+    }
+
+    private double getShare() {
+      return mActive / mWeight;
+    }
+  }
+
+  /**
+   * A request waiting to be admitted.
+   */
+  private static final class Waiter {
+    private final long mEnqueuedNanos;
+    private boolean mAdmitted = false;
+
+    private Waiter(long enqueuedNanos) {
+      mEnqueuedNanos = enqueuedNanos;
+    }
+  }
+
+  /**
+   * The permit of an admitted read request, which limits the rate of the bytes read by the request
+   * and frees its slot when closed.
+   */
+  @NotThreadSafe
+  public final class Permit implements Closeable {
+    @Nullable
+    private final Tenant mTenant;
+    @Nullable
+    private final RateLimiter mRateLimiter;
+    private final long mAdmittedNanos;
+    private boolean mClosed = false;
+
+    private Permit(@Nullable Tenant tenant, @Nullable RateLimiter rateLimiter,
+        long admittedNanos) {
+      mTenant = tenant;
+      mRateLimiter = rateLimiter;
+      mAdmittedNanos = admittedNanos;
+    }
+
+    /**
+     * Waits until the tenant of the request can read the given number of bytes.
+     *
+     * @param bytes the number of bytes to read
+     */
+    public void acquireBytes(int bytes) {
+      if (mTenant == null || bytes <= 0) {
+        return;
+      }
+      if (mRateLimiter != null) {
+        mRateLimiter.acquire(bytes);
+      }
+      mTenant.mData.inc(bytes);
+    }
+
+    @Override
+    public void close() {
+      if (mTenant == null || mClosed) {
+        return;
+      }
+      mClosed = true;
+      release(mTenant, System.nanoTime() - mAdmittedNanos);
+    }
+  }
+
+  /**
+   * Holds the scheduler shared by the data servers, created when it is first used.
+   */
+  private static final class InstanceHolder {
+    private static final ReadRequestScheduler INSTANCE =
+        new ReadRequestScheduler(Configuration.global());
+  }
+}
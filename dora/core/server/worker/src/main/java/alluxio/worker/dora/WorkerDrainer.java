@@ -0,0 +1,456 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.dora.WorkerLocationPolicy;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.grpc.DrainState;
+import alluxio.grpc.DrainWorkerResponse;
+import alluxio.grpc.GrpcUtils;
+import alluxio.grpc.LoadDataSubTask;
+import alluxio.grpc.LoadFailure;
+import alluxio.grpc.LoadFileRequest;
+import alluxio.grpc.LoadFileResponse;
+import alluxio.grpc.LoadSubTask;
+import alluxio.grpc.UfsFileStatus;
+import alluxio.grpc.UfsReadOptions;
+import alluxio.grpc.UfsStatus;
+import alluxio.membership.MembershipManager;
+import alluxio.membership.WorkerClusterView;
+import alluxio.resource.CloseableResource;
+import alluxio.retry.ExponentialTimeBoundedRetry;
+import alluxio.retry.RetryPolicy;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Drains a worker before it is removed from the cluster, so that the removal does not turn the
+ * reads of the data cached by the worker into reads from the UFS.
+ *
+ * The cached pages of the files recently read from the worker are handed over to the workers
+ * which will own the files once the worker has left, as chosen by the worker location policy of
+ * the clients. The owners load the pages from this worker, the most recently read files first,
+ * at a limited rate and until a timeout, after which the worker leaves the cluster with the rest
+ * of its data not handed over.
+ */
+@ThreadSafe
+public class WorkerDrainer {
+  private static final Logger LOG = LoggerFactory.getLogger(WorkerDrainer.class);
+  /** The maximum number of bytes handed over by a single load request. */
+  private static final long MAX_BYTES_PER_REQUEST = 64 * Constants.MB;
+  /** The maximum time to wait for the membership to see the worker as stopped. */
+  private static final Duration LEAVE_TIMEOUT = Duration.ofMinutes(1);
+  /** The fraction of the maximum number of files tracked evicted at once. */
+  private static final int EVICTION_FRACTION = 10;
+
+  /**
+   * Loads data into a worker.
+   */
+  @FunctionalInterface
+  interface FileLoader {
+    /**
+     * @param worker the worker to load the data into
+     * @param request the load request
+     * @param timeoutMs the maximum time to wait for the load
+     * @return the response of the worker
+     */
+    LoadFileResponse load(WorkerNetAddress worker, LoadFileRequest request, long timeoutMs)
+        throws Exception;
+  }
+
+  private final CacheManager mCacheManager;
+  private final MembershipManager mMembershipManager;
+  private final WorkerLocationPolicy mWorkerLocationPolicy;
+  private final FileLoader mFileLoader;
+  private final Supplier<WorkerInfo> mWorker;
+  private final long mPageSize;
+  private final boolean mLiveWorkersOnly;
+  private final int mOwnerCount;
+  @Nullable
+  private final RateLimiter mRateLimiter;
+  private final long mTimeoutMs;
+  private final int mMaxHotFiles;
+  /** The files recently read from the worker by their ID. */
+  private final Map<String, HotFile> mHotFiles = new ConcurrentHashMap<>();
+  /** Whether a thread is evicting the least recently read files. */
+  private final AtomicBoolean mEvicting = new AtomicBoolean(false);
+
+  private final AtomicReference<DrainState> mState =
+      new AtomicReference<>(DrainState.NOT_DRAINING);
+  private final AtomicLong mFilesTotal = new AtomicLong();
+  private final AtomicLong mFilesHandedOff = new AtomicLong();
+  private final AtomicLong mBytesTotal = new AtomicLong();
+  private final AtomicLong mBytesHandedOff = new AtomicLong();
+  private final AtomicLong mBytesFailed = new AtomicLong();
+  private volatile boolean mTimedOut = false;
+  private volatile String mMessage = "";
+
+  /**
+   * @param conf the configuration
+   * @param cacheManager the cache manager of the worker
+   * @param membershipManager the membership manager
+   * @param fsContext the file system context to connect to the other workers with
+   * @param worker the identity and the address of the worker
+   */
+  public WorkerDrainer(AlluxioConfiguration conf, CacheManager cacheManager,
+      MembershipManager membershipManager, FileSystemContext fsContext,
+      Supplier<WorkerInfo> worker) {
+    this(cacheManager, membershipManager, WorkerLocationPolicy.Factory.create(conf),
+        (address, request, timeoutMs) -> {
+          try (CloseableResource<BlockWorkerClient> client =
+                   fsContext.acquireBlockWorkerClient(address)) {
+            return client.get().loadFile(request).get(timeoutMs, TimeUnit.MILLISECONDS);
+          }
+        },
+        worker, conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE),
+        conf.getBoolean(PropertyKey.USER_DYNAMIC_CONSISTENT_HASH_RING_ENABLED),
+        Math.max(1, conf.getInt(PropertyKey.USER_FILE_REPLICATION_MIN)),
+        conf.getBytes(PropertyKey.WORKER_DRAIN_BANDWIDTH),
+        conf.getMs(PropertyKey.WORKER_DRAIN_TIMEOUT),
+        conf.getInt(PropertyKey.WORKER_DRAIN_HOT_FILES_MAX));
+  }
+
+  @VisibleForTesting
+  WorkerDrainer(CacheManager cacheManager, MembershipManager membershipManager,
+      WorkerLocationPolicy workerLocationPolicy, FileLoader fileLoader,
+      Supplier<WorkerInfo> worker, long pageSize, boolean liveWorkersOnly, int ownerCount,
+      long bytesPerSec, long timeoutMs, int maxHotFiles) {
+    mCacheManager = cacheManager;
+    mMembershipManager = membershipManager;
+    mWorkerLocationPolicy = workerLocationPolicy;
+    mFileLoader = fileLoader;
+    mWorker = worker;
+    mPageSize = pageSize;
+    mLiveWorkersOnly = liveWorkersOnly;
+    mOwnerCount = ownerCount;
+    mRateLimiter = bytesPerSec > 0 ? RateLimiter.create(bytesPerSec) : null;
+    mTimeoutMs = timeoutMs;
+    mMaxHotFiles = maxHotFiles;
+  }
+
+  /**
+   * Records a read of a file, of which the cached data is then handed over on a drain.
+   *
+   * @param fileId the ID of the file in the cache
+   * @param ufsPath the UFS path of the file
+   * @param length the length of the file
+   */
+  public void onFileRead(String fileId, String ufsPath, long length) {
+    long readTimeNanos = System.nanoTime();
+    HotFile file = mHotFiles.get(fileId);
+    if (file != null && file.mLength == length && file.mUfsPath.equals(ufsPath)) {
+      // the common case of a file read again only updates its read time
+      file.mLastReadNanos = readTimeNanos;
+      return;
+    }
+    mHotFiles.put(fileId, new HotFile(fileId, ufsPath, length, readTimeNanos));
+    if (mHotFiles.size() > mMaxHotFiles && mEvicting.compareAndSet(false, true)) {
+      try {
+        evictHotFiles();
+      } finally {
+        mEvicting.set(false);
+      }
+    }
+  }
+
+  /**
+   * Evicts the least recently read files, a fraction of the maximum number of files tracked
+   * at once so that the eviction is amortized over the reads of new files.
+   */
+  private void evictHotFiles() {
+    int toEvict = mHotFiles.size() - (mMaxHotFiles - mMaxHotFiles / EVICTION_FRACTION);
+    if (toEvict <= 0) {
+      return;
+    }
+    mHotFiles.values().stream()
+        .sorted(Comparator.comparingLong(file -> file.mLastReadNanos))
+        .limit(toEvict)
+        .collect(Collectors.toList())
+        .forEach(file -> mHotFiles.remove(file.mFileId, file));
+  }
+
+  /**
+   * Starts draining the worker in the background, unless it is already.
+   *
+   * @param statusOnly whether to only get the progress of the drain, without starting it
+   * @return the progress of the drain
+   */
+  public DrainWorkerResponse drain(boolean statusOnly) {
+    if (!statusOnly && (mState.compareAndSet(DrainState.NOT_DRAINING, DrainState.HANDING_OFF)
+        || mState.compareAndSet(DrainState.DRAIN_FAILED, DrainState.HANDING_OFF))) {
+      LOG.info("Draining the worker");
+      ThreadFactoryUtils.build("worker-drainer-%d", true).newThread(this::run).start();
+    }
+    return getStatus();
+  }
+
+  /**
+   * @return the progress of the drain
+   */
+  public DrainWorkerResponse getStatus() {
+    return DrainWorkerResponse.newBuilder()
+        .setState(mState.get())
+        .setFilesTotal(mFilesTotal.get())
+        .setFilesHandedOff(mFilesHandedOff.get())
+        .setBytesTotal(mBytesTotal.get())
+        .setBytesHandedOff(mBytesHandedOff.get())
+        .setBytesFailed(mBytesFailed.get())
+        .setTimedOut(mTimedOut)
+        .setMessage(mMessage)
+        .build();
+  }
+
+  @VisibleForTesting
+  void run() {
+    mState.set(DrainState.HANDING_OFF);
+    // a drain restarted after a failure reports its own progress
+    mFilesTotal.set(0);
+    mFilesHandedOff.set(0);
+    mBytesTotal.set(0);
+    mBytesHandedOff.set(0);
+    mBytesFailed.set(0);
+    mTimedOut = false;
+    mMessage = "";
+    try {
+      handOff();
+    } catch (Throwable t) {
+      LOG.error("Failed to hand the cached data over, leaving the cluster", t);
+      mMessage = "Failed to hand the cached data over: " + t;
+    }
+    mState.set(DrainState.LEAVING);
+    try {
+      leave();
+      mState.set(DrainState.DRAINED);
+      LOG.info("Drained the worker: {}", getStatus());
+    } catch (IOException e) {
+      LOG.error("Failed to leave the cluster", e);
+      mMessage = "Failed to leave the cluster: " + e.getMessage();
+      mState.set(DrainState.DRAIN_FAILED);
+    }
+  }
+
+  private void handOff() throws IOException {
+    long deadlineMs = System.currentTimeMillis() + mTimeoutMs;
+    WorkerInfo self = mWorker.get();
+    WorkerClusterView view = mLiveWorkersOnly
+        ? mMembershipManager.getLiveMembers() : mMembershipManager.getAllMembers();
+    WorkerClusterView remainingView = new WorkerClusterView(view.stream()
+        .filter(worker -> !worker.getIdentity().equals(self.getIdentity()))
+        .collect(Collectors.toList()));
+    if (remainingView.isEmpty()) {
+      mMessage = "No other worker to hand the cached data over to";
+      return;
+    }
+    for (HandOff handOff : plan(remainingView, self.getAddress())) {
+      long timeoutMs = deadlineMs - System.currentTimeMillis();
+      if (timeoutMs <= 0 || (mRateLimiter != null && !mRateLimiter.tryAcquire(
+          Ints.saturatedCast(handOff.mBytes), timeoutMs, TimeUnit.MILLISECONDS))) {
+        mTimedOut = true;
+        LOG.warn("Timed out handing the cached data over, {} bytes of {} handed over",
+            mBytesHandedOff.get(), mBytesTotal.get());
+        return;
+      }
+      long bytesFailed;
+      try {
+        LoadFileResponse response = mFileLoader.load(handOff.mOwner, handOff.mRequest,
+            deadlineMs - System.currentTimeMillis());
+        bytesFailed = response.getFailuresList().stream()
+            .map(LoadFailure::getSubtask)
+            .filter(LoadSubTask::hasLoadDataSubtask)
+            .mapToLong(subtask -> subtask.getLoadDataSubtask().getLength())
+            .sum();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted handing the cached data over", e);
+      } catch (Exception e) {
+        LOG.warn("Failed to hand {} bytes of {} over to {}: {}", handOff.mBytes,
+            handOff.mUfsPath, handOff.mOwner, e.toString());
+        bytesFailed = handOff.mBytes;
+      }
+      mBytesHandedOff.addAndGet(handOff.mBytes - bytesFailed);
+      mBytesFailed.addAndGet(bytesFailed);
+      if (handOff.mLastOfFile) {
+        mFilesHandedOff.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * @return the requests to load the cached pages of the recently read files into their owners,
+   *         the most recently read files first
+   */
+  private List<HandOff> plan(WorkerClusterView view, WorkerNetAddress self) {
+    List<HotFile> files = mHotFiles.values().stream()
+        .sorted(Comparator.comparingLong((HotFile file) -> file.mLastReadNanos).reversed())
+        .collect(Collectors.toList());
+    List<HandOff> handOffs = new ArrayList<>();
+    for (HotFile file : files) {
+      List<LoadFileRequest> requests = getLoadRequests(file, self);
+      if (requests.isEmpty()) {
+        continue;
+      }
+      List<BlockWorkerInfo> owners;
+      try {
+        owners = mWorkerLocationPolicy.getPreferredWorkers(view, file.mUfsPath,
+            Math.min(mOwnerCount, view.size()));
+      } catch (ResourceExhaustedException e) {
+        LOG.debug("Failed to locate the owners of {}", file.mUfsPath, e);
+        continue;
+      }
+      for (int i = 0; i < owners.size(); i++) {
+        for (int j = 0; j < requests.size(); j++) {
+          HandOff handOff = new HandOff(owners.get(i).getNetAddress(), file.mUfsPath,
+              requests.get(j), i == owners.size() - 1 && j == requests.size() - 1);
+          handOffs.add(handOff);
+          mBytesTotal.addAndGet(handOff.mBytes);
+        }
+      }
+      mFilesTotal.incrementAndGet();
+    }
+    return handOffs;
+  }
+
+  /**
+   * @return the requests to load the cached pages of the file, one sub task per range of
+   *         consecutive pages, and a limited number of bytes per request
+   */
+  private List<LoadFileRequest> getLoadRequests(HotFile file, WorkerNetAddress self) {
+    List<PageId> pages = new ArrayList<>(
+        mCacheManager.getCachedPageIdsByFileId(file.mFileId, file.mLength));
+    pages.sort(Comparator.comparingLong(PageId::getPageIndex));
+    UfsStatus status = UfsStatus.newBuilder()
+        .setUfsFullPath(file.mUfsPath)
+        .setUfsFileStatus(UfsFileStatus.newBuilder().setContentLength(file.mLength))
+        .build();
+    long pagesPerSubtask = Math.max(1, MAX_BYTES_PER_REQUEST / mPageSize);
+    List<LoadFileRequest.Builder> requests = new ArrayList<>();
+    long requestBytes = 0;
+    int i = 0;
+    while (i < pages.size()) {
+      long first = pages.get(i).getPageIndex();
+      int j = i + 1;
+      while (j < pages.size() && pages.get(j).getPageIndex() == first + (j - i)
+          && j - i < pagesPerSubtask) {
+        j++;
+      }
+      long offset = first * mPageSize;
+      long length = Math.min((first + (j - i)) * mPageSize, file.mLength) - offset;
+      i = j;
+      if (length <= 0) {
+        continue;
+      }
+      if (requests.isEmpty() || requestBytes + length > MAX_BYTES_PER_REQUEST) {
+        requests.add(LoadFileRequest.newBuilder()
+            .setOptions(UfsReadOptions.newBuilder().setTag("drain").setPositionShort(false))
+            // the owner may have cached the pages since
+            .setSkipIfExists(true));
+        requestBytes = 0;
+      }
+      requests.get(requests.size() - 1).addSubtasks(LoadSubTask.newBuilder().setLoadDataSubtask(
+          LoadDataSubTask.newBuilder()
+              .setUfsPath(file.mUfsPath)
+              .setOffsetInFile(offset)
+              .setLength(length)
+              .setUfsStatus(status)
+              .setMainWorker(GrpcUtils.toProto(self))));
+      requestBytes += length;
+    }
+    return requests.stream().map(LoadFileRequest.Builder::build).collect(Collectors.toList());
+  }
+
+  private void leave() throws IOException {
+    WorkerInfo self = mWorker.get();
+    mMembershipManager.stopHeartBeat(self);
+    // the membership may see the worker as running for a while after it stops heartbeating
+    RetryPolicy retry = ExponentialTimeBoundedRetry.builder()
+        .withMaxDuration(LEAVE_TIMEOUT)
+        .withInitialSleep(Duration.ofMillis(100))
+        .withMaxSleep(Duration.ofSeconds(5))
+        .build();
+    while (true) {
+      try {
+        mMembershipManager.decommission(self);
+        return;
+      } catch (IOException e) {
+        if (!retry.attempt()) {
+          throw e;
+        }
+        LOG.debug("Failed to leave the cluster, retrying", e);
+      }
+    }
+  }
+
+  private static final class HotFile {
+    private final String mFileId;
+    private final String mUfsPath;
+    private final long mLength;
+    private volatile long mLastReadNanos;
+
+    private HotFile(String fileId, String ufsPath, long length, long lastReadNanos) {
+      mFileId = fileId;
+      mUfsPath = ufsPath;
+      mLength = length;
+      mLastReadNanos = lastReadNanos;
+    }
+  }
+
+  private static final class HandOff {
+    private final WorkerNetAddress mOwner;
+    private final String mUfsPath;
+    private final LoadFileRequest mRequest;
+    private final long mBytes;
+    /** Whether this is the last request of the file. */
+    private final boolean mLastOfFile;
+
+    private HandOff(WorkerNetAddress owner, String ufsPath, LoadFileRequest request,
+        boolean lastOfFile) {
+      mOwner = owner;
+      mUfsPath = ufsPath;
+      mRequest = request;
+      mBytes = request.getSubtasksList().stream()
+          .mapToLong(subtask -> subtask.getLoadDataSubtask().getLength())
+          .sum();
+      mLastOfFile = lastOfFile;
+    }
+  }
+}
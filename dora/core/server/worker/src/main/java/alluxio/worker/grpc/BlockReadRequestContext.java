@@ -13,6 +13,7 @@ package alluxio.worker.grpc;
 
 import alluxio.wire.BlockReadRequest;
 import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.dora.ReadRequestScheduler;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
@@ -72,6 +73,8 @@ public final class BlockReadRequestContext {
   /** This is set when the SUCCESS or CANCEL response is sent. This is only for sanity check. */
   private volatile boolean mDone;
   private BlockReader mBlockReader;
+  /** The permit of the request from the read scheduler, held while the block reader is open. */
+  private ReadRequestScheduler.Permit mPermit;
   /** The requests of this context. */
   private final BlockReadRequest mRequest;
 
@@ -250,4 +253,19 @@ public final class BlockReadRequestContext {
   public void setBlockReader(BlockReader blockReader) {
     mBlockReader = blockReader;
   }
+
+  /**
+   * @return the permit of the request from the read scheduler
+   */
+  @Nullable
+  public ReadRequestScheduler.Permit getPermit() {
+    return mPermit;
+  }
+
+  /**
+   * @param permit the permit of the request from the read scheduler to set
+   */
+  public void setPermit(ReadRequestScheduler.Permit permit) {
+    mPermit = permit;
+  }
 }
@@ -13,11 +13,14 @@ package alluxio.worker.grpc;
 
 import static java.util.Objects.requireNonNull;
 
+import alluxio.AlluxioURI;
 import alluxio.RpcUtils;
 import alluxio.annotation.SuppressFBWarnings;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.exception.runtime.CancelledRuntimeException;
+import alluxio.exception.runtime.DeadlineExceededRuntimeException;
 import alluxio.exception.runtime.NotFoundRuntimeException;
 import alluxio.grpc.BlockWorkerGrpc;
 import alluxio.grpc.CacheDataRequest;
@@ -32,8 +35,12 @@ import alluxio.grpc.CreateFilePRequest;
 import alluxio.grpc.CreateFilePResponse;
 import alluxio.grpc.DeletePRequest;
 import alluxio.grpc.DeletePResponse;
+import alluxio.grpc.DrainWorkerRequest;
+import alluxio.grpc.DrainWorkerResponse;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
+import alluxio.grpc.GetCachedPageFilesRequest;
+import alluxio.grpc.GetCachedPageFilesResponse;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcUtils;
@@ -41,6 +48,7 @@ import alluxio.grpc.ListStatusPRequest;
 import alluxio.grpc.ListStatusPResponse;
 import alluxio.grpc.LoadFileRequest;
 import alluxio.grpc.LoadFileResponse;
+import alluxio.grpc.MetaInvalidationEvent;
 import alluxio.grpc.MoveRequest;
 import alluxio.grpc.MoveResponse;
 import alluxio.grpc.ReadRequest;
@@ -51,6 +59,7 @@ import alluxio.grpc.RenamePResponse;
 import alluxio.grpc.RouteFailure;
 import alluxio.grpc.SetAttributePRequest;
 import alluxio.grpc.SetAttributePResponse;
+import alluxio.grpc.SubscribeMetaInvalidationsRequest;
 import alluxio.grpc.TaskStatus;
 import alluxio.metrics.MultiDimensionalMetricsSystem;
 import alluxio.underfs.UfsStatus;
@@ -64,13 +73,16 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.inject.Inject;
 import io.grpc.MethodDescriptor;
 import io.grpc.stub.CallStreamObserver;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Server side implementation of the gRPC dora worker interface.
@@ -84,6 +96,12 @@ public class DoraWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorkerI
       Configuration.getBoolean(PropertyKey.WORKER_NETWORK_ZEROCOPY_ENABLED);
   private static final int LIST_STATUS_BATCH_SIZE =
       Configuration.getInt(PropertyKey.MASTER_FILE_SYSTEM_LISTSTATUS_RESULTS_PER_MESSAGE);
+  /** The bounds of how often to check if a client not ready for messages has become ready. */
+  private static final long FLOW_CONTROL_MIN_POLL_INTERVAL_MS = 1;
+  private static final long FLOW_CONTROL_MAX_POLL_INTERVAL_MS = 100;
+  /** How long to wait for a client to become ready to receive more messages. */
+  private static final long FLOW_CONTROL_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(
+      Configuration.getMs(PropertyKey.WORKER_NETWORK_PACKET_SENDING_TIMEOUT));
 
   private final ReadResponseMarshaller mReadResponseMarshaller = new ReadResponseMarshaller();
   private final PagedDoraWorker mWorker;
@@ -219,39 +237,22 @@ public class DoraWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorkerI
 
     try {
       MultiDimensionalMetricsSystem.META_OPERATION.labelValues("listStatus").inc();
-      UfsStatus[] statuses = mWorker.listStatus(request.getPath(), request.getOptions());
-      if (statuses == null) {
+      String path = request.getPath();
+      // all entries of the listing are in the UFS of the listed path
+      String ufsType = mWorker.getUfsInstance(path).getUnderFSType();
+      // each batch is sent as soon as it is listed from the UFS, rather than after the whole
+      // listing, so the client gets the first entries of a large directory early
+      boolean exists = mWorker.listStatus(path, request.getOptions(), LIST_STATUS_BATCH_SIZE,
+          statuses -> {
+            awaitReady(responseObserver);
+            responseObserver.onNext(buildListStatusResponse(path, ufsType, statuses));
+          });
+      if (!exists) {
         responseObserver.onError(
             new NotFoundRuntimeException(String.format("%s Not Found", request.getPath()))
                 .toGrpcStatusRuntimeException());
         return;
       }
-
-      ListStatusPResponse.Builder builder = ListStatusPResponse.newBuilder();
-
-      for (int i = 0; i < statuses.length; i++) {
-        UfsStatus status = statuses[i];
-        String ufsFullPath = PathUtils.concatPath(request.getPath(), status.getName());
-
-        // the list status do not include xattr now. GetAttr will cause some additional overhead.
-        // And not every request requires the Xattr. Now only get file xattr in GetStatus.
-        alluxio.grpc.FileInfo fi =
-            PagedDoraWorker.buildFileInfoFromUfsStatus(mWorker.getCacheUsage(),
-                    mWorker.getUfsInstance(ufsFullPath).getUnderFSType(),
-                    status, ufsFullPath, null);
-
-        builder.addFileInfos(fi);
-        if (builder.getFileInfosCount() == LIST_STATUS_BATCH_SIZE) {
-          // Reached the batch size of the reply message. Send it out and create a new one.
-          responseObserver.onNext(builder.build());
-          builder = ListStatusPResponse.newBuilder();
-        }
-      }
-      if (builder.getFileInfosCount() != 0) {
-        // Send out the remaining items if there is any.
-        responseObserver.onNext(builder.build());
-      }
-
       responseObserver.onCompleted();
     } catch (Exception e) {
       LOG.error(String.format("Failed to list status of %s: ", request.getPath()), e);
@@ -259,6 +260,71 @@ public class DoraWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorkerI
     }
   }
 
+  private ListStatusPResponse buildListStatusResponse(String path, String ufsType,
+      List<UfsStatus> statuses) {
+    String[] ufsFullPaths = new String[statuses.size()];
+    List<String> filePaths = new ArrayList<>(statuses.size());
+    for (int i = 0; i < statuses.size(); i++) {
+      ufsFullPaths[i] = PathUtils.concatPath(path, statuses.get(i).getName());
+      if (statuses.get(i).isFile()) {
+        filePaths.add(ufsFullPaths[i]);
+      }
+    }
+    // look up the cached bytes of all files at once rather than one by one
+    long[] cachedBytes = mWorker.getCachedBytes(filePaths);
+    int fileIndex = 0;
+    ListStatusPResponse.Builder builder = ListStatusPResponse.newBuilder();
+    for (int i = 0; i < statuses.size(); i++) {
+      UfsStatus status = statuses.get(i);
+      long bytesInCache = status.isFile() ? cachedBytes[fileIndex++] : 0;
+      // the name of an entry is the last component of its path relative to the listed path,
+      // unless the listed path is a file, which is listed as itself with an empty name
+      String name = status.getName();
+      String filename = name.isEmpty() ? new AlluxioURI(ufsFullPaths[i]).getName()
+          : name.substring(name.lastIndexOf(AlluxioURI.SEPARATOR) + 1);
+
+      // the list status do not include xattr now. GetAttr will cause some additional overhead.
+      // And not every request requires the Xattr. Now only get file xattr in GetStatus.
+      builder.addFileInfos(PagedDoraWorker.buildFileInfoFromUfsStatus(
+          bytesInCache, ufsType, status, ufsFullPaths[i], filename, null));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Waits until the client is ready to receive another message of a server stream, so that a
+   * slow client slows the producer down instead of the messages piling up in the worker. The
+   * on-ready callback of the call can not be used here, as it is not delivered until the handler
+   * method returns, so readiness is polled with a backoff, for up to the packet sending timeout.
+   *
+   * @param responseObserver the observer of the stream
+   */
+  private static void awaitReady(StreamObserver<?> responseObserver) {
+    if (!(responseObserver instanceof ServerCallStreamObserver)) {
+      return;
+    }
+    ServerCallStreamObserver<?> observer = (ServerCallStreamObserver<?>) responseObserver;
+    long deadlineNanos = System.nanoTime() + FLOW_CONTROL_TIMEOUT_NANOS;
+    long intervalMs = FLOW_CONTROL_MIN_POLL_INTERVAL_MS;
+    while (!observer.isReady()) {
+      if (observer.isCancelled()) {
+        throw new CancelledRuntimeException("The call was cancelled by the client");
+      }
+      if (System.nanoTime() - deadlineNanos > 0) {
+        throw new DeadlineExceededRuntimeException(String.format(
+            "The client was not ready to receive more messages within %dms",
+            TimeUnit.NANOSECONDS.toMillis(FLOW_CONTROL_TIMEOUT_NANOS)));
+      }
+      try {
+        Thread.sleep(intervalMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CancelledRuntimeException("Interrupted waiting for the client", e);
+      }
+      intervalMs = Math.min(2 * intervalMs, FLOW_CONTROL_MAX_POLL_INTERVAL_MS);
+    }
+  }
+
   @Override
   public void createFile(CreateFilePRequest request,
                          StreamObserver<CreateFilePResponse> responseObserver) {
@@ -402,4 +468,35 @@ public class DoraWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorkerI
       responseObserver.onError(AlluxioRuntimeException.from(e).toGrpcStatusRuntimeException());
     }
   }
+
+  @Override
+  public void getCachedPageFiles(GetCachedPageFilesRequest request,
+      StreamObserver<GetCachedPageFilesResponse> responseObserver) {
+    try {
+      responseObserver.onNext(mWorker.getCachedPageFiles(request.getUfsPath(),
+          request.getFileLength(), request.getOffset(), request.getLength()));
+      responseObserver.onCompleted();
+    } catch (Exception e) {
+      LOG.debug(String.format("Failed to get cached page files of %s: ", request.getUfsPath()), e);
+      responseObserver.onError(AlluxioRuntimeException.from(e).toGrpcStatusRuntimeException());
+    }
+  }
+
+  @Override
+  public void drainWorker(DrainWorkerRequest request,
+      StreamObserver<DrainWorkerResponse> responseObserver) {
+    try {
+      responseObserver.onNext(mWorker.drain(request.getStatusOnly()));
+      responseObserver.onCompleted();
+    } catch (Exception e) {
+      LOG.error("Failed to drain the worker", e);
+      responseObserver.onError(AlluxioRuntimeException.from(e).toGrpcStatusRuntimeException());
+    }
+  }
+
+  @Override
+  public void subscribeMetaInvalidations(SubscribeMetaInvalidationsRequest request,
+      StreamObserver<MetaInvalidationEvent> responseObserver) {
+    mWorker.subscribeMetaInvalidations(request.getPathPrefixesList(), responseObserver);
+  }
 }
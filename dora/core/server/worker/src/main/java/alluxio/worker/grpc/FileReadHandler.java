@@ -33,6 +33,8 @@ import alluxio.util.LogUtils;
 import alluxio.wire.BlockReadRequest;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.dora.DoraWorker;
+import alluxio.worker.dora.PagedFileReader;
+import alluxio.worker.dora.ReadRequestScheduler;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
@@ -71,6 +73,7 @@ public class FileReadHandler implements StreamObserver<ReadRequest> {
   private final SerializingExecutor mSerializingExecutor;
   private final DoraWorker mWorker;
   private final boolean mIsReaderBufferPooled;
+  private final boolean mIsPageMapped;
 
   private final ReentrantLock mLock = new ReentrantLock();
 
@@ -102,6 +105,7 @@ public class FileReadHandler implements StreamObserver<ReadRequest> {
     mWorker = worker;
     mIsReaderBufferPooled =
         Configuration.getBoolean(PropertyKey.WORKER_NETWORK_READER_BUFFER_POOLED);
+    mIsPageMapped = Configuration.getBoolean(PropertyKey.WORKER_NETWORK_READER_PAGE_MAPPED);
   }
 
   @Override
@@ -349,14 +353,17 @@ public class FileReadHandler implements StreamObserver<ReadRequest> {
             DataBuffer finalChunk = chunk;
             mSerializingExecutor.execute(() -> {
               try {
-                ReadResponse response = ReadResponse.newBuilder().setChunk(Chunk.newBuilder()
-                    .setData(UnsafeByteOperations.unsafeWrap(finalChunk.getReadOnlyByteBuffer()))
-                ).build();
                 if (mResponse instanceof DataMessageServerStreamObserver) {
+                  // the data is serialized from the buffer, so that it is not copied into the
+                  // message when the buffer is a composite of buffers
+                  ReadResponse response =
+                      ReadResponse.newBuilder().setChunk(Chunk.getDefaultInstance()).build();
                   ((DataMessageServerStreamObserver<ReadResponse>) mResponse)
                       .onNext(new DataMessage<>(response, finalChunk));
                 } else {
-                  mResponse.onNext(response);
+                  mResponse.onNext(ReadResponse.newBuilder().setChunk(Chunk.newBuilder()
+                      .setData(UnsafeByteOperations.unsafeWrap(finalChunk.getReadOnlyByteBuffer()))
+                  ).build());
                 }
                 incrementMetrics(finalChunk.getLength());
               } catch (Exception e) {
@@ -416,6 +423,10 @@ public class FileReadHandler implements StreamObserver<ReadRequest> {
         return;
       }
       BlockReadRequest request = context.getRequest();
+      if (context.getPermit() == null) {
+        context.setPermit(ReadRequestScheduler.get().acquire(ReadRequestScheduler.getTenant(
+            request.getTenant(), request.getOpenUfsBlockOptions())));
+      }
       BlockReader reader = mWorker.createFileReader(
           new AlluxioURI(request.getOpenUfsBlockOptions().getUfsPath()).hash(),
           request.getStart(), request.isPositionShort(), request.getOpenUfsBlockOptions());
@@ -436,6 +447,9 @@ public class FileReadHandler implements StreamObserver<ReadRequest> {
         }
       } finally {
         context.setBlockReader(null);
+        if (context.getPermit() != null) {
+          context.getPermit().close();
+        }
         RPC_READ_COUNT.dec();
       }
     }
@@ -461,13 +475,13 @@ public class FileReadHandler implements StreamObserver<ReadRequest> {
       openMs = System.currentTimeMillis() - startMs;
       blockReader = context.getBlockReader();
       Preconditions.checkState(blockReader != null);
+      context.getPermit().acquireBytes(len);
       startTransferMs = System.currentTimeMillis();
-      ByteBuf buf;
-      if (mIsReaderBufferPooled) {
-        buf = PooledDirectNioByteBuf.allocate(len);
-      } else {
-        buf = Unpooled.directBuffer(len, len);
+      if (mIsPageMapped && blockReader instanceof PagedFileReader
+          && mResponse instanceof DataMessageServerStreamObserver) {
+        return ((PagedFileReader) blockReader).getMappedDataBuffer(len, this::allocateBuffer);
       }
+      ByteBuf buf = allocateBuffer(len);
       try {
         while (buf.writableBytes() > 0 && blockReader.transferTo(buf) != -1) {
         }
@@ -477,6 +491,13 @@ public class FileReadHandler implements StreamObserver<ReadRequest> {
       }
     }
 
+    private ByteBuf allocateBuffer(int len) {
+      if (mIsReaderBufferPooled) {
+        return PooledDirectNioByteBuf.allocate(len);
+      }
+      return Unpooled.directBuffer(len, len);
+    }
+
     /**
      * Writes an error read response to the channel and closes the channel after that.
      */
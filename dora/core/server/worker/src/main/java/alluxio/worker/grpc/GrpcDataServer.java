@@ -21,6 +21,7 @@ import alluxio.grpc.GrpcServerAddress;
 import alluxio.grpc.GrpcServerBuilder;
 import alluxio.grpc.GrpcService;
 import alluxio.grpc.ServiceType;
+import alluxio.grpc.TraceContextServerInjector;
 import alluxio.master.AlluxioExecutorService;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
@@ -158,6 +159,9 @@ public class GrpcDataServer implements DataServer {
     if (type == ChannelType.EPOLL) {
       builder.withChildOption(EpollChannelOption.EPOLL_MODE, EpollMode.LEVEL_TRIGGERED);
     }
+    if (Configuration.getBoolean(PropertyKey.TRACE_ENABLED)) {
+      builder.intercept(new TraceContextServerInjector());
+    }
     return builder
         .bossEventLoopGroup(mBossGroup)
         .workerEventLoopGroup(mWorkerGroup)
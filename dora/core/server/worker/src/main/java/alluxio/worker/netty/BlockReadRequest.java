@@ -12,9 +12,12 @@
 package alluxio.worker.netty;
 
 import alluxio.proto.dataserver.Protocol;
+import alluxio.trace.TraceContext;
+import alluxio.worker.dora.ReadRequestScheduler;
 
 import com.google.common.base.Preconditions;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -26,6 +29,8 @@ import javax.annotation.concurrent.ThreadSafe;
 public final class BlockReadRequest extends ReadRequest {
   private final Protocol.OpenUfsBlockOptions mOpenUfsBlockOptions;
   private final boolean mPromote;
+  @Nullable
+  private final String mTenant;
 
   /**
    * Creates an instance of {@link BlockReadRequest}.
@@ -34,7 +39,8 @@ public final class BlockReadRequest extends ReadRequest {
    */
   public BlockReadRequest(Protocol.ReadRequest request) {
     super(request.getBlockId(), request.getOffset(), request.getOffset() + request.getLength(),
-        downcastChunkSize(request));
+        downcastChunkSize(request), request.getMaxPacketsInFlight(),
+        TraceContext.decode(request.getTraceContext()));
 
     if (request.hasOpenUfsBlockOptions()) {
       mOpenUfsBlockOptions = request.getOpenUfsBlockOptions();
@@ -42,6 +48,8 @@ public final class BlockReadRequest extends ReadRequest {
       mOpenUfsBlockOptions = null;
     }
     mPromote = request.getPromote();
+    mTenant = ReadRequestScheduler.getTenant(
+        request.hasTenant() ? request.getTenant() : null, mOpenUfsBlockOptions);
     // Note that we do not need to seek to offset since the block worker is created at the offset.
   }
 
@@ -59,6 +67,12 @@ public final class BlockReadRequest extends ReadRequest {
     return mPromote;
   }
 
+  @Override
+  @Nullable
+  public String getTenant() {
+    return mTenant;
+  }
+
   /**
    * @return the option to open UFS block
    */
@@ -16,8 +16,8 @@ import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AccessControlException;
 import alluxio.exception.status.PermissionDeniedException;
+import alluxio.metrics.MultiDimensionalMetricsSystem;
 import alluxio.network.netty.FileTransferType;
-import alluxio.network.protocol.databuffer.CompositeDataBuffer;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.proto.dataserver.Protocol;
@@ -27,6 +27,7 @@ import alluxio.worker.dora.PagedFileReader;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.prometheus.metrics.core.datapoints.CounterDataPoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -133,28 +134,35 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
     private final BlockReader mReader;
     private final BlockReadRequest mReadRequest;
     private final FileTransferType mTransferType;
+    private final CounterDataPoint mUserDataRead;
 
     FilePacketReader(BlockReader reader, BlockReadRequest request, FileTransferType transferType) {
       mReader = reader;
       mReadRequest = request;
       mTransferType = transferType;
+      Protocol.OpenUfsBlockOptions options = request.getOpenUfsBlockOptions();
+      mUserDataRead = MultiDimensionalMetricsSystem.USER_DATA_READ.get(
+          options != null && options.hasUser() ? options.getUser() : null);
     }
 
     @Override
     public DataBuffer createDataBuffer(Channel channel, long offset, int len)
         throws Exception {
+      DataBuffer buffer;
       if (mTransferType == FileTransferType.TRANSFER) {
         if (mReader instanceof PagedFileReader) {
           PagedFileReader pagedFileReader = (PagedFileReader) mReader;
-          CompositeDataBuffer compositeDataBuffer =
-              pagedFileReader.getMultipleDataFileChannel(channel, len);
-          return compositeDataBuffer;
+          buffer = pagedFileReader.getMultipleDataFileChannel(channel, len);
         } else {
           throw new UnsupportedOperationException(mReader.getClass().getCanonicalName()
               + "is no longer supported in Alluxio 3.x");
         }
+      } else {
+        buffer = createDataBufferByCopying(channel, len);
       }
-      return createDataBufferByCopying(channel, len);
+      // the bytes actually read, which are fewer than requested at the end of the file
+      mUserDataRead.inc(buffer.readableBytes());
+      return buffer;
     }
 
     private DataBuffer createDataBufferByCopying(Channel channel, int len)
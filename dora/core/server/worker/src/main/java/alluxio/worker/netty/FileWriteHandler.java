@@ -17,6 +17,7 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.MultiDimensionalMetricsSystem;
 import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.proto.dataserver.Protocol;
+import alluxio.util.FlightRecorder;
 import alluxio.worker.dora.DoraWorker;
 
 import com.google.common.base.Preconditions;
@@ -145,10 +146,14 @@ public class FileWriteHandler extends AbstractWriteHandler<BlockWriteRequestCont
             mWorker.createFileWriter(request.getFileId(), request.getUfsPath()));
         context.setCounter(MetricsSystem.counter(metricName));
       }
-      context.setAccessMetric(MultiDimensionalMetricsSystem.DATA_ACCESS.labelValues("write"));
+      context.setAccessMetric(MultiDimensionalMetricsSystem.DATA_ACCESS_WRITE);
       Preconditions.checkState(context.getBlockWriter() != null);
       int sz = buf.readableBytes();
+      long startTime = System.nanoTime();
       Preconditions.checkState(context.getBlockWriter().append(buf) == sz);
+      MultiDimensionalMetricsSystem.observeLatency(
+          MultiDimensionalMetricsSystem.DATA_ACCESS_WRITE_LATENCY, startTime);
+      FlightRecorder.reportLatency(System.nanoTime() - startTime);
     }
   }
 }
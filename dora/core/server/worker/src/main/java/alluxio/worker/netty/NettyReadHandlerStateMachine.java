@@ -14,11 +14,18 @@ package alluxio.worker.netty;
 import alluxio.client.file.dora.netty.DebugLoggingTracer;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
+import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.exception.runtime.NotFoundRuntimeException;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.metrics.MultiDimensionalMetricsSystem;
 import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.trace.Span;
+import alluxio.trace.TraceContext;
+import alluxio.trace.Tracer;
 import alluxio.util.CommonUtils;
+import alluxio.util.FlightRecorder;
+import alluxio.worker.dora.ReadRequestScheduler;
 import alluxio.worker.netty.AbstractReadHandler.PacketReader;
 
 import com.github.oxo42.stateless4j.StateMachine;
@@ -72,6 +79,8 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
 
   private final Channel mChannel;
 
+  private final ReadRequestScheduler mScheduler = ReadRequestScheduler.get();
+
   private interface ChannelEvent {
     // tag interface
   }
@@ -249,10 +258,11 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
     private final Class<? extends ReadRequest> mRequestType;
     private final ReadRequest mRequest;
     private final PacketReader<? extends ReadRequest> mPacketReader;
+    private final ReadRequestScheduler.Permit mPermit;
 
     private RequestContext(long positionRead, long positionWritten,
         Class<? extends ReadRequest> requestType, ReadRequest request,
-        PacketReader<? extends ReadRequest> packetReader) {
+        PacketReader<? extends ReadRequest> packetReader, ReadRequestScheduler.Permit permit) {
       Preconditions.checkArgument(request.getStart() <= positionWritten
           && positionWritten <= positionRead
           && positionRead <= request.getEnd(),
@@ -263,12 +273,14 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
       mRequestType = requestType;
       mRequest = request;
       mPacketReader = packetReader;
+      mPermit = permit;
     }
 
     public static <ReqT extends ReadRequest> RequestContext createForNewRequest(
-        Class<ReqT> requestType, ReqT request, PacketReader<ReqT> packetReader) {
+        Class<ReqT> requestType, ReqT request, PacketReader<ReqT> packetReader,
+        ReadRequestScheduler.Permit permit) {
       return new RequestContext(request.getStart(), request.getStart(), requestType, request,
-          packetReader);
+          packetReader, permit);
     }
 
     public void increaseReadProgress(long increment) {
@@ -310,12 +322,27 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
       return mRequest;
     }
 
+    /**
+     * @return the maximum number of bytes sent but not yet written to the channel, which is the
+     *         number of packets in flight asked by the client, up to the server's own limit
+     */
+    public long maxBytesPending() {
+      int maxPacketsInFlight = mRequest.getMaxPacketsInFlight() > 0
+          ? Math.min(mRequest.getMaxPacketsInFlight(), MAX_PACKETS_IN_FLIGHT)
+          : MAX_PACKETS_IN_FLIGHT;
+      return (long) maxPacketsInFlight * mRequest.getPacketSize();
+    }
+
     public <ReqT extends ReadRequest> PacketReader<ReqT> getPacketReader(Class<ReqT> requestType) {
       Preconditions.checkArgument(requestType == mRequestType);
       @SuppressWarnings("unchecked")
       PacketReader<ReqT> packetReader = (PacketReader<ReqT>) mPacketReader;
       return packetReader;
     }
+
+    public ReadRequestScheduler.Permit getPermit() {
+      return mPermit;
+    }
   }
 
   enum TriggerEvent {
@@ -323,6 +350,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
     UNEXPECTED_CLIENT_MESSAGE_DURING_REQUEST,
     START,
     REQUEST_RECEIVED,
+    REQUEST_REJECTED,
     PACKET_READER_CREATION_ERROR,
     CHANNEL_CLOSED,
     CHANNEL_CLOSED_DURING_REQUEST,
@@ -369,6 +397,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
     public final TriggerWithParameters2<RequestContext, ChannelEvent, TriggerEvent>
         mUnexpectedClientMessageDuringReq;
     public final TriggerWithParameters1<ReqT, TriggerEvent> mRequestReceived;
+    public final TriggerWithParameters1<AlluxioStatusException, TriggerEvent> mRequestRejected;
     public final TriggerWithParameters1<Exception, TriggerEvent> mPacketReaderCreationError;
     public final TriggerWithParameters2<RequestContext, DataBuffer, TriggerEvent> mDataAvailable;
     public final TriggerWithParameters1<RequestContext, TriggerEvent> mOutputLengthFulfilled;
@@ -405,6 +434,9 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
               RequestContext.class, ChannelEvent.class);
       mRequestReceived =
           config.setTriggerParameters(TriggerEvent.REQUEST_RECEIVED, requestType);
+      mRequestRejected =
+          config.setTriggerParameters(TriggerEvent.REQUEST_REJECTED,
+              AlluxioStatusException.class);
       mPacketReaderCreationError =
           config.setTriggerParameters(TriggerEvent.PACKET_READER_CREATION_ERROR,
               Exception.class);
@@ -473,6 +505,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
         .onEntryFrom(mTriggerEventsWithParam.mRequestReceived, this::startNewRequest)
         .onEntryFrom(mTriggerEventsWithParam.mResume, this::readData)
         .onEntryFrom(mTriggerEventsWithParam.mOutputLengthNotFulfilled, this::readData)
+        .permit(TriggerEvent.REQUEST_REJECTED, State.ERROR_OUTSIDE_REQUEST)
         .permit(TriggerEvent.PACKET_READER_CREATION_ERROR, State.ERROR_OUTSIDE_REQUEST)
         .permit(TriggerEvent.OUTPUT_LENGTH_FULFILLED, State.EOF)
         .permit(TriggerEvent.READ_DATA_ERROR, State.ERROR_DURING_REQUEST)
@@ -505,6 +538,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
         .permit(TriggerEvent.COMPLETE_REQUEST, State.COMPLETING_REQUEST)
         .permit(TriggerEvent.SEND_DATA_ERROR, State.COMPLETING_REQUEST);
     config.configure(State.ERROR_OUTSIDE_REQUEST)
+        .onEntryFrom(mTriggerEventsWithParam.mRequestRejected, this::replyRequestRejected)
         .onEntryFrom(mTriggerEventsWithParam.mPacketReaderCreationError,
             this::replyPacketReaderCreationError)
         .onEntryFrom(mTriggerEventsWithParam.mUnexpectedClientMessage,
@@ -630,16 +664,24 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
   }
 
   private void startNewRequest(ReqT request, Transition<State, TriggerEvent> transition) {
+    final ReadRequestScheduler.Permit permit;
+    try {
+      permit = mScheduler.acquire(request.getTenant());
+    } catch (AlluxioStatusException e) {
+      fireNext(mTriggerEventsWithParam.mRequestRejected, e);
+      return;
+    }
     final PacketReader<ReqT> packetReader;
     try {
       packetReader = mPacketReaderFactory.create(request);
     } catch (Exception e) {
       LOG.error("Failed to create packet reader", e);
+      permit.close();
       fireNext(mTriggerEventsWithParam.mPacketReaderCreationError, e);
       return;
     }
     RequestContext requestContext =
-        RequestContext.createForNewRequest(mRequestType, request, packetReader);
+        RequestContext.createForNewRequest(mRequestType, request, packetReader, permit);
     readData(requestContext, transition);
   }
 
@@ -650,12 +692,30 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
         (long) requestContext.getRequest().getPacketSize());
     PacketReader<ReqT> packetReader = requestContext.getPacketReader(mRequestType);
     final DataBuffer packet;
-    try {
+    final long startNanos = System.nanoTime();
+    TraceContext traceContext = requestContext.getRequest().getTraceContext();
+    try (Span span = Tracer.startSpan("worker.read", traceContext)) {
+      span.setAttribute("offset", requestContext.positionRead())
+          .setAttribute("length", packetSize);
+      requestContext.getPermit().acquireBytes(packetSize);
       packet = packetReader.createDataBuffer(
           mChannel, requestContext.positionRead(), packetSize);
+      MultiDimensionalMetricsSystem.observeLatency(
+          MultiDimensionalMetricsSystem.DATA_ACCESS_READ_LATENCY, startNanos,
+          traceContext == null ? null : Long.toHexString(traceContext.getTraceId()));
+      FlightRecorder.reportLatency(System.nanoTime() - startNanos);
     } catch (Exception e) {
-      LOG.error("Failed to read data.", e);
-      if (!(e instanceof IOException)) {
+      if (e instanceof NotFoundRuntimeException) {
+        // the data is not cached on a read of the cached data only, which the reader expects
+        LOG.debug("Failed to read data.", e);
+      } else {
+        LOG.error("Failed to read data.", e);
+      }
+      if (e instanceof AlluxioRuntimeException) {
+        // keep the status of the error for the client
+        fireNext(mTriggerEventsWithParam.mReadDataError, requestContext,
+            AlluxioStatusException.fromThrowable(e));
+      } else if (!(e instanceof IOException)) {
         IOException ioException = new IOException("Failed to read data from data store", e);
         fireNext(mTriggerEventsWithParam.mReadDataError, requestContext, ioException);
       } else {
@@ -689,7 +749,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
     RPCProtoMessage response = RPCProtoMessage.createOkResponse(dataBuffer);
     mChannel.writeAndFlush(response)
         .addListener((ChannelFuture future) -> {
-          MultiDimensionalMetricsSystem.DATA_ACCESS.labelValues("read").observe(length);
+          MultiDimensionalMetricsSystem.DATA_ACCESS_READ.observe(length);
           if (!future.isSuccess()) {
             LOG.error("Failed to send packet.", future.cause());
             mChannelEventQueue.add(WriteFutureResolved.failure(future.cause()));
@@ -697,8 +757,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
           }
           mChannelEventQueue.put(WriteFutureResolved.success(length));
         });
-    if (requestContext.bytesPending()
-        >= (long) MAX_PACKETS_IN_FLIGHT * requestContext.getRequest().getPacketSize()) {
+    if (requestContext.bytesPending() >= requestContext.maxBytesPending()) {
       fireNext(mTriggerEventsWithParam.mTooManyPendingPackets, requestContext);
       return;
     }
@@ -821,8 +880,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
         public boolean visit(WriteFutureResolved channelEvent) {
           if (channelEvent.isSuccess()) {
             requestContext.increaseWriteProgress(channelEvent.getBytesWritten());
-            if (requestContext.bytesPending()
-                < ((long) MAX_PACKETS_IN_FLIGHT * requestContext.getRequest().getPacketSize())) {
+            if (requestContext.bytesPending() < requestContext.maxBytesPending()) {
               fireNext(mTriggerEventsWithParam.mResume, requestContext);
               return true;
             }
@@ -873,6 +931,17 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
     }
   }
 
+  private void replyRequestRejected(AlluxioStatusException cause,
+      Transition<State, TriggerEvent> transition) {
+    LOG.debug("Read request was rejected: {}", cause.getMessage());
+    Throwable error = syncReplyMessage(RPCProtoMessage.createResponse(cause));
+    if (error != null) {
+      fireNext(mTriggerEventsWithParam.mReplyMessageError, error);
+    } else {
+      fireNext(TriggerEvent.REPLY_MESSAGE_DONE);
+    }
+  }
+
   private void replyUnexpectedClientMessage(ChannelEvent unexpectedClientMessage,
       Transition<State, TriggerEvent> transition) {
     LOG.warn("Client sent unexpected request {} when server was in state {} ",
@@ -896,7 +965,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
       Transition<State, TriggerEvent> transition) {
     LOG.warn("Client sent unexpected request {} when server was in state {} request was {}",
         unexpectedClientMessage, transition.getSource(), requestContext.getRequest());
-    MultiDimensionalMetricsSystem.DATA_ACCESS.labelValues("read").observe(0);
+    MultiDimensionalMetricsSystem.DATA_ACCESS_READ.observe(0);
     String errorMessage = String.format("Unexpected client message %s when server is in state %s",
         unexpectedClientMessage, transition.getSource());
     Status errorStatus =
@@ -917,7 +986,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
         transition.getSource(), transition.getTrigger(), throwable.getMessage());
     LOG.debug("Server error occurred when server was in state {}, triggered by {}.",
         transition.getSource(), transition.getTrigger(), throwable);
-    MultiDimensionalMetricsSystem.DATA_ACCESS.labelValues("read").observe(0);
+    MultiDimensionalMetricsSystem.DATA_ACCESS_READ.observe(0);
     RPCProtoMessage errorResponse =
         RPCProtoMessage.createResponse(AlluxioStatusException.fromThrowable(throwable));
     Throwable error = syncReplyMessage(errorResponse);
@@ -931,6 +1000,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
   private void completeTaskWithPreviousError(RequestContext requestContext, Throwable throwable,
       Transition<State, TriggerEvent> transition) {
     PacketReader<ReqT> packetReader = requestContext.getPacketReader(mRequestType);
+    requestContext.getPermit().close();
     try {
       packetReader.close();
       fireNext(TriggerEvent.REQUEST_COMPLETED);
@@ -944,6 +1014,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
   private void completeTask(RequestContext requestContext,
       Transition<State, TriggerEvent> transition) {
     PacketReader<ReqT> packetReader = requestContext.getPacketReader(mRequestType);
+    requestContext.getPermit().close();
     try {
       packetReader.close();
       fireNext(TriggerEvent.REQUEST_COMPLETED);
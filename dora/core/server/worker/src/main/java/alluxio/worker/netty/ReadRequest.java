@@ -11,8 +11,10 @@
 
 package alluxio.worker.netty;
 
+import alluxio.trace.TraceContext;
 import alluxio.util.IdUtils;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -24,14 +26,29 @@ public class ReadRequest {
   private final long mStart;
   private final long mEnd;
   private final int mPacketSize;
+  private final int mMaxPacketsInFlight;
   private final long mSessionId;
+  @Nullable
+  private final TraceContext mTraceContext;
 
   protected ReadRequest(long id, long start, long end, int packetSize) {
+    this(id, start, end, packetSize, null);
+  }
+
+  protected ReadRequest(long id, long start, long end, int packetSize,
+      @Nullable TraceContext traceContext) {
+    this(id, start, end, packetSize, 0, traceContext);
+  }
+
+  protected ReadRequest(long id, long start, long end, int packetSize, int maxPacketsInFlight,
+      @Nullable TraceContext traceContext) {
     mId = id;
     mStart = start;
     mEnd = end;
     mPacketSize = packetSize;
+    mMaxPacketsInFlight = maxPacketsInFlight;
     mSessionId = IdUtils.createSessionId();
+    mTraceContext = traceContext;
   }
 
   /**
@@ -68,4 +85,28 @@ public class ReadRequest {
   public int getPacketSize() {
     return mPacketSize;
   }
+
+  /**
+   * @return the maximum number of packets in flight asked by the client, or 0 if it is left to
+   *         the server
+   */
+  public int getMaxPacketsInFlight() {
+    return mMaxPacketsInFlight;
+  }
+
+  /**
+   * @return the tenant the read is scheduled for, or null if it is not known
+   */
+  @Nullable
+  public String getTenant() {
+    return null;
+  }
+
+  /**
+   * @return the trace context of the client, or null if the read is not traced
+   */
+  @Nullable
+  public TraceContext getTraceContext() {
+    return mTraceContext;
+  }
 }
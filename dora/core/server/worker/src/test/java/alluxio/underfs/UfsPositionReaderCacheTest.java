@@ -0,0 +1,201 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.PositionReader;
+import alluxio.file.ReadTargetBuffer;
+
+import com.google.common.base.Ticker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class UfsPositionReaderCacheTest {
+  private static final String PATH = "hdfs://namenode/file";
+  private static final String OTHER_PATH = "hdfs://namenode/other";
+  private static final long LENGTH = 100;
+  private static final long EXPIRATION_MS = 1000;
+
+  private final UnderFileSystem mUfs = mock(UnderFileSystem.class);
+  private final List<FakeReader> mOpened = new ArrayList<>();
+  private final AtomicLong mTimeNanos = new AtomicLong();
+  private final Ticker mTicker = new Ticker() {
+    @Override
+    public long read() {
+      return mTimeNanos.get();
+    }
+  };
+
+  @Before
+  public void before() {
+    when(mUfs.openPositionRead(anyString(), anyLong())).thenAnswer(invocation -> {
+      FakeReader reader = new FakeReader(invocation.getArgument(1));
+      mOpened.add(reader);
+      return reader;
+    });
+  }
+
+  @Test
+  public void reuseReleasedReader() throws Exception {
+    UfsPositionReaderCache cache = create(4);
+    read(cache.acquire(mUfs, PATH, LENGTH));
+    read(cache.acquire(mUfs, PATH, LENGTH));
+    assertEquals(1, mOpened.size());
+    assertEquals(2, mOpened.get(0).mReads);
+    assertFalse(mOpened.get(0).mClosed);
+  }
+
+  @Test
+  public void shareReadersOfFile() throws Exception {
+    UfsPositionReaderCache cache = create(2);
+    PositionReader first = cache.acquire(mUfs, PATH, LENGTH);
+    PositionReader second = cache.acquire(mUfs, PATH, LENGTH);
+    PositionReader third = cache.acquire(mUfs, PATH, LENGTH);
+    // the concurrent reads open up to two readers, and then share them
+    assertEquals(2, mOpened.size());
+    assertEquals(2, cache.getReaderCount(PATH));
+    read(first);
+    read(second);
+    read(third);
+    assertEquals(3, mOpened.get(0).mReads + mOpened.get(1).mReads);
+    cache.acquire(mUfs, OTHER_PATH, LENGTH).close();
+    assertEquals(3, mOpened.size());
+  }
+
+  @Test
+  public void closeInvalidatedReadersOnceReleased() throws Exception {
+    UfsPositionReaderCache cache = create(4);
+    PositionReader reader = cache.acquire(mUfs, PATH, LENGTH);
+    cache.invalidate(PATH);
+    assertFalse(mOpened.get(0).mClosed);
+    read(reader);
+    assertTrue(mOpened.get(0).mClosed);
+    cache.acquire(mUfs, PATH, LENGTH).close();
+    assertEquals(2, mOpened.size());
+    assertFalse(mOpened.get(1).mClosed);
+  }
+
+  @Test
+  public void reopenFileOfOtherLength() throws Exception {
+    UfsPositionReaderCache cache = create(4);
+    read(cache.acquire(mUfs, PATH, LENGTH));
+    read(cache.acquire(mUfs, PATH, 2 * LENGTH));
+    assertEquals(2, mOpened.size());
+    assertTrue(mOpened.get(0).mClosed);
+    assertEquals(2 * LENGTH, mOpened.get(1).mLength);
+  }
+
+  @Test
+  public void closeIdleReaders() throws Exception {
+    UfsPositionReaderCache cache = create(4);
+    read(cache.acquire(mUfs, PATH, LENGTH));
+    mTimeNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(EXPIRATION_MS / 2));
+    read(cache.acquire(mUfs, OTHER_PATH, LENGTH));
+    assertFalse(mOpened.get(0).mClosed);
+    // the first file was last read longer than the expiration time ago, the other was not
+    mTimeNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(EXPIRATION_MS * 3 / 4));
+    read(cache.acquire(mUfs, OTHER_PATH, LENGTH));
+    assertTrue(mOpened.get(0).mClosed);
+    assertFalse(mOpened.get(1).mClosed);
+  }
+
+  @Test
+  public void discardFailedReader() throws Exception {
+    UfsPositionReaderCache cache = create(4);
+    PositionReader reader = cache.acquire(mUfs, PATH, LENGTH);
+    mOpened.get(0).mFailure = new IOException("connection reset");
+    try {
+      read(reader);
+      fail("the read should fail");
+    } catch (IOException e) {
+      // expected
+    }
+    assertTrue(mOpened.get(0).mClosed);
+    read(cache.acquire(mUfs, PATH, LENGTH));
+    assertEquals(2, mOpened.size());
+  }
+
+  @Test
+  public void closeAll() throws Exception {
+    UfsPositionReaderCache cache = create(4);
+    read(cache.acquire(mUfs, PATH, LENGTH));
+    read(cache.acquire(mUfs, OTHER_PATH, LENGTH));
+    cache.close();
+    assertTrue(mOpened.get(0).mClosed);
+    assertTrue(mOpened.get(1).mClosed);
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    UfsPositionReaderCache cache =
+        new UfsPositionReaderCache(false, 100, 4, EXPIRATION_MS, mTicker);
+    read(cache.acquire(mUfs, PATH, LENGTH));
+    read(cache.acquire(mUfs, PATH, LENGTH));
+    assertEquals(2, mOpened.size());
+    assertTrue(mOpened.get(0).mClosed);
+    assertTrue(mOpened.get(1).mClosed);
+  }
+
+  private UfsPositionReaderCache create(int readersPerFile) {
+    return new UfsPositionReaderCache(true, 100, readersPerFile, EXPIRATION_MS, mTicker);
+  }
+
+  /**
+   * Reads from a reader acquired from the cache, and releases it.
+   */
+  private static void read(PositionReader reader) throws IOException {
+    try (PositionReader acquired = reader) {
+      acquired.read(0, new byte[10], 10);
+    }
+  }
+
+  private static final class FakeReader implements PositionReader {
+    private final long mLength;
+    private int mReads;
+    private boolean mClosed;
+    private IOException mFailure;
+
+    FakeReader(long length) {
+      mLength = length;
+    }
+
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length)
+        throws IOException {
+      if (mFailure != null) {
+        throw mFailure;
+      }
+      mReads++;
+      buffer.writeBytes(new byte[length], 0, length);
+      return length;
+    }
+
+    @Override
+    public void close() {
+      mClosed = true;
+    }
+  }
+}
@@ -12,22 +12,40 @@
 package alluxio.worker.dora;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import alluxio.ConfigurationRule;
+import alluxio.Constants;
 import alluxio.client.file.cache.CacheManager;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.AlluxioProperties;
+import alluxio.conf.Configuration;
 import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
+import alluxio.grpc.FileInfo;
+import alluxio.grpc.MetaInvalidationEvent;
+import alluxio.proto.meta.DoraMeta.FileStatus;
+import alluxio.underfs.UfsDirectoryStatus;
+import alluxio.underfs.UfsFileStatus;
 import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
 
+import com.google.common.collect.ImmutableMap;
+import io.grpc.stub.StreamObserver;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -37,13 +55,30 @@ import org.junit.rules.TemporaryFolder;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class DoraMetaManagerTest {
   private DoraMetaManager mManager;
   private DoraUfsManager mDoraUfsManager;
   @Rule
   public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+  @Rule
+  // the metadata in listings is only used when enabled, and xattrs are not
+  public ConfigurationRule mConfiguration = new ConfigurationRule(ImmutableMap.of(
+      PropertyKey.DORA_UFS_LIST_STATUS_CACHE_LOAD_METADATA_ENABLED, true,
+      PropertyKey.UNDERFS_XATTR_CHANGE_ENABLED, false,
+      PropertyKey.WORKER_NETWORK_PACKET_SENDING_TIMEOUT, "1s"),
+      Configuration.modifiableGlobal());
   String mTestMetaStorePath;
 
   @Before
@@ -135,4 +170,140 @@ public class DoraMetaManagerTest {
     Optional<UfsStatus[]> status = mManager.listFromUfsThenCache("/test", false);
     assertEquals(status, Optional.empty());
   }
+
+  @Test
+  public void doNotLoadListingIntoMetaStore() throws IOException {
+    UnderFileSystem system = mock(UnderFileSystem.class);
+    when(system.getUnderFSType()).thenReturn("local");
+    when(system.listStatus(anyString(), any())).thenReturn(new UfsStatus[] {
+        new UfsFileStatus("f", "hash", 10, 0L, "owner", "group", (short) 0644),
+        new UfsDirectoryStatus("d", "owner", "group", (short) 0755)});
+    doReturn(system).when(mDoraUfsManager).getOrAdd(any(), any());
+
+    // the entries may be owned by other workers, so they are only kept in the listing cache
+    mManager.listFromUfsThenCache("/test", false);
+    assertFalse(mManager.getFromMetaStore("/test/f").isPresent());
+    assertFalse(mManager.getFromMetaStore("/test/d").isPresent());
+    Optional<FileStatus> dir = mManager.loadFromListingCache("/test/d", -1);
+    assertTrue(dir.isPresent());
+    assertTrue(dir.get().getFileInfo().getFolder());
+  }
+
+  @Test
+  public void loadFromListingCache() throws IOException {
+    UnderFileSystem system = mock(UnderFileSystem.class);
+    when(system.getUnderFSType()).thenReturn("local");
+    when(system.listStatus(anyString(), any())).thenReturn(new UfsStatus[] {
+        new UfsFileStatus("f", "hash", 10, 0L, "owner", "group", (short) 0644)});
+    doReturn(system).when(mDoraUfsManager).getOrAdd(any(), any());
+    mManager.listFromUfsThenCache("/test", false);
+
+    Optional<FileStatus> file = mManager.loadFromListingCache("/test/f", -1);
+    assertTrue(file.isPresent());
+    assertEquals(10, file.get().getFileInfo().getLength());
+    assertTrue(mManager.getFromMetaStore("/test/f").isPresent());
+    assertFalse(mManager.loadFromListingCache("/test/f", 0).isPresent());
+    assertFalse(mManager.loadFromListingCache("/test/g", -1).isPresent());
+    assertFalse(mManager.loadFromListingCache("/other/f", -1).isPresent());
+    verify(system, never()).getStatus(anyString());
+    verify(system, never()).getStatus(anyString(), any());
+  }
+
+  @Test
+  public void notifyFileInvalidation() throws IOException {
+    UnderFileSystem system = mock(UnderFileSystem.class);
+    when(system.getUnderFSType()).thenReturn("local");
+    when(system.listStatus(anyString(), any())).thenReturn(new UfsStatus[] {
+        new UfsFileStatus("f", "hash", 10, 0L, "owner", "group", (short) 0644)});
+    doReturn(system).when(mDoraUfsManager).getOrAdd(any(), any());
+    mManager.listFromUfsThenCache("/test", false);
+    mManager.loadFromListingCache("/test/f", -1);
+    List<String> invalidated = new ArrayList<>();
+    mManager.addFileInvalidationListener(invalidated::add);
+
+    // the file is listed again with another content
+    when(system.listStatus(anyString(), any())).thenReturn(new UfsStatus[] {
+        new UfsFileStatus("f", "other", 20, 0L, "owner", "group", (short) 0644)});
+    mManager.invalidateListingCache("/test");
+    mManager.listFromUfsThenCache("/test", false);
+    mManager.loadFromListingCache("/test/f", -1);
+    assertEquals(Collections.singletonList("/test/f"), invalidated);
+    mManager.removeFromMetaStore("/test/f");
+    assertEquals(Arrays.asList("/test/f", "/test/f"), invalidated);
+  }
+
+  @Test
+  public void listAgainWhenListingInFlightTimesOut() throws Exception {
+    UnderFileSystem system = mock(UnderFileSystem.class);
+    when(system.getUnderFSType()).thenReturn("local");
+    when(system.listStatusIterable(anyString(), any(), any(), anyInt())).thenAnswer(
+        invocation -> Arrays.<UfsStatus>asList(
+            new UfsFileStatus("f", "hash", 10, 0L, "owner", "group", (short) 0644),
+            new UfsFileStatus("g", "hash", 10, 0L, "owner", "group", (short) 0644)).iterator());
+    doReturn(system).when(mDoraUfsManager).getOrAdd(any(), any());
+    CountDownLatch firstBatchListed = new CountDownLatch(1);
+    CountDownLatch resume = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // the first listing is consumed slower than the timeout
+      Future<Boolean> first = executor.submit(() -> mManager.listFromUfsThenCache("/test",
+          false, 1, statuses -> {
+            firstBatchListed.countDown();
+            try {
+              resume.await();
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+          }));
+      assertTrue(firstBatchListed.await(10, TimeUnit.SECONDS));
+      List<UfsStatus> listing = new ArrayList<>();
+      assertTrue(mManager.listFromUfsThenCache("/test", false, 1, listing::addAll));
+      assertEquals(2, listing.size());
+      verify(system, times(2)).listStatusIterable(anyString(), any(), any(), anyInt());
+      resume.countDown();
+      assertTrue(first.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void publishOnlyChanges() throws Exception {
+    UnderFileSystem system = mock(UnderFileSystem.class);
+    when(system.getUnderFSType()).thenReturn("local");
+    doReturn(system).when(mDoraUfsManager).getOrAdd(any(), any());
+    List<MetaInvalidationEvent> events = new CopyOnWriteArrayList<>();
+    mManager.getInvalidationPublisher().subscribe(Collections.emptyList(),
+        new StreamObserver<MetaInvalidationEvent>() {
+          @Override
+          public void onNext(MetaInvalidationEvent event) {
+            events.add(event);
+          }
+
+          @Override
+          public void onError(Throwable t) {}
+
+          @Override
+          public void onCompleted() {}
+        });
+    FileStatus status = FileStatus.newBuilder()
+        .setFileInfo(FileInfo.newBuilder()
+            .setUfsPath("/test/f").setUfsType("local").setLength(10)).build();
+    // neither a first insert, an unchanged put, the removal of an absent file nor a listing
+    // about to be refreshed is a change
+    mManager.put("/test/f", status);
+    mManager.put("/test/f", status);
+    mManager.removeFromMetaStore("/test/absent");
+    mManager.invalidateListingCache("/test");
+
+    mManager.put("/test/f", status.toBuilder()
+        .setFileInfo(status.getFileInfo().toBuilder().setLength(20)).build());
+    mManager.removeFromMetaStore("/test/f");
+    mManager.invalidateListingCacheOfParent("/test/g");
+    CommonUtils.waitFor("invalidations", () -> events.size() >= 4,
+        WaitForOptions.defaults().setTimeoutMs(Constants.MINUTE_MS));
+    List<String> paths = new ArrayList<>();
+    events.forEach(event -> paths.add(event.getPath()));
+    assertEquals(Arrays.asList("", "/test/f", "/test/f", "/test"), paths);
+  }
 }
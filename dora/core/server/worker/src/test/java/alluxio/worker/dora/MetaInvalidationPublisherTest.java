@@ -0,0 +1,168 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.grpc.MetaInvalidationEvent;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+
+public class MetaInvalidationPublisherTest {
+  private MetaInvalidationPublisher mPublisher;
+
+  @After
+  public void after() {
+    if (mPublisher != null) {
+      mPublisher.close();
+    }
+  }
+
+  @Test
+  public void publishToMatchingSubscribers() throws Exception {
+    mPublisher = new MetaInvalidationPublisher(10, 10);
+    RecordingObserver all = new RecordingObserver();
+    RecordingObserver underA = new RecordingObserver();
+    mPublisher.subscribe(ImmutableList.of(), all);
+    mPublisher.subscribe(ImmutableList.of("s3://bucket/a"), underA);
+
+    mPublisher.publish("s3://bucket/a/f");
+    mPublisher.publish("s3://bucket/ab");
+    mPublisher.publish("s3://bucket/a");
+
+    all.waitForEvents(4);
+    underA.waitForEvents(3);
+    assertEquals(ImmutableList.of("", "s3://bucket/a/f", "s3://bucket/ab", "s3://bucket/a"),
+        all.getPaths());
+    assertEquals(ImmutableList.of("", "s3://bucket/a/f", "s3://bucket/a"), underA.getPaths());
+    // the events of a subscription are numbered without gaps, regardless of the other paths
+    for (int i = 0; i < underA.mEvents.size(); i++) {
+      assertEquals(i, underA.mEvents.get(i).getSequenceNumber());
+    }
+  }
+
+  @Test
+  public void rejectSubscribersOverLimit() throws Exception {
+    mPublisher = new MetaInvalidationPublisher(1, 10);
+    RecordingObserver first = new RecordingObserver();
+    RecordingObserver second = new RecordingObserver();
+    mPublisher.subscribe(ImmutableList.of(), first);
+    mPublisher.subscribe(ImmutableList.of(), second);
+
+    assertEquals(Status.Code.RESOURCE_EXHAUSTED, Status.fromThrowable(second.mError).getCode());
+    assertEquals(1, mPublisher.getSubscriptionCount());
+    first.waitForEvents(1);
+    assertNull(first.mError);
+  }
+
+  @Test
+  public void unsubscribeSlowSubscriber() throws Exception {
+    mPublisher = new MetaInvalidationPublisher(10, 2);
+    CountDownLatch blocked = new CountDownLatch(1);
+    RecordingObserver slow = new RecordingObserver() {
+      @Override
+      public void onNext(MetaInvalidationEvent event) {
+        super.onNext(event);
+        try {
+          blocked.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    mPublisher.subscribe(ImmutableList.of(), slow);
+    // the acknowledgement is being sent, so the invalidations are queued
+    slow.waitForEvents(1);
+    for (int i = 0; i < 3; i++) {
+      mPublisher.publish("s3://bucket/f" + i);
+    }
+    blocked.countDown();
+
+    CommonUtils.waitFor("subscriber to be unsubscribed", () -> slow.mError != null,
+        WaitForOptions.defaults().setTimeoutMs(Constants.MINUTE_MS));
+    assertEquals(Status.Code.RESOURCE_EXHAUSTED, Status.fromThrowable(slow.mError).getCode());
+    assertEquals(1, slow.mEvents.size());
+    assertEquals(0, mPublisher.getSubscriptionCount());
+  }
+
+  @Test
+  public void completeOnClose() throws Exception {
+    mPublisher = new MetaInvalidationPublisher(10, 10);
+    RecordingObserver observer = new RecordingObserver();
+    mPublisher.subscribe(ImmutableList.of(), observer);
+    mPublisher.close();
+
+    CommonUtils.waitFor("subscription to complete", () -> observer.mCompleted,
+        WaitForOptions.defaults().setTimeoutMs(Constants.MINUTE_MS));
+    assertNull(observer.mError);
+    mPublisher.publish("s3://bucket/f");
+    assertFalse(observer.getPaths().contains("s3://bucket/f"));
+  }
+
+  @Test
+  public void isUnder() {
+    assertTrue(MetaInvalidationPublisher.isUnder("s3://bucket/a", "s3://bucket/a"));
+    assertTrue(MetaInvalidationPublisher.isUnder("s3://bucket/a/b", "s3://bucket/a"));
+    assertTrue(MetaInvalidationPublisher.isUnder("s3://bucket/a", "s3://bucket/"));
+    assertFalse(MetaInvalidationPublisher.isUnder("s3://bucket/ab", "s3://bucket/a"));
+    assertFalse(MetaInvalidationPublisher.isUnder("s3://bucket", "s3://bucket/a"));
+  }
+
+  private static class RecordingObserver implements StreamObserver<MetaInvalidationEvent> {
+    final List<MetaInvalidationEvent> mEvents = new CopyOnWriteArrayList<>();
+    volatile Throwable mError;
+    volatile boolean mCompleted;
+
+    @Override
+    public void onNext(MetaInvalidationEvent event) {
+      mEvents.add(event);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      mError = t;
+    }
+
+    @Override
+    public void onCompleted() {
+      mCompleted = true;
+    }
+
+    void waitForEvents(int count) throws TimeoutException, InterruptedException {
+      CommonUtils.waitFor(count + " events", () -> mEvents.size() >= count,
+          WaitForOptions.defaults().setTimeoutMs(Constants.MINUTE_MS));
+    }
+
+    List<String> getPaths() {
+      ImmutableList.Builder<String> paths = ImmutableList.builder();
+      for (MetaInvalidationEvent event : mEvents) {
+        paths.add(event.getPath());
+      }
+      return paths.build();
+    }
+  }
+}
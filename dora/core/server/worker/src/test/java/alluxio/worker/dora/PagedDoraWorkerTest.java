@@ -17,6 +17,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import alluxio.AlluxioURI;
 import alluxio.PositionReader;
@@ -54,6 +55,7 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.security.authorization.Mode;
 import alluxio.underfs.UfsStatus;
 import alluxio.util.io.BufferUtils;
+import alluxio.util.io.PathUtils;
 import alluxio.wire.WorkerIdentity;
 import alluxio.worker.block.BlockMasterClientPool;
 
@@ -75,7 +77,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
@@ -858,6 +864,73 @@ public class PagedDoraWorkerTest {
     assertEquals(2, listResult.length);
   }
 
+  @Test
+  public void testListingInBatches() throws Exception {
+    File rootFolder = mTestFolder.newFolder("root");
+    String rootPath = rootFolder.getAbsolutePath();
+    for (int i = 0; i < 5; i++) {
+      mTestFolder.newFile("root/f" + i);
+    }
+    ListStatusPOptions options = ListStatusPOptions.newBuilder().setRecursive(false).build();
+    List<Integer> batchSizes = new ArrayList<>();
+    assertTrue(mWorker.listStatus(rootPath, options, 2,
+        statuses -> batchSizes.add(statuses.size())));
+    assertEquals(Arrays.asList(2, 2, 1), batchSizes);
+    // the listing is cached once complete, and listed from the cache in batches too
+    assertEquals(5, mWorker.getMetaManager().listCached(rootPath, false).get()
+        .mUfsStatuses.length);
+    batchSizes.clear();
+    assertTrue(mWorker.listStatus(rootPath, options, 3,
+        statuses -> batchSizes.add(statuses.size())));
+    assertEquals(Arrays.asList(3, 2), batchSizes);
+
+    String filePath = PathUtils.concatPath(rootPath, "f0");
+    List<UfsStatus> fileListing = new ArrayList<>();
+    assertTrue(mWorker.listStatus(filePath, options, 2, fileListing::addAll));
+    assertEquals(1, fileListing.size());
+    assertTrue(fileListing.get(0).isFile());
+    assertFalse(mWorker.listStatus(PathUtils.concatPath(rootPath, "missing"), options, 2,
+        statuses -> fail("a missing path has no listing")));
+  }
+
+  @Test
+  public void testConcurrentListingsShareUfsListing() throws Exception {
+    File rootFolder = mTestFolder.newFolder("root");
+    String rootPath = rootFolder.getAbsolutePath();
+    for (int i = 0; i < 5; i++) {
+      mTestFolder.newFile("root/f" + i);
+    }
+    ListStatusPOptions options = ListStatusPOptions.newBuilder().setRecursive(false).build();
+    CountDownLatch firstBatchListed = new CountDownLatch(1);
+    CountDownLatch resume = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<?> first = executor.submit(() -> mWorker.listStatus(rootPath, options, 2,
+          statuses -> {
+            firstBatchListed.countDown();
+            try {
+              resume.await();
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+          }));
+      assertTrue(firstBatchListed.await(10, TimeUnit.SECONDS));
+      // the file created while the directory is being listed is not in the shared listing
+      mTestFolder.newFile("root/f5");
+      List<UfsStatus> secondListing = Collections.synchronizedList(new ArrayList<>());
+      Future<Boolean> second = executor.submit(() -> mWorker.listStatus(rootPath, options, 2,
+          secondListing::addAll));
+      Thread.sleep(200);
+      assertFalse(second.isDone());
+      resume.countDown();
+      first.get(10, TimeUnit.SECONDS);
+      assertTrue(second.get(10, TimeUnit.SECONDS));
+      assertEquals(5, secondListing.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testListCacheConsistency()
       throws IOException, AccessControlException, ExecutionException, InterruptedException,
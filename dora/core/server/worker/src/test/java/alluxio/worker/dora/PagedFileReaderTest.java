@@ -212,4 +212,26 @@ public class PagedFileReaderTest {
     }
     Assert.assertArrayEquals(mTestData, bArray);
   }
+
+  @Test
+  public void getMappedDataBuffer() throws IOException {
+    // the pages are read into the cache by the first pass, and from the cache by the second one
+    for (int pass = 0; pass < 2; pass++) {
+      mPagedFileReader.setPosition(0);
+      byte[] bArray = new byte[mFileLen];
+      int readPosition = 0;
+      while (readPosition < mFileLen) {
+        DataBuffer dataBuffer =
+            mPagedFileReader.getMappedDataBuffer(Constants.MB, Unpooled::directBuffer);
+        int byteToBeRead = dataBuffer.readableBytes();
+        assertTrue(byteToBeRead > 0);
+        dataBuffer.readBytes(bArray, readPosition, byteToBeRead);
+        dataBuffer.release();
+        readPosition += byteToBeRead;
+      }
+      Assert.assertArrayEquals(mTestData, bArray);
+      Assert.assertEquals(0,
+          mPagedFileReader.getMappedDataBuffer(Constants.MB, Unpooled::directBuffer).getLength());
+    }
+  }
 }
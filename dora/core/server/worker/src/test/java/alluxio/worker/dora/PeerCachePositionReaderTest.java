@@ -0,0 +1,159 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import alluxio.CloseableSupplier;
+import alluxio.PositionReader;
+import alluxio.client.file.dora.netty.PartialReadException;
+import alluxio.exception.status.NotFoundException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PeerCachePositionReaderTest {
+  private static final int LENGTH = 64;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(2 * LENGTH);
+  private static final WorkerNetAddress PEER_1 = new WorkerNetAddress().setHost("peer1");
+  private static final WorkerNetAddress PEER_2 = new WorkerNetAddress().setHost("peer2");
+
+  private final AtomicInteger mUfsReads = new AtomicInteger();
+  private final CloseableSupplier<PositionReader> mUfsReader = new CloseableSupplier<>(
+      () -> (position, buffer, length) -> {
+        mUfsReads.incrementAndGet();
+        return copy(position, buffer, length);
+      });
+
+  @Test
+  public void readFromPeer() throws Exception {
+    AtomicInteger peerReads = new AtomicInteger();
+    PeerCachePositionReader reader = create(ImmutableMap.of(PEER_1, (position, buffer, length) -> {
+      peerReads.incrementAndGet();
+      return copy(position, buffer, length);
+    }));
+    assertRead(reader, LENGTH);
+    assertEquals(1, peerReads.get());
+    assertEquals(0, mUfsReads.get());
+  }
+
+  @Test
+  public void readFromUfsWhenNotCachedByPeer() throws Exception {
+    AtomicInteger peerReads = new AtomicInteger();
+    PeerCachePositionReader reader = create(ImmutableMap.of(PEER_1, (position, buffer, length) -> {
+      if (peerReads.incrementAndGet() == 1) {
+        // a part of the range is sent before the peer finds a page missing
+        buffer.writeBytes(new byte[LENGTH / 2], 0, LENGTH / 2);
+        throw new PartialReadException(length, LENGTH / 2,
+            PartialReadException.CauseType.SERVER_ERROR, new NotFoundException("not cached"));
+      }
+      return copy(position, buffer, length);
+    }));
+    assertRead(reader, 0);
+    assertEquals(1, mUfsReads.get());
+    // the peer is still asked for the other pages
+    assertRead(reader, LENGTH);
+    assertEquals(2, peerReads.get());
+    assertEquals(1, mUfsReads.get());
+  }
+
+  @Test
+  public void readFromNextPeerWhenNotCachedByFirst() throws Exception {
+    AtomicInteger peer1Reads = new AtomicInteger();
+    AtomicInteger peer2Reads = new AtomicInteger();
+    PeerCachePositionReader reader = create(ImmutableMap.of(
+        PEER_1, (position, buffer, length) -> {
+          peer1Reads.incrementAndGet();
+          if (position == 0) {
+            throw new PartialReadException(length, 0,
+                PartialReadException.CauseType.SERVER_ERROR, new NotFoundException("not cached"));
+          }
+          return copy(position, buffer, length);
+        },
+        PEER_2, (position, buffer, length) -> {
+          peer2Reads.incrementAndGet();
+          return copy(position, buffer, length);
+        }));
+    assertRead(reader, 0);
+    assertEquals(1, peer2Reads.get());
+    // the first peer is still asked first for the other pages
+    assertRead(reader, LENGTH);
+    assertEquals(2, peer1Reads.get());
+    assertEquals(1, peer2Reads.get());
+    assertEquals(0, mUfsReads.get());
+  }
+
+  @Test
+  public void skipFailedPeer() throws Exception {
+    AtomicInteger peer1Reads = new AtomicInteger();
+    AtomicInteger peer2Reads = new AtomicInteger();
+    PeerCachePositionReader reader = create(ImmutableMap.of(
+        PEER_1, (position, buffer, length) -> {
+          peer1Reads.incrementAndGet();
+          throw new PartialReadException(length, 0,
+              PartialReadException.CauseType.SERVER_ERROR, new UnavailableException("down"));
+        },
+        PEER_2, (position, buffer, length) -> {
+          peer2Reads.incrementAndGet();
+          return copy(position, buffer, length);
+        }));
+    assertRead(reader, 0);
+    assertRead(reader, LENGTH);
+    assertEquals(1, peer1Reads.get());
+    assertEquals(2, peer2Reads.get());
+    assertEquals(0, mUfsReads.get());
+  }
+
+  @Test
+  public void readFromUfsWhenAllPeersFailed() throws Exception {
+    PeerCachePositionReader reader = create(ImmutableMap.of(PEER_1, (position, buffer, length) -> {
+      throw new IOException("connection refused");
+    }));
+    assertRead(reader, 0);
+    assertRead(reader, LENGTH);
+    assertEquals(2, mUfsReads.get());
+  }
+
+  @Test
+  public void noPeers() throws Exception {
+    PeerCachePositionReader reader = create(ImmutableMap.of());
+    assertRead(reader, LENGTH);
+    assertEquals(1, mUfsReads.get());
+  }
+
+  private PeerCachePositionReader create(Map<WorkerNetAddress, PositionReader> peers) {
+    return new PeerCachePositionReader(ImmutableList.copyOf(peers.keySet()), peers::get,
+        mUfsReader);
+  }
+
+  private static void assertRead(PositionReader reader, int position) throws IOException {
+    byte[] buffer = new byte[LENGTH];
+    assertEquals(LENGTH, reader.read(position, buffer, LENGTH));
+    assertArrayEquals(Arrays.copyOfRange(DATA, position, position + LENGTH), buffer);
+  }
+
+  private static int copy(long position, ReadTargetBuffer buffer, int length) {
+    buffer.writeBytes(DATA, (int) position, length);
+    return length;
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.file.dora.WorkerLocationPolicy;
+import alluxio.membership.MembershipManager;
+import alluxio.membership.WorkerClusterView;
+import alluxio.wire.WorkerIdentity;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class PreviousOwnerLocatorTest {
+  private static final String PATH = "s3://bucket/file";
+  private static final WorkerInfo WORKER_A = worker(1, "a");
+  private static final WorkerInfo WORKER_B = worker(2, "b");
+  private static final WorkerInfo WORKER_C = worker(3, "c");
+
+  /** Prefers the workers in the order of their host names, whatever the file. */
+  private static final WorkerLocationPolicy POLICY = (view, fileId, count) -> view.stream()
+      .sorted(Comparator.comparing(worker -> worker.getAddress().getHost()))
+      .limit(count)
+      .map(worker -> new BlockWorkerInfo(worker.getIdentity(), worker.getAddress(), 0, 0))
+      .collect(Collectors.toList());
+
+  private static final long JOIN_WINDOW_MS = 1000;
+
+  private final MembershipManager mMembershipManager = mock(MembershipManager.class);
+  private final AtomicLong mTimeNanos = new AtomicLong();
+  private final Ticker mTicker = new Ticker() {
+    @Override
+    public long read() {
+      return mTimeNanos.get();
+    }
+  };
+
+  @Test
+  public void ownerWithoutThisWorker() throws Exception {
+    when(mMembershipManager.getAllMembers()).thenReturn(view(WORKER_A, WORKER_B, WORKER_C));
+    // the owner the clients chose while this worker was not part of the cluster
+    assertEquals(ImmutableList.of(WORKER_B.getAddress()),
+        create(WORKER_A, 1).getPreviousOwners(PATH));
+    assertEquals(ImmutableList.of(WORKER_B.getAddress(), WORKER_C.getAddress()),
+        create(WORKER_A, 2).getPreviousOwners(PATH));
+    assertEquals(ImmutableList.of(WORKER_A.getAddress()),
+        create(WORKER_B, 1).getPreviousOwners(PATH));
+  }
+
+  @Test
+  public void ownerInPreviousView() throws Exception {
+    when(mMembershipManager.getAllMembers())
+        .thenReturn(view(WORKER_B, WORKER_C), view(WORKER_A, WORKER_B, WORKER_C));
+    PreviousOwnerLocator locator = create(WORKER_C, 1);
+    assertEquals(ImmutableList.of(WORKER_B.getAddress()), locator.getPreviousOwners(PATH));
+    // b owned the file before a joined
+    assertEquals(ImmutableList.of(WORKER_B.getAddress(), WORKER_A.getAddress()),
+        locator.getPreviousOwners(PATH));
+  }
+
+  @Test
+  public void skipOwnerWhichLeft() throws Exception {
+    when(mMembershipManager.getAllMembers())
+        .thenReturn(view(WORKER_A, WORKER_B, WORKER_C), view(WORKER_B, WORKER_C));
+    PreviousOwnerLocator locator = create(WORKER_C, 1);
+    assertEquals(ImmutableList.of(WORKER_A.getAddress()), locator.getPreviousOwners(PATH));
+    assertEquals(ImmutableList.of(WORKER_B.getAddress()), locator.getPreviousOwners(PATH));
+  }
+
+  @Test
+  public void ownerWithoutThisWorkerOnlyAfterJoin() throws Exception {
+    when(mMembershipManager.getAllMembers()).thenReturn(view(WORKER_A, WORKER_B, WORKER_C));
+    PreviousOwnerLocator locator = create(WORKER_A, 1);
+    assertEquals(ImmutableList.of(WORKER_B.getAddress()), locator.getPreviousOwners(PATH));
+    // the clients have routed the file to this worker since it started
+    mTimeNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(JOIN_WINDOW_MS));
+    assertEquals(ImmutableList.of(), locator.getPreviousOwners(PATH));
+  }
+
+  @Test
+  public void ownerWithoutThisWorkerAfterRejoin() throws Exception {
+    when(mMembershipManager.getAllMembers())
+        .thenReturn(view(WORKER_A, WORKER_B, WORKER_C), view(WORKER_B, WORKER_C),
+            view(WORKER_A, WORKER_B, WORKER_C));
+    PreviousOwnerLocator locator = create(WORKER_A, 1);
+    mTimeNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(JOIN_WINDOW_MS));
+    locator.getPreviousOwners(PATH);
+    // this worker left the cluster, and joins it again
+    assertEquals(ImmutableList.of(), locator.getPreviousOwners(PATH));
+    assertEquals(ImmutableList.of(WORKER_B.getAddress()), locator.getPreviousOwners(PATH));
+  }
+
+  @Test
+  public void keepViewOnFailure() throws Exception {
+    when(mMembershipManager.getAllMembers())
+        .thenReturn(view(WORKER_A, WORKER_B))
+        .thenThrow(new IOException("unavailable"));
+    PreviousOwnerLocator locator = create(WORKER_B, 1);
+    assertEquals(ImmutableList.of(WORKER_A.getAddress()), locator.getPreviousOwners(PATH));
+    assertEquals(ImmutableList.of(WORKER_A.getAddress()), locator.getPreviousOwners(PATH));
+  }
+
+  @Test
+  public void noOtherWorker() throws Exception {
+    when(mMembershipManager.getAllMembers()).thenReturn(view(WORKER_A));
+    assertEquals(ImmutableList.of(), create(WORKER_A, 1).getPreviousOwners(PATH));
+  }
+
+  private PreviousOwnerLocator create(WorkerInfo self, int ownerCount) {
+    return new PreviousOwnerLocator(mMembershipManager, POLICY, self::getIdentity, false,
+        ownerCount, () -> true, JOIN_WINDOW_MS, mTicker);
+  }
+
+  private static WorkerClusterView view(WorkerInfo... workers) {
+    return new WorkerClusterView(Arrays.asList(workers));
+  }
+
+  private static WorkerInfo worker(long id, String host) {
+    return new WorkerInfo()
+        .setIdentity(WorkerIdentity.ParserV0.INSTANCE.fromLong(id))
+        .setAddress(new WorkerNetAddress().setHost(host));
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.exception.status.UnavailableException;
+import alluxio.proto.dataserver.Protocol;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ReadRequestSchedulerTest {
+  private static final long TIMEOUT_MS = 10 * Constants.SECOND_MS;
+
+  private final ExecutorService mExecutor = Executors.newCachedThreadPool();
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    ReadRequestScheduler scheduler =
+        new ReadRequestScheduler(false, 1, 1, 1, Collections.emptyList(), 0);
+    ReadRequestScheduler.Permit permit = scheduler.acquire("a");
+    // neither the concurrency nor the rate is limited
+    scheduler.acquire("a").acquireBytes(Constants.MB);
+    permit.close();
+  }
+
+  @Test
+  public void tenantConcurrencyLimit() throws Exception {
+    ReadRequestScheduler scheduler =
+        new ReadRequestScheduler(true, 4, 1, 0, Collections.emptyList(), 50);
+    ReadRequestScheduler.Permit permit = scheduler.acquire("a");
+    assertThrows(UnavailableException.class, () -> scheduler.acquire("a"));
+    // other tenants are not held back by the requests of the tenant at its limit
+    scheduler.acquire("b").close();
+    permit.close();
+    scheduler.acquire("a").close();
+  }
+
+  @Test
+  public void admitWaiterWhenSlotIsFreed() throws Exception {
+    ReadRequestScheduler scheduler =
+        new ReadRequestScheduler(true, 1, 1, 0, Collections.emptyList(), TIMEOUT_MS);
+    ReadRequestScheduler.Permit permit = scheduler.acquire("a");
+    Future<ReadRequestScheduler.Permit> waiting = mExecutor.submit(() -> scheduler.acquire("a"));
+    assertNotDone(waiting);
+    permit.close();
+    waiting.get(TIMEOUT_MS, TimeUnit.MILLISECONDS).close();
+  }
+
+  @Test
+  public void shareSlotsAcrossTenants() throws Exception {
+    ReadRequestScheduler scheduler =
+        new ReadRequestScheduler(true, 2, 2, 0, Collections.emptyList(), TIMEOUT_MS);
+    ReadRequestScheduler.Permit permitA1 = scheduler.acquire("a");
+    ReadRequestScheduler.Permit permitA2 = scheduler.acquire("a");
+    Future<ReadRequestScheduler.Permit> waitingA = mExecutor.submit(() -> scheduler.acquire("a"));
+    assertNotDone(waitingA);
+    Future<ReadRequestScheduler.Permit> waitingB = mExecutor.submit(() -> scheduler.acquire("b"));
+    assertNotDone(waitingB);
+    // the freed slot goes to the tenant holding none, although the other one waited longer
+    permitA1.close();
+    ReadRequestScheduler.Permit permitB = waitingB.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    assertFalse(waitingA.isDone());
+    permitA2.close();
+    waitingA.get(TIMEOUT_MS, TimeUnit.MILLISECONDS).close();
+    permitB.close();
+  }
+
+  @Test
+  public void shareSlotsByWeight() throws Exception {
+    ReadRequestScheduler scheduler = new ReadRequestScheduler(
+        true, 3, 3, 0, ImmutableList.of("a=2", "b=1"), TIMEOUT_MS);
+    ReadRequestScheduler.Permit permitA = scheduler.acquire("a");
+    ReadRequestScheduler.Permit permitB = scheduler.acquire("b");
+    ReadRequestScheduler.Permit permitC = scheduler.acquire("c");
+    Future<ReadRequestScheduler.Permit> waitingB = mExecutor.submit(() -> scheduler.acquire("b"));
+    assertNotDone(waitingB);
+    Future<ReadRequestScheduler.Permit> waitingA = mExecutor.submit(() -> scheduler.acquire("a"));
+    assertNotDone(waitingA);
+    // a holds half of its share for its weight and b all of its share
+    permitC.close();
+    waitingA.get(TIMEOUT_MS, TimeUnit.MILLISECONDS).close();
+    waitingB.get(TIMEOUT_MS, TimeUnit.MILLISECONDS).close();
+    permitA.close();
+    permitB.close();
+  }
+
+  @Test
+  public void rejectAfterQueueTimeBudget() throws Exception {
+    ReadRequestScheduler scheduler =
+        new ReadRequestScheduler(true, 1, 1, 0, Collections.emptyList(), 100);
+    ReadRequestScheduler.Permit permit = scheduler.acquire("a");
+    Future<ReadRequestScheduler.Permit> waiting = mExecutor.submit(() -> scheduler.acquire("b"));
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> waiting.get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+    assertTrue(e.getCause() instanceof UnavailableException);
+    permit.close();
+    // the rejected request does not hold a slot
+    scheduler.acquire("b").close();
+  }
+
+  @Test
+  public void limitBytesPerTenant() throws Exception {
+    ReadRequestScheduler scheduler = new ReadRequestScheduler(
+        true, 4, 4, Constants.MB, Collections.emptyList(), TIMEOUT_MS);
+    try (ReadRequestScheduler.Permit permit = scheduler.acquire("a")) {
+      long start = System.nanoTime();
+      permit.acquireBytes(Constants.MB);
+      permit.acquireBytes(1);
+      assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(500));
+    }
+  }
+
+  @Test
+  public void invalidWeight() {
+    assertThrows(IllegalArgumentException.class, () -> new ReadRequestScheduler(
+        true, 1, 1, 0, ImmutableList.of("a"), 0));
+    assertThrows(IllegalArgumentException.class, () -> new ReadRequestScheduler(
+        true, 1, 1, 0, ImmutableList.of("a=-1"), 0));
+  }
+
+  @Test
+  public void getTenant() {
+    Protocol.OpenUfsBlockOptions options =
+        Protocol.OpenUfsBlockOptions.newBuilder().setUser("user").build();
+    assertEquals("tenant", ReadRequestScheduler.getTenant("tenant", options));
+    assertEquals("user", ReadRequestScheduler.getTenant(null, options));
+    assertEquals("user", ReadRequestScheduler.getTenant("", options));
+    assertNull(ReadRequestScheduler.getTenant(null, null));
+  }
+
+  private static void assertNotDone(Future<?> future) throws Exception {
+    assertThrows(TimeoutException.class, () -> future.get(100, TimeUnit.MILLISECONDS));
+  }
+}
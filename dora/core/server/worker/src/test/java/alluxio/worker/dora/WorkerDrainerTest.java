@@ -0,0 +1,295 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.dora.WorkerLocationPolicy;
+import alluxio.exception.status.InvalidArgumentException;
+import alluxio.grpc.DrainState;
+import alluxio.grpc.DrainWorkerResponse;
+import alluxio.grpc.LoadDataSubTask;
+import alluxio.grpc.LoadFailure;
+import alluxio.grpc.LoadFileRequest;
+import alluxio.grpc.LoadFileResponse;
+import alluxio.grpc.LoadSubTask;
+import alluxio.grpc.TaskStatus;
+import alluxio.membership.MembershipManager;
+import alluxio.membership.WorkerClusterView;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.wire.WorkerIdentity;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class WorkerDrainerTest {
+  private static final long PAGE_SIZE = 100;
+  private static final WorkerInfo WORKER_A = worker(1, "a");
+  private static final WorkerInfo WORKER_B = worker(2, "b");
+  private static final WorkerInfo WORKER_C = worker(3, "c");
+
+  /** Prefers the workers in the order of their host names, whatever the file. */
+  private static final WorkerLocationPolicy POLICY = (view, fileId, count) -> view.stream()
+      .sorted(Comparator.comparing(worker -> worker.getAddress().getHost()))
+      .limit(count)
+      .map(worker -> new BlockWorkerInfo(worker.getIdentity(), worker.getAddress(), 0, 0))
+      .collect(Collectors.toList());
+
+  private final CacheManager mCacheManager = mock(CacheManager.class);
+  private final MembershipManager mMembershipManager = mock(MembershipManager.class);
+  private final List<WorkerNetAddress> mOwners = Collections.synchronizedList(new ArrayList<>());
+  private final List<LoadFileRequest> mRequests =
+      Collections.synchronizedList(new ArrayList<>());
+
+  @Before
+  public void before() throws Exception {
+    when(mMembershipManager.getAllMembers())
+        .thenReturn(new WorkerClusterView(Arrays.asList(WORKER_A, WORKER_B, WORKER_C)));
+  }
+
+  @Test
+  public void handOffToNewOwners() throws Exception {
+    WorkerDrainer drainer = create(WORKER_A, 2, 0);
+    cachePages("f1", 0, 1, 2, 4);
+    cachePages("f2", 0);
+    drainer.onFileRead("f1", "s3://bucket/f1", 450);
+    drainer.onFileRead("f2", "s3://bucket/f2", 50);
+    drainer.run();
+
+    // the most recently read file first, to each of its owners once this worker has left
+    assertEquals(ImmutableList.of(WORKER_B.getAddress(), WORKER_C.getAddress(),
+        WORKER_B.getAddress(), WORKER_C.getAddress()), mOwners);
+    assertEquals(ImmutableList.of(subtask(0, 50)), getSubtasks(mRequests.get(0)));
+    // a sub task per range of consecutive pages, the last page being partial
+    assertEquals(ImmutableList.of(subtask(0, 300), subtask(400, 50)),
+        getSubtasks(mRequests.get(2)));
+    assertEquals("s3://bucket/f1",
+        mRequests.get(2).getSubtasks(0).getLoadDataSubtask().getUfsPath());
+
+    DrainWorkerResponse status = drainer.getStatus();
+    assertEquals(DrainState.DRAINED, status.getState());
+    assertEquals(2, status.getFilesTotal());
+    assertEquals(2, status.getFilesHandedOff());
+    assertEquals(800, status.getBytesTotal());
+    assertEquals(800, status.getBytesHandedOff());
+    assertEquals(0, status.getBytesFailed());
+    assertFalse(status.getTimedOut());
+    verify(mMembershipManager).stopHeartBeat(any());
+    verify(mMembershipManager).decommission(any());
+  }
+
+  @Test
+  public void countFailures() throws Exception {
+    WorkerDrainer drainer = new WorkerDrainer(mCacheManager, mMembershipManager, POLICY,
+        (owner, request, timeoutMs) -> {
+          if (owner.equals(WORKER_B.getAddress())) {
+            throw new RuntimeException("unavailable");
+          }
+          return LoadFileResponse.newBuilder().setStatus(TaskStatus.PARTIAL_FAILURE)
+              .addFailures(LoadFailure.newBuilder().setSubtask(request.getSubtasks(0)))
+              .build();
+        }, () -> WORKER_A, PAGE_SIZE, false, 2, 0, 10_000, 100);
+    cachePages("f1", 0, 2);
+    drainer.onFileRead("f1", "s3://bucket/f1", 300);
+    drainer.run();
+    DrainWorkerResponse status = drainer.getStatus();
+    assertEquals(DrainState.DRAINED, status.getState());
+    assertEquals(400, status.getBytesTotal());
+    assertEquals(100, status.getBytesHandedOff());
+    assertEquals(300, status.getBytesFailed());
+  }
+
+  @Test
+  public void leaveOnTimeout() throws Exception {
+    cachePages("f1", 0);
+    // the hand-off times out before it starts
+    WorkerDrainer drainer = new WorkerDrainer(mCacheManager, mMembershipManager, POLICY,
+        this::load, () -> WORKER_A, PAGE_SIZE, false, 1, 0, 0, 100);
+    drainer.onFileRead("f1", "s3://bucket/f1", 100);
+    drainer.run();
+    DrainWorkerResponse status = drainer.getStatus();
+    assertTrue(status.getTimedOut());
+    assertEquals(0, status.getBytesHandedOff());
+    assertTrue(mRequests.isEmpty());
+    assertEquals(DrainState.DRAINED, status.getState());
+  }
+
+  @Test
+  public void retryLeaving() throws Exception {
+    doThrow(new InvalidArgumentException("running"))
+        .doNothing()
+        .when(mMembershipManager).decommission(any());
+    WorkerDrainer drainer = create(WORKER_A, 1, 0);
+    drainer.run();
+    assertEquals(DrainState.DRAINED, drainer.getStatus().getState());
+    verify(mMembershipManager, times(2)).decommission(any());
+  }
+
+  @Test
+  public void evictLeastRecentlyReadFiles() throws Exception {
+    WorkerDrainer drainer = new WorkerDrainer(mCacheManager, mMembershipManager, POLICY,
+        this::load, () -> WORKER_A, PAGE_SIZE, false, 1, 0, 10_000, 2);
+    for (String file : ImmutableList.of("f1", "f2", "f3")) {
+      cachePages(file, 0);
+      drainer.onFileRead(file, "s3://bucket/" + file, 100);
+    }
+    // f1 is evicted when f3 is read, and f2 is then read again
+    drainer.onFileRead("f2", "s3://bucket/f2", 100);
+    drainer.run();
+    assertEquals(ImmutableList.of("s3://bucket/f2", "s3://bucket/f3"), mRequests.stream()
+        .map(request -> request.getSubtasks(0).getLoadDataSubtask().getUfsPath())
+        .collect(Collectors.toList()));
+  }
+
+  @Test
+  public void drainInBackground() throws Exception {
+    WorkerDrainer drainer = create(WORKER_A, 1, 0);
+    assertEquals(DrainState.NOT_DRAINING, drainer.drain(true).getState());
+    drainer.drain(false);
+    CommonUtils.waitFor("the worker to be drained",
+        () -> drainer.drain(true).getState() == DrainState.DRAINED,
+        WaitForOptions.defaults().setTimeoutMs(10_000));
+    // draining again does not start another drain
+    assertEquals(DrainState.DRAINED, drainer.drain(false).getState());
+    verify(mMembershipManager, times(1)).decommission(any());
+  }
+
+  @Test
+  public void restartAfterFailure() throws Exception {
+    doThrow(new IOException("membership unavailable"))
+        .doNothing()
+        .when(mMembershipManager).stopHeartBeat(any());
+    WorkerDrainer drainer = create(WORKER_A, 1, 0);
+    cachePages("f1", 0);
+    drainer.onFileRead("f1", "s3://bucket/f1", 100);
+    drainer.run();
+    assertEquals(DrainState.DRAIN_FAILED, drainer.getStatus().getState());
+    assertFalse(drainer.getStatus().getMessage().isEmpty());
+    // draining again restarts the drain, which reports its own progress
+    drainer.drain(false);
+    CommonUtils.waitFor("the worker to be drained",
+        () -> drainer.drain(true).getState() == DrainState.DRAINED,
+        WaitForOptions.defaults().setTimeoutMs(10_000));
+    DrainWorkerResponse status = drainer.getStatus();
+    assertEquals(100, status.getBytesTotal());
+    assertEquals(100, status.getBytesHandedOff());
+    assertTrue(status.getMessage().isEmpty());
+    verify(mMembershipManager).decommission(any());
+  }
+
+  @Test
+  public void trackFilesReadConcurrently() throws Exception {
+    int maxHotFiles = 1000;
+    WorkerDrainer drainer = new WorkerDrainer(mCacheManager, mMembershipManager, POLICY,
+        this::load, () -> WORKER_A, PAGE_SIZE, false, 1, 0, 10_000, maxHotFiles);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < maxHotFiles; i++) {
+            String file = "f" + thread + "-" + i;
+            drainer.onFileRead(file, "s3://bucket/" + file, 100);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    when(mCacheManager.getCachedPageIdsByFileId(anyString(), anyLong())).thenAnswer(
+        invocation -> Collections.singletonList(new PageId(invocation.getArgument(0), 0)));
+    drainer.run();
+    assertTrue(mRequests.size() <= maxHotFiles);
+    assertTrue(mRequests.size() >= maxHotFiles - maxHotFiles / 10);
+  }
+
+  @Test
+  public void noOtherWorker() throws Exception {
+    when(mMembershipManager.getAllMembers())
+        .thenReturn(new WorkerClusterView(Collections.singletonList(WORKER_A)));
+    WorkerDrainer drainer = create(WORKER_A, 1, 0);
+    cachePages("f1", 0);
+    drainer.onFileRead("f1", "s3://bucket/f1", 100);
+    drainer.run();
+    assertTrue(mRequests.isEmpty());
+    assertEquals(DrainState.DRAINED, drainer.getStatus().getState());
+    assertFalse(drainer.getStatus().getMessage().isEmpty());
+  }
+
+  private WorkerDrainer create(WorkerInfo self, int ownerCount, long bytesPerSec) {
+    return new WorkerDrainer(mCacheManager, mMembershipManager, POLICY, this::load,
+        () -> self, PAGE_SIZE, false, ownerCount, bytesPerSec, 10_000, 100);
+  }
+
+  private LoadFileResponse load(WorkerNetAddress owner, LoadFileRequest request, long timeoutMs) {
+    mOwners.add(owner);
+    mRequests.add(request);
+    return LoadFileResponse.newBuilder().setStatus(TaskStatus.SUCCESS).build();
+  }
+
+  private void cachePages(String fileId, long... pageIndexes) {
+    when(mCacheManager.getCachedPageIdsByFileId(eq(fileId), anyLong())).thenReturn(
+        LongStream.of(pageIndexes).mapToObj(index -> new PageId(fileId, index))
+            .collect(Collectors.toList()));
+  }
+
+  private static List<LoadDataSubTask> getSubtasks(LoadFileRequest request) {
+    return request.getSubtasksList().stream()
+        .map(LoadSubTask::getLoadDataSubtask)
+        .map(subtask -> subtask(subtask.getOffsetInFile(), subtask.getLength()))
+        .collect(Collectors.toList());
+  }
+
+  private static LoadDataSubTask subtask(long offset, long length) {
+    return LoadDataSubTask.newBuilder().setOffsetInFile(offset).setLength(length).build();
+  }
+
+  private static WorkerInfo worker(long id, String host) {
+    return new WorkerInfo()
+        .setIdentity(WorkerIdentity.ParserV0.INSTANCE.fromLong(id))
+        .setAddress(new WorkerNetAddress().setHost(host));
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.collections.IndexDefinition;
+import alluxio.collections.IndexedSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the index of cached pages, comparing the {@link PageIndex} of the
+ * {@link DefaultPageMetaStore} with the {@link IndexedSet} it used before. Along with the lookup
+ * latency, each trial prints the heap retained per page by the index.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx8g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 6, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PageIndexBench {
+  private static final IndexDefinition<PageInfo, PageId> INDEX_PAGE_ID =
+      IndexDefinition.ofUnique(PageInfo::getPageId);
+  private static final IndexDefinition<PageInfo, String> INDEX_FILE_ID =
+      IndexDefinition.ofNonUnique(pageInfo -> pageInfo.getPageId().getFileId());
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"PageIndex", "IndexedSet"})
+    public String mIndexType;
+
+    @Param({"10000"})
+    public int mNumFiles;
+
+    @Param({"100"})
+    public int mPagesPerFile;
+
+    PageIndex mPageIndex;
+    IndexedSet<PageInfo> mIndexedSet;
+    String[] mFileIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      PageStoreDir dir = PageStoreDir.createPageStoreDir(new CacheEvictorOptions(),
+          new PageStoreOptions().setStoreType(PageStoreType.MEM));
+      mFileIds = new String[mNumFiles];
+      for (int i = 0; i < mNumFiles; i++) {
+        mFileIds[i] = AlluxioURI.hash("s3://bucket/dir/file-" + i);
+      }
+      long before = usedHeap();
+      if (mIndexType.equals("PageIndex")) {
+        mPageIndex = new PageIndex();
+      } else {
+        mIndexedSet = new IndexedSet<>(INDEX_PAGE_ID, INDEX_FILE_ID);
+      }
+      for (int page = 0; page < mPagesPerFile; page++) {
+        for (int file = 0; file < mNumFiles; file++) {
+          // pages are cached by different readers, which hold their own copy of the file id
+          PageInfo pageInfo =
+              new PageInfo(new PageId(new String(mFileIds[file].toCharArray()), page), 1024, dir);
+          if (mPageIndex != null) {
+            mPageIndex.add(pageInfo);
+          } else {
+            mIndexedSet.add(pageInfo);
+          }
+        }
+      }
+      long pages = (long) mNumFiles * mPagesPerFile;
+      System.out.printf("%n%s retains %d bytes per page%n", mIndexType,
+          (usedHeap() - before) / pages);
+    }
+
+    private static long usedHeap() {
+      for (int i = 0; i < 3; i++) {
+        System.gc();
+      }
+      return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+  }
+
+  @Benchmark
+  public PageInfo getPage(BenchState state) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    PageId pageId = new PageId(state.mFileIds[random.nextInt(state.mNumFiles)],
+        random.nextInt(state.mPagesPerFile));
+    if (state.mPageIndex != null) {
+      return state.mPageIndex.get(pageId);
+    }
+    return state.mIndexedSet.getFirstByField(INDEX_PAGE_ID, pageId);
+  }
+
+  @Benchmark
+  public int getPagesOfFile(BenchState state) {
+    String fileId = state.mFileIds[ThreadLocalRandom.current().nextInt(state.mNumFiles)];
+    if (state.mPageIndex != null) {
+      return state.mPageIndex.getFile(fileId).size();
+    }
+    return state.mIndexedSet.getByField(INDEX_FILE_ID, fileId).size();
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(PageIndexBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
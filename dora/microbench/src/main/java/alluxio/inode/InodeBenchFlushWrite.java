@@ -0,0 +1,77 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.inode;
+
+import alluxio.BaseThreadState;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark is a variant of {@link InodeBenchWrite} which uses an inode cache small enough
+ * that the writes continuously push the cache over its high water mark, so that the throughput
+ * depends on how fast dirty entries are flushed to RocksDB.
+ * In addition to the parameters of {@link InodeBenchWrite}, the following can be varied:
+ * mCacheSize - the maximum number of entries in the inode and edge caches
+ * mFlushThreads - the number of threads flushing dirty entries to the backing store
+ **/
+public class InodeBenchFlushWrite {
+
+  @State(Scope.Thread)
+  public static class ThreadState extends BaseThreadState {
+    // keeps track of which file id to write at each depth
+    long[] mNxtFileId;
+
+    @Setup(Level.Iteration)
+    public void setup(Db db) {
+      mNxtFileId = new long[db.mDepth + 1];
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Db extends InodeBenchWrite.Db {
+    @Param({"10000"})
+    public int mCacheSize;
+
+    @Param({"1", "4", "8"})
+    public int mFlushThreads;
+
+    @Override
+    protected void configure() {
+      Configuration.set(PropertyKey.MASTER_METASTORE_INODE_CACHE_MAX_SIZE, mCacheSize);
+      Configuration.set(PropertyKey.MASTER_METASTORE_INODE_CACHE_FLUSH_THREADS, mFlushThreads);
+    }
+  }
+
+  @Benchmark
+  public void testMethod(Db db, ThreadState ts) throws Exception {
+    int depth = ts.nextDepth(db);
+    db.mBase.writeFile(ts.mMyId, depth, ts.mNxtFileId[depth]);
+    ts.mNxtFileId[depth]++;
+  }
+
+  public static void main(String []args) throws RunnerException {
+    Options opt = new OptionsBuilder().include(InodeBenchFlushWrite.class.getSimpleName())
+        .forks(1).build();
+    new Runner(opt).run();
+  }
+}
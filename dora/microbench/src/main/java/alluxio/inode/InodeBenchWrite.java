@@ -79,6 +79,7 @@ public class InodeBenchWrite {
 
     @Setup(Level.Iteration)
     public void setup() throws Exception {
+      configure();
       super.init(mDepth, mWidth, 0, mDistribution);
       mBase = new InodeBenchBase(mType, mRocksConfig);
       mBase.createBasePath(mDepth);
@@ -89,6 +90,11 @@ public class InodeBenchWrite {
       mBase.after();
       mBase = null;
     }
+
+    /**
+     * Hook for subclasses to adjust the configuration before the inode store is created.
+     */
+    protected void configure() {}
   }
 
   @Benchmark
@@ -0,0 +1,102 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the per-call overhead of the hot path instrumentation, comparing the Dropwizard
+ * metrics looked up by name with the Prometheus metrics in {@link MultiDimensionalMetricsSystem}.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 6, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class MetricsBench {
+  private static final String COUNTER_NAME = "Worker.MetricsBenchCounter";
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    final String mUser = "user";
+    final long mStartNanos = System.nanoTime();
+    final String mRequestId = "1234567890";
+  }
+
+  @Benchmark
+  public void dropwizardCounterByName() {
+    MetricsSystem.counter(COUNTER_NAME).inc(1024);
+  }
+
+  @Benchmark
+  public void dropwizardMeterByName() {
+    MetricsSystem.meter(COUNTER_NAME).mark(1024);
+  }
+
+  @Benchmark
+  public void prometheusLabelValues() {
+    MultiDimensionalMetricsSystem.DATA_ACCESS.labelValues("read").observe(1024);
+  }
+
+  @Benchmark
+  public void prometheusBoundChild() {
+    MultiDimensionalMetricsSystem.DATA_ACCESS_READ.observe(1024);
+  }
+
+  @Benchmark
+  public void prometheusLatency(BenchState state) {
+    MultiDimensionalMetricsSystem.observeLatency(
+        MultiDimensionalMetricsSystem.DATA_ACCESS_READ_LATENCY, state.mStartNanos);
+  }
+
+  @Benchmark
+  public void prometheusLatencyWithExemplar(BenchState state) {
+    MultiDimensionalMetricsSystem.observeLatency(
+        MultiDimensionalMetricsSystem.DATA_ACCESS_READ_LATENCY, state.mStartNanos,
+        state.mRequestId);
+  }
+
+  @Benchmark
+  public void prometheusBoundedLabel(BenchState state) {
+    MultiDimensionalMetricsSystem.USER_DATA_READ.get(state.mUser).inc(1024);
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(MetricsBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
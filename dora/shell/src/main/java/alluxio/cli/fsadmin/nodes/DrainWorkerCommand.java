@@ -0,0 +1,165 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.cli.fsadmin.nodes;
+
+import alluxio.cli.fsadmin.command.AbstractFsAdminCommand;
+import alluxio.cli.fsadmin.command.Context;
+import alluxio.cli.fsadmin.journal.QuorumCommand;
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.client.file.FileSystemContext;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.exception.status.InvalidArgumentException;
+import alluxio.grpc.DrainWorkerRequest;
+import alluxio.grpc.DrainWorkerResponse;
+import alluxio.grpc.NetAddress;
+import alluxio.membership.MembershipManager;
+import alluxio.resource.CloseableResource;
+import alluxio.util.FormatUtils;
+import alluxio.wire.WorkerIdentity;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+
+import java.io.IOException;
+
+/**
+ * Drain a running worker before removing it, or show the progress of the drain.
+ */
+public class DrainWorkerCommand extends AbstractFsAdminCommand {
+  public static final String WORKERNAME_OPTION_NAME = "n";
+  public static final String ADDRESS_OPTION_NAME = "a";
+  public static final String STATUS_OPTION_NAME = "s";
+  public static final String HELP_OPTION_NAME = "h";
+
+  private static final Option WORKERNAME_OPTION =
+      Option.builder(WORKERNAME_OPTION_NAME)
+          .required(false)
+          .hasArg(true)
+          .desc("ID of the worker to drain")
+          .build();
+
+  private static final Option ADDRESS_OPTION =
+      Option.builder(ADDRESS_OPTION_NAME)
+          .required(false)
+          .hasArg(true)
+          .desc("host:rpc_port of the worker, to show the progress of the drain of a worker "
+              + "which already left the cluster")
+          .build();
+
+  private static final Option STATUS_OPTION =
+      Option.builder(STATUS_OPTION_NAME)
+          .required(false)
+          .hasArg(false)
+          .desc("only show the progress of the drain, without starting it")
+          .build();
+
+  private static final Option HELP_OPTION =
+      Option.builder(HELP_OPTION_NAME)
+          .required(false)
+          .hasArg(false)
+          .desc("print help information.")
+          .build();
+
+  private final AlluxioConfiguration mAlluxioConf;
+
+  /**
+   * @param context
+   * @param alluxioConf
+   */
+  public DrainWorkerCommand(Context context, AlluxioConfiguration alluxioConf) {
+    super(context);
+    mAlluxioConf = alluxioConf;
+  }
+
+  @Override
+  public String getCommandName() {
+    return "drain";
+  }
+
+  @Override
+  public Options getOptions() {
+    return new Options().addOption(WORKERNAME_OPTION)
+        .addOption(ADDRESS_OPTION)
+        .addOption(STATUS_OPTION)
+        .addOption(HELP_OPTION);
+  }
+
+  @Override
+  public String getUsage() {
+    return getCommandName() + " -n <WorkerId> [-s] | -a <host:rpc_port> -s | -h";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Drain given running worker before removing it from the cluster. The worker hands "
+        + "the cached data of its recently read files over to the workers which will own "
+        + "them, and then leaves the cluster, after which it can be stopped. Run the command "
+        + "again to show the progress of the drain. Once the worker has left the cluster, the "
+        + "progress is shown by the address of the worker.";
+  }
+
+  @Override
+  public int run(CommandLine cl) throws IOException {
+    if (cl.hasOption(HELP_OPTION_NAME)
+        || cl.hasOption(WORKERNAME_OPTION_NAME) == cl.hasOption(ADDRESS_OPTION_NAME)) {
+      System.out.println(getUsage());
+      System.out.println(getDescription());
+      return 0;
+    }
+    String workerName;
+    WorkerNetAddress address;
+    if (cl.hasOption(ADDRESS_OPTION_NAME)) {
+      // a drained worker is no longer a member, and is only reachable by its address
+      if (!cl.hasOption(STATUS_OPTION_NAME)) {
+        throw new InvalidArgumentException(String.format(
+            "Option -%s requires option -%s", ADDRESS_OPTION_NAME, STATUS_OPTION_NAME));
+      }
+      workerName = cl.getOptionValue(ADDRESS_OPTION_NAME).trim();
+      NetAddress netAddress = QuorumCommand.stringToAddress(workerName);
+      address = new WorkerNetAddress().setHost(netAddress.getHost())
+          .setRpcPort(netAddress.getRpcPort());
+    } else {
+      MembershipManager membershipManager =
+          MembershipManager.Factory.create(mAlluxioConf);
+      workerName = cl.getOptionValue(WORKERNAME_OPTION_NAME).trim();
+      address = membershipManager.getAllMembers()
+          .getWorkerById(WorkerIdentity.fromString(workerName))
+          .map(WorkerInfo::getAddress)
+          .orElseThrow(() -> new InvalidArgumentException(String.format(
+              "Unrecognized or non-existing worker: %s, use -%s with its address once it left "
+                  + "the cluster", workerName, ADDRESS_OPTION_NAME)));
+    }
+    DrainWorkerResponse response;
+    try (FileSystemContext context =
+             FileSystemContext.sFileSystemContextFactory.create(mAlluxioConf);
+         CloseableResource<BlockWorkerClient> client =
+             context.acquireBlockWorkerClient(address)) {
+      response = client.get().drainWorker(DrainWorkerRequest.newBuilder()
+          .setStatusOnly(cl.hasOption(STATUS_OPTION_NAME)).build());
+    }
+    mPrintStream.println(String.format("Worker %s: %s", workerName, response.getState()));
+    mPrintStream.println(String.format("Files handed over: %d/%d",
+        response.getFilesHandedOff(), response.getFilesTotal()));
+    mPrintStream.println(String.format("Data handed over: %s/%s, failed: %s%s",
+        FormatUtils.getSizeFromBytes(response.getBytesHandedOff()),
+        FormatUtils.getSizeFromBytes(response.getBytesTotal()),
+        FormatUtils.getSizeFromBytes(response.getBytesFailed()),
+        response.getTimedOut() ? ", timed out" : ""));
+    if (!response.getMessage().isEmpty()) {
+      mPrintStream.println(response.getMessage());
+    }
+    return 0;
+  }
+}